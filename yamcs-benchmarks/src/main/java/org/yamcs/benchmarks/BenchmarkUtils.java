@@ -0,0 +1,106 @@
+package org.yamcs.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.yamcs.YConfiguration;
+import org.yamcs.events.EventProducerFactory;
+import org.yamcs.simulator.ColumbusCcsdsPacket;
+import org.yamcs.simulator.PerfPacketGenerator;
+import org.yamcs.utils.FileUtils;
+import org.yamcs.xtce.XtceDb;
+import org.yamcs.xtceproc.XtceDbFactory;
+import org.yamcs.yarch.YarchDatabase;
+
+/**
+ * Common setup for the benchmarks.
+ * <p>
+ * The configuration is read from the benchmarks directory of the classpath and the data is stored in a temporary
+ * directory, such that the benchmarks can run without any Yamcs installation.
+ */
+public class BenchmarkUtils {
+    /**
+     * instance whose MDB is generated by the {@link org.yamcs.simulator.PerfMdbLoader}
+     */
+    public static final String PERF_INSTANCE = "perf";
+
+    /**
+     * number and size of the packets defined in the benchmarks/yamcs.perf.yaml
+     */
+    public static final int PERF_NUM_PACKETS = 10;
+    public static final int PERF_PACKET_SIZE = 1476;
+
+    static final int PERF_APID = 2;
+
+    private static boolean configured = false;
+    private static Path dataDir;
+
+    /**
+     * Sets up the configuration; can be called multiple times, the setup is done only once per JVM.
+     */
+    public static synchronized void setupConfig() {
+        if (configured) {
+            return;
+        }
+        YConfiguration.setupTest("benchmarks");
+        EventProducerFactory.setMockup(false);
+        configured = true;
+    }
+
+    /**
+     * Creates (once per JVM) a temporary data directory and sets it as the Yarch home.
+     * <p>
+     * The directory is removed when the JVM exits.
+     */
+    public static synchronized Path setupDataDir() {
+        setupConfig();
+        if (dataDir == null) {
+            try {
+                dataDir = Files.createTempDirectory("yamcs-benchmarks");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            YarchDatabase.setHome(dataDir.toString());
+            Path dir = dataDir;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    FileUtils.deleteRecursivelyIfExists(dir);
+                } catch (IOException e) {
+                    // ignore, it is a temporary directory anyway
+                }
+            }));
+        }
+        return dataDir;
+    }
+
+    /**
+     * @return the MDB of the {@link #PERF_INSTANCE}
+     */
+    public static XtceDb getPerfMdb() {
+        setupConfig();
+        return XtceDbFactory.getInstance(PERF_INSTANCE);
+    }
+
+    /**
+     * Generates one packet for each container of the performance MDB, with random content, the same way the
+     * {@link PerfPacketGenerator} of the simulator does.
+     */
+    public static byte[][] generatePerfPackets(long seed) {
+        Random r = new Random(seed);
+        byte[][] packets = new byte[PERF_NUM_PACKETS][];
+        for (int i = 0; i < PERF_NUM_PACKETS; i++) {
+            ColumbusCcsdsPacket packet = new ColumbusCcsdsPacket(PERF_APID, PERF_PACKET_SIZE,
+                    PerfPacketGenerator.PERF_TEST_PACKET_ID + i);
+            ByteBuffer bb = packet.getUserDataBuffer();
+            while (bb.remaining() > 4) {
+                bb.putInt(r.nextInt());
+            }
+            packets[i] = packet.getBytes();
+        }
+        return packets;
+    }
+}
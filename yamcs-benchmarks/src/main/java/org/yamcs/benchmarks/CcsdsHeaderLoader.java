@@ -0,0 +1,71 @@
+package org.yamcs.benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.yamcs.ConfigurationException;
+import org.yamcs.xtce.DatabaseLoadException;
+import org.yamcs.xtce.IntegerDataEncoding;
+import org.yamcs.xtce.IntegerParameterType;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.xtce.ParameterEntry;
+import org.yamcs.xtce.SequenceContainer;
+import org.yamcs.xtce.SequenceEntry.ReferenceLocationType;
+import org.yamcs.xtce.SpaceSystem;
+import org.yamcs.xtce.SpaceSystemLoader;
+
+/**
+ * Generates the /YSS/ccsds-default container which is the base of the packets generated by the
+ * {@link org.yamcs.simulator.PerfMdbLoader}.
+ * <p>
+ * It contains the CCSDS primary header and the packet-id of the secondary header used by the simulator, such that
+ * the benchmarks do not depend on the simulator spreadsheets.
+ */
+public class CcsdsHeaderLoader implements SpaceSystemLoader {
+
+    @Override
+    public boolean needsUpdate(RandomAccessFile consistencyDateFile) throws IOException, ConfigurationException {
+        return true;
+    }
+
+    @Override
+    public String getConfigName() {
+        return "ccsds-header";
+    }
+
+    @Override
+    public void writeConsistencyDate(FileWriter consistencyDateFile) {
+        return;
+    }
+
+    @Override
+    public SpaceSystem load() throws ConfigurationException, DatabaseLoadException {
+        SpaceSystem ss = new SpaceSystem("YSS");
+        SequenceContainer sc = new SequenceContainer("ccsds-default");
+
+        addParameter(ss, sc, "ccsds-apid", 5, 11);
+        addParameter(ss, sc, "ccsds-seqcount", 18, 14);
+        addParameter(ss, sc, "ccsds-length", 32, 16);
+        addParameter(ss, sc, "packet-id", 96, 32);
+
+        ss.addSequenceContainer(sc);
+        ss.setRootSequenceContainer(sc);
+        return ss;
+    }
+
+    private static void addParameter(SpaceSystem ss, SequenceContainer sc, String name, int location,
+            int sizeInBits) {
+        IntegerParameterType.Builder ptypeb = new IntegerParameterType.Builder().setName(name);
+        ptypeb.setSizeInBits(sizeInBits);
+        ptypeb.setSigned(false);
+        ptypeb.setEncoding(new IntegerDataEncoding.Builder().setSizeInBits(sizeInBits));
+        IntegerParameterType ptype = ptypeb.build();
+        ss.addParameterType(ptype);
+
+        Parameter p = new Parameter(name);
+        p.setParameterType(ptype);
+        ss.addParameter(p);
+        sc.addEntry(new ParameterEntry(location, ReferenceLocationType.CONTAINER_START, p));
+    }
+}
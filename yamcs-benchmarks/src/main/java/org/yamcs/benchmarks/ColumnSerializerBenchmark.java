@@ -0,0 +1,107 @@
+package org.yamcs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.utils.ByteArray;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.xtceproc.XtceTmExtractor;
+import org.yamcs.yarch.ColumnDefinition;
+import org.yamcs.yarch.ColumnSerializer;
+import org.yamcs.yarch.ColumnSerializerFactory;
+import org.yamcs.yarch.DataType;
+
+/**
+ * Serialization and deserialization of a row similar to the ones stored in the pp table: a few header columns
+ * followed by parameter values extracted from a packet of the performance MDB.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnSerializerBenchmark {
+
+    @Param({ "10", "100" })
+    int numParameters;
+
+    ColumnDefinition[] columns;
+    ColumnSerializer<Object>[] serializers;
+    Object[] row;
+
+    ByteArray array = new ByteArray();
+    byte[] serialized;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setupConfig();
+        XtceTmExtractor tmExtractor = new XtceTmExtractor(BenchmarkUtils.getPerfMdb());
+        tmExtractor.provideAll();
+        long now = TimeEncoding.getWallclockTime();
+        byte[] packet = BenchmarkUtils.generatePerfPackets(0)[0];
+        List<ParameterValue> pvlist = new ArrayList<>(tmExtractor.processPacket(packet, now, now)
+                .getParameterResult());
+
+        List<ColumnDefinition> cdlist = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        cdlist.add(new ColumnDefinition("gentime", DataType.TIMESTAMP));
+        values.add(now);
+        cdlist.add(new ColumnDefinition("group", DataType.STRING));
+        values.add("/perf-data/pkt_1000");
+        cdlist.add(new ColumnDefinition("seqNum", DataType.INT));
+        values.add(1);
+        cdlist.add(new ColumnDefinition("rectime", DataType.TIMESTAMP));
+        values.add(now);
+        for (int i = 0; i < numParameters; i++) {
+            ParameterValue pv = pvlist.get(i % pvlist.size());
+            cdlist.add(new ColumnDefinition(pv.getParameterQualifiedName(), DataType.PARAMETER_VALUE));
+            values.add(pv);
+        }
+        columns = cdlist.toArray(new ColumnDefinition[0]);
+        row = values.toArray();
+
+        serializers = newSerializerArray(columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            serializers[i] = ColumnSerializerFactory.getBasicColumnSerializerV3(columns[i].getType());
+        }
+        serialized = serialize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnSerializer<Object>[] newSerializerArray(int n) {
+        return new ColumnSerializer[n];
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        array.reset();
+        for (int i = 0; i < columns.length; i++) {
+            serializers[i].serialize(array, row[i]);
+        }
+        return array.toArray();
+    }
+
+    @Benchmark
+    public Object[] deserialize() {
+        ByteArray in = ByteArray.wrap(serialized);
+        Object[] r = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            r[i] = serializers[i].deserialize(in, columns[i]);
+        }
+        return r;
+    }
+}
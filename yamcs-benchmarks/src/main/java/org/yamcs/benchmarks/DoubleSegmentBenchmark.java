@@ -0,0 +1,113 @@
+package org.yamcs.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.parameter.Value;
+import org.yamcs.parameterarchive.BaseSegment;
+import org.yamcs.parameterarchive.DoubleValueSegment;
+import org.yamcs.parameterarchive.SegmentEncoderDecoder;
+import org.yamcs.utils.DecodingException;
+import org.yamcs.utils.ValueUtility;
+
+/**
+ * Size and decoding speed of the double value segments written raw (8 bytes per value) and with the automatically
+ * selected encoding (constant, XOR compressed or raw).
+ * <p>
+ * The values are the columns of the landing flight data played back by the simulator (sampled at 20Hz). The encode
+ * benchmark reports the compression ratio (raw size / encoded size) as an additional metric.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoubleSegmentBenchmark {
+    static final String FLIGHT_DATA = "/landing_data/Flight parameters.csv";
+    static final List<String> COLUMNS = Arrays.asList("Elapsedtime", "Longitude", "Latitude", "Altitude", "Heading",
+            "Alpha", "Beta", "TAS");
+
+    @Param({ "Longitude", "Altitude", "Alpha", "TAS" })
+    String column;
+
+    @Param({ "raw", "auto" })
+    String encoding;
+
+    @Param({ "5000" })
+    int segmentSize;
+
+    SegmentEncoderDecoder vsEncoder = new SegmentEncoderDecoder();
+    DoubleValueSegment segment;
+    byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        segment = DoubleValueSegment.consolidate(readColumn(COLUMNS.indexOf(column)));
+        encoded = doEncode();
+    }
+
+    private List<Value> readColumn(int idx) throws IOException {
+        List<Value> values = new ArrayList<>(segmentSize);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                DoubleSegmentBenchmark.class.getResourceAsStream(FLIGHT_DATA)))) {
+            String line = in.readLine(); // skip column titles
+            while ((line = in.readLine()) != null && values.size() < segmentSize) {
+                String[] parts = line.replace(',', '.').split(";");
+                values.add(ValueUtility.getDoubleValue(Double.parseDouble(parts[idx])));
+            }
+        }
+        return values;
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) {
+        byte[] b = doEncode();
+        size.compressionRatio = 8.0 * segment.size() / b.length;
+        return b;
+    }
+
+    @Benchmark
+    public BaseSegment decode() throws DecodingException {
+        return vsEncoder.decode(encoded, 0);
+    }
+
+    private byte[] doEncode() {
+        if ("raw".equals(encoding)) {
+            ByteBuffer bb = ByteBuffer.allocate(2 + segment.getMaxSerializedSize());
+            bb.put(segment.getFormatId());
+            segment.writeRaw(bb);
+            byte[] v = new byte[bb.position()];
+            bb.rewind();
+            bb.get(v);
+            return v;
+        } else {
+            return vsEncoder.encode(segment);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        // 8 bytes per value divided by the number of bytes per value of the encoded segment
+        public double compressionRatio;
+    }
+}
@@ -0,0 +1,110 @@
+package org.yamcs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.parameter.ArrayParameterCache;
+import org.yamcs.parameter.ParameterCache;
+import org.yamcs.parameter.ParameterCacheConfig;
+import org.yamcs.parameter.ParameterCacheImpl;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.utils.ValueUtility;
+import org.yamcs.xtce.IntegerParameterType;
+import org.yamcs.xtce.Parameter;
+
+/**
+ * Contention between one thread updating the parameter cache (as the processor does) and several threads reading
+ * from it (as the WebSocket clients do).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterCacheBenchmark {
+    static final int NUM_PARAMETERS = 1000;
+    static final int DELIVERY_SIZE = 100;
+
+    @Param({ "ParameterCacheImpl", "ArrayParameterCache" })
+    String cacheType;
+
+    ParameterCache pcache;
+    List<Parameter> parameters;
+    List<Parameter> display;
+    long time;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setupConfig();
+        ParameterCacheConfig pcc = new ParameterCacheConfig(true, true, 600_000, 4096);
+        if ("ParameterCacheImpl".equals(cacheType)) {
+            pcache = new ParameterCacheImpl(pcc);
+        } else {
+            pcache = new ArrayParameterCache("benchmark", pcc);
+        }
+        IntegerParameterType ptype = new IntegerParameterType.Builder().setName("uint32").build();
+        parameters = new ArrayList<>(NUM_PARAMETERS);
+        for (int i = 0; i < NUM_PARAMETERS; i++) {
+            Parameter p = new Parameter("p" + i);
+            p.setQualifiedName("/benchmark/p" + i);
+            p.setParameterType(ptype);
+            parameters.add(p);
+        }
+        // the parameters of a display, spread over several deliveries
+        display = new ArrayList<>();
+        for (int i = 0; i < NUM_PARAMETERS; i += 50) {
+            display.add(parameters.get(i));
+        }
+        time = TimeEncoding.getWallclockTime();
+        for (int i = 0; i < NUM_PARAMETERS / DELIVERY_SIZE; i++) {
+            update();
+        }
+    }
+
+    @Benchmark
+    @Group("cache")
+    @GroupThreads(1)
+    public void update() {
+        long t = time++;
+        int first = (int) (t % (NUM_PARAMETERS / DELIVERY_SIZE)) * DELIVERY_SIZE;
+        List<ParameterValue> delivery = new ArrayList<>(DELIVERY_SIZE);
+        for (int i = first; i < first + DELIVERY_SIZE; i++) {
+            ParameterValue pv = new ParameterValue(parameters.get(i));
+            pv.setGenerationTime(t);
+            pv.setAcquisitionTime(t);
+            pv.setEngineeringValue(ValueUtility.getUint32Value((int) t));
+            delivery.add(pv);
+        }
+        pcache.update(delivery);
+    }
+
+    @Benchmark
+    @Group("cache")
+    @GroupThreads(4)
+    public List<ParameterValue> getValues() {
+        return pcache.getValues(display);
+    }
+
+    @Benchmark
+    @Group("cache")
+    @GroupThreads(4)
+    public ParameterValue getLastValue() {
+        return pcache.getLastValue(display.get(0));
+    }
+}
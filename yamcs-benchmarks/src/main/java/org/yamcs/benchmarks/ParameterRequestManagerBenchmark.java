@@ -0,0 +1,100 @@
+package org.yamcs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.Processor;
+import org.yamcs.ProcessorConfig;
+import org.yamcs.ProcessorFactory;
+import org.yamcs.parameter.ParameterConsumer;
+import org.yamcs.parameter.ParameterRequestManager;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.xtce.XtceDb;
+import org.yamcs.xtceproc.XtceTmExtractor;
+
+/**
+ * Delivery of the parameters extracted from one packet of the performance MDB to the subscribers of the
+ * {@link ParameterRequestManager}.
+ * <p>
+ * Each of the subscribers receives a different subset of the parameters and one subscriber receives all of them (as
+ * the realtime parameter archive filler does).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParameterRequestManagerBenchmark {
+
+    @Param({ "1", "10", "100" })
+    int numSubscribers;
+
+    Processor processor;
+    ParameterRequestManager prm;
+    List<List<ParameterValue>> deliveries;
+    long numDelivered;
+    int k;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkUtils.setupDataDir();
+        XtceDb xtcedb = BenchmarkUtils.getPerfMdb();
+
+        processor = ProcessorFactory.create(BenchmarkUtils.PERF_INSTANCE, "benchmark-" + numSubscribers,
+                "benchmark", Collections.emptyList(), "benchmark", new ProcessorConfig(), null);
+        prm = processor.getParameterRequestManager();
+
+        XtceTmExtractor tmExtractor = new XtceTmExtractor(xtcedb);
+        tmExtractor.provideAll();
+        long now = TimeEncoding.getWallclockTime();
+        deliveries = new ArrayList<>();
+        List<List<Parameter>> subscriptions = new ArrayList<>();
+        for (int i = 0; i < numSubscribers; i++) {
+            subscriptions.add(new ArrayList<>());
+        }
+
+        for (byte[] packet : BenchmarkUtils.generatePerfPackets(0)) {
+            List<ParameterValue> pvlist = new ArrayList<>(
+                    tmExtractor.processPacket(packet, now, now).getParameterResult());
+            for (int i = 0; i < pvlist.size(); i++) {
+                subscriptions.get(i % numSubscribers).add(pvlist.get(i).getParameter());
+            }
+            deliveries.add(pvlist);
+        }
+
+        for (List<Parameter> plist : subscriptions) {
+            prm.addRequest(plist, (ParameterConsumer) (subscriptionId, items) -> numDelivered += items.size());
+        }
+        prm.subscribeAll((subscriptionId, items) -> numDelivered += items.size());
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.quit();
+    }
+
+    @Benchmark
+    public long update() {
+        List<ParameterValue> pvlist = deliveries.get(k);
+        k = (k + 1) % deliveries.size();
+        prm.update(pvlist);
+        return numDelivered;
+    }
+}
@@ -0,0 +1,93 @@
+package org.yamcs.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.yarch.Stream;
+import org.yamcs.yarch.Tuple;
+import org.yamcs.yarch.TupleDefinition;
+import org.yamcs.yarch.YarchDatabase;
+import org.yamcs.yarch.YarchDatabaseInstance;
+
+/**
+ * Insertion of packets into a table having the same structure as the tm table written by the XtceTmRecorder.
+ * <p>
+ * The groupCommit parameter gives the maximum number of rows committed together by the
+ * {@link org.yamcs.yarch.rocksdb.RdbTableWriter}; 0 means that each row is written individually.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RdbTableWriterBenchmark {
+
+    @Param({ "0", "1000" })
+    int groupCommit;
+
+    YarchDatabaseInstance ydb;
+    Stream stream;
+    TupleDefinition tdef;
+    byte[][] packets;
+    String[] packetNames;
+    long gentime;
+    int seqNum;
+
+    @Setup
+    public void setup() throws Exception {
+        Path dataDir = BenchmarkUtils.setupDataDir();
+        String instance = "rdb_writer_" + groupCommit + "_" + Long.toHexString(new Random().nextLong());
+        Files.createDirectories(dataDir.resolve(instance));
+        ydb = YarchDatabase.getInstance(instance);
+
+        String query = "create table tm(gentime timestamp, seqNum int, rectime timestamp, packet binary,"
+                + " pname enum, primary key(gentime, seqNum)) histogram(pname) partition by value(pname)"
+                + " table_format=compressed";
+        if (groupCommit > 0) {
+            query += " group_commit(" + groupCommit + ", 1000)";
+        }
+        ydb.executeDiscardingResult(query);
+        ydb.executeDiscardingResult("create stream tm_in(gentime timestamp, seqNum int, rectime timestamp,"
+                + " packet binary, pname enum)");
+        ydb.executeDiscardingResult("insert into tm select * from tm_in");
+        stream = ydb.getStream("tm_in");
+        tdef = stream.getDefinition();
+
+        packets = BenchmarkUtils.generatePerfPackets(0);
+        packetNames = new String[packets.length];
+        for (int i = 0; i < packets.length; i++) {
+            packetNames[i] = "/perf-data/pkt_" + (1000 + i);
+        }
+        gentime = TimeEncoding.getWallclockTime();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stream.close();
+    }
+
+    @Benchmark
+    public void insert() {
+        int k = seqNum % packets.length;
+        if (k == 0) {
+            gentime++;
+        }
+        stream.emitTuple(new Tuple(tdef, new Object[] { gentime, seqNum++, gentime, packets[k], packetNames[k] }));
+    }
+}
@@ -0,0 +1,118 @@
+package org.yamcs.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.parameter.Value;
+import org.yamcs.parameterarchive.BaseSegment;
+import org.yamcs.parameterarchive.DoubleValueSegment;
+import org.yamcs.parameterarchive.FloatValueSegment;
+import org.yamcs.parameterarchive.IntValueSegment;
+import org.yamcs.parameterarchive.ParameterArchive;
+import org.yamcs.parameterarchive.SegmentEncoderDecoder;
+import org.yamcs.parameterarchive.SortedTimeSegment;
+import org.yamcs.utils.DecodingException;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.utils.ValueUtility;
+
+/**
+ * Encoding and decoding of parameter archive segments.
+ * <p>
+ * The data resembles the one of a housekeeping parameter sampled at 1Hz: slowly varying values, timestamps spaced
+ * at about 1 second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SegmentBenchmark {
+
+    @Param({ "time", "int", "float", "double" })
+    String segmentType;
+
+    @Param({ "5000" })
+    int segmentSize;
+
+    SegmentEncoderDecoder vsEncoder = new SegmentEncoderDecoder();
+    long segmentStart;
+    List<Long> timestamps;
+    List<Value> values;
+    byte[] encoded;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setupConfig();
+        Random random = new Random(0);
+
+        segmentStart = ParameterArchive.getIntervalStart(TimeEncoding.getWallclockTime());
+        timestamps = new ArrayList<>(segmentSize);
+        values = new ArrayList<>(segmentSize);
+        long t = segmentStart;
+        double x = 100;
+        for (int i = 0; i < segmentSize; i++) {
+            timestamps.add(t);
+            t += 1000 + random.nextInt(3) - 1;
+            x += random.nextGaussian();
+            values.add(getValue(x));
+        }
+        encoded = encode();
+    }
+
+    private Value getValue(double x) {
+        switch (segmentType) {
+        case "time":
+        case "int":
+            return ValueUtility.getSint32Value((int) (x * 10));
+        case "float":
+            return ValueUtility.getFloatValue((float) x);
+        case "double":
+            return ValueUtility.getDoubleValue(x);
+        default:
+            throw new IllegalArgumentException("Unknown segment type " + segmentType);
+        }
+    }
+
+    private BaseSegment consolidate() {
+        switch (segmentType) {
+        case "time":
+            SortedTimeSegment timeSegment = new SortedTimeSegment(segmentStart);
+            for (long t : timestamps) {
+                timeSegment.add(t);
+            }
+            return timeSegment;
+        case "int":
+            return IntValueSegment.consolidate(values, true);
+        case "float":
+            return FloatValueSegment.consolidate(values);
+        case "double":
+            return DoubleValueSegment.consolidate(values);
+        default:
+            throw new IllegalArgumentException("Unknown segment type " + segmentType);
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return vsEncoder.encode(consolidate());
+    }
+
+    @Benchmark
+    public BaseSegment decode() throws DecodingException {
+        return vsEncoder.decode(encoded, segmentStart);
+    }
+}
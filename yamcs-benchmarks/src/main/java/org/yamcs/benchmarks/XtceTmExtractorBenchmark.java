@@ -0,0 +1,65 @@
+package org.yamcs.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.xtce.XtceDb;
+import org.yamcs.xtceproc.ContainerProcessingOptions;
+import org.yamcs.xtceproc.ContainerProcessingResult;
+import org.yamcs.xtceproc.XtceTmExtractor;
+
+/**
+ * Extraction of all the parameters from the packets of the performance MDB (about 370 32 bits integer parameters
+ * per packet).
+ * <p>
+ * The compiledPlans parameter compares the interpretive walk through the container entries with the precomputed
+ * decoding plans.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XtceTmExtractorBenchmark {
+
+    @Param({ "false", "true" })
+    boolean compiledPlans;
+
+    XtceTmExtractor tmExtractor;
+    byte[][] packets;
+    long now;
+    int k;
+
+    @Setup
+    public void setup() {
+        XtceDb xtcedb = BenchmarkUtils.getPerfMdb();
+
+        tmExtractor = new XtceTmExtractor(xtcedb);
+        ContainerProcessingOptions options = new ContainerProcessingOptions();
+        options.setCompiledPlans(compiledPlans);
+        tmExtractor.setOptions(options);
+        tmExtractor.provideAll();
+
+        packets = BenchmarkUtils.generatePerfPackets(0);
+        now = TimeEncoding.getWallclockTime();
+    }
+
+    @Benchmark
+    public ContainerProcessingResult processPacket() {
+        byte[] packet = packets[k];
+        k = (k + 1) % packets.length;
+        return tmExtractor.processPacket(packet, now, now);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -58,6 +59,9 @@ import com.google.common.collect.Lists;
  * {@link #registerAlgorithmEngine(String, AlgorithmEngine)} method.
  *
  * javascript will be automatically registered as well as python if available.
+ * <p>
+ * When parameters are delivered, only the algorithms having one of the delivered parameters as input or trigger are
+ * visited (see {@link ExecutionIndex}), in the order of the {@link #executionOrder} list.
  */
 public class AlgorithmManager extends AbstractProcessorService
         implements ParameterProvider, DVParameterConsumer, ProcessorService {
@@ -72,6 +76,9 @@ public class AlgorithmManager extends AbstractProcessorService
     NamedDescriptionIndex<Parameter> outParamIndex = new NamedDescriptionIndex<>();
 
     CopyOnWriteArrayList<AlgorithmExecutor> executionOrder = new CopyOnWriteArrayList<>();
+    // built from the executionOrder when needed, reset to null each time the executionOrder is modified
+    private ExecutionIndex executionIndex;
+    final Map<AlgorithmExecutor, AlgorithmStatus> statusByExecutor = new ConcurrentHashMap<>();
     HashSet<Parameter> requiredInParams = new HashSet<>(); // required by this class
     ArrayList<Parameter> requestedOutParams = new ArrayList<>(); // requested by clients
     ParameterRequestManager parameterRequestManager;
@@ -152,7 +159,7 @@ public class AlgorithmManager extends AbstractProcessorService
                 for (OnPeriodicRateTrigger trigger : timedTriggers) {
                     timer.scheduleAtFixedRate(() -> {
                         long t = processor.getCurrentTime();
-                        List<ParameterValue> params = engine.runAlgorithm(t, t);
+                        List<ParameterValue> params = runAlgorithm(engine, getStatus(engine), t, t);
                         parameterRequestManager.update(params);
                     }, 1000, trigger.getFireRate(), TimeUnit.MILLISECONDS);
                 }
@@ -252,6 +259,8 @@ public class AlgorithmManager extends AbstractProcessorService
         }
 
         execCtx.addAlgorithm(algorithm, executor);
+        // the status is available as soon as the algorithm is active, not only after its first run
+        getStatus(executor);
 
         // last value cache will contain the latest known values for all parameters
         // including the initialValue
@@ -300,6 +309,7 @@ public class AlgorithmManager extends AbstractProcessorService
                 parameterRequestManager.addItemsToRequest(subscriptionId, newItems);
             }
             executionOrder.add(executor); // Add at the back (dependent algorithms will come in front)
+            invalidateExecutionIndex();
         } catch (InvalidRequestIdentification e) {
             log.error("InvalidRequestIdentification caught when subscribing to the items required for the algorithm {}",
                     executor.getAlgorithm().getName(), e);
@@ -310,6 +320,8 @@ public class AlgorithmManager extends AbstractProcessorService
         AlgorithmExecutor engine = execCtx.remove(algorithm);
         if (engine != null) {
             executionOrder.remove(engine);
+            statusByExecutor.remove(engine);
+            invalidateExecutionIndex();
         }
     }
 
@@ -359,11 +371,13 @@ public class AlgorithmManager extends AbstractProcessorService
                 if (!keep) {
                     it.remove();
                     globalCtx.remove(algo);
+                    statusByExecutor.remove(engine);
                 } else {
                     stillRequired.addAll(getParametersOfInterest(algo));
                 }
             }
             requiredInParams.retainAll(stillRequired);
+            invalidateExecutionIndex();
         }
     }
 
@@ -416,14 +430,16 @@ public class AlgorithmManager extends AbstractProcessorService
         long acqTime = processor.getCurrentTime();
         long genTime = items.get(0).getGenerationTime();
 
-        ArrayList<ParameterValue> allItems = new ArrayList<>(items);
-        for (AlgorithmExecutor executor : executionOrder) {
+        ExecutionIndex index = getExecutionIndex();
+        ExecutionIndex.Delivery delivery = index.newDelivery(items);
+        for (int i = delivery.nextExecutor(0); i >= 0; i = delivery.nextExecutor(i + 1)) {
+            AlgorithmExecutor executor = index.executors[i];
             if (ctx == globalCtx || executor.getExecutionContext() == ctx) {
-                boolean shouldRun = executor.updateParameters(allItems);
+                boolean shouldRun = executor.updateParameters(delivery.getInputs(i));
                 if (shouldRun) {
-                    List<ParameterValue> r = executor.runAlgorithm(acqTime, genTime);
+                    List<ParameterValue> r = runAlgorithm(executor, index.status[i], acqTime, genTime);
                     if (r != null) {
-                        allItems.addAll(r);
+                        delivery.addOutputs(i, r);
                         newItems.addAll(r);
                         ctx.updateHistoryWindows(r);
                     }
@@ -433,6 +449,50 @@ public class AlgorithmManager extends AbstractProcessorService
         return newItems;
     }
 
+    private static List<ParameterValue> runAlgorithm(AlgorithmExecutor executor, AlgorithmStatus status,
+            long acqTime, long genTime) {
+        long t0 = System.nanoTime();
+        List<ParameterValue> r = executor.runAlgorithm(acqTime, genTime);
+        status.update(acqTime, System.nanoTime() - t0);
+        return r;
+    }
+
+    private AlgorithmStatus getStatus(AlgorithmExecutor executor) {
+        return statusByExecutor.computeIfAbsent(executor, e -> new AlgorithmStatus());
+    }
+
+    /**
+     * Returns the execution statistics of an algorithm active in the global context.
+     *
+     * @param algorithm
+     * <p>
+     * If the algorithm text has been overridden, the statistics of the overriding algorithm are returned.
+     *
+     * @param algorithm
+     * @return the statistics of the algorithm or null if the algorithm is not active
+     */
+    public AlgorithmStatus getAlgorithmStatus(Algorithm algorithm) {
+        CustomAlgorithm algOverr = algoOverrides.get(algorithm);
+        AlgorithmExecutor executor = globalCtx.getExecutor(algOverr == null ? algorithm : algOverr);
+        return executor == null ? null : statusByExecutor.get(executor);
+    }
+
+    private synchronized ExecutionIndex getExecutionIndex() {
+        if (executionIndex == null) {
+            AlgorithmExecutor[] executors = executionOrder.toArray(new AlgorithmExecutor[0]);
+            AlgorithmStatus[] status = new AlgorithmStatus[executors.length];
+            for (int i = 0; i < executors.length; i++) {
+                status[i] = getStatus(executors[i]);
+            }
+            executionIndex = new ExecutionIndex(executors, status);
+        }
+        return executionIndex;
+    }
+
+    private synchronized void invalidateExecutionIndex() {
+        executionIndex = null;
+    }
+
     @Override
     public void setParameterListener(ParameterListener parameterRequestManager) {
         // do nothing, we're more interested in a ParameterRequestManager, which we're
@@ -488,15 +548,17 @@ public class AlgorithmManager extends AbstractProcessorService
         algOverr.setAlgorithmText(text);
         AlgorithmExecutor executor = factory.makeExecutor(algOverr, globalCtx);
         globalCtx.addAlgorithm(algOverr, executor);
+        getStatus(executor);
         algoOverrides.put(calg, algOverr);
         executionOrder.add(executor);
+        invalidateExecutionIndex();
     }
 
     /**
      * Returns all the parameters that this algorithm want to receive updates on. This includes not only the input
      * parameters, but also any parameters that are part of the trigger set.
      */
-    private static Set<Parameter> getParametersOfInterest(Algorithm algorithm) {
+    static Set<Parameter> getParametersOfInterest(Algorithm algorithm) {
         Stream<Parameter> inputParams = algorithm.getInputList().stream()
                 .map(ip -> ip.getParameterInstance().getParameter());
         if (algorithm.getTriggerSet() == null) {
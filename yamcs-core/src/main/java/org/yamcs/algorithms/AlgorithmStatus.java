@@ -0,0 +1,66 @@
+package org.yamcs.algorithms;
+
+import org.yamcs.utils.TimeEncoding;
+
+/**
+ * Execution statistics of an active algorithm.
+ * <p>
+ * The statistics are kept as long as the algorithm is active; they are reset if the algorithm is deactivated and
+ * activated again.
+ */
+public class AlgorithmStatus {
+    private long runCount;
+    private long lastRun = TimeEncoding.INVALID_INSTANT;
+    private long totalExecTimeNanos;
+    private long maxExecTimeNanos;
+
+    synchronized void update(long runTime, long execTimeNanos) {
+        runCount++;
+        lastRun = runTime;
+        totalExecTimeNanos += execTimeNanos;
+        if (execTimeNanos > maxExecTimeNanos) {
+            maxExecTimeNanos = execTimeNanos;
+        }
+    }
+
+    /**
+     * @return how many times the algorithm has run
+     */
+    public synchronized long getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @return the processor time of the last run or {@link TimeEncoding#INVALID_INSTANT} if the algorithm has not run
+     */
+    public synchronized long getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * @return the total time spent running the algorithm in nanoseconds
+     */
+    public synchronized long getTotalExecTimeNanos() {
+        return totalExecTimeNanos;
+    }
+
+    /**
+     * @return the duration of the longest run in nanoseconds
+     */
+    public synchronized long getMaxExecTimeNanos() {
+        return maxExecTimeNanos;
+    }
+
+    /**
+     * @return the average duration of one run in nanoseconds or 0 if the algorithm has not run
+     */
+    public synchronized long getAvgExecTimeNanos() {
+        return runCount == 0 ? 0 : totalExecTimeNanos / runCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "runCount: " + runCount + ", lastRun: " + TimeEncoding.toString(lastRun) + ", avgExecTime: "
+                + getAvgExecTimeNanos() + "ns, maxExecTime: " + maxExecTimeNanos + "ns";
+    }
+}
@@ -0,0 +1,143 @@
+package org.yamcs.algorithms;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.utils.IntArray;
+import org.yamcs.xtce.Parameter;
+
+/**
+ * Immutable snapshot of the algorithm execution order, indexing the algorithms by the parameters they depend on (inputs
+ * and triggers).
+ * <p>
+ * It allows to visit for each parameter delivery only the algorithms which may be affected by the delivered parameters
+ * (or by the outputs of the algorithms run before them), instead of all active algorithms.
+ * <p>
+ * The following algorithms are visited at each delivery:
+ * <ul>
+ * <li>the ones without trigger set - they are considered triggered by any delivery.</li>
+ * <li>the ones whose executor does not use the default {@link AbstractAlgorithmExecutor#updateParameters(List)}
+ * implementation - they may depend on other parameters and they receive the full list of delivered parameters.</li>
+ * </ul>
+ */
+class ExecutionIndex {
+    // in the execution order
+    final AlgorithmExecutor[] executors;
+    final AlgorithmStatus[] status;
+
+    // for each parameter, the indices of the executors depending on it, in increasing order
+    final Map<Parameter, int[]> consumers = new HashMap<>();
+    final BitSet alwaysVisited = new BitSet();
+    // executors which have to receive all the delivered parameters
+    final BitSet fullList = new BitSet();
+
+    ExecutionIndex(AlgorithmExecutor[] executors, AlgorithmStatus[] status) {
+        this.executors = executors;
+        this.status = status;
+        Map<Parameter, IntArray> m = new HashMap<>();
+        for (int i = 0; i < executors.length; i++) {
+            AlgorithmExecutor executor = executors[i];
+            if (!usesDefaultUpdate(executor)) {
+                fullList.set(i);
+                alwaysVisited.set(i);
+                continue;
+            }
+            if (executor.getAlgorithm().getTriggerSet() == null) {
+                alwaysVisited.set(i);
+            }
+            for (Parameter p : AlgorithmManager.getParametersOfInterest(executor.getAlgorithm())) {
+                m.computeIfAbsent(p, k -> new IntArray()).add(i);
+            }
+        }
+        for (Map.Entry<Parameter, IntArray> me : m.entrySet()) {
+            consumers.put(me.getKey(), me.getValue().toArray());
+        }
+    }
+
+    private static boolean usesDefaultUpdate(AlgorithmExecutor executor) {
+        if (!(executor instanceof AbstractAlgorithmExecutor)) {
+            return false;
+        }
+        try {
+            return executor.getClass().getMethod("updateParameters", List.class)
+                    .getDeclaringClass() == AbstractAlgorithmExecutor.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    Delivery newDelivery(List<ParameterValue> items) {
+        return new Delivery(items);
+    }
+
+    /**
+     * Keeps track of the parameters to be passed to each executor during one delivery.
+     * <p>
+     * The parameters are dispatched to the executors depending on them; the outputs of an algorithm are dispatched only
+     * to the executors coming after it in the execution order.
+     */
+    class Delivery {
+        final BitSet toVisit;
+        final List<ParameterValue>[] inputs;
+        // maintained only if some executors need the full list
+        final List<ParameterValue> allItems;
+
+        @SuppressWarnings("unchecked")
+        Delivery(List<ParameterValue> items) {
+            toVisit = (BitSet) alwaysVisited.clone();
+            inputs = new List[executors.length];
+            allItems = fullList.isEmpty() ? null : new ArrayList<>(items);
+            for (ParameterValue pv : items) {
+                addInput(pv, -1);
+            }
+        }
+
+        /**
+         * @return the index of the next executor to be visited, starting from idx or -1 if there is none
+         */
+        int nextExecutor(int idx) {
+            return toVisit.nextSetBit(idx);
+        }
+
+        List<ParameterValue> getInputs(int idx) {
+            if (fullList.get(idx)) {
+                return allItems;
+            }
+            List<ParameterValue> l = inputs[idx];
+            return l == null ? Collections.emptyList() : l;
+        }
+
+        void addOutputs(int idx, List<ParameterValue> outputs) {
+            if (allItems != null) {
+                allItems.addAll(outputs);
+            }
+            for (ParameterValue pv : outputs) {
+                addInput(pv, idx);
+            }
+        }
+
+        private void addInput(ParameterValue pv, int after) {
+            int[] c = consumers.get(pv.getParameter());
+            if (c == null) {
+                return;
+            }
+            for (int j : c) {
+                if (j <= after) {
+                    continue;
+                }
+                List<ParameterValue> l = inputs[j];
+                if (l == null) {
+                    l = new ArrayList<>(4);
+                    inputs[j] = l;
+                }
+                l.add(pv);
+                toVisit.set(j);
+            }
+        }
+    }
+}
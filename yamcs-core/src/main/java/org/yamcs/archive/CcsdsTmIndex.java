@@ -3,9 +3,12 @@ package org.yamcs.archive;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -21,6 +24,7 @@ import org.yamcs.StreamConfig;
 import org.yamcs.StreamConfig.StandardStreamType;
 import org.yamcs.ThreadSafe;
 import org.yamcs.YConfiguration;
+import org.yamcs.YamcsServer;
 import org.yamcs.protobuf.Yamcs.ArchiveRecord;
 import org.yamcs.protobuf.Yamcs.NamedObjectId;
 import org.yamcs.tctm.CcsdsPacket;
@@ -50,6 +54,11 @@ import org.yamcs.yarch.streamsql.StreamSqlException;
  * value: end time[8bytes], end seq count[2 bytes], num packets [4 bytes]
  * </pre>
  *
+ * The last record of each APID is kept in memory and extended while the packets are received in sequence; it is
+ * written to the database periodically (every flushInterval seconds), when a packet does not fit at its end, before
+ * reading or deleting records and when the service is stopped. The RocksDB records are searched and updated only for
+ * the packets which are not in sequence.
+ * <p>
  * FIXME: because the sequence count wraps around, there is a bug in case packets with the same timestamp and wrapped
  * around sequence counts are received - see testApidIndexSameTimeAndWraparound for failing test. the old TokyoCabinet
  * based indexer didn't use the sequence count as part of the key but allowed multiple records with the same key. To
@@ -65,11 +74,17 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
     // if time between two packets with the same apid is more than one hour,
     // make two records even if they packets are in sequence (because maybe there is a wrap around involved)
     static long maxApidInterval = 3600 * 1000l;
+    // the APID is 11 bits in the CCSDS primary header
+    static final int MAX_APID = 0x7FF;
     private static AtomicInteger streamCounter = new AtomicInteger();
     protected Tablespace tablespace;
     int tbsIndex;
     List<String> streamNames;
 
+    // the record at the end of which the last packet of each apid has been added
+    private final OpenRun[] openRuns = new OpenRun[MAX_APID + 1];
+    private long flushInterval;
+    private ScheduledFuture<?> flushFuture;
 
     @Override
     public void init(String yamcsInstance, String serviceName, YConfiguration args) throws InitException {
@@ -83,6 +98,7 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
                     .map(sce -> sce.getName())
                     .collect(Collectors.toList());
         }
+        flushInterval = config.getLong("flushInterval", 1);
         YarchDatabaseInstance ydb = YarchDatabase.getInstance(yamcsInstance);
         tablespace = RdbStorageEngine.getInstance().getTablespace(ydb);
         try {
@@ -104,6 +120,15 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
             }
             stream.addSubscriber(this);
         }
+        if (flushInterval > 0) {
+            flushFuture = YamcsServer.getServer().getThreadPoolExecutor().scheduleAtFixedRate(() -> {
+                try {
+                    flush();
+                } catch (RocksDBException e) {
+                    log.error("Failed to flush the ccsds tm index", e);
+                }
+            }, flushInterval, flushInterval, TimeUnit.SECONDS);
+        }
         notifyStarted();
     }
 
@@ -117,6 +142,15 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
                 stream.removeSubscriber(this);
             }
         }
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+        }
+        try {
+            flush();
+        } catch (RocksDBException e) {
+            notifyFailed(e);
+            return;
+        }
         notifyStopped();
     }
 
@@ -158,6 +192,31 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
     }
 
     synchronized void addPacket(short apid, long instant, short seq) throws RocksDBException {
+        OpenRun run = (apid >= 0 && apid <= MAX_APID) ? openRuns[apid] : null;
+        if (run != null) {
+            int c = compare(apid, instant, seq, run.record);
+            if (c == 0) { // duplicate packet
+                if (log.isTraceEnabled()) {
+                    log.trace("ignored duplicate packet: apid={} time={} seq={}", apid,
+                            TimeEncoding.toOrdinalDateTime(instant), seq);
+                }
+                return;
+            }
+            if (c == 1 && compare(apid, instant, seq, run.next) < -1) {
+                // attach to the open run, the next record is not touched
+                run.record.seqLast = seq;
+                run.record.lastTime = instant;
+                run.record.numPackets++;
+                run.dirty = true;
+                return;
+            }
+            flush(run);
+            openRuns[apid] = null;
+        }
+        addPacketToDb(apid, instant, seq);
+    }
+
+    private void addPacketToDb(short apid, long instant, short seq) throws RocksDBException {
         YRDB db = tablespace.getRdb();
         RocksIterator it = tablespace.getRdb().newIterator();
         try {
@@ -206,6 +265,7 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
                 rleft.lastTime = instant;
                 rleft.numPackets++;
                 db.put(rleft.key(tbsIndex), rleft.val());
+                openRun(rleft, rright);
             } else if (cright == -1) {// attach to right
                 db.delete(rright.key(tbsIndex));
                 rright.seqFirst = seq;
@@ -215,12 +275,38 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
             } else { // create a new record
                 Record r = new Record(apid, instant, seq, 1);
                 db.put(r.key(tbsIndex), r.val());
+                openRun(r, rright);
             }
         } finally {
             it.close();
         }
     }
 
+    private void openRun(Record record, Record next) {
+        short apid = record.apid;
+        if (apid >= 0 && apid <= MAX_APID) {
+            openRuns[apid] = new OpenRun(record, next);
+        }
+    }
+
+    private void flush(OpenRun run) throws RocksDBException {
+        if (run.dirty) {
+            tablespace.getRdb().put(run.record.key(tbsIndex), run.record.val());
+            run.dirty = false;
+        }
+    }
+
+    /**
+     * Writes to the database the records kept in memory.
+     */
+    synchronized void flush() throws RocksDBException {
+        for (OpenRun run : openRuns) {
+            if (run != null) {
+                flush(run);
+            }
+        }
+    }
+
     /**
      * compare the packet with the record. returns:
      * <ul>
@@ -325,6 +411,7 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
     }
 
     public void printApidDb(short apid, long start, long stop) throws RocksDBException {
+        flush();
         String formatt = "%-10s  %-30s - %-30s  %12s - %12s";
         System.out.println(String.format(formatt, "apid", "start", "stop", "startseq", "stopseq"));
         try (RocksIterator cur = tablespace.getRdb().newIterator()) {
@@ -400,6 +487,11 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
             this.apid = apid;
             this.start = start;
             this.stop = stop;
+            try {
+                flush();
+            } catch (RocksDBException e) {
+                throw new UncheckedIOException(new IOException(e));
+            }
         }
 
         // jumps to the beginning of the curApid returning true if there is any record matching the start criteria
@@ -536,6 +628,8 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
     }
 
     private synchronized void deleteRecords(TimeInterval interval) throws RocksDBException {
+        flush();
+        Arrays.fill(openRuns, null);
         YRDB db = tablespace.getRdb();
         try (RocksIterator it = db.newIterator()) {
             it.seekToFirst(); // header
@@ -583,6 +677,22 @@ public class CcsdsTmIndex extends AbstractYamcsService implements TmIndexService
 
 }
 
+/**
+ * Last record of an apid, extended in memory while the packets are in sequence.
+ */
+class OpenRun {
+    final Record record;
+    // the record following the open run in the database; the packets attached to the open run have to stay before it
+    final Record next;
+    // true if the record has been modified since it has been written to the database
+    boolean dirty;
+
+    OpenRun(Record record, Record next) {
+        this.record = record;
+        this.next = next;
+    }
+}
+
 class Record {
     long firstTime, lastTime;
     short apid;
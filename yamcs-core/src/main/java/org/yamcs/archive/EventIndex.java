@@ -0,0 +1,486 @@
+package org.yamcs.archive;
+
+import static org.yamcs.StandardTupleDefinitions.BODY_COLUMN;
+import static org.yamcs.StandardTupleDefinitions.GENTIME_COLUMN;
+import static org.yamcs.StandardTupleDefinitions.SEQNUM_COLUMN;
+import static org.yamcs.StandardTupleDefinitions.SOURCE_COLUMN;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.yamcs.logging.Log;
+import org.yamcs.protobuf.Yamcs.Event.EventSeverity;
+import org.yamcs.utils.ByteArray;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.utils.parser.ParseException;
+import org.yamcs.yarch.DataType;
+import org.yamcs.yarch.DbRange;
+import org.yamcs.yarch.Stream;
+import org.yamcs.yarch.StreamSubscriber;
+import org.yamcs.yarch.TableDefinition;
+import org.yamcs.yarch.TableVisitor;
+import org.yamcs.yarch.TableWalker;
+import org.yamcs.yarch.Tuple;
+import org.yamcs.yarch.TupleDefinition;
+import org.yamcs.yarch.YarchDatabaseInstance;
+import org.yamcs.yarch.YarchException;
+import org.yamcs.yarch.protobuf.Db;
+import org.yamcs.yarch.streamsql.StreamSqlException;
+
+import com.google.common.collect.BiMap;
+
+/**
+ * Inverted index of the events table, maintained by the {@link EventRecorder} when the {@code textIndex} option is
+ * set.
+ * <p>
+ * The index is stored in two tables:
+ * <ul>
+ * <li>{@value #TERMS_TABLE_NAME} contains one row for each distinct word of the event message. The primary key is
+ * (term, gentime, source, seqNum) such that the events containing one word in a time interval are retrieved with one
+ * range iteration, in the order of the generation time.</li>
+ * <li>{@value #SEVERITY_TABLE_NAME} contains for each event more severe than INFO one row for each level in
+ * {@link #LEVELS} reached by the event. The primary key is (level, gentime, source, seqNum) such that a minimum
+ * severity filter is also one range iteration and the source filter is applied without reading the event.</li>
+ * </ul>
+ * The index only selects the candidate events; these are then read from the events table by primary key and checked
+ * against the full filter.
+ * <p>
+ * The words are the sequences of letters and digits, converted to lower case and truncated to
+ * {@value #MAX_TERM_LENGTH} characters. A text search matches the events whose message contains all the words of the
+ * search text.
+ */
+public class EventIndex implements StreamSubscriber {
+    public static final String TERMS_TABLE_NAME = "events_terms";
+    public static final String SEVERITY_TABLE_NAME = "events_severity";
+
+    static final String TERM_COLUMN = "term";
+    static final String LEVEL_COLUMN = "level";
+    static final int MAX_TERM_LENGTH = 64;
+
+    /**
+     * the severity levels that can be used as minimum severity filter, in increasing order
+     */
+    public static final List<String> LEVELS = Arrays.asList("WATCH", "WARNING", "DISTRESS", "CRITICAL", "SEVERE");
+
+    // written in the terms table when all the events recorded before the creation of the index have been indexed
+    static final String COMPLETE_MARKER = "";
+
+    static final TupleDefinition TERM_TDEF = new TupleDefinition();
+    static final TupleDefinition LEVEL_TDEF = new TupleDefinition();
+    static {
+        TERM_TDEF.addColumn(TERM_COLUMN, DataType.STRING);
+        TERM_TDEF.addColumn(GENTIME_COLUMN, DataType.TIMESTAMP);
+        TERM_TDEF.addColumn(SOURCE_COLUMN, DataType.ENUM);
+        TERM_TDEF.addColumn(SEQNUM_COLUMN, DataType.INT);
+
+        LEVEL_TDEF.addColumn(LEVEL_COLUMN, DataType.ENUM);
+        LEVEL_TDEF.addColumn(GENTIME_COLUMN, DataType.TIMESTAMP);
+        LEVEL_TDEF.addColumn(SOURCE_COLUMN, DataType.ENUM);
+        LEVEL_TDEF.addColumn(SEQNUM_COLUMN, DataType.INT);
+    }
+
+    final Log log;
+    final YarchDatabaseInstance ydb;
+    final TableDefinition eventsTable;
+    final TableDefinition termsTable;
+    final TableDefinition severityTable;
+    final Stream termStream;
+    final Stream levelStream;
+
+    private volatile boolean complete;
+    private volatile boolean quitting;
+
+    /**
+     * Creates the index tables if they do not exist. The events table has to exist already.
+     */
+    public EventIndex(YarchDatabaseInstance ydb) throws StreamSqlException, ParseException {
+        this.ydb = ydb;
+        this.log = new Log(EventIndex.class, ydb.getName());
+
+        eventsTable = ydb.getTable(EventRecorder.TABLE_NAME);
+        termStream = setupTable(TERMS_TABLE_NAME, TERM_TDEF);
+        levelStream = setupTable(SEVERITY_TABLE_NAME, LEVEL_TDEF);
+        termsTable = ydb.getTable(TERMS_TABLE_NAME);
+        severityTable = ydb.getTable(SEVERITY_TABLE_NAME);
+
+        complete = hasRows(termsTable, getPrefix(termsTable, TERM_COLUMN, COMPLETE_MARKER));
+    }
+
+    private Stream setupTable(String tblName, TupleDefinition tdef) throws StreamSqlException, ParseException {
+        if (ydb.getTable(tblName) == null) {
+            ydb.execute("create table " + tblName + "(" + tdef.getStringDefinition1() + ", primary key("
+                    + tdef.getColumn(0).getName() + ", gentime, source, seqNum)) table_format=compressed");
+        }
+        String streamName = tblName + "_in";
+        if (ydb.getStream(streamName) == null) {
+            ydb.execute("create stream " + streamName + tdef.getStringDefinition());
+        }
+        // the same event may be indexed twice if it arrives while the recorded events are indexed
+        ydb.execute("upsert into " + tblName + " select * from " + streamName);
+        return ydb.getStream(streamName);
+    }
+
+    /**
+     * Indexes the events recorded before the creation of the index. Until this has finished, the index cannot be used
+     * for retrieval.
+     * <p>
+     * If interrupted by {@link #quit()}, the indexing is restarted from the beginning at the next start.
+     */
+    public void indexRecordedEvents() throws StreamSqlException {
+        if (complete) {
+            return;
+        }
+        log.info("Indexing the recorded events");
+        long[] count = new long[1];
+        walk(eventsTable, new DbRange(), true, (key, value) -> {
+            if (quitting) {
+                return TableVisitor.ACTION_STOP;
+            }
+            onTuple(null, eventsTable.deserialize(key, value));
+            count[0]++;
+            return TableVisitor.ACTION_CONTINUE;
+        });
+        if (quitting) {
+            log.info("Indexing of the recorded events interrupted after {} events", count[0]);
+            return;
+        }
+        termStream.emitTuple(new Tuple(TERM_TDEF, new Object[] { COMPLETE_MARKER, TimeEncoding.INVALID_INSTANT,
+                COMPLETE_MARKER, 0 }));
+        complete = true;
+        log.info("Indexed {} recorded events", count[0]);
+    }
+
+    @Override
+    public void onTuple(Stream stream, Tuple tuple) {
+        long gentime = tuple.getTimestampColumn(GENTIME_COLUMN);
+        String source = (String) tuple.getColumn(SOURCE_COLUMN);
+        int seqNum = tuple.getIntColumn(SEQNUM_COLUMN);
+        Db.Event event = (Db.Event) tuple.getColumn(BODY_COLUMN);
+
+        for (String term : tokenize(event.getMessage())) {
+            termStream.emitTuple(new Tuple(TERM_TDEF, new Object[] { term, gentime, source, seqNum }));
+        }
+        int rank = rank(event.getSeverity());
+        for (int i = 0; i < rank; i++) {
+            levelStream.emitTuple(new Tuple(LEVEL_TDEF, new Object[] { LEVELS.get(i), gentime, source, seqNum }));
+        }
+    }
+
+    @Override
+    public void streamClosed(Stream stream) {
+        // nothing to do
+    }
+
+    /**
+     * Stops the indexing of the recorded events, if running.
+     */
+    public void quit() {
+        quitting = true;
+    }
+
+    /**
+     * @return true if all the recorded events have been indexed and the index can be used for retrieval
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns true if the request has a text or a minimum severity filter which can be resolved with the index.
+     */
+    public boolean supports(Request request) {
+        return !request.terms.isEmpty() || request.minRank > 0;
+    }
+
+    /**
+     * Retrieves the events matching the request, sorted by generation time.
+     * <p>
+     * The index of the words of the search text is used if the request has a search text, otherwise the severity
+     * index is used.
+     *
+     * @param consumer
+     *            called for each matching event; the retrieval stops when it returns false.
+     * @throws IllegalArgumentException
+     *             if the request is not supported by the index
+     */
+    public void retrieve(Request request, Predicate<Db.Event> consumer) throws StreamSqlException {
+        TableDefinition tblDef;
+        byte[] prefix;
+        if (!request.terms.isEmpty()) {
+            tblDef = termsTable;
+            // the longest word is likely to be the least frequent
+            String term = request.terms.stream().max((t1, t2) -> Integer.compare(t1.length(), t2.length())).get();
+            prefix = getPrefix(termsTable, TERM_COLUMN, term);
+        } else if (request.minRank > 0) {
+            tblDef = severityTable;
+            String level = LEVELS.get(request.minRank - 1);
+            BiMap<String, Short> levels = severityTable.getEnumValues(LEVEL_COLUMN);
+            if (levels == null || !levels.containsKey(level)) {
+                return; // no event has reached this level yet
+            }
+            prefix = getPrefix(severityTable, LEVEL_COLUMN, level);
+        } else {
+            throw new IllegalArgumentException("The request has neither a text nor a severity filter");
+        }
+
+        DbRange range = new DbRange();
+        range.rangeStart = appendTime(tblDef, prefix, request.getRangeStart());
+        range.rangeEnd = appendTime(tblDef, prefix, request.getRangeEnd());
+
+        walk(tblDef, range, !request.descending, (key, value) -> {
+            Tuple t = tblDef.deserialize(key, value);
+            long gentime = t.getTimestampColumn(GENTIME_COLUMN);
+            String source = (String) t.getColumn(SOURCE_COLUMN);
+            int seqNum = t.getIntColumn(SEQNUM_COLUMN);
+            if (!request.matches(gentime, source, seqNum, tblDef.getEnumValues(SOURCE_COLUMN))) {
+                return TableVisitor.ACTION_CONTINUE;
+            }
+            Db.Event event = getEvent(gentime, source, seqNum);
+            if (event == null || !request.matches(event)) {
+                return TableVisitor.ACTION_CONTINUE;
+            }
+            return consumer.test(event) ? TableVisitor.ACTION_CONTINUE : TableVisitor.ACTION_STOP;
+        });
+    }
+
+    private Db.Event getEvent(long gentime, String source, int seqNum) {
+        BiMap<String, Short> sources = eventsTable.getEnumValues(SOURCE_COLUMN);
+        if (sources == null || !sources.containsKey(source)) {
+            return null;
+        }
+        ByteArray key = new ByteArray();
+        eventsTable.getColumnDefinition(GENTIME_COLUMN).serializeValue(key, gentime);
+        eventsTable.getColumnDefinition(SOURCE_COLUMN).serializeValue(key, source);
+        eventsTable.getColumnDefinition(SEQNUM_COLUMN).serializeValue(key, seqNum);
+        DbRange range = new DbRange();
+        range.rangeStart = range.rangeEnd = key.toArray();
+
+        Db.Event[] result = new Db.Event[1];
+        try {
+            walk(eventsTable, range, true, (k, v) -> {
+                result[0] = (Db.Event) eventsTable.deserialize(k, v).getColumn(BODY_COLUMN);
+                return TableVisitor.ACTION_STOP;
+            });
+        } catch (StreamSqlException e) {
+            throw new YarchException(e);
+        }
+        return result[0];
+    }
+
+    private boolean hasRows(TableDefinition tblDef, byte[] prefix) throws StreamSqlException {
+        DbRange range = new DbRange();
+        range.rangeStart = range.rangeEnd = prefix;
+        boolean[] found = new boolean[1];
+        walk(tblDef, range, true, (key, value) -> {
+            found[0] = true;
+            return TableVisitor.ACTION_STOP;
+        });
+        return found[0];
+    }
+
+    private void walk(TableDefinition tblDef, DbRange range, boolean ascending, TableVisitor visitor)
+            throws StreamSqlException {
+        TableWalker walker = ydb.getStorageEngine(tblDef).newTableWalker(ydb, tblDef, ascending, false);
+        walker.setPrimaryIndexRange(range);
+        walker.walk(visitor);
+    }
+
+    private static byte[] getPrefix(TableDefinition tblDef, String columnName, String value) {
+        ByteArray ba = new ByteArray();
+        tblDef.getColumnDefinition(columnName).serializeValue(ba, value);
+        return ba.toArray();
+    }
+
+    private static byte[] appendTime(TableDefinition tblDef, byte[] prefix, long time) {
+        if (time == TimeEncoding.INVALID_INSTANT) {
+            return prefix;
+        }
+        ByteArray ba = new ByteArray();
+        ba.add(prefix);
+        tblDef.getColumnDefinition(GENTIME_COLUMN).serializeValue(ba, time);
+        return ba.toArray();
+    }
+
+    /**
+     * Splits the text into words: sequences of letters and digits, converted to lower case and truncated to
+     * {@value #MAX_TERM_LENGTH} characters.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)).toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * @return the number of {@link #LEVELS} reached by an event of the given severity
+     */
+    static int rank(EventSeverity severity) {
+        switch (severity) {
+        case WATCH:
+            return 1;
+        case WARNING:
+            return 2;
+        case DISTRESS:
+            return 3;
+        case CRITICAL:
+            return 4;
+        case SEVERE:
+        case ERROR:
+            return 5;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Filter applied to the events retrieved from the index.
+     */
+    public static class Request {
+        final Set<String> terms;
+        final int minRank;
+        long start = TimeEncoding.INVALID_INSTANT;
+        long stop = TimeEncoding.INVALID_INSTANT;
+        Set<String> sources;
+        boolean descending;
+
+        // continuation
+        long afterGentime = TimeEncoding.INVALID_INSTANT;
+        String afterSource;
+        int afterSeqNum;
+
+        /**
+         * @param severity
+         *            the minimum severity, one of INFO (no filter) or {@link #LEVELS}. For any other value the index
+         *            cannot be used for the severity.
+         * @param text
+         *            the search text, may be null.
+         */
+        public Request(String severity, String text) {
+            this.minRank = LEVELS.indexOf(severity) + 1;
+            this.terms = tokenize(text);
+        }
+
+        /**
+         * @param start
+         *            the start of the generation time interval, inclusive
+         */
+        public void setStart(long start) {
+            this.start = start;
+        }
+
+        /**
+         * @param stop
+         *            the end of the generation time interval, exclusive
+         */
+        public void setStop(long stop) {
+            this.stop = stop;
+        }
+
+        public void setSources(Collection<String> sources) {
+            this.sources = new HashSet<>(sources);
+        }
+
+        public void setDescending(boolean descending) {
+            this.descending = descending;
+        }
+
+        /**
+         * Continue after the event with the given generation time, source and sequence number (in the order of the
+         * retrieval).
+         */
+        public void setAfter(long gentime, String source, int seqNum) {
+            this.afterGentime = gentime;
+            this.afterSource = source;
+            this.afterSeqNum = seqNum;
+        }
+
+        // the start of the range to be retrieved, taking into account the continuation
+        long getRangeStart() {
+            if (!descending && afterGentime != TimeEncoding.INVALID_INSTANT
+                    && (start == TimeEncoding.INVALID_INSTANT || start < afterGentime)) {
+                return afterGentime;
+            }
+            return start;
+        }
+
+        // the end (inclusive) of the range to be retrieved, taking into account the continuation
+        long getRangeEnd() {
+            if (descending && afterGentime != TimeEncoding.INVALID_INSTANT
+                    && (stop == TimeEncoding.INVALID_INSTANT || stop > afterGentime)) {
+                return afterGentime;
+            }
+            return stop == TimeEncoding.INVALID_INSTANT ? stop : stop - 1;
+        }
+
+        /**
+         * @param sourceIds
+         *            the enum values of the source column of the index table; the rows with the same generation time
+         *            are sorted by the enum value of the source, not by its name.
+         */
+        boolean matches(long gentime, String source, int seqNum, BiMap<String, Short> sourceIds) {
+            if (start != TimeEncoding.INVALID_INSTANT && gentime < start) {
+                return false;
+            }
+            if (stop != TimeEncoding.INVALID_INSTANT && gentime >= stop) {
+                return false;
+            }
+            if (sources != null && !sources.contains(source)) {
+                return false;
+            }
+            if (afterGentime != TimeEncoding.INVALID_INSTANT) {
+                int c = compareToAfter(gentime, source, seqNum, sourceIds);
+                return descending ? c < 0 : c > 0;
+            }
+            return true;
+        }
+
+        // compares the key (gentime, source, seqNum) with the one of the continuation event
+        private int compareToAfter(long gentime, String source, int seqNum, BiMap<String, Short> sourceIds) {
+            int c = Long.compare(gentime, afterGentime);
+            if (c != 0) {
+                return c;
+            }
+            Short sourceId = sourceIds.get(source);
+            Short afterSourceId = sourceIds.get(afterSource);
+            if (sourceId != null && afterSourceId != null) {
+                c = Short.compare(sourceId, afterSourceId);
+            } else if (afterSource != null) {
+                // the continuation source is unknown to the table
+                c = source.compareTo(afterSource);
+            }
+            return c != 0 ? c : Integer.compare(seqNum, afterSeqNum);
+        }
+
+        boolean matches(Db.Event event) {
+            if (rank(event.getSeverity()) < minRank) {
+                return false;
+            }
+            if (!terms.isEmpty()) {
+                return tokenize(event.getMessage()).containsAll(terms);
+            }
+            return true;
+        }
+    }
+}
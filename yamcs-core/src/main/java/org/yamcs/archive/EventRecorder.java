@@ -1,13 +1,17 @@
 package org.yamcs.archive;
 
+import java.util.Arrays;
 import java.util.stream.Collectors;
 
 import org.yamcs.AbstractYamcsService;
 import org.yamcs.InitException;
+import org.yamcs.Spec;
+import org.yamcs.Spec.OptionType;
 import org.yamcs.StreamConfig;
 import org.yamcs.StreamConfig.StreamConfigEntry;
 import org.yamcs.YConfiguration;
 import org.yamcs.utils.parser.ParseException;
+import org.yamcs.yarch.Stream;
 import org.yamcs.yarch.YarchDatabase;
 import org.yamcs.yarch.YarchDatabaseInstance;
 import org.yamcs.yarch.protobuf.Db.Event;
@@ -24,6 +28,15 @@ public class EventRecorder extends AbstractYamcsService {
     public static final String TABLE_NAME = "events";
     public static final String REALTIME_EVENT_STREAM_NAME = "events_realtime";
 
+    private EventIndex eventIndex;
+
+    @Override
+    public Spec getSpec() {
+        Spec spec = new Spec();
+        spec.addOption("textIndex", OptionType.BOOLEAN).withDefault(false);
+        return spec;
+    }
+
     @Override
     public void init(String yamcsInstance, String serviceName, YConfiguration config) throws InitException {
         super.init(yamcsInstance, serviceName, config);
@@ -43,6 +56,16 @@ public class EventRecorder extends AbstractYamcsService {
                     ydb.execute("insert into " + TABLE_NAME + " select * from " + sce.getName());
                 }
             }
+
+            if (config.getBoolean("textIndex")) {
+                eventIndex = new EventIndex(ydb);
+                for (StreamConfigEntry sce : sc.getEntries()) {
+                    if (sce.getType() == StreamConfig.StandardStreamType.EVENT) {
+                        Stream stream = ydb.getStream(sce.getName());
+                        stream.addSubscriber(eventIndex);
+                    }
+                }
+            }
         } catch (ParseException | StreamSqlException e) {
             throw new InitException(e);
         }
@@ -50,6 +73,15 @@ public class EventRecorder extends AbstractYamcsService {
 
     @Override
     protected void doStart() {
+        if (eventIndex != null && !eventIndex.isComplete()) {
+            new Thread(() -> {
+                try {
+                    eventIndex.indexRecordedEvents();
+                } catch (StreamSqlException e) {
+                    log.error("Failed to index the recorded events", e);
+                }
+            }, "EventIndexer[" + yamcsInstance + "]").start();
+        }
         notifyStarted();
     }
 
@@ -58,8 +90,26 @@ public class EventRecorder extends AbstractYamcsService {
         YarchDatabaseInstance ydb = YarchDatabase.getInstance(yamcsInstance);
         StreamConfig sc = StreamConfig.getInstance(yamcsInstance);
 
+        if (eventIndex != null) {
+            eventIndex.quit();
+            for (StreamConfigEntry sce : sc.getEntries()) {
+                Stream stream = ydb.getStream(sce.getName());
+                if (stream != null) {
+                    stream.removeSubscriber(eventIndex);
+                }
+            }
+            Utils.closeTableWriters(ydb, Arrays.asList(eventIndex.termStream.getName(),
+                    eventIndex.levelStream.getName()));
+        }
         Utils.closeTableWriters(ydb, sc.getEntries().stream().map(sce -> sce.getName()).collect(Collectors.toList()));
 
         notifyStopped();
     }
+
+    /**
+     * @return the index of the events table or null if the {@code textIndex} option is not set
+     */
+    public EventIndex getEventIndex() {
+        return eventIndex;
+    }
 }
@@ -20,7 +20,7 @@ import org.yamcs.time.TimeService;
 import org.yamcs.utils.parser.ParseException;
 import org.yamcs.xtce.SequenceContainer;
 import org.yamcs.xtce.XtceDb;
-import org.yamcs.xtceproc.ContainerProcessingResult;
+import org.yamcs.xtceproc.ContainerClassifier;
 import org.yamcs.xtceproc.XtceDbFactory;
 import org.yamcs.xtceproc.XtceTmExtractor;
 import org.yamcs.yarch.DataType;
@@ -39,6 +39,9 @@ import org.yamcs.yarch.streamsql.StreamSqlException;
  * from the TM input streams. It does that by creating a {@link XtceTmExtractor} and subscribing to all sequence
  * containers having the flag {@link SequenceContainer#useAsArchivePartition()} set. The pname is the qualified name of
  * the most specific (lowest in the XTCE hierarchy) container matching the telemetry packet.
+ * <p>
+ * The packets are classified with a {@link ContainerClassifier}; they are extracted only if the restriction criteria
+ * of the containers cannot be evaluated directly on the packet.
  * 
  * <p>
  * It subscribes to all the streams configured with the "streams" config key or, if not present, to all TM streams defined
@@ -180,6 +183,11 @@ public class XtceTmRecorder extends AbstractYamcsService {
 
         LinkedBlockingQueue<Tuple> tmQueue;
         XtceTmExtractor tmExtractor;
+        ContainerClassifier classifier;
+
+        // the definition of the last input tuple and the corresponding definition of the recorded tuple
+        TupleDefinition inputTdef;
+        TupleDefinition outputTdef;
 
         StreamRecorder(Stream inputStream, Stream outputStream, SequenceContainer sc, boolean async) {
             this.outputStream = outputStream;
@@ -191,6 +199,7 @@ public class XtceTmRecorder extends AbstractYamcsService {
             }
             tmExtractor = new XtceTmExtractor(xtceDb);
             subscribeContainers(rootSequenceContainer);
+            classifier = new ContainerClassifier(tmExtractor, rootSequenceContainer);
         }
 
         /**
@@ -283,24 +292,31 @@ public class XtceTmRecorder extends AbstractYamcsService {
             byte[] packet = (byte[]) t.getColumn(4);
             totalNumPackets++;
 
-            ContainerProcessingResult cpr = tmExtractor.processPacket(packet, gentime, timeService.getMissionTime(),
-                    rootSequenceContainer);
-            String packetName = cpr.getPacketName();
+            String packetName = classifier.getPacketName(packet, gentime, timeService.getMissionTime());
 
             try {
                 List<Object> c = t.getColumns();
-                List<Object> columns = new ArrayList<>(c.size() + 1);
-                columns.addAll(c);
+                Object[] columns = c.toArray(new Object[c.size() + 1]);
+                columns[c.size()] = packetName;
 
-                columns.add(c.size(), packetName);
-                TupleDefinition tdef = t.getDefinition().copy();
-                tdef.addColumn(PNAME_COLUMN, DataType.ENUM);
-
-                Tuple tp = new Tuple(tdef, columns);
+                Tuple tp = new Tuple(getOutputDefinition(t.getDefinition()), columns);
                 outputStream.emitTuple(tp);
             } catch (Exception e) {
                 log.error("got exception when saving packet ", e);
             }
         }
+
+        private TupleDefinition getOutputDefinition(TupleDefinition tdef) {
+            if (tdef != inputTdef) {
+                if (tdef == StandardTupleDefinitions.TM) {
+                    outputTdef = RECORDED_TM_TUPLE_DEFINITION;
+                } else {
+                    outputTdef = tdef.copy();
+                    outputTdef.addColumn(PNAME_COLUMN, DataType.ENUM);
+                }
+                inputTdef = tdef;
+            }
+            return outputTdef;
+        }
     }
 }
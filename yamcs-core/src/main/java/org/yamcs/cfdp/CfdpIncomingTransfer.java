@@ -3,6 +3,7 @@ package org.yamcs.cfdp;
 import static org.yamcs.cfdp.CfdpService.*;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -62,7 +63,7 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
     private Bucket incomingBucket = null;
     private String objectName;
 
-    private DataFile incomingDataFile;
+    private SpooledDataFile incomingDataFile;
     MetadataPacket metadataPacket;
     EofPacket eofPacket;
     final Timer finTimer;
@@ -106,17 +107,19 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
     List<CfdpPacket> queuedPackets = new ArrayList<>();
 
     public CfdpIncomingTransfer(String yamcsInstance, long id, long creationTime, ScheduledThreadPoolExecutor executor,
-            YConfiguration config, MetadataPacket packet, Stream cfdpOut, Bucket target, EventProducer eventProducer,
-            TransferMonitor monitor, Map<ConditionCode, FaultHandlingAction> faultHandlerActions) {
-        this(yamcsInstance, id, creationTime, executor, config, packet.getHeader(), cfdpOut, target, eventProducer,
-                monitor, faultHandlerActions);
+            YConfiguration config, MetadataPacket packet, Stream cfdpOut, Bucket target, Path spoolDir,
+            EventProducer eventProducer, TransferMonitor monitor,
+            Map<ConditionCode, FaultHandlingAction> faultHandlerActions) {
+        this(yamcsInstance, id, creationTime, executor, config, packet.getHeader(), cfdpOut, target, spoolDir,
+                eventProducer, monitor, faultHandlerActions);
         processMetadata(packet);
 
     }
 
     public CfdpIncomingTransfer(String yamcsInstance, long id, long creationTime, ScheduledThreadPoolExecutor executor,
-            YConfiguration config, CfdpHeader hdr, Stream cfdpOut, Bucket target, EventProducer eventProducer,
-            TransferMonitor monitor, Map<ConditionCode, FaultHandlingAction> faultHandlerActions) {
+            YConfiguration config, CfdpHeader hdr, Stream cfdpOut, Bucket target, Path spoolDir,
+            EventProducer eventProducer, TransferMonitor monitor,
+            Map<ConditionCode, FaultHandlingAction> faultHandlerActions) {
         super(yamcsInstance, id, creationTime, executor, config, hdr.getTransactionId(), hdr.getDestinationId(),
                 cfdpOut, eventProducer, monitor, faultHandlerActions);
         incomingBucket = target;
@@ -150,7 +153,7 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
                 hdr.getSequenceNumber());
 
         needsFinish = acknowledged;
-        incomingDataFile = new DataFile(-1);
+        incomingDataFile = new SpooledDataFile(spoolDir, -1);
     }
 
     @Override
@@ -318,6 +321,9 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
     }
 
     private void checkFileComplete() {
+        if (state == TransferState.FAILED) { // abandoned, the data file has been removed
+            return;
+        }
         if (incomingDataFile.isComplete() && eofReceived()) {
             onFileCompleted();
         } else {
@@ -328,7 +334,7 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
     }
 
     private void processFileDataPacket(FileDataPacket fdp) {
-        if (inTxState != InTxState.RECEIVING_DATA) {
+        if (inTxState != InTxState.RECEIVING_DATA || state == TransferState.FAILED) {
             log.debug("TXID{} ignoring packet {}", cfdpTransactionId, fdp);
             return;
         }
@@ -432,6 +438,15 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
         }
     }
 
+    @Override
+    protected void changeState(TransferState newState) {
+        super.changeState(newState);
+        if (newState == TransferState.FAILED) {
+            // the data is saved before reaching this state, if at all
+            incomingDataFile.close();
+        }
+    }
+
     private void handleFault(ConditionCode conditionCode) {
         switch (inTxState) {
         case RECEIVING_DATA:
@@ -534,9 +549,11 @@ public class CfdpIncomingTransfer extends OngoingCfdpTransfer {
                 metadata.put("checksumError", "true");
             }
             objectName = getFileName(objectName);
-            incomingBucket.putObject(objectName, null, metadata, incomingDataFile.getData());
+            incomingBucket.putObject(objectName, null, metadata, incomingDataFile.getPath());
         } catch (IOException e) {
             throw new RuntimeException("cannot save incoming file in bucket " + incomingBucket.getName(), e);
+        } finally {
+            incomingDataFile.close();
         }
     }
 
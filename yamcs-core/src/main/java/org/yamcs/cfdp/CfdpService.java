@@ -3,6 +3,9 @@ package org.yamcs.cfdp;
 import static org.yamcs.cfdp.CompletedTransfer.TDEF;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -94,6 +97,8 @@ public class CfdpService extends AbstractYamcsService
     Stream cfdpIn;
     Stream cfdpOut;
     Bucket incomingBucket;
+    // directory where the data of the incoming files is written until the transfer is finished
+    Path spoolDir;
 
     EventProducer eventProducer;
 
@@ -145,6 +150,7 @@ public class CfdpService extends AbstractYamcsService
         spec.addOption("destinationId", OptionType.INTEGER)
                 .withDeprecationMessage("please use the remoteEntities");
         spec.addOption("incomingBucket", OptionType.STRING).withDefault("cfdpDown");
+        spec.addOption("spoolDir", OptionType.STRING);
         spec.addOption("entityIdLength", OptionType.INTEGER).withDefault(2);
         spec.addOption("sequenceNrLength", OptionType.INTEGER).withDefault(4);
         spec.addOption("maxPduSize", OptionType.INTEGER).withDefault(512);
@@ -192,6 +198,7 @@ public class CfdpService extends AbstractYamcsService
         cfdpIn.addSubscriber(this);
 
         incomingBucket = getBucket(config.getString("incomingBucket"), true);
+        initSpoolDir(config);
         maxNumPendingDownloads = config.getInt("maxNumPendingDownloads");
         maxNumPendingUploads = config.getInt("maxNumPendingUploads");
         archiveRetrievalLimit = config.getInt("archiveRetrievalLimit", 100);
@@ -217,6 +224,24 @@ public class CfdpService extends AbstractYamcsService
         setupRecording(ydb);
     }
 
+    private void initSpoolDir(YConfiguration config) throws InitException {
+        if (config.containsKey("spoolDir")) {
+            spoolDir = Paths.get(config.getString("spoolDir"));
+        } else {
+            spoolDir = Paths.get(YarchDatabase.getDataDir()).resolve(yamcsInstance).resolve("cfdp-spool")
+                    .resolve(serviceName);
+        }
+        try {
+            Files.createDirectories(spoolDir);
+            int n = SpooledDataFile.deleteStaleFiles(spoolDir);
+            if (n > 0) {
+                log.info("Deleted {} incomplete incoming files from {}", n, spoolDir);
+            }
+        } catch (IOException e) {
+            throw new InitException("Cannot initialize the spool directory " + spoolDir + ": " + e);
+        }
+    }
+
     private Map<ConditionCode, FaultHandlingAction> readFaultHandlers(Map<String, String> map) {
         Map<ConditionCode, FaultHandlingAction> m = new HashMap<>();
         for (Map.Entry<String, String> me : map.entrySet()) {
@@ -514,7 +539,7 @@ public class CfdpService extends AbstractYamcsService
         long creationTime = YamcsServer.getTimeService(yamcsInstance).getMissionTime();
 
         OngoingCfdpTransfer transfer = new CfdpIncomingTransfer(yamcsInstance, idSeq.next(), creationTime, executor,
-                config, packet.getHeader(), cfdpOut, bucket, eventProducer, this, receiverFaultHandlers);
+                config, packet.getHeader(), cfdpOut, bucket, spoolDir, eventProducer, this, receiverFaultHandlers);
         return transfer;
     }
 
@@ -0,0 +1,204 @@
+package org.yamcs.cfdp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.yamcs.cfdp.pdu.SegmentRequest;
+
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.TreeRangeSet;
+
+/**
+ * Incoming file data written directly at its offset in a temporary (sparse) file instead of being kept in memory.
+ * The temporary files are created in a spool directory provided by the caller.
+ * <p>
+ * The received parts of the file are tracked in a tree of ranges, such that adding a segment and finding the gaps
+ * takes logarithmic time in the number of discontinuities. As for the {@link DataFile}, if a segment overlaps with
+ * data already received, only the new part is written.
+ * <p>
+ * The checksum is computed when the data is added. The temporary file is removed by {@link #close()}.
+ */
+public class SpooledDataFile implements Closeable {
+    private final Path path;
+    private final FileChannel channel;
+    private final RangeSet<Long> received = TreeRangeSet.create();
+    private long receivedSize = 0;
+    private long checksum = 0;
+    // -1 means size unknown or unbounded
+    private long size;
+
+    static final String PREFIX = "cfdp";
+    static final String SUFFIX = ".part";
+
+    /**
+     * Creates the temporary file in the spool directory.
+     *
+     * @param dir
+     *            the spool directory, it has to exist
+     * @param size
+     *            the size of the file or -1 if not known
+     */
+    public SpooledDataFile(Path dir, long size) {
+        this.size = size;
+        try {
+            path = Files.createTempFile(dir, PREFIX, SUFFIX);
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void addSegment(DataFileSegment seg) {
+        if (size != -1 && seg.getEndOffset() > size) {
+            throw new IllegalArgumentException("Segment falls beyond the end of the file");
+        }
+        if (seg.getLength() == 0) {
+            return;
+        }
+        Range<Long> range = Range.closedOpen(seg.getOffset(), seg.getEndOffset());
+        if (received.encloses(range)) {
+            return;
+        }
+        List<Range<Long>> newParts = new ArrayList<>(received.complement().subRangeSet(range).asRanges());
+        try {
+            for (Range<Long> part : newParts) {
+                int from = (int) (part.lowerEndpoint() - seg.getOffset());
+                int to = (int) (part.upperEndpoint() - seg.getOffset());
+                ByteBuffer buf = ByteBuffer.wrap(seg.getData(), from, to - from);
+                long pos = part.lowerEndpoint();
+                while (buf.hasRemaining()) {
+                    pos += channel.write(buf, pos);
+                }
+                byte[] data = (from == 0 && to == seg.getLength()) ? seg.getData()
+                        : Arrays.copyOfRange(seg.getData(), from, to);
+                checksum += ChecksumCalculator.calculateChecksum(data, part.lowerEndpoint(), to - from);
+                receivedSize += to - from;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        received.add(range);
+    }
+
+    public List<SegmentRequest> getMissingChunks() {
+        return getMissingChunks(true);
+    }
+
+    /**
+     * Returns the missing data segments.
+     * <p>
+     * includeEnd = false is used when the file has been partially transfer to not return a segment covering the end of
+     * the file
+     *
+     * @param includeEnd
+     * @return
+     */
+    public List<SegmentRequest> getMissingChunks(boolean includeEnd) {
+        if (includeEnd && size < 0) {
+            throw new IllegalArgumentException("Size is not known, cannot pass includeEnd=true");
+        }
+        List<SegmentRequest> toReturn = new ArrayList<>();
+        long end = includeEnd ? size : endOfFileOffset();
+        if (end <= 0) {
+            return toReturn;
+        }
+        for (Range<Long> r : received.complement().subRangeSet(Range.closedOpen(0L, end)).asRanges()) {
+            toReturn.add(new SegmentRequest(r.lowerEndpoint(), r.upperEndpoint()));
+        }
+        return toReturn;
+    }
+
+    // returns the amount of bytes received of this Data Files.
+    // Missing intermediate chunks are not yet received and are therefore not counted
+    public long getReceivedSize() {
+        return receivedSize;
+    }
+
+    /**
+     *
+     * @return true if all the data has been received. If size is not known return false.
+     */
+    public boolean isComplete() {
+        if (size < 0) {
+            return false;
+        } else if (size == 0) {
+            return true;
+        }
+        return received.encloses(Range.closedOpen(0L, size));
+    }
+
+    public long getChecksum() {
+        return checksum & 0xFFFFFFFFl;
+    }
+
+    /**
+     * return end of the last segment or -1 if not known
+     *
+     * @return
+     */
+    public long endOfFileOffset() {
+        return received.isEmpty() ? -1 : received.span().upperEndpoint();
+    }
+
+    public void setSize(long size) {
+        long eof = endOfFileOffset();
+        if (size < 0 || size < eof) {
+            throw new IllegalArgumentException("Invalid size");
+        }
+        this.size = size;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     *
+     * @return the path of the temporary file containing the data
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Closes and removes the temporary file. It is safe to call this method multiple times.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the temporary files left in the spool directory by transfers which have not been closed (e.g. because
+     * the server has been killed).
+     *
+     * @return the number of files deleted
+     */
+    public static int deleteStaleFiles(Path dir) throws IOException {
+        int n = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path p : stream) {
+                if (Files.deleteIfExists(p)) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+}
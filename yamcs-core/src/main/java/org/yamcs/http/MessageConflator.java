@@ -0,0 +1,169 @@
+package org.yamcs.http;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.yamcs.protobuf.AlarmData;
+import org.yamcs.protobuf.LinkEvent;
+import org.yamcs.protobuf.Pvalue.ParameterValue;
+import org.yamcs.protobuf.SubscribeParametersData;
+import org.yamcs.protobuf.Yamcs.NamedObjectId;
+
+import com.google.protobuf.Message;
+
+/**
+ * Collects the messages of a WebSocket call while the channel is not writable, keeping only the latest state of each
+ * object (parameter, alarm, link).
+ * <p>
+ * The memory used is bounded by the number of distinct objects of the call and the client receives the latest state
+ * of each object once the channel becomes writable again.
+ * <p>
+ * Only the topics whose messages describe the state of objects support conflation; for the others
+ * {@link #forTopic(String)} returns null.
+ */
+abstract class MessageConflator {
+
+    /**
+     *
+     * @return the conflator to be used for the given topic or null if the topic does not support conflation
+     */
+    static MessageConflator forTopic(String topicName) {
+        switch (topicName) {
+        case "parameters":
+            return new ParameterConflator();
+        case "alarms":
+            return new KeyedConflator<>(MessageConflator::alarmKey, (oldMsg, newMsg) -> newMsg);
+        case "links":
+            return new KeyedConflator<>(m -> ((LinkEvent) m).getLinkInfo().getName(), MessageConflator::mergeLinks);
+        default:
+            return null;
+        }
+    }
+
+    abstract void add(Message message);
+
+    abstract boolean isEmpty();
+
+    /**
+     * Returns the conflated messages and clears the conflator.
+     */
+    abstract List<Message> drain();
+
+    static String alarmKey(Message m) {
+        AlarmData alarm = (AlarmData) m;
+        NamedObjectId id = alarm.getId();
+        return id.getNamespace() + "/" + id.getName() + "#" + alarm.getSeqNum();
+    }
+
+    /**
+     * A link registered and then updated is still a registration for the client; a link registered and then
+     * unregistered before the client knew about it is removed altogether.
+     */
+    static Message mergeLinks(Message oldMsg, Message newMsg) {
+        LinkEvent oldEvent = (LinkEvent) oldMsg;
+        LinkEvent newEvent = (LinkEvent) newMsg;
+        if (oldEvent.getType() == LinkEvent.Type.REGISTERED) {
+            if (newEvent.getType() == LinkEvent.Type.UPDATED) {
+                return newEvent.toBuilder().setType(LinkEvent.Type.REGISTERED).build();
+            } else if (newEvent.getType() == LinkEvent.Type.UNREGISTERED) {
+                return null;
+            }
+        }
+        return newEvent;
+    }
+
+    /**
+     * Merges all the {@link SubscribeParametersData} in one message, keeping the last value of each parameter.
+     * <p>
+     * The mappings and the invalid identifiers are all kept since the client needs them to interpret the values.
+     */
+    static class ParameterConflator extends MessageConflator {
+        private final Map<Integer, NamedObjectId> mapping = new LinkedHashMap<>();
+        private final Set<NamedObjectId> invalid = new LinkedHashSet<>();
+        private final Map<Integer, ParameterValue> values = new LinkedHashMap<>();
+
+        @Override
+        void add(Message message) {
+            SubscribeParametersData data = (SubscribeParametersData) message;
+            mapping.putAll(data.getMappingMap());
+            invalid.addAll(data.getInvalidList());
+            for (ParameterValue pv : data.getValuesList()) {
+                values.remove(pv.getNumericId());
+                values.put(pv.getNumericId(), pv);
+            }
+        }
+
+        @Override
+        boolean isEmpty() {
+            return mapping.isEmpty() && invalid.isEmpty() && values.isEmpty();
+        }
+
+        @Override
+        List<Message> drain() {
+            if (isEmpty()) {
+                return Collections.emptyList();
+            }
+            SubscribeParametersData data = SubscribeParametersData.newBuilder()
+                    .putAllMapping(mapping)
+                    .addAllInvalid(invalid)
+                    .addAllValues(values.values())
+                    .build();
+            mapping.clear();
+            invalid.clear();
+            values.clear();
+            return Collections.singletonList(data);
+        }
+    }
+
+    /**
+     * Keeps one message per key, merged with the previous one by the merge function.
+     * <p>
+     * The messages are delivered in the order of their last update.
+     */
+    static class KeyedConflator<K> extends MessageConflator {
+        private final Map<K, Message> messages = new LinkedHashMap<>();
+        private final Function<Message, K> keyFunction;
+        private final MergeFunction mergeFunction;
+
+        KeyedConflator(Function<Message, K> keyFunction, MergeFunction mergeFunction) {
+            this.keyFunction = keyFunction;
+            this.mergeFunction = mergeFunction;
+        }
+
+        @Override
+        void add(Message message) {
+            K key = keyFunction.apply(message);
+            Message old = messages.remove(key);
+            Message merged = old == null ? message : mergeFunction.merge(old, message);
+            if (merged != null) {
+                messages.put(key, merged);
+            }
+        }
+
+        @Override
+        boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        @Override
+        List<Message> drain() {
+            List<Message> l = new ArrayList<>(messages.values());
+            messages.clear();
+            return l;
+        }
+    }
+
+    @FunctionalInterface
+    interface MergeFunction {
+        /**
+         * @return the merged message or null if the two messages cancel each other
+         */
+        Message merge(Message oldMsg, Message newMsg);
+    }
+}
@@ -56,6 +56,7 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
 
     private List<TopicContext> contexts = new ArrayList<>();
     private Map<Integer, Observer<Message>> clientObserversByCall = new HashMap<>();
+    private Map<Integer, WebSocketObserver> observersByCall = new HashMap<>();
 
     public WebSocketFrameHandler(HttpServer httpServer, HttpRequest req, User user, int maxDrops,
             WriteBufferWaterMark writeBufferWaterMark) {
@@ -200,6 +201,7 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
                 if (ctx.getId() == callId) {
                     ctx.close();
                     clientObserversByCall.remove(callId);
+                    observersByCall.remove(callId);
                 }
             }
         }
@@ -222,6 +224,7 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
         });
 
         contexts.add(ctx);
+        observersByCall.put(ctx.getId(), observer);
 
         if (ctx.isClientStreaming()) {
             Observer<Message> clientObserver = topic.callMethod(ctx, observer);
@@ -277,6 +280,17 @@ public class WebSocketFrameHandler extends SimpleChannelInboundHandler<WebSocket
         log.info("Channel {} closed", remoteAddress);
         contexts.forEach(TopicContext::close);
         contexts.clear();
+        observersByCall.clear();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext nettyContext) throws Exception {
+        if (nettyContext.channel().isWritable()) {
+            for (WebSocketObserver observer : observersByCall.values()) {
+                observer.flushConflated();
+            }
+        }
+        super.channelWritabilityChanged(nettyContext);
     }
 
     private Topic matchTopic(String topicName) {
@@ -28,11 +28,15 @@ public class WebSocketObserver implements Observer<Message> {
     private boolean replied;
     private List<Message> pendingMessages = new ArrayList<>(); // Messages received while not yet replied
 
+    // Collects the messages while the channel is not writable, null if the topic does not support conflation
+    private final MessageConflator conflator;
+
     public WebSocketObserver(TopicContext ctx, WebSocketFrameHandler frameHandler) {
         this.ctx = ctx;
         this.frameHandler = frameHandler;
         log = new Log(WebSocketObserver.class);
         log.setContext(ctx.toString());
+        conflator = MessageConflator.forTopic(ctx.getTopic().getName());
 
         log.info("Subscribe {}", ctx.getTopic().getName());
     }
@@ -75,6 +79,17 @@ public class WebSocketObserver implements Observer<Message> {
             log.warn("Skipping frame because channel is not open");
             return;
         }
+        if (conflator != null) {
+            synchronized (this) { // Guard 'conflator' and keep the order with respect to the conflated messages
+                if (!ctx.nettyContext.channel().isWritable()) {
+                    conflator.add(message);
+                    return;
+                }
+                sendConflated();
+                sendMessage(ctx.getTopic().getName(), message);
+            }
+            return;
+        }
         if (!ctx.nettyContext.channel().isWritable()) {
             log.warn("Skipping frame because channel is not writable");
             return;
@@ -83,6 +98,34 @@ public class WebSocketObserver implements Observer<Message> {
         sendMessage(ctx.getTopic().getName(), message);
     }
 
+    /**
+     * Sends the messages conflated while the channel was not writable.
+     * <p>
+     * Called when the channel becomes writable again.
+     */
+    void flushConflated() {
+        if (conflator == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!replied || cancelled || !ctx.nettyContext.channel().isWritable()) {
+                return;
+            }
+            sendConflated();
+        }
+    }
+
+    private void sendConflated() {
+        if (conflator.isEmpty()) {
+            return;
+        }
+        List<Message> messages = conflator.drain();
+        log.debug("Sending {} conflated messages", messages.size());
+        for (Message message : messages) {
+            sendMessage(ctx.getTopic().getName(), message);
+        }
+    }
+
     private void sendMessage(String type, Message data) {
         ServerMessage message = ServerMessage.newBuilder()
                 .setType(type)
@@ -10,6 +10,7 @@ import java.util.function.Consumer;
 import org.yamcs.logging.Log;
 import org.yamcs.parameter.ValueArray;
 import org.yamcs.parameterarchive.ParameterValueArray;
+import org.yamcs.parameterarchive.Rollup;
 import org.yamcs.protobuf.Pvalue.ParameterStatus;
 import org.yamcs.protobuf.Yamcs.Value.Type;
 import org.yamcs.utils.UnsignedLong;
@@ -31,6 +32,7 @@ public class Downsampler implements Consumer<ParameterValueArray> {
     private long start;
     private long stop;
     private long lastSampleTime;
+    private long lastExpireMillis = -1;
 
     public Downsampler(long start, long stop) {
         this(start, stop, DEFAULT_SAMPLE_COUNT);
@@ -142,6 +144,39 @@ public class Downsampler implements Consumer<ParameterValueArray> {
         }
     }
 
+    /**
+     * Adds the buckets of a rollup to the samples.
+     * <p>
+     * Each bucket is added entirely to the sample containing the bucket start; only the buckets lying entirely inside
+     * the [start, stop) interval are added, the values at the edges of the interval have to be processed individually.
+     * This is accurate if the rollup resolution is not larger than the sample interval.
+     * 
+     * @param rollup
+     * @param expireMillis
+     *            - the expiration of the values of the rollup, -1 if not known
+     */
+    public void process(Rollup rollup, long expireMillis) {
+        for (int i = 0; i < rollup.size(); i++) {
+            long time = rollup.getBucketStart(i);
+            if (time < start || time + rollup.getResolution() > stop) {
+                continue;
+            }
+            Entry<Long, Sample> entry = samplesByTime.floorEntry(time);
+            if (entry == null) {
+                continue;
+            }
+            lastSampleTime = entry.getKey();
+            Sample sample = entry.getValue();
+            if (sample == null) {
+                samplesByTime.put(entry.getKey(), new Sample(entry.getKey(), rollup.getCount(i), rollup.getMin(i),
+                        rollup.getMax(i), rollup.getSum(i), expireMillis));
+            } else {
+                sample.process(rollup.getCount(i), rollup.getMin(i), rollup.getMax(i), rollup.getSum(i),
+                        expireMillis);
+            }
+        }
+    }
+
     public void process(long time, double value, long expireMillis) {
         if (time > stop || time < start) {
             return;
@@ -154,6 +189,7 @@ public class Downsampler implements Consumer<ParameterValueArray> {
         }
 
         lastSampleTime = entry.getKey();
+        lastExpireMillis = expireMillis;
         Sample sample = entry.getValue();
         if (sample == null) {
             samplesByTime.put(entry.getKey(), new Sample(entry.getKey(), value, expireMillis));
@@ -191,6 +227,13 @@ public class Downsampler implements Consumer<ParameterValueArray> {
         return lastSampleTime;
     }
 
+    /**
+     * @return the expiration of the last value processed individually or -1 if no such value has been processed
+     */
+    public long lastExpireMillis() {
+        return lastExpireMillis;
+    }
+
     /**
      * A cumulative sample that keeps track of a rolling average among others.
      */
@@ -218,6 +261,16 @@ public class Downsampler implements Consumer<ParameterValueArray> {
             n = 1;
         }
 
+        // sample with count values having the given min, max and sum
+        Sample(long t, int count, double min, double max, double sum, long expireMillis) {
+            this.t = t;
+            this.expireMillis = expireMillis;
+            this.min = min;
+            this.max = max;
+            this.avg = sum / count;
+            this.n = count;
+        }
+
         public void process(double value, long expireMillis) {
             this.expireMillis = expireMillis;
             if (value < min) {
@@ -231,6 +284,19 @@ public class Downsampler implements Consumer<ParameterValueArray> {
             avg += (value / n);
         }
 
+        // adds count values with the given min, max and sum
+        void process(int count, double min, double max, double sum, long expireMillis) {
+            this.expireMillis = expireMillis;
+            if (min < this.min) {
+                this.min = min;
+            }
+            if (max > this.max) {
+                this.max = max;
+            }
+            avg += (sum - avg * count) / (n + count);
+            n += count;
+        }
+
         @Override
         public String toString() {
             return String.format("%s (min=%s, max=%s, n=%s)", avg, min, max, n);
@@ -15,10 +15,13 @@ import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 import org.yamcs.YamcsServer;
+import org.yamcs.YamcsServerInstance;
 import org.yamcs.api.HttpBody;
 import org.yamcs.api.Observer;
+import org.yamcs.archive.EventIndex;
 import org.yamcs.archive.EventRecorder;
 import org.yamcs.events.EventProducer;
 import org.yamcs.events.EventProducerFactory;
@@ -48,12 +51,14 @@ import org.yamcs.yarch.Tuple;
 import org.yamcs.yarch.YarchDatabase;
 import org.yamcs.yarch.YarchDatabaseInstance;
 import org.yamcs.yarch.protobuf.Db;
+import org.yamcs.yarch.streamsql.StreamSqlException;
 
 import com.csvreader.CsvWriter;
 import com.google.common.collect.BiMap;
 import com.google.gson.Gson;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.ExtensionRegistry.ExtensionInfo;
+import com.google.protobuf.Timestamp;
 
 public class EventsApi extends AbstractEventsApi<Context> {
 
@@ -80,6 +85,18 @@ public class EventsApi extends AbstractEventsApi<Context> {
             nextToken = EventPageToken.decode(request.getNext());
         }
 
+        EventIndex.Request indexRequest = toIndexRequest(severity, request.hasQ() ? request.getQ() : null,
+                request.hasStart() ? request.getStart() : null, request.hasStop() ? request.getStop() : null,
+                request.getSourceList(), desc);
+        if (nextToken != null) {
+            indexRequest.setAfter(nextToken.gentime, nextToken.source, nextToken.seqNum);
+        }
+        EventIndex index = getEventIndex(instance, indexRequest);
+        if (index != null) {
+            listIndexedEvents(index, indexRequest, pos, limit, observer);
+            return;
+        }
+
         SqlBuilder sqlb = new SqlBuilder(EventRecorder.TABLE_NAME);
 
         if (request.hasStart()) {
@@ -276,6 +293,26 @@ public class EventsApi extends AbstractEventsApi<Context> {
         verifyEventArchiveSupport(instance);
         ctx.checkSystemPrivilege(SystemPrivilege.ReadEvents);
 
+        String severity = request.hasSeverity() ? request.getSeverity().toUpperCase() : "INFO";
+
+        EventIndex.Request indexRequest = toIndexRequest(severity, request.hasQ() ? request.getQ() : null,
+                request.hasStart() ? request.getStart() : null, request.hasStop() ? request.getStop() : null,
+                request.getSourceList(), false);
+        EventIndex index = getEventIndex(instance, indexRequest);
+        if (index != null) {
+            try {
+                index.retrieve(indexRequest, event -> {
+                    observer.next(fromDbEvent(event));
+                    return !observer.isCancelled();
+                });
+                observer.complete();
+            } catch (StreamSqlException e) {
+                log.warn("Failed to retrieve events", e);
+                observer.completeExceptionally(e);
+            }
+            return;
+        }
+
         SqlBuilder sqlb = new SqlBuilder(EventRecorder.TABLE_NAME);
         if (request.hasStart()) {
             sqlb.whereColAfterOrEqual(GENTIME_COLUMN, request.getStart());
@@ -288,7 +325,6 @@ public class EventsApi extends AbstractEventsApi<Context> {
             sqlb.whereColIn(SOURCE_COLUMN, request.getSourceList());
         }
 
-        String severity = request.hasSeverity() ? request.getSeverity().toUpperCase() : "INFO";
         switch (severity) {
         case "INFO":
             break;
@@ -337,6 +373,27 @@ public class EventsApi extends AbstractEventsApi<Context> {
         EventsApi.verifyEventArchiveSupport(instance);
         ctx.checkSystemPrivilege(SystemPrivilege.ReadEvents);
 
+        String severity = "INFO";
+        if (request.hasSeverity()) {
+            severity = request.getSeverity().toUpperCase();
+        }
+
+        EventIndex.Request indexRequest = toIndexRequest(severity, request.hasQ() ? request.getQ() : null,
+                request.hasStart() ? request.getStart() : null, request.hasStop() ? request.getStop() : null,
+                request.getSourceList(), false);
+        EventIndex index = getEventIndex(instance, indexRequest);
+        if (index != null) {
+            CsvEventStreamer streamer = new CsvEventStreamer(observer);
+            try {
+                index.retrieve(indexRequest, streamer::writeEvent);
+                observer.complete();
+            } catch (StreamSqlException e) {
+                log.warn("Failed to export events", e);
+                observer.completeExceptionally(e);
+            }
+            return;
+        }
+
         SqlBuilder sqlb = new SqlBuilder(EventRecorder.TABLE_NAME);
 
         if (request.hasStart()) {
@@ -350,11 +407,6 @@ public class EventsApi extends AbstractEventsApi<Context> {
             sqlb.whereColIn(SOURCE_COLUMN, request.getSourceList());
         }
 
-        String severity = "INFO";
-        if (request.hasSeverity()) {
-            severity = request.getSeverity().toUpperCase();
-        }
-
         switch (severity) {
         case "INFO":
             break;
@@ -385,6 +437,75 @@ public class EventsApi extends AbstractEventsApi<Context> {
         StreamFactory.stream(instance, sql, sqlb.getQueryArguments(), new CsvEventStreamer(observer));
     }
 
+    private void listIndexedEvents(EventIndex index, EventIndex.Request indexRequest, long pos, int limit,
+            Observer<ListEventsResponse> observer) {
+        List<Db.Event> events = new ArrayList<>();
+        try {
+            index.retrieve(indexRequest, new Predicate<Db.Event>() {
+                long skipped = 0;
+
+                @Override
+                public boolean test(Db.Event event) {
+                    if (skipped < pos) {
+                        skipped++;
+                        return true;
+                    }
+                    events.add(event);
+                    return events.size() <= limit; // one more to detect hasMore
+                }
+            });
+        } catch (StreamSqlException e) {
+            log.warn("Failed to retrieve events", e);
+            observer.completeExceptionally(e);
+            return;
+        }
+
+        ListEventsResponse.Builder responseb = ListEventsResponse.newBuilder();
+        for (int i = 0; i < events.size() && i < limit; i++) {
+            responseb.addEvent(fromDbEvent(events.get(i)));
+        }
+        if (events.size() > limit) {
+            Db.Event last = events.get(limit - 1);
+            EventPageToken token = new EventPageToken(last.getGenerationTime(), last.getSource(),
+                    last.getSeqNumber());
+            responseb.setContinuationToken(token.encodeAsString());
+        }
+        observer.complete(responseb.build());
+    }
+
+    /**
+     * Creates the request to retrieve the events from the index. The start, stop and the search text may be null.
+     */
+    private static EventIndex.Request toIndexRequest(String severity, String q, Timestamp start, Timestamp stop,
+            List<String> sources, boolean descending) {
+        EventIndex.Request indexRequest = new EventIndex.Request(severity, q);
+        if (start != null) {
+            indexRequest.setStart(TimeEncoding.fromProtobufTimestamp(start));
+        }
+        if (stop != null) {
+            indexRequest.setStop(TimeEncoding.fromProtobufTimestamp(stop));
+        }
+        if (!sources.isEmpty()) {
+            indexRequest.setSources(sources);
+        }
+        indexRequest.setDescending(descending);
+        return indexRequest;
+    }
+
+    /**
+     * Returns the index of the events table if it is enabled, complete and applicable to the request; null otherwise.
+     */
+    private static EventIndex getEventIndex(String instance, EventIndex.Request request) {
+        YamcsServerInstance ysi = YamcsServer.getServer().getInstance(instance);
+        for (EventRecorder recorder : ysi.getServices(EventRecorder.class)) {
+            EventIndex index = recorder.getEventIndex();
+            if (index != null && index.isComplete() && index.supports(request)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
     /**
      * Checks if events are supported for the specified instance. This will succeed in two cases:
      * <ol>
@@ -475,7 +596,16 @@ public class EventsApi extends AbstractEventsApi<Context> {
                 return;
             }
 
-            Db.Event incoming = (Db.Event) tuple.getColumn("body");
+            writeEvent((Db.Event) tuple.getColumn("body"));
+        }
+
+        /**
+         * Writes one event and returns false if the observer has been cancelled.
+         */
+        boolean writeEvent(Db.Event incoming) {
+            if (observer.isCancelled()) {
+                return false;
+            }
             Event event = fromDbEvent(incoming);
 
             List<ExtensionInfo> extensionFields = protobufRegistry.getExtensions(Event.getDescriptor());
@@ -495,6 +625,7 @@ public class EventsApi extends AbstractEventsApi<Context> {
                     .setData(toByteString(rec))
                     .build();
             observer.next(body);
+            return true;
         }
 
         private ByteString toByteString(String[] rec) {
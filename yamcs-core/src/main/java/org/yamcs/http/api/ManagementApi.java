@@ -45,6 +45,7 @@ import org.yamcs.management.LinkManager;
 import org.yamcs.management.ManagementListener;
 import org.yamcs.management.ManagementService;
 import org.yamcs.protobuf.AbstractManagementApi;
+import org.yamcs.protobuf.AsyncStreamSubscriberInfo;
 import org.yamcs.protobuf.CreateInstanceRequest;
 import org.yamcs.protobuf.EditLinkRequest;
 import org.yamcs.protobuf.GetInstanceRequest;
@@ -52,6 +53,8 @@ import org.yamcs.protobuf.GetInstanceTemplateRequest;
 import org.yamcs.protobuf.GetLinkRequest;
 import org.yamcs.protobuf.GetServiceRequest;
 import org.yamcs.protobuf.InstanceTemplate;
+import org.yamcs.protobuf.ListAsyncStreamSubscribersRequest;
+import org.yamcs.protobuf.ListAsyncStreamSubscribersResponse;
 import org.yamcs.protobuf.LinkEvent;
 import org.yamcs.protobuf.LinkInfo;
 import org.yamcs.protobuf.ListInstanceTemplatesResponse;
@@ -85,6 +88,10 @@ import org.yamcs.utils.parser.FilterParser.Result;
 import org.yamcs.utils.parser.ParseException;
 import org.yamcs.utils.parser.TokenMgrError;
 import org.yamcs.xtce.XtceDb;
+import org.yamcs.yarch.AsyncStreamSubscriber;
+import org.yamcs.yarch.Stream;
+import org.yamcs.yarch.StreamSubscriber;
+import org.yamcs.yarch.YarchDatabaseInstance;
 
 import com.google.common.util.concurrent.Service;
 import com.google.common.util.concurrent.UncheckedExecutionException;
@@ -546,6 +553,36 @@ public class ManagementApi extends AbstractManagementApi<Context> {
         observer.complete(linkInfo);
     }
 
+    @Override
+    public void listAsyncStreamSubscribers(Context ctx, ListAsyncStreamSubscribersRequest request,
+            Observer<ListAsyncStreamSubscribersResponse> observer) {
+        ctx.checkSystemPrivilege(SystemPrivilege.ReadTables);
+        YarchDatabaseInstance ydb = DatabaseApi.verifyDatabase(request.getInstance());
+
+        ListAsyncStreamSubscribersResponse.Builder responseb = ListAsyncStreamSubscribersResponse.newBuilder();
+        for (Stream stream : ydb.getStreams()) {
+            for (StreamSubscriber s : stream.getSubscribers()) {
+                if (s instanceof AsyncStreamSubscriber) {
+                    responseb.addSubscribers(toAsyncStreamSubscriberInfo((AsyncStreamSubscriber) s));
+                }
+            }
+        }
+        observer.complete(responseb.build());
+    }
+
+    private static AsyncStreamSubscriberInfo toAsyncStreamSubscriberInfo(AsyncStreamSubscriber s) {
+        return AsyncStreamSubscriberInfo.newBuilder()
+                .setStream(s.getStream().getName())
+                .setSubscriber(s.getSubscriber().toString())
+                .setOverflowPolicy(s.getOverflowPolicy().name())
+                .setQueueCapacity(s.getQueueCapacity())
+                .setQueueSize(s.getQueueSize())
+                .setLag(s.getLag())
+                .setDeliveredCount(s.getDeliveredCount())
+                .setDroppedCount(s.getDroppedCount())
+                .build();
+    }
+
     @Override
     public void updateLink(Context ctx, EditLinkRequest request, Observer<LinkInfo> observer) {
         ctx.checkSystemPrivilege(SystemPrivilege.ControlLinks);
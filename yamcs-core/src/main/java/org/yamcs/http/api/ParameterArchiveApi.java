@@ -1,19 +1,25 @@
 package org.yamcs.http.api;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.rocksdb.RocksDBException;
 import org.yamcs.Processor;
 import org.yamcs.YamcsServerInstance;
+import org.yamcs.api.HttpBody;
 import org.yamcs.api.Observer;
 import org.yamcs.http.BadRequestException;
 import org.yamcs.http.Context;
 import org.yamcs.http.HttpException;
 import org.yamcs.http.InternalServerErrorException;
+import org.yamcs.http.MediaType;
 import org.yamcs.http.NotFoundException;
 import org.yamcs.http.api.Downsampler.Sample;
 import org.yamcs.http.api.ParameterRanger.MultiRange;
@@ -29,24 +35,30 @@ import org.yamcs.parameterarchive.MultiParameterDataRetrieval;
 import org.yamcs.parameterarchive.MultipleParameterValueRequest;
 import org.yamcs.parameterarchive.ParameterArchive;
 import org.yamcs.parameterarchive.ParameterArchive.Partition;
+import org.yamcs.parameterarchive.RollupRetrieval;
 import org.yamcs.parameterarchive.ParameterGroupIdDb;
 import org.yamcs.parameterarchive.ParameterId;
 import org.yamcs.parameterarchive.ParameterIdDb;
 import org.yamcs.parameterarchive.ParameterIdValueList;
 import org.yamcs.parameterarchive.ParameterRequest;
+import org.yamcs.parameterarchive.SegmentCache;
 import org.yamcs.protobuf.AbstractParameterArchiveApi;
 import org.yamcs.protobuf.Archive.GetParameterSamplesRequest;
 import org.yamcs.protobuf.Archive.ListParameterHistoryRequest;
 import org.yamcs.protobuf.Archive.ListParameterHistoryResponse;
 import org.yamcs.protobuf.DeletePartitionsRequest;
+import org.yamcs.protobuf.ExportParameterArchiveRequest;
 import org.yamcs.protobuf.GetArchivedParameterInfoRequest;
 import org.yamcs.protobuf.GetParameterRangesRequest;
+import org.yamcs.protobuf.GetSegmentCacheStatsRequest;
 import org.yamcs.protobuf.Pvalue.Ranges;
 import org.yamcs.protobuf.Pvalue.TimeSeries;
 import org.yamcs.protobuf.RebuildRangeRequest;
+import org.yamcs.protobuf.SegmentCacheStats;
 import org.yamcs.protobuf.Yamcs;
 import org.yamcs.protobuf.Yamcs.NamedObjectId;
 import org.yamcs.protobuf.Yamcs.StringMessage;
+import org.yamcs.security.ObjectPrivilegeType;
 import org.yamcs.security.SystemPrivilege;
 import org.yamcs.utils.AggregateUtil;
 import org.yamcs.utils.DecodingException;
@@ -54,9 +66,11 @@ import org.yamcs.utils.IntArray;
 import org.yamcs.utils.MutableLong;
 import org.yamcs.utils.TimeEncoding;
 import org.yamcs.utils.ValueUtility;
+import org.yamcs.xtce.Parameter;
 import org.yamcs.xtce.XtceDb;
 import org.yamcs.xtceproc.XtceDbFactory;
 
+import com.google.common.cache.CacheStats;
 import com.google.protobuf.Empty;
 
 public class ParameterArchiveApi extends AbstractParameterArchiveApi<Context> {
@@ -144,6 +158,27 @@ public class ParameterArchiveApi extends AbstractParameterArchiveApi<Context> {
         observer.complete(sm);
     }
 
+    @Override
+    public void getSegmentCacheStats(Context ctx, GetSegmentCacheStatsRequest request,
+            Observer<SegmentCacheStats> observer) {
+        YamcsServerInstance ysi = ManagementApi.verifyInstanceObj(request.getInstance());
+        ctx.checkSystemPrivilege(SystemPrivilege.ControlArchiving);
+
+        ParameterArchive parchive = getParameterArchive(ysi);
+        SegmentCache cache = parchive.getSegmentCache();
+        SegmentCacheStats.Builder b = SegmentCacheStats.newBuilder().setEnabled(cache != null);
+        if (cache != null) {
+            CacheStats stats = cache.getStats();
+            b.setSize(cache.size())
+                    .setMaxWeight(cache.getMaxWeight())
+                    .setHitCount(stats.hitCount())
+                    .setMissCount(stats.missCount())
+                    .setHitRate(stats.hitRate())
+                    .setEvictionCount(stats.evictionCount());
+        }
+        observer.complete(b.build());
+    }
+
     @Override
     public void getParameterSamples(Context ctx, GetParameterSamplesRequest request,
             Observer<TimeSeries> observer) {
@@ -190,11 +225,20 @@ public class ParameterArchiveApi extends AbstractParameterArchiveApi<Context> {
             pcache = processor.getParameterCache();
         }
 
-        ParameterRequest pr = new ParameterRequest(start, stop, true, true, false, true);
-        SingleParameterRetriever spdr = new SingleParameterRetriever(parchive, pcache, pid, pr);
         try {
-            spdr.retrieve(sampler);
-        } catch (IOException e) {
+            // use the rollups if they are not coarser than the samples
+            int resolution = -1;
+            if (pid.getPath() == null && sampleCount > 0) {
+                resolution = parchive.getRollupResolution(start, stop, (stop - start) / sampleCount);
+            }
+            if (resolution > 0) {
+                sampleFromRollups(parchive, pcache, pid, start, stop, resolution, sampler);
+            } else {
+                ParameterRequest pr = new ParameterRequest(start, stop, true, true, false, true);
+                SingleParameterRetriever spdr = new SingleParameterRetriever(parchive, pcache, pid, pr);
+                spdr.retrieve(sampler);
+            }
+        } catch (IOException | RocksDBException e) {
             log.warn("Received exception during parameter retrieval", e);
             throw new InternalServerErrorException(e.getMessage());
         }
@@ -207,6 +251,47 @@ public class ParameterArchiveApi extends AbstractParameterArchiveApi<Context> {
         observer.complete(series.build());
     }
 
+    // samples the rollups from the archive completed with the more recent values from the cache.
+    // The rollup buckets only partially covered by [start, stop) are replaced by the raw values at the two edges.
+    private void sampleFromRollups(ParameterArchive parchive, ParameterCache pcache, ParameterWithId pid, long start,
+            long stop, int resolution, Downsampler sampler) throws IOException, RocksDBException {
+        // the buckets entirely inside [start, stop) cover [rollupStart, rollupStop)
+        long rollupStart = start + Math.floorMod(-start, (long) resolution);
+        long rollupStop = stop - Math.floorMod(stop, (long) resolution);
+        if (rollupStart >= rollupStop) {
+            ParameterRequest pr = new ParameterRequest(start, stop, true, true, false, true);
+            new SingleParameterRetriever(parchive, pcache, pid, pr).retrieve(sampler);
+            return;
+        }
+        if (start < rollupStart) {
+            ParameterRequest pr = new ParameterRequest(start, rollupStart, true, true, false, true);
+            new SingleParameterRetriever(parchive, null, pid, pr).retrieve(sampler);
+        }
+        if (rollupStop < stop) {
+            ParameterRequest pr = new ParameterRequest(rollupStop, stop, true, true, false, true);
+            new SingleParameterRetriever(parchive, pcache, pid, pr).retrieve(sampler);
+        }
+
+        // the rollups do not keep the expiration, take it from the raw values at the edges
+        long expireMillis = sampler.lastExpireMillis();
+        RollupRetrieval rr = new RollupRetrieval(parchive, pid.getQualifiedName(), rollupStart, rollupStop - 1,
+                resolution);
+        rr.retrieve(r -> sampler.process(r, expireMillis));
+        if (pcache != null) {
+            long lastTime = rr.getLastTime();
+            // the values after rollupStop are sent with the tail
+            long cacheStop = rollupStop < stop ? rollupStop - 1 : stop;
+            List<ParameterValue> pvlist = pcache.getAllValues(pid.getParameter(), rollupStart - 1, cacheStop);
+            if (pvlist != null) {
+                for (ParameterValue pv : pvlist) {
+                    if (pv.getGenerationTime() > lastTime) {
+                        sampler.process(pv);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void getParameterRanges(Context ctx, GetParameterRangesRequest request, Observer<Ranges> observer) {
         YamcsServerInstance ysi = ManagementApi.verifyInstanceObj(request.getInstance());
@@ -372,6 +457,98 @@ public class ParameterArchiveApi extends AbstractParameterArchiveApi<Context> {
         observer.complete(resultb.build());
     }
 
+    @Override
+    public void exportParameterArchive(Context ctx, ExportParameterArchiveRequest request,
+            Observer<HttpBody> observer) {
+        YamcsServerInstance ysi = ManagementApi.verifyInstanceObj(request.getInstance());
+        XtceDb mdb = XtceDbFactory.getInstance(ysi.getName());
+        ParameterArchive parchive = getParameterArchive(ysi);
+
+        long start = 0;
+        if (request.hasStart()) {
+            start = TimeEncoding.fromProtobufTimestamp(request.getStart());
+        }
+        long stop = TimeEncoding.getWallclockTime();
+        if (request.hasStop()) {
+            stop = TimeEncoding.fromProtobufTimestamp(request.getStop());
+        }
+
+        MediaType mediaType = MediaType.CSV;
+        if (request.hasFormat()) {
+            if ("protobuf".equals(request.getFormat())) {
+                mediaType = MediaType.PROTOBUF;
+            } else if (!"csv".equals(request.getFormat())) {
+                throw new BadRequestException("Unexpected format: " + request.getFormat());
+            }
+        }
+
+        boolean addRaw = false;
+        boolean addMonitoring = false;
+        for (String extra : request.getExtraList()) {
+            if (extra.equals("raw")) {
+                addRaw = true;
+            } else if (extra.equals("monitoring")) {
+                addMonitoring = true;
+            } else {
+                throw new BadRequestException("Unexpected option for parameter 'extra': " + extra);
+            }
+        }
+
+        if (request.getParametersCount() == 0) {
+            throw new BadRequestException("No parameter specified");
+        }
+        ParameterIdDb piddb = parchive.getParameterIdDb();
+        ParameterGroupIdDb pgidDb = parchive.getParameterGroupIdDb();
+        List<NamedObjectId> ids = new ArrayList<>();
+        List<String> pnames = new ArrayList<>();
+        IntArray pidArray = new IntArray();
+        IntArray pgidArray = new IntArray();
+        BitSet retrieveRawValues = new BitSet();
+        Set<String> seen = new HashSet<>();
+        for (String name : request.getParametersList()) {
+            Parameter p = mdb.getParameter(name);
+            if (p == null) {
+                throw new BadRequestException("Invalid parameter name specified " + name);
+            }
+            String qn = p.getQualifiedName();
+            ctx.checkObjectPrivileges(ObjectPrivilegeType.ReadParameter, qn);
+            if (!seen.add(qn)) {
+                continue;
+            }
+            ids.add(NamedObjectId.newBuilder().setName(qn).build());
+            ParameterId[] pids = piddb.get(qn);
+            if (pids == null) {
+                continue;
+            }
+            for (ParameterId pid : pids) {
+                for (int pgid : pgidDb.getAllGroups(pid.pid)) {
+                    if (addRaw && pid.getRawType() != null) {
+                        retrieveRawValues.set(pidArray.size());
+                    }
+                    pidArray.add(pid.pid);
+                    pgidArray.add(pgid);
+                    pnames.add(qn);
+                }
+            }
+        }
+
+        MultipleParameterValueRequest mpvr = new MultipleParameterValueRequest(start, stop,
+                pnames.toArray(new String[0]), pidArray.toArray(), pgidArray.toArray(), retrieveRawValues, true);
+        mpvr.setRetrieveParamStatus(addMonitoring || MediaType.PROTOBUF.equals(mediaType));
+
+        ParameterArchiveExporter exporter = new ParameterArchiveExporter(observer, mediaType, "parameter-data",
+                ids, addRaw, addMonitoring);
+        try {
+            if (!pidArray.isEmpty()) {
+                new MultiParameterDataRetrieval(parchive, mpvr).retrieve(exporter);
+            }
+            exporter.finish();
+        } catch (DecodingException | RocksDBException | IOException | UncheckedIOException e) {
+            log.warn("Failed to export parameter archive data", e);
+            observer.completeExceptionally(e);
+        }
+    }
+
     private ParameterArchive getParameterArchive(YamcsServerInstance ysi) throws BadRequestException {
         List<ParameterArchive> l = ysi.getServices(ParameterArchive.class);
 
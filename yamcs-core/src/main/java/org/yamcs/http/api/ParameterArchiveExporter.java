@@ -0,0 +1,121 @@
+package org.yamcs.http.api;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.yamcs.api.HttpBody;
+import org.yamcs.api.Observer;
+import org.yamcs.http.MediaType;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.parameter.ParameterValueWithId;
+import org.yamcs.parameterarchive.ConsumerAbortException;
+import org.yamcs.parameterarchive.ParameterIdValueList;
+import org.yamcs.protobuf.Pvalue.ParameterData;
+import org.yamcs.protobuf.Yamcs.NamedObjectId;
+import org.yamcs.utils.ParameterFormatter;
+
+import com.google.protobuf.ByteString;
+
+/**
+ * Writes the values retrieved from the parameter archive to a streaming {@link HttpBody} observer, either in CSV
+ * format (one line per timestamp) or as a sequence of length delimited {@link ParameterData} messages (one message per
+ * timestamp).
+ * <p>
+ * The data of each record is passed to the observer as soon as it is formatted; the observer takes care of grouping
+ * it into chunks. The observer blocks while the channel is not writable, which pauses the retrieval feeding this
+ * consumer.
+ */
+class ParameterArchiveExporter implements Consumer<ParameterIdValueList> {
+    private final Observer<HttpBody> observer;
+    private final Map<String, NamedObjectId> ids = new HashMap<>();
+    // the data of the current record
+    private final ByteString.Output data = ByteString.newOutput();
+
+    // null if the output is protobuf
+    private final ParameterFormatter formatter;
+
+    ParameterArchiveExporter(Observer<HttpBody> observer, MediaType mediaType, String filename,
+            List<NamedObjectId> idList, boolean addRaw, boolean addMonitoring) {
+        this.observer = observer;
+        for (NamedObjectId id : idList) {
+            ids.put(id.getName(), id);
+        }
+        if (MediaType.PROTOBUF.equals(mediaType)) {
+            formatter = null;
+        } else {
+            formatter = new ParameterFormatter(new OutputStreamWriter(data, StandardCharsets.UTF_8), idList, '\t');
+            formatter.setPrintRaw(addRaw);
+            formatter.setPrintMonitoring(addMonitoring);
+        }
+
+        HttpBody metadata = HttpBody.newBuilder()
+                .setContentType(mediaType.toString())
+                .setFilename(filename)
+                .build();
+        observer.next(metadata);
+    }
+
+    @Override
+    public void accept(ParameterIdValueList pidvList) {
+        if (observer.isCancelled()) {
+            throw new ConsumerAbortException();
+        }
+        List<ParameterValue> values = pidvList.getValues();
+        try {
+            if (formatter != null) {
+                List<ParameterValueWithId> params = new ArrayList<>(values.size());
+                for (ParameterValue pv : values) {
+                    params.add(new ParameterValueWithId(pv, ids.get(pv.getParameterQualifiedName())));
+                }
+                formatter.writeParameters(params);
+                formatter.flush();
+            } else {
+                ParameterData.Builder pd = ParameterData.newBuilder();
+                for (ParameterValue pv : values) {
+                    pd.addParameter(pv.toGpb(ids.get(pv.getParameterQualifiedName())));
+                }
+                pd.build().writeDelimitedTo(data);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sendData();
+    }
+
+    /**
+     * Sends the remaining data and completes the observer.
+     */
+    void finish() {
+        if (observer.isCancelled()) {
+            observer.complete();
+            return;
+        }
+        if (formatter != null) {
+            try {
+                formatter.close(); // writes the last line
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        sendData();
+        observer.complete();
+    }
+
+    private void sendData() {
+        if (data.size() == 0) {
+            return;
+        }
+        HttpBody body = HttpBody.newBuilder()
+                .setData(data.toByteString())
+                .build();
+        data.reset();
+        observer.next(body);
+    }
+}
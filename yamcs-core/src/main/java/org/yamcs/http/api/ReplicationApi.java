@@ -93,7 +93,7 @@ public class ReplicationApi extends AbstractReplicationApi<Context> {
                     }
                     MasterChannelHandler handler = ch.pipeline().get(MasterChannelHandler.class);
                     if (handler != null) {
-                        masterb.setNextTx(handler.getNextTxId());
+                        addHandlerInfo(masterb, txid, handler);
                     }
                 }
 
@@ -118,7 +118,7 @@ public class ReplicationApi extends AbstractReplicationApi<Context> {
 
                     MasterChannelHandler handler = ch.pipeline().get(MasterChannelHandler.class);
                     if (handler != null) {
-                        masterb.setNextTx(handler.getNextTxId());
+                        addHandlerInfo(masterb, txid, handler);
                     }
 
                     result.add(masterb.build());
@@ -129,6 +129,18 @@ public class ReplicationApi extends AbstractReplicationApi<Context> {
         return result;
     }
 
+    private static void addHandlerInfo(ReplicationMasterInfo.Builder masterb, long localTx,
+            MasterChannelHandler handler) {
+        long nextTx = handler.getNextTxId();
+        masterb.setNextTx(nextTx)
+                .setLagTx(Math.max(0, localTx - nextTx))
+                .setCompressed(handler.isCompressed())
+                .setTxRate(Math.round(handler.getTxRate()))
+                .setDataRate(Math.round(handler.getDataRate()))
+                .setBytesSent(handler.getBytesSent())
+                .setUncompressedBytesSent(handler.getUncompressedBytesSent());
+    }
+
     private List<ReplicationSlaveInfo> toReplicationSlaveInfo(ReplicationSlave slave) {
         List<ReplicationSlaveInfo> result = new ArrayList<>();
 
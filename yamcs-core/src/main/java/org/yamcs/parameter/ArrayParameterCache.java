@@ -35,7 +35,7 @@ public class ArrayParameterCache implements ParameterCache {
     final ConcurrentHashMap<Parameter, Boolean> parametersToCache;
     final ParameterCacheConfig cacheConfig;
 
-    ArrayParameterCache(String instance, ParameterCacheConfig cacheConfig) {
+    public ArrayParameterCache(String instance, ParameterCacheConfig cacheConfig) {
         log = new Log(this.getClass(), instance);
         this.cacheConfig = cacheConfig;
         parametersToCache = cacheConfig.cacheAll ? null : new ConcurrentHashMap<>();
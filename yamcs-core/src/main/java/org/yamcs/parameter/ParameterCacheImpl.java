@@ -5,8 +5,7 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 import org.yamcs.parameter.ParameterValue;
 import org.yamcs.protobuf.Pvalue.AcquisitionStatus;
@@ -61,15 +60,24 @@ public class ParameterCacheImpl implements ParameterCache {
      */
     @Override
     public void update(Collection<ParameterValue> pvs) {
-        ParameterValueList pvlist = new ParameterValueList(pvs);
+        // created only if at least one of the parameters is cached
+        ParameterValueList pvlist = null;
         for (ParameterValue pv : pvs) {
             Parameter p = pv.getParameter();
             CacheEntry ce = cache.get(p);
+            if (ce == null && !cacheAll && !parametersToCache.containsKey(p)) {
+                continue;
+            }
+            if (pvlist == null) {
+                pvlist = new ParameterValueList(pvs);
+            }
             if (ce == null) {
-                if (cacheAll || parametersToCache.containsKey(p)) {
-                    ce = new CacheEntry(p, timeToCache, maxNumEntries);
-                    cache.put(p, ce);
-                    ce.add(pvlist);
+                ce = new CacheEntry(p, timeToCache, maxNumEntries);
+                // add the value before publishing the entry such that the readers never see an empty entry
+                ce.add(pvlist);
+                CacheEntry ce1 = cache.putIfAbsent(p, ce);
+                if (ce1 != null) { // created in the meanwhile by another thread
+                    ce1.add(pvlist);
                 }
             } else {
                 ce.add(pvlist);
@@ -169,8 +177,10 @@ public class ParameterCacheImpl implements ParameterCache {
 
     /**
      * Stores a cache for one parameter as an array of the ParameterValueList in which it is part of.
-     * 
-     * It ensure minimum
+     * <p>
+     * The readers do not take any lock: the last delivery is kept in a volatile field and the history is copied
+     * under an optimistic read of a {@link StampedLock}, retried if an update happened in the meanwhile. Only if the
+     * optimistic read fails repeatedly (the entry is updated continuously) the reader takes the read lock.
      * 
      * @author nm
      *
@@ -180,9 +190,11 @@ public class ParameterCacheImpl implements ParameterCache {
         private ParameterValueList[] elements;
         int tail = 0;
         static final int INITIAL_CAPACITY = 128;
+        static final int MAX_OPTIMISTIC_READS = 8;
         final long timeToCache;
         final int maxNumEntries;
-        ReadWriteLock lock = new ReentrantReadWriteLock();
+        final StampedLock lock = new StampedLock();
+        private volatile ParameterValueList last;
 
         public CacheEntry(Parameter p, long timeToCache, int maxNumEntries) {
             this.parameter = p;
@@ -196,47 +208,64 @@ public class ParameterCacheImpl implements ParameterCache {
         }
 
         public List<ParameterValue> getAll(long start, long stop) {
-            lock.readLock().lock();
-            try {
-                List<ParameterValue> plist = new ArrayList<>();
-                int _tail = tail;
-                int n = elements.length;
-                int t = _tail;
-                do {
-                    t = (t - 1) & (n - 1);
-                    ParameterValueList pvl = elements[t];
-                    if (pvl == null) {
-                        break;
+            List<ParameterValue> plist = new ArrayList<>();
+            for (ParameterValueList pvl : getDeliveries()) {
+                if (pvl == null) {
+                    break;
+                }
+                pvl.forEach(parameter, (ParameterValue pv) -> {
+                    long time = pv.getGenerationTime();
+                    if (time > start && time <= stop) {
+                        plist.add(pv);
                     }
-                    pvl.forEach(parameter, (ParameterValue pv) -> {
-                        long time = pv.getGenerationTime();
-                        if (time > start && time <= stop) {
-                            plist.add(pv);
-                        }
-
-                    });
+                });
+            }
+            if (plist.isEmpty()) {
+                return null;
+            }
+            return plist;
+        }
 
-                } while (t != _tail);
-                if(plist.isEmpty()) {
-                    return null;
+        /**
+         * @return a copy of the deliveries from the newest to the oldest, followed by nulls if the entry is not full
+         */
+        private ParameterValueList[] getDeliveries() {
+            for (int i = 0; i < MAX_OPTIMISTIC_READS; i++) {
+                long stamp = lock.tryOptimisticRead();
+                if (stamp != 0) {
+                    // the tail is always smaller than the length of the array so this cannot fail even if the
+                    // two fields are not consistent
+                    ParameterValueList[] r = copy(elements, tail);
+                    if (lock.validate(stamp)) {
+                        return r;
+                    }
                 }
-                return plist;
+            }
+            long stamp = lock.readLock();
+            try {
+                return copy(elements, tail);
             } finally {
-                lock.readLock().unlock();
+                lock.unlockRead(stamp);
             }
         }
 
-        ParameterValueList getLast() {
-            lock.readLock().lock();
-            try {
-                return elements[(tail - 1) & (elements.length - 1)];
-            } finally {
-                lock.readLock().unlock();
+        private static ParameterValueList[] copy(ParameterValueList[] elements, int tail) {
+            int n = elements.length;
+            ParameterValueList[] r = new ParameterValueList[n];
+            int t = tail;
+            for (int i = 0; i < n; i++) {
+                t = (t - 1) & (n - 1);
+                r[i] = elements[t];
             }
+            return r;
+        }
+
+        ParameterValueList getLast() {
+            return last;
         }
 
         public void add(ParameterValueList pvlist) {
-            lock.writeLock().lock();
+            long stamp = lock.writeLock();
             try {
                 ParameterValueList pv1 = elements[tail];
                 if (pv1 != null) {
@@ -256,8 +285,9 @@ public class ParameterCacheImpl implements ParameterCache {
                 }
                 elements[tail] = pvlist;
                 tail = (tail + 1) & (elements.length - 1);
+                last = pvlist;
             } finally {
-                lock.writeLock().unlock();
+                lock.unlockWrite(stamp);
             }
         }
 
@@ -1,6 +1,8 @@
 package org.yamcs.parameter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -40,20 +42,27 @@ public class ParameterRequestManager extends AbstractService implements Paramete
     Log log;
 
     static final String REALTIME_ALARM_SERVER = "alarms_realtime";
-    // Maps the parameters to the request(subscription id) in which they have been asked
+    // Maps the parameters to the requests in which they have been asked
+    // the arrays contain the slots of the subscribers, not the subscription ids
     private ConcurrentHashMap<Parameter, SubscriptionArray> param2RequestMap = new ConcurrentHashMap<>();
 
-    // Maps the request (subscription id) to the consumer
-    private Map<Integer, ParameterConsumer> request2ParameterConsumerMap = new ConcurrentHashMap<>();
+    // Maps the request (subscription id) to the subscriber
+    private Map<Integer, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // the subscribers indexed by their slot (null for the free slots), copy on write
+    private volatile Subscriber[] subscriberSlots = new Subscriber[0];
+    private final BitSet freeSlots = new BitSet();
 
     // these are the consumers that may update the list of parameters
     // they are delivered with priority such that in one update cycle the algorithms (or derived values) are also
     // computed
     private Map<Integer, DVParameterConsumer> request2DVParameterConsumerMap = new HashMap<>();
 
-    // contains subscribe all
+    // contains the slots of the subscribe all subscribers
     private SubscriptionArray subscribeAll = new SubscriptionArray();
 
+    // the delivery lists of each thread calling update, reused from one update cycle to the next
+    private final ThreadLocal<Delivery> deliveries = ThreadLocal.withInitial(Delivery::new);
+
     private ParameterAlarmChecker alarmChecker;
     private Map<Class<?>, ParameterProvider> parameterProviders = new LinkedHashMap<>();
 
@@ -139,8 +148,9 @@ public class ParameterRequestManager extends AbstractService implements Paramete
                 provider.startProvidingAll();
             }
         }
-        subscribeAll.add(id);
-        request2ParameterConsumerMap.put(id, consumer);
+        Subscriber subscriber = getSubscriber(id);
+        subscriber.consumer = consumer;
+        subscribeAll.add(subscriber.slot);
         return id;
     }
 
@@ -153,7 +163,12 @@ public class ParameterRequestManager extends AbstractService implements Paramete
      * @return
      */
     public boolean unsubscribeAll(int subscriptionId) {
-        return subscribeAll.remove(subscriptionId);
+        Subscriber subscriber = subscribers.get(subscriptionId);
+        if (subscriber == null || !subscribeAll.remove(subscriber.slot)) {
+            return false;
+        }
+        releaseIfUnused(subscriber);
+        return true;
     }
 
     public int addRequest(final List<Parameter> paraList, final ParameterConsumer tpc) {
@@ -167,7 +182,7 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             addItemToRequest(id, paraList.get(i));
         }
 
-        request2ParameterConsumerMap.put(id, tpc);
+        getSubscriber(id).consumer = tpc;
         return id;
     }
 
@@ -184,7 +199,7 @@ public class ParameterRequestManager extends AbstractService implements Paramete
         log.debug("new request with subscriptionId {} for parameter: {}", id, para.getQualifiedName());
         subscribeToProviders(para);
         addItemToRequest(id, para);
-        request2ParameterConsumerMap.put(id, tpc);
+        getSubscriber(id).consumer = tpc;
 
         return id;
     }
@@ -205,6 +220,7 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             log.trace("adding to subscriptionID:{} item:{}", id, paraList.get(i));
             addItemToRequest(id, paraList.get(i));
         }
+        getSubscriber(id).dvConsumer = true;
         request2DVParameterConsumerMap.put(id, dvtpc);
         return id;
     }
@@ -224,7 +240,7 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             log.trace("creating subscriptionID:{} with item:{}", subscriptionId, paraList.get(i));
             addItemToRequest(subscriptionId, paraList.get(i));
         }
-        request2ParameterConsumerMap.put(subscriptionId, tpc);
+        getSubscriber(subscriptionId).consumer = tpc;
     }
 
     /**
@@ -235,11 +251,11 @@ public class ParameterRequestManager extends AbstractService implements Paramete
      */
     public void addItemsToRequest(final int subscriptionId, final Parameter para) throws InvalidRequestIdentification {
         log.debug("adding to subscriptionID {}: items: {} ", subscriptionId, para.getName());
-        final ParameterConsumer consumer = request2ParameterConsumerMap.get(subscriptionId);
+        final ParameterConsumer consumer = getConsumer(subscriptionId);
         if ((consumer == null) && !request2DVParameterConsumerMap.containsKey(subscriptionId)
                 && alarmChecker != null && alarmChecker.getSubscriptionId() != subscriptionId) {
             log.error(" addItemsToRequest called with an invalid subscriptionId={}\n current subscr:\n{}dv "
-                    + "subscr:\n {}", subscriptionId, request2ParameterConsumerMap, request2DVParameterConsumerMap);
+                    + "subscr:\n {}", subscriptionId, subscribers.keySet(), request2DVParameterConsumerMap);
             throw new InvalidRequestIdentification("no such subscriptionID", subscriptionId);
         }
         subscribeToProviders(para);
@@ -257,10 +273,10 @@ public class ParameterRequestManager extends AbstractService implements Paramete
     public void addItemsToRequest(final int subscriptionId, final List<Parameter> paraList)
             throws InvalidRequestIdentification {
         log.debug("adding to subscriptionID {}: {} items ", subscriptionId, paraList.size());
-        final ParameterConsumer consumer = request2ParameterConsumerMap.get(subscriptionId);
+        final ParameterConsumer consumer = getConsumer(subscriptionId);
         if ((consumer == null) && !request2DVParameterConsumerMap.containsKey(subscriptionId)) {
             log.error(" addItemsToRequest called with an invalid subscriptionId={}\n current "
-                    + "subscr:\ndv subscr:\n{}", subscriptionId, request2ParameterConsumerMap,
+                    + "subscr:\ndv subscr:\n{}", subscriptionId, subscribers.keySet(),
                     request2DVParameterConsumerMap);
             throw new InvalidRequestIdentification("no such subscriptionID", subscriptionId);
         }
@@ -310,14 +326,16 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             }
         }
         SubscriptionArray al_req = param2RequestMap.get(para);
-        al_req.add(id);
+        al_req.add(getSubscriber(id).slot);
     }
 
     private void removeItemFromRequest(int subscriptionId, Parameter para) {
-        if (param2RequestMap.containsKey(para)) { // is there really any request associated to this parameter?
+        Subscriber subscriber = subscribers.get(subscriptionId);
+        // is there really any request associated to this parameter?
+        if (subscriber != null && param2RequestMap.containsKey(para)) {
             SubscriptionArray al_req = param2RequestMap.get(para);
             // remove the subscription from the list of this parameter
-            if (al_req.remove(subscriptionId)) {
+            if (al_req.remove(subscriber.slot)) {
                 /*
                  * Don't remove the al_req from the map and
                  * don't ask provider to stop providing
@@ -344,6 +362,11 @@ public class ParameterRequestManager extends AbstractService implements Paramete
         // It's a bit annoying that we have to loop through all the parameters to find the ones that
         // are relevant for this request. We could keep track of an additional map.
         ArrayList<Parameter> result = new ArrayList<>();
+        request2DVParameterConsumerMap.remove(subscriptionId);
+        Subscriber subscriber = subscribers.get(subscriptionId);
+        if (subscriber == null) {
+            return result;
+        }
         // loop through all the parameter definitions
         // find all the subscriptions with the requested subscriptionId and add their corresponding
         // itemId to the list.
@@ -352,7 +375,7 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             Map.Entry<Parameter, SubscriptionArray> m = it.next();
             Parameter param = m.getKey();
             SubscriptionArray al_req = m.getValue();
-            if (al_req.remove(subscriptionId)) {
+            if (al_req.remove(subscriber.slot)) {
                 result.add(param);
             }
             if (al_req.isEmpty()) { // nobody wants this parameter anymore
@@ -363,11 +386,71 @@ public class ParameterRequestManager extends AbstractService implements Paramete
                  */
             }
         }
-        request2ParameterConsumerMap.remove(subscriptionId);
-        request2DVParameterConsumerMap.remove(subscriptionId);
+        releaseIfUnused(subscriber);
         return result;
     }
 
+    /**
+     * Returns the subscriber with the given id, allocating a slot for it if it does not exist.
+     */
+    private Subscriber getSubscriber(int subscriptionId) {
+        Subscriber subscriber = subscribers.get(subscriptionId);
+        if (subscriber != null) {
+            return subscriber;
+        }
+        synchronized (freeSlots) {
+            subscriber = subscribers.get(subscriptionId);
+            if (subscriber == null) {
+                Subscriber[] slots = subscriberSlots;
+                int slot = freeSlots.nextSetBit(0);
+                if (slot < 0) {
+                    slot = slots.length;
+                    slots = Arrays.copyOf(slots, slot + 1);
+                } else {
+                    freeSlots.clear(slot);
+                    slots = slots.clone();
+                }
+                subscriber = new Subscriber(subscriptionId, slot);
+                slots[slot] = subscriber;
+                subscriberSlots = slots;
+                subscribers.put(subscriptionId, subscriber);
+            }
+        }
+        return subscriber;
+    }
+
+    /**
+     * Releases the slot of the subscriber unless it is still part of the subscribe all subscriptions or of the
+     * subscriptions to individual parameters.
+     */
+    private void releaseIfUnused(Subscriber subscriber) {
+        if (subscribeAll.contains(subscriber.slot)) {
+            return;
+        }
+        for (SubscriptionArray al_req : param2RequestMap.values()) {
+            if (al_req.contains(subscriber.slot)) {
+                return;
+            }
+        }
+        releaseSubscriber(subscriber);
+    }
+
+    private void releaseSubscriber(Subscriber subscriber) {
+        synchronized (freeSlots) {
+            if (subscribers.remove(subscriber.id, subscriber)) {
+                Subscriber[] slots = subscriberSlots.clone();
+                slots[subscriber.slot] = null;
+                subscriberSlots = slots;
+                freeSlots.set(subscriber.slot);
+            }
+        }
+    }
+
+    private ParameterConsumer getConsumer(int subscriptionId) {
+        Subscriber subscriber = subscribers.get(subscriptionId);
+        return subscriber == null ? null : subscriber.consumer;
+    }
+
     private void subscribeToProviders(Parameter param) throws NoProviderException {
         if (shouldSubcribeAllParameters) {
             return;
@@ -426,53 +509,74 @@ public class ParameterRequestManager extends AbstractService implements Paramete
         log.trace("ParamRequestManager.updateItems with {} parameters", params.size());
 
         lastValueCache.update(params);
-        // maps subscription id to a list of (value,id) to be delivered for that subscription
-        HashMap<Integer, ArrayList<ParameterValue>> delivery = new HashMap<>();
-
-        // so first we add to the delivery the parameters just received
-        updateDelivery(delivery, params);
-
-        // then if the delivery updates some of the parameters required by the derived values
-        // compute the derived values
-        for (Map.Entry<Integer, DVParameterConsumer> entry : request2DVParameterConsumerMap.entrySet()) {
-            Integer subscriptionId = entry.getKey();
-            if (delivery.containsKey(subscriptionId)) {
-                List<ParameterValue> pvList = entry.getValue().updateParameters(subscriptionId,
-                        delivery.get(subscriptionId));
-                lastValueCache.update(pvList);
-                updateDelivery(delivery, pvList);
+        // the subscribers are collected by their slot; the subscribers added during this delivery are ignored
+        Subscriber[] slots = subscriberSlots;
+        Delivery delivery = deliveries.get();
+        if (delivery.active) { // update called by a consumer during the delivery
+            delivery = new Delivery();
+        }
+        delivery.start(slots.length);
+        try {
+            // so first we add to the delivery the parameters just received
+            updateDelivery(delivery, params);
+
+            // then if the delivery updates some of the parameters required by the derived values
+            // compute the derived values
+            for (Map.Entry<Integer, DVParameterConsumer> entry : request2DVParameterConsumerMap.entrySet()) {
+                Integer subscriptionId = entry.getKey();
+                Subscriber subscriber = subscribers.get(subscriptionId);
+                if (subscriber != null && isCurrent(slots, subscriber.slot) && delivery.has(subscriber.slot)) {
+                    List<ParameterValue> pvList = entry.getValue().updateParameters(subscriptionId,
+                            delivery.get(subscriber.slot));
+                    lastValueCache.update(pvList);
+                    updateDelivery(delivery, pvList);
+                }
             }
-        }
 
-        // and finally deliver the delivery :)
-        for (Map.Entry<Integer, ArrayList<ParameterValue>> entry : delivery.entrySet()) {
-            Integer subscriptionId = entry.getKey();
-            if (request2DVParameterConsumerMap.containsKey(subscriptionId)) {
-                continue;
-            }
-            if (alarmChecker != null && alarmChecker.getSubscriptionId() == subscriptionId) {
-                continue;
+            int alarmSubscriptionId = alarmChecker == null ? -1 : alarmChecker.getSubscriptionId();
+            // and finally deliver the delivery :)
+            for (int i = 0; i < slots.length; i++) {
+                Subscriber subscriber = slots[i];
+                if (!delivery.has(i) || !isCurrent(slots, i) || subscriber.dvConsumer
+                        || subscriber.id == alarmSubscriptionId) {
+                    continue;
+                }
+                ParameterConsumer consumer = subscriber.consumer;
+                if (consumer == null) {
+                    log.warn("subscriptionId {} appears in the delivery list, but there is no consumer for it",
+                            subscriber.id);
+                } else {
+                    // the consumers get their own list, some of them keep it after the call
+                    consumer.updateItems(subscriber.id, new ArrayList<>(delivery.get(i)));
+                }
             }
+        } finally {
+            delivery.clear();
+        }
+    }
 
-            ArrayList<ParameterValue> al = entry.getValue();
-            ParameterConsumer consumer = request2ParameterConsumerMap.get(subscriptionId);
-            if (consumer == null) {
-                log.warn("subscriptionId {} appears in the delivery list, but there is no consumer for it",
-                        subscriptionId);
-            } else {
-                consumer.updateItems(subscriptionId, al);
-            }
+    /**
+     * Checks that the subscriber in the snapshot at the given slot is still subscribed.
+     * <p>
+     * If it has been removed during the delivery, its slot may have been reused by a new subscriber and the values
+     * collected for that slot may belong to the new subscription.
+     */
+    private boolean isCurrent(Subscriber[] slots, int slot) {
+        if (slot >= slots.length) { // subscribed after the start of the delivery
+            return false;
         }
+        Subscriber subscriber = slots[slot];
+        return subscriber != null && subscribers.get(subscriber.id) == subscriber;
     }
 
     /**
      * adds the passed parameters to the delivery
      * 
      * @param delivery
+     *            - the lists of parameters indexed by subscriber slot
      * @param params
      */
-    private void updateDelivery(HashMap<Integer, ArrayList<ParameterValue>> delivery,
-            Collection<ParameterValue> params) {
+    private void updateDelivery(Delivery delivery, Collection<ParameterValue> params) {
         if (params == null) {
             return;
         }
@@ -486,28 +590,14 @@ public class ParameterRequestManager extends AbstractService implements Paramete
                 continue;
             }
 
-            for (int s : cowal.getArray()) {
-                ArrayList<ParameterValue> al = delivery.get(s);
-                if (al == null) {
-                    al = new ArrayList<>();
-                    delivery.put(s, al);
-                }
-                al.add(pv);
+            for (int slot : cowal.getArray()) {
+                delivery.add(slot, pv);
             }
         }
 
         // update the subscribeAll subscriptions
-        for (int id : subscribeAll.getArray()) {
-            ArrayList<ParameterValue> al = delivery.get(id);
-
-            if (al == null) {
-                al = new ArrayList<>();
-                delivery.put(id, al);
-            }
-
-            for (ParameterValue pv : params) {
-                al.add(pv);
-            }
+        for (int slot : subscribeAll.getArray()) {
+            delivery.addAll(slot, params);
         }
         if (alarmChecker != null) {
             try {
@@ -547,8 +637,11 @@ public class ParameterRequestManager extends AbstractService implements Paramete
             sb.append(param);
             sb.append("requested by [");
             SubscriptionArray al_req = param2RequestMap.get(param);
-            for (int id : al_req.getArray()) {
-                sb.append(id);
+            Subscriber[] slots = subscriberSlots;
+            for (int slot : al_req.getArray()) {
+                if (slot < slots.length && slots[slot] != null) {
+                    sb.append(slots[slot].id);
+                }
             }
             sb.append("]\n");
         }
@@ -652,4 +745,80 @@ public class ParameterRequestManager extends AbstractService implements Paramete
         }
         spm.put(ds, swParameterManager);
     }
+
+    /**
+     * A subscription and the slot allocated to it; the slots are small integers (reused when a subscription is
+     * removed) used to index the subscriptions during the delivery.
+     */
+    /**
+     * The values collected during one update cycle, in one list per subscriber slot.
+     * <p>
+     * The lists are cleared at the end of the cycle and reused by the next cycle of the same thread.
+     */
+    static class Delivery {
+        @SuppressWarnings("unchecked")
+        ArrayList<ParameterValue>[] lists = new ArrayList[0];
+        // the number of slots in the snapshot used by the current cycle
+        int numSlots;
+        boolean active;
+
+        void start(int numSlots) {
+            if (lists.length < numSlots) {
+                lists = Arrays.copyOf(lists, numSlots);
+            }
+            this.numSlots = numSlots;
+            active = true;
+        }
+
+        void add(int slot, ParameterValue pv) {
+            if (slot < numSlots) { // else subscribed after the start of the delivery
+                getOrCreate(slot).add(pv);
+            }
+        }
+
+        void addAll(int slot, Collection<ParameterValue> pvs) {
+            if (slot < numSlots) {
+                getOrCreate(slot).addAll(pvs);
+            }
+        }
+
+        boolean has(int slot) {
+            return slot < numSlots && lists[slot] != null && !lists[slot].isEmpty();
+        }
+
+        List<ParameterValue> get(int slot) {
+            return lists[slot];
+        }
+
+        private ArrayList<ParameterValue> getOrCreate(int slot) {
+            ArrayList<ParameterValue> al = lists[slot];
+            if (al == null) {
+                al = new ArrayList<>();
+                lists[slot] = al;
+            }
+            return al;
+        }
+
+        void clear() {
+            for (int i = 0; i < numSlots; i++) {
+                if (lists[i] != null) {
+                    lists[i].clear();
+                }
+            }
+            active = false;
+        }
+    }
+
+    static class Subscriber {
+        final int id;
+        final int slot;
+        volatile ParameterConsumer consumer;
+        // true if the subscription is for a DVParameterConsumer, delivered separately
+        volatile boolean dvConsumer;
+
+        Subscriber(int id, int slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+    }
 }
@@ -63,6 +63,15 @@ public class SubscriptionArray {
 	}
     }
 
+    /**
+     * 
+     * @param subscriptionId
+     * @return true if the subscriptionId is part of the array
+     */
+    public boolean contains(int subscriptionId) {
+	return Arrays.binarySearch(array, subscriptionId) >= 0;
+    }
+
     public boolean isEmpty() {	
 	return array.length==0;
     }
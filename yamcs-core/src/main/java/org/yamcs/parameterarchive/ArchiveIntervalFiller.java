@@ -1,10 +1,9 @@
 package org.yamcs.parameterarchive;
 
-import java.io.IOException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.rocksdb.RocksDBException;
 import org.yamcs.logging.Log;
 import org.yamcs.utils.TimeEncoding;
 
@@ -12,7 +11,12 @@ import org.yamcs.utils.TimeEncoding;
  * Filler for one interval of the parameter archive.
  * 
  * An interval is composed from multiple segments each having maximum maxSegmentSize parameter values.
- * 
+ * <p>
+ * The filler does not write to the archive itself: the segments which reach the maximum size are added to the
+ * fullSegments collection given in the constructor and the caller is responsible for writing them (possibly together
+ * with segments from other intervals, in one batch).
+ * <p>
+ * This class is not thread safe.
  * 
  * @author nm
  *
@@ -21,29 +25,36 @@ public class ArchiveIntervalFiller {
 
     // parameter group id -> segment
     final Map<Integer, PGSegment> pgSegments = new HashMap<>();
-    final ParameterArchive parchive;
-    final ParameterGroupIdDb parameterGroupIdMap;
+    final Collection<PGSegment> fullSegments;
     int numParams;
     final int maxSegmentSize;
     final private Log log;
     final long intervalStart;
 
-    public ArchiveIntervalFiller(ParameterArchive parchive, Log log, long intervalStart, int maxSegmentSize) {
-        this.parchive = parchive;
-        this.parameterGroupIdMap = parchive.getParameterGroupIdDb();
+    public ArchiveIntervalFiller(Log log, long intervalStart, int maxSegmentSize,
+            Collection<PGSegment> fullSegments) {
         this.maxSegmentSize = maxSegmentSize;
         this.log = log;
         this.intervalStart = intervalStart;
+        this.fullSegments = fullSegments;
     }
 
-    void addParameters(long t, BasicParameterList pvList) throws IOException, RocksDBException {
+    /**
+     * adds the parameters (all having the timestamp t) to the segment of the parameter group
+     * 
+     * @param t
+     *            - the timestamp of the parameters
+     * @param parameterGroupId
+     *            - the group id corresponding to the parameter ids of the list
+     * @param pvList
+     *            - the parameter list, sorted by parameter id
+     */
+    void addParameters(long t, int parameterGroupId, BasicParameterList pvList) {
         if (intervalStart != ParameterArchive.getIntervalStart(t)) {
             throw new IllegalArgumentException("Data does not fit into this interval");
         }
-        pvList.sort();
 
         numParams += pvList.size();
-        int parameterGroupId = parameterGroupIdMap.createAndGet(pvList.getPids());
 
         PGSegment pgs = pgSegments.computeIfAbsent(parameterGroupId,
                 k -> new PGSegment(parameterGroupId, intervalStart, pvList.getPids()));
@@ -60,14 +71,20 @@ public class ArchiveIntervalFiller {
         pgs.addRecord(t, pvList.getValues());
         if (pgs.size() >= maxSegmentSize) {
             pgs.trimSegmentStart();
-            log.debug("Segment {} reached max size {}, writing to disk", pgs, maxSegmentSize);
-            parchive.writeToArchive(pgs);
+            log.debug("Segment {} reached max size {}", pgs, maxSegmentSize);
+            fullSegments.add(pgs);
             pgSegments.put(parameterGroupId,
                     new PGSegment(parameterGroupId, pgs.getSegmentEnd() + 1, pvList.getPids()));
         }
     }
 
-    void flush() throws RocksDBException, IOException {
+    /**
+     * adds the non empty segments currently being filled to the list
+     * <p>
+     * The segments stay open; if they are written to the archive, they will be overwritten when they are written again
+     * with more data.
+     */
+    void getOpenSegments(Collection<PGSegment> list) {
         log.debug("Flushing interval [{} - {}] with {} segments",
                 TimeEncoding.toString(intervalStart),
                 TimeEncoding.toString(ParameterArchive.getIntervalEnd(intervalStart)),
@@ -75,7 +92,7 @@ public class ArchiveIntervalFiller {
 
         for (PGSegment pgs : pgSegments.values()) {
             if (pgs.size() > 0) {
-                parchive.writeToArchive(pgs);
+                list.add(pgs);
             }
         }
     }
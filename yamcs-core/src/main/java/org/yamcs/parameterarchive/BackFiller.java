@@ -5,10 +5,16 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.yamcs.ConfigurationException;
 import org.yamcs.Processor;
@@ -33,7 +39,13 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 /**
  * Back-fills the parameter archive by triggering replays: - either regularly scheduled replays - or monitor data
  * streams (tm, param) and keep track of which segments have to be rebuild
- * 
+ * <p>
+ * The requested time interval is split into parameter archive intervals ({@link ParameterArchive#getIntervalStart})
+ * each of them being filled by its own replay processor. Up to numThreads intervals are filled in parallel.
+ * <p>
+ * If the realtime filler is enabled, the replays are paused while the realtime filler has more than
+ * realtimeQueueThreshold deliveries waiting in its queue or more than realtimeQueueThreshold parameter groups waiting in
+ * the queues of its workers, such that the back-filling does not delay the realtime data.
  * 
  * @author nm
  *
@@ -50,6 +62,12 @@ public class BackFiller implements StreamSubscriber {
     static AtomicInteger count = new AtomicInteger();
     private final Log log;
     final ScheduledThreadPoolExecutor executor;
+    // runs the replays for the individual intervals
+    final ExecutorService workers;
+    int numThreads = 1;
+    // -1 means no throttling
+    int realtimeQueueThreshold = 50;
+    static final long THROTTLE_SLEEP_MILLIS = 100;
 
     // set of segments that have to be rebuilt following monitoring of streams
     private Set<Long> streamUpdates;
@@ -63,13 +81,14 @@ public class BackFiller implements StreamSubscriber {
     BackFiller(ParameterArchive parchive, YConfiguration config) {
         this.parchive = parchive;
         this.log = new Log(BackFiller.class, parchive.getYamcsInstance());
-     //   YamcsServer.getServer().getThreadPoolExecutor()
         if (config != null) {
             parseConfig(config);
         }
         timeService = YamcsServer.getTimeService(parchive.getYamcsInstance());
         executor = new ScheduledThreadPoolExecutor(1,
                 new ThreadFactoryBuilder().setNameFormat("ParameterArchive-BackFiller-"+parchive.getYamcsInstance()).build());
+        workers = Executors.newFixedThreadPool(numThreads, new ThreadFactoryBuilder()
+                .setNameFormat("ParameterArchive-BackFiller-" + parchive.getYamcsInstance() + "-%d").build());
 
     }
 
@@ -105,6 +124,11 @@ public class BackFiller implements StreamSubscriber {
     private void parseConfig(YConfiguration config) {
         warmupTime = 1000L * config.getInt("warmupTime", 60);
         maxSegmentSize = config.getInt("maxSegmentSize", ArchiveFillerTask.DEFAULT_MAX_SEGMENT_SIZE);
+        numThreads = config.getInt("numThreads", numThreads);
+        if (numThreads < 1) {
+            throw new ConfigurationException("numThreads has to be at least 1");
+        }
+        realtimeQueueThreshold = config.getInt("realtimeQueueThreshold", realtimeQueueThreshold);
 
         if (config.containsKey("schedule")) {
             List<YConfiguration> l = config.getConfigList("schedule");
@@ -148,34 +172,106 @@ public class BackFiller implements StreamSubscriber {
         return executor.schedule(() -> runTask(start, stop), 0, TimeUnit.SECONDS);
     }
 
+    /**
+     * Fills the archive for the given time interval (extended to the parameter archive interval boundaries) and waits
+     * for the filling to finish.
+     */
     private void runTask(long start, long stop) {
+        start = ParameterArchive.getIntervalStart(start);
+        stop = ParameterArchive.getIntervalEnd(stop) + 1;
+        String timePeriod = '[' + TimeEncoding.toString(start) + "-" + TimeEncoding.toString(stop) + ')';
+
+        List<Long> intervals = new ArrayList<>();
+        for (long t = start; t < stop; t = ParameterArchive.getIntervalEnd(t) + 1) {
+            intervals.add(t);
+        }
+        log.info("Starting parameter archive fillup for interval {} ({} intervals)", timePeriod, intervals.size());
+        FillupProgress progress = new FillupProgress(intervals.size());
+        List<Future<?>> futures = new ArrayList<>(intervals.size());
+        // the intervals are submitted only when a worker is available such that the queue of the workers stays small
+        Semaphore freeWorkers = new Semaphore(numThreads);
         try {
-            start = ParameterArchive.getIntervalStart(start);
-            stop = ParameterArchive.getIntervalEnd(stop) + 1;
+            for (long t : intervals) {
+                freeWorkers.acquire();
+                // done() is called exactly once, also if the task is cancelled before being run
+                FutureTask<Void> task = new FutureTask<Void>(() -> fillInterval(t, timePeriod, progress), null) {
+                    @Override
+                    protected void done() {
+                        freeWorkers.release();
+                    }
+                };
+                workers.execute(task);
+                futures.add(task);
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    // the other intervals are still filled, wait for them as well
+                    log.error("Error when running the archive filler task", e.getCause());
+                    progress.numAborted.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            log.warn("Parameter archive fillup for interval {} interrupted", timePeriod);
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            return;
+        }
+        log.info("Parameter archive fillup for interval {} finished, {} intervals aborted, processed samples: {}",
+                timePeriod, progress.numAborted.get(), progress.numSamples.get());
+    }
 
+    // fills one parameter archive interval
+    private void fillInterval(long start, String timePeriod, FillupProgress progress) {
+        long stop = ParameterArchive.getIntervalEnd(start) + 1;
+        try {
             ArchiveFillerTask aft = new ArchiveFillerTask(parchive, maxSegmentSize);
             aft.setCollectionSegmentStart(start);
-            String timePeriod = '[' + TimeEncoding.toString(start) + "-" + TimeEncoding.toString(stop) + ')';
-            log.info("Starting parameter archive fillup for interval {}", timePeriod);
 
             ReplayOptions rrb = ReplayOptions.getAfapReplay(start - warmupTime, stop);
             Processor proc = ProcessorFactory.create(parchive.getYamcsInstance(),
                     "ParameterArchive-backfilling_" + count.incrementAndGet(), "ParameterArchive", "internal",
                     rrb);
             aft.setProcessor(proc);
-            proc.getParameterRequestManager().subscribeAll(aft);
+            proc.getParameterRequestManager().subscribeAll((subscriptionId, items) -> {
+                throttle();
+                aft.updateItems(subscriptionId, items);
+            });
 
             proc.start();
             proc.awaitTerminated();
             if (aft.aborted) {
-                log.warn("Parameter archive fillup for interval {} aborted", timePeriod);
+                log.warn("Parameter archive fillup for interval {} aborted", TimeEncoding.toString(start));
+                progress.numAborted.incrementAndGet();
             } else {
                 aft.flush();
-                log.info("Parameter archive fillup for interval {} finished, processed samples: {}",
-                        timePeriod, aft.getNumProcessedParameters());
+                progress.numSamples.addAndGet(aft.getNumProcessedParameters());
             }
         } catch (Exception e) {
             log.error("Error when running the archive filler task", e);
+            progress.numAborted.incrementAndGet();
+        }
+        log.info("Parameter archive fillup for interval {}: {} of {} intervals done", timePeriod,
+                progress.numDone.incrementAndGet(), progress.numIntervals);
+    }
+
+    /**
+     * Blocks the replay while the realtime filler is behind, either in sorting the deliveries or in filling the
+     * segments.
+     */
+    private void throttle() {
+        RealtimeArchiveFiller realtimeFiller = parchive.getRealtimeFiller();
+        if (realtimeFiller == null || realtimeQueueThreshold < 0) {
+            return;
+        }
+        try {
+            while (realtimeFiller.getQueueSize() > realtimeQueueThreshold
+                    || realtimeFiller.getWorkerQueueSize() > realtimeQueueThreshold) {
+                Thread.sleep(THROTTLE_SLEEP_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -229,6 +325,17 @@ public class BackFiller implements StreamSubscriber {
         runCount++;
     }
 
+    static class FillupProgress {
+        final int numIntervals;
+        final AtomicInteger numDone = new AtomicInteger();
+        final AtomicInteger numAborted = new AtomicInteger();
+        final AtomicLong numSamples = new AtomicLong();
+
+        FillupProgress(int numIntervals) {
+            this.numIntervals = numIntervals;
+        }
+    }
+
     static class Schedule {
         public Schedule(int segmentStart, int numSegments, long interval) {
             this.segmentStart = segmentStart;
@@ -248,6 +355,7 @@ public class BackFiller implements StreamSubscriber {
             }
         }
         executor.shutdownNow();
+        workers.shutdownNow();
     }
 
     @Override
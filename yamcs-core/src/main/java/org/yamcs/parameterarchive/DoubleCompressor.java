@@ -0,0 +1,125 @@
+package org.yamcs.parameterarchive;
+
+import java.nio.ByteBuffer;
+
+import org.yamcs.utils.BitReader;
+import org.yamcs.utils.BitWriter;
+import org.yamcs.utils.DecodingException;
+
+/**
+ * Double precision version of the {@link FloatCompressor}, implementing the XOR scheme described here:
+ * http://www.vldb.org/pvldb/vol8/p1816-teller.pdf
+ * <p>
+ * Compared with the float version, the number of leading zeros and the number of meaningful bits are stored on 6 bits
+ * each.
+ *
+ */
+public class DoubleCompressor {
+    /**
+     * compress the first n elements from the array of doubles into the ByteBuffer
+     * <p>
+     * A {@link java.nio.BufferOverflowException} is thrown if the compressed data does not fit into the buffer.
+     */
+    static public void compress(double[] da, int n, ByteBuffer bb) {
+        BitWriter bw = new BitWriter(bb);
+
+        long prevV = Double.doubleToRawLongBits(da[0]);
+        write(bw, prevV, 64);
+
+        int prevLz = 100; // such that the first comparison lz>=prevLz will fail
+        int prevTz = 0;
+
+        for (int i = 1; i < n; i++) {
+            long v = Double.doubleToRawLongBits(da[i]);
+            long xor = v ^ prevV;
+            if (xor == 0) {
+                // same value, store single '0' bit
+                bw.write(0, 1);
+            } else {
+                bw.write(1, 1);
+                int lz = Long.numberOfLeadingZeros(xor);
+                int tz = Long.numberOfTrailingZeros(xor);
+                if ((lz >= prevLz) && (tz >= prevTz) && (lz < prevLz + 13)) {
+                    // (control bit '0') the meaningful bits fall within the block of the previous meaningful bits
+                    bw.write(0, 1);
+                    write(bw, xor >>> prevTz, 64 - prevLz - prevTz);
+                } else {
+                    // (control bit '1') store the number of leading zeros on 6 bits, the number of meaningful bits on
+                    // 6 bits (64 overflows to 0) and then the meaningful bits
+                    int mb = 64 - lz - tz;
+                    bw.write(1, 1);
+                    bw.write(lz, 6);
+                    bw.write(mb, 6);
+                    write(bw, xor >>> tz, mb);
+                    prevLz = lz;
+                    prevTz = tz;
+                }
+            }
+            prevV = v;
+        }
+        bw.flush();
+    }
+
+    public static void compress(double[] da, ByteBuffer bb) {
+        compress(da, da.length, bb);
+    }
+
+    /**
+     * decompress n doubles from the ByteBuffer
+     */
+    public static double[] decompress(ByteBuffer bb, int n) throws DecodingException {
+        double[] da = new double[n];
+        if (n == 0) {
+            return da;
+        }
+        BitReader br = new BitReader(bb);
+        long v = read(br, 64);
+        da[0] = Double.longBitsToDouble(v);
+
+        int tz = 0; // trailing zeros
+        int mb = 0; // meaningful bits
+        for (int i = 1; i < n; i++) {
+            if (br.read(1) == 0) {
+                // same with the previous value
+                da[i] = da[i - 1];
+            } else {
+                if (br.read(1) == 1) {
+                    int lz = br.read(6);
+                    mb = br.read(6);
+                    if (mb == 0) {
+                        mb = 64;
+                    }
+                    tz = 64 - lz - mb;
+                    if (tz < 0) {
+                        throw new DecodingException("Invalid compressed double: " + lz + " leading zeros and "
+                                + mb + " meaningful bits");
+                    }
+                } else if (mb == 0) {
+                    throw new DecodingException("Invalid compressed double: no previous block of meaningful bits");
+                }
+                v ^= read(br, mb) << tz;
+                da[i] = Double.longBitsToDouble(v);
+            }
+        }
+        return da;
+    }
+
+    // the BitWriter and BitReader work with at most 32 bits at a time
+    private static void write(BitWriter bw, long x, int numBits) {
+        if (numBits > 32) {
+            bw.write((int) (x >>> 32), numBits - 32);
+            bw.write((int) x, 32);
+        } else {
+            bw.write((int) x, numBits);
+        }
+    }
+
+    private static long read(BitReader br, int numBits) {
+        if (numBits > 32) {
+            long x = br.readLong(numBits - 32) << 32;
+            return x | br.readLong(32);
+        } else {
+            return br.readLong(numBits);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.yamcs.parameterarchive;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 import org.yamcs.parameter.Value;
@@ -13,6 +15,8 @@ import org.yamcs.utils.VarIntUtil;
 
 public class DoubleValueSegment extends BaseSegment implements ValueSegment {
     final static byte SUBFORMAT_ID_RAW = 0;
+    final static byte SUBFORMAT_ID_COMPRESSED = 1;
+    final static byte SUBFORMAT_ID_CONSTANT = 2;
     
     DoubleArray values;
     
@@ -22,28 +26,87 @@ public class DoubleValueSegment extends BaseSegment implements ValueSegment {
     }
    
             
+    /**
+     * Writes the values in the smallest of the following formats:
+     * <ul>
+     * <li>constant: all values are identical, the value is written once</li>
+     * <li>compressed: XOR with the previous value, see {@link DoubleCompressor}</li>
+     * <li>raw: 8 bytes per value</li>
+     * </ul>
+     */
     @Override
     public void writeTo(ByteBuffer bb) {
+        int n = values.size();
+        if (n > 1 && isConstant()) {
+            bb.put(SUBFORMAT_ID_CONSTANT);
+            VarIntUtil.writeVarInt32(bb, n);
+            bb.putDouble(values.get(0));
+            return;
+        }
+        if (n < 2) {
+            writeRaw(bb);
+            return;
+        }
+        int position = bb.position();
+        // try to write it compressed, if it does not fit or it is not smaller than the raw encoding, revert to raw
+        bb.put(SUBFORMAT_ID_COMPRESSED);
+        VarIntUtil.writeVarInt32(bb, n);
+        int rawSize = bb.position() - position + 8 * n;
+        try {
+            DoubleCompressor.compress(values.array(), n, bb);
+            if (bb.position() - position < rawSize) {
+                return;
+            }
+        } catch (BufferOverflowException e) {
+            // fall back to raw
+        }
+        bb.position(position);
+        writeRaw(bb);
+    }
+
+    /**
+     * Writes the segment in the raw sub-format (8 bytes per value), whatever the sub-format selected by writeTo would
+     * be.
+     */
+    public void writeRaw(ByteBuffer bb) {
         bb.put(SUBFORMAT_ID_RAW);
         int n = values.size();
         VarIntUtil.writeVarInt32(bb, n);
-        for(int i=0;i<n;i++) {
+        for (int i = 0; i < n; i++) {
             bb.putDouble(values.get(i));
         }
     }
 
+    private boolean isConstant() {
+        long v0 = Double.doubleToRawLongBits(values.get(0));
+        for (int i = 1; i < values.size(); i++) {
+            if (Double.doubleToRawLongBits(values.get(i)) != v0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void parse(ByteBuffer bb) throws DecodingException {
         byte fid = bb.get();
-        if(fid!=SUBFORMAT_ID_RAW) {
-            throw new DecodingException("Uknown sub format id: "+fid);
-        }
         int n = VarIntUtil.readVarInt32(bb);
-        values = new DoubleArray(n);
-        
-        for(int i=0;i<n;i++) {
-            values.add(bb.getDouble());
+        double[] doubles;
+        if (fid == SUBFORMAT_ID_RAW) {
+            doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                doubles[i] = bb.getDouble();
+            }
+        } else if (fid == SUBFORMAT_ID_COMPRESSED) {
+            doubles = DoubleCompressor.decompress(bb, n);
+        } else if (fid == SUBFORMAT_ID_CONSTANT) {
+            doubles = new double[n];
+            Arrays.fill(doubles, bb.getDouble());
+        } else {
+            throw new DecodingException("Uknown sub format id: " + fid);
         }
+        values = DoubleArray.wrap(doubles);
     }
+
     public static DoubleValueSegment parseFrom(ByteBuffer bb) throws DecodingException {
         DoubleValueSegment r = new DoubleValueSegment();
         r.parse(bb);
@@ -60,7 +123,7 @@ public class DoubleValueSegment extends BaseSegment implements ValueSegment {
         return 4+8*values.size();
     }
     
-    static DoubleValueSegment consolidate(List<Value> v) {
+    public static DoubleValueSegment consolidate(List<Value> v) {
         DoubleValueSegment fvs = new DoubleValueSegment();
         int n = v.size();
         fvs.values = new DoubleArray(n);
@@ -100,7 +100,7 @@ public class FloatValueSegment extends BaseSegment implements ValueSegment {
         return new ValueArray(r);
     }
     
-    static FloatValueSegment consolidate(List<Value> values) {
+    public static FloatValueSegment consolidate(List<Value> values) {
         FloatValueSegment fvs = new FloatValueSegment();
         int n = values.size();
         fvs.values = new FloatArray(n);
@@ -1,9 +1,10 @@
 package org.yamcs.parameterarchive;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
@@ -49,112 +50,250 @@ public class MultiParameterDataRetrieval {
 
     private void retrieveFromPartition(Partition p, Consumer<ParameterIdValueList> consumer)
             throws RocksDBException, DecodingException, IOException {
-        RocksIterator[] its = new RocksIterator[mpvr.parameterIds.length];
-        Map<PartitionIterator, String> partition2ParameterName = new HashMap<>();
-        PriorityQueue<PartitionIterator> queue = new PriorityQueue<>(new PartitionIteratorComparator(mpvr.ascending));
-        SegmentMerger merger = null;
-      
+        // the requested parameters grouped by parameter group, each group sorted by parameter id
+        Map<Integer, List<Integer>> groups = new TreeMap<>();
         for (int i = 0; i < mpvr.parameterIds.length; i++) {
-            boolean retrieveEng = mpvr.retrieveEngValues || mpvr.retrieveRawValues.get(i);
-            its[i] = parchive.getIterator(p);
-
-            PartitionIterator pi = new PartitionIterator(its[i], mpvr.parameterIds[i], mpvr.parameterGroupIds[i],
-                    mpvr.start, mpvr.stop, mpvr.ascending, retrieveEng, mpvr.retrieveRawValues.get(i),
-                    mpvr.retrieveParamStatus);
-            if (pi.isValid()) {
-                queue.add(pi);
-                partition2ParameterName.put(pi, mpvr.parameterNames[i]);
-            } else {
-                its[i].close();
-                its[i] = null;
-            }
+            groups.computeIfAbsent(mpvr.parameterGroupIds[i], k -> new ArrayList<>()).add(i);
         }
+        for (List<Integer> l : groups.values()) {
+            l.sort((i1, i2) -> Integer.compare(mpvr.parameterIds[i1], mpvr.parameterIds[i2]));
+        }
+
+        int timeParameterId = parchive.getParameterIdDb().getTimeParameterId();
+        PriorityQueue<ParameterGroupIterator> queue = new PriorityQueue<>(
+                new ParameterGroupIteratorComparator(mpvr.ascending));
+        List<ParameterGroupIterator> iterators = new ArrayList<>();
+        // one iterator shared by all the parameters to detect the value segments without a time segment
+        RocksIterator valueKeyIt = null;
+        // for each parameter, the first (or last if descending) segment start not yet checked for value segments
+        long[] nextCheck = new long[mpvr.parameterIds.length];
+        Arrays.fill(nextCheck, mpvr.ascending ? getIntervalStart(mpvr.start) : mpvr.stop);
+        SegmentMerger merger = null;
 
+        SegmentCache cache = parchive.getSegmentCache();
+        long cacheSeq = cache == null ? 0 : cache.getSequence();
         try {
+            valueKeyIt = parchive.getIterator(p);
+            for (int pgid : groups.keySet()) {
+                ParameterGroupIterator pgit = new ParameterGroupIterator(parchive.getIterator(p), timeParameterId,
+                        pgid, mpvr.start, mpvr.stop, mpvr.ascending);
+                pgit.setCache(cache, p.partitionDir, cacheSeq);
+                iterators.add(pgit);
+                if (pgit.isValid()) {
+                    queue.add(pgit);
+                } else {
+                    checkValueSegments(valueKeyIt, nextCheck, groups.get(pgid), pgid, 0, true);
+                }
+            }
+
             while (!queue.isEmpty()) {
                 if ((mpvr.limit > 0) && (count >= mpvr.limit)) {
                     break;
                 }
 
-                PartitionIterator pit = queue.poll();
-                SegmentKey key = pit.key();
+                ParameterGroupIterator pgit = queue.poll();
+                long segmentStart = pgit.segmentStart();
                 if (merger == null) {
-                    merger = new SegmentMerger(key, mpvr);
+                    merger = new SegmentMerger(segmentStart, mpvr);
                 } else {
-                    if (key.segmentStart != merger.key.segmentStart) {
+                    if (segmentStart != merger.segmentStart) {
                         sendAllData(merger, consumer);
-                        merger = new SegmentMerger(key, mpvr);
+                        merger = new SegmentMerger(segmentStart, mpvr);
                     }
                 }
+                List<Integer> idxList = groups.get(pgit.getParameterGroupId());
+                int pgid = pgit.getParameterGroupId();
+                checkValueSegments(valueKeyIt, nextCheck, idxList, pgid, segmentStart, false);
+                retrieveGroupSegment(p, pgit, idxList, merger);
 
-                SortedTimeSegment timeSegment = parchive.getTimeSegment(p, key.segmentStart, pit.getParameterGroupId());
-                if (timeSegment == null) {
-                    String msg = "Cannot find a time segment for parameterGroupId=" + pit.getParameterGroupId()
-                            + " segmentStart = " + key.segmentStart
-                            + " despite having a value segment for parameterId: " + pit.getParameterId();
-                    log.error(msg);
-                    throw new IOException(msg);
+                pgit.next();
+                if (pgit.isValid()) {
+                    queue.add(pgit);
+                } else {
+                    checkValueSegments(valueKeyIt, nextCheck, idxList, pgid, 0, true);
                 }
-                ValueSegment engValueSegment = mpvr.retrieveEngValues ? pit.engValue() : null;
-                ParameterStatusSegment paramStatuSegment = mpvr.retrieveParamStatus ? pit.parameterStatus() : null;
-
-                ValueSegment rawValueSegment = null;
-                if (pit.retrieveRawValue) {
-                    rawValueSegment = pit.rawValue();
-                    if (rawValueSegment == null) {
-                        rawValueSegment = pit.engValue();
-                    }
+            }
+            if (merger != null) {
+                sendAllData(merger, consumer);
+            }
+        } finally {
+            for (ParameterGroupIterator pgit : iterators) {
+                pgit.close();
+            }
+            if (valueKeyIt != null) {
+                valueKeyIt.close();
+            }
+        }
+    }
+
+    /**
+     * Checks that the parameters of one group do not have value segments between the previously checked time segment
+     * and the time segment starting at segmentStart, meaning that these value segments do not have a corresponding
+     * time segment. There is one seek per parameter on the iterator shared by all the parameters.
+     * <p>
+     * If end is true, there is no more time segment for the group and any remaining value segment in the requested
+     * interval is in error.
+     */
+    private void checkValueSegments(RocksIterator it, long[] nextCheck, List<Integer> idxList, int pgid,
+            long segmentStart, boolean end) throws IOException {
+        for (int i : idxList) {
+            int pid = mpvr.parameterIds[i];
+            SegmentKey key;
+            if (mpvr.ascending) {
+                it.seek(new SegmentKey(pid, pgid, nextCheck[i], (byte) 0).encode());
+                key = currentKey(it);
+                if (key != null && (end ? key.segmentStart > mpvr.stop : key.segmentStart >= segmentStart)) {
+                    key = null;
                 }
-                // do some sanity checks
-                long numRecords = timeSegment.size();
-                if (engValueSegment != null && engValueSegment.size() != numRecords) {
-                    throw new DecodingException("EngValueSegment has a different number of records than timeSegment: "
-                            + engValueSegment.size() + " vs " + timeSegment.size() + " for segment: ["
-                            + TimeEncoding.toString(timeSegment.getSegmentStart()) + " - "
-                            + TimeEncoding.toString(timeSegment.getSegmentEnd()) + "]" + " offending key: "
-                            + pit.key());
+                nextCheck[i] = segmentStart + 1;
+            } else {
+                it.seekForPrev(new SegmentKey(pid, pgid, nextCheck[i], Byte.MAX_VALUE).encode());
+                key = currentKey(it);
+                if (key != null && (end ? key.segmentStart < getIntervalStart(mpvr.start)
+                        : key.segmentStart <= segmentStart)) {
+                    key = null;
                 }
+                nextCheck[i] = segmentStart - 1;
+            }
+            if (key != null && key.parameterId == pid && key.parameterGroupId == pgid) {
+                String msg = "Cannot find a time segment for parameterGroupId=" + pgid
+                        + " segmentStart = " + key.segmentStart
+                        + " despite having a value segment for parameterId: " + pid;
+                log.error(msg);
+                throw new IOException(msg);
+            }
+        }
+    }
 
-                if (rawValueSegment != null && rawValueSegment.size() != numRecords) {
-                    throw new DecodingException("RawValueSegment has a different number of records than timeSegment: "
-                            + rawValueSegment.size() + " vs " + timeSegment.size() + " for segment: ["
-                            + TimeEncoding.toString(timeSegment.getSegmentStart()) + " - "
-                            + TimeEncoding.toString(timeSegment.getSegmentEnd()) + "]" + " offending key: "
-                            + pit.key());
-                }
+    // the iterator goes over the whole partition, it may be positioned on a key which is not a segment key
+    private static SegmentKey currentKey(RocksIterator it) {
+        if (!it.isValid()) {
+            return null;
+        }
+        byte[] k = it.key();
+        return k.length == 17 ? SegmentKey.decode(k) : null;
+    }
 
-                if (paramStatuSegment != null && paramStatuSegment.size() != numRecords) {
-                    throw new DecodingException(
-                            "ParmaeterStatusSegment has a different number of records than timeSegment: "
-                                    + paramStatuSegment.size() + " vs " + timeSegment.size() + " for segment: ["
-                                    + TimeEncoding.toString(timeSegment.getSegmentStart()) + " - "
-                                    + TimeEncoding.toString(timeSegment.getSegmentEnd()) + "]" + " offending key: "
-                                    + pit.key());
-                }
+    /**
+     * Extracts the values of the requested parameters of one group from the segments starting at the current position
+     * of the group iterator.
+     * <p>
+     * The time segment is decoded once for all the parameters and their value segments not found in the cache are
+     * retrieved with one multiGet.
+     */
+    private void retrieveGroupSegment(Partition p, ParameterGroupIterator pgit, List<Integer> idxList,
+            SegmentMerger merger) throws RocksDBException, DecodingException {
+        int pgid = pgit.getParameterGroupId();
+        long segmentStart = pgit.segmentStart();
 
-                merger.currentParameterGroupId = pit.getParameterGroupId();
-                merger.currentParameterId = pit.getParameterId();
-                merger.currentParameterName = partition2ParameterName.get(pit);
-                new SegmentIterator(timeSegment, (ValueSegment) engValueSegment, (ValueSegment) rawValueSegment,
-                        paramStatuSegment, mpvr.start, mpvr.stop, mpvr.ascending).forEachRemaining(merger);
-                pit.next();
-                if (pit.isValid()) {
-                    queue.add(pit);
-                }
+        int n = idxList.size();
+        // for each parameter, the eng, raw and status segments
+        byte[][] keys = new byte[3 * n][];
+        BaseSegment[] segments = new BaseSegment[3 * n];
+
+        for (int k = 0; k < n; k++) {
+            int i = idxList.get(k);
+            int pid = mpvr.parameterIds[i];
+            boolean retrieveRaw = mpvr.retrieveRawValues.get(i);
+            if (mpvr.retrieveEngValues || retrieveRaw) {
+                keys[3 * k] = new SegmentKey(pid, pgid, segmentStart, SegmentKey.TYPE_ENG_VALUE).encode();
             }
-            if (merger != null) {
-                sendAllData(merger, consumer);
+            if (retrieveRaw) {
+                keys[3 * k + 1] = new SegmentKey(pid, pgid, segmentStart, SegmentKey.TYPE_RAW_VALUE).encode();
+            }
+            if (mpvr.retrieveParamStatus) {
+                keys[3 * k + 2] = new SegmentKey(pid, pgid, segmentStart, SegmentKey.TYPE_PARAMETER_STATUS).encode();
+            }
+        }
+        loadSegments(p, segmentStart, keys, segments);
+        SortedTimeSegment timeSegment = null;
+
+        for (int k = 0; k < n; k++) {
+            int i = idxList.get(k);
+            BaseSegment engSegment = segments[3 * k];
+            BaseSegment rawSegment = segments[3 * k + 1];
+            ParameterStatusSegment paramStatuSegment = (ParameterStatusSegment) segments[3 * k + 2];
+            if (engSegment == null && rawSegment == null && paramStatuSegment == null) {
+                // no data for this parameter in this segment
+                continue;
+            }
+            if (timeSegment == null) {
+                timeSegment = pgit.timeSegment();
             }
+            ValueSegment engValueSegment = mpvr.retrieveEngValues ? (ValueSegment) engSegment : null;
 
-        } finally {
-            for (int i = 0; i < mpvr.parameterIds.length; i++) {
-                if (its[i] != null) {
-                    its[i].close();
+            ValueSegment rawValueSegment = null;
+            if (keys[3 * k + 1] != null) {
+                rawValueSegment = (ValueSegment) (rawSegment == null ? engSegment : rawSegment);
+            }
+            SegmentKey key = new SegmentKey(mpvr.parameterIds[i], pgid, segmentStart, SegmentKey.TYPE_ENG_VALUE);
+            if (engValueSegment != null) {
+                checkSize("EngValueSegment", engValueSegment.size(), timeSegment, key);
+            }
+            if (rawValueSegment != null) {
+                checkSize("RawValueSegment", rawValueSegment.size(), timeSegment, key);
+            }
+            if (paramStatuSegment != null) {
+                checkSize("ParameterStatusSegment", paramStatuSegment.size(), timeSegment, key);
+            }
+
+            merger.currentParameterGroupId = pgid;
+            merger.currentParameterId = mpvr.parameterIds[i];
+            merger.currentParameterName = mpvr.parameterNames[i];
+            new SegmentIterator(timeSegment, engValueSegment, rawValueSegment, paramStatuSegment, mpvr.start,
+                    mpvr.stop, mpvr.ascending).forEachRemaining(merger);
+        }
+    }
+
+    /**
+     * Fills the segments array with the decoded segments corresponding to the non null keys, looking first in the
+     * cache and retrieving the remaining ones from the database with one multiGet.
+     */
+    private void loadSegments(Partition p, long segmentStart, byte[][] keys, BaseSegment[] segments)
+            throws RocksDBException, DecodingException {
+        SegmentCache cache = parchive.getSegmentCache();
+        long cacheSeq = cache == null ? 0 : cache.getSequence();
+
+        List<byte[]> toRead = new ArrayList<>();
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] == null) {
+                continue;
+            }
+            if (cache != null) {
+                segments[j] = cache.getIfPresent(p.partitionDir, keys[j]);
+            }
+            if (segments[j] == null) {
+                toRead.add(keys[j]);
+            }
+        }
+        if (toRead.isEmpty()) {
+            return;
+        }
+        Map<byte[], byte[]> values = parchive.multiGet(p, toRead);
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] == null || segments[j] != null) {
+                continue;
+            }
+            byte[] v = values.get(keys[j]);
+            if (v != null) {
+                segments[j] = vsEncoder.decode(v, segmentStart);
+                if (cache != null) {
+                    cache.put(p.partitionDir, keys[j], cacheSeq, segments[j]);
                 }
             }
         }
     }
 
+    private static void checkSize(String name, int size, SortedTimeSegment timeSegment, SegmentKey key)
+            throws DecodingException {
+        if (size != timeSegment.size()) {
+            throw new DecodingException(name + " has a different number of records than timeSegment: "
+                    + size + " vs " + timeSegment.size() + " for segment: ["
+                    + TimeEncoding.toString(timeSegment.getSegmentStart()) + " - "
+                    + TimeEncoding.toString(timeSegment.getSegmentEnd()) + "]" + " offending key: " + key);
+        }
+    }
+
     private void sendAllData(SegmentMerger merger, Consumer<ParameterIdValueList> consumer) {
         Collection<ParameterIdValueList> c = merger.values.values();
         if (mpvr.limit < 0) {
@@ -178,7 +317,7 @@ public class MultiParameterDataRetrieval {
      *
      */
     static class SegmentMerger implements Consumer<TimedValue> {
-        final SegmentKey key;
+        final long segmentStart;
         TreeMap<Long, ParameterIdValueList> values;
         int currentParameterId;
         int currentParameterGroupId;
@@ -186,8 +325,8 @@ public class MultiParameterDataRetrieval {
 
         final MultipleParameterValueRequest mpvr;
 
-        public SegmentMerger(SegmentKey key, MultipleParameterValueRequest mpvr) {
-            this.key = key;
+        public SegmentMerger(long segmentStart, MultipleParameterValueRequest mpvr) {
+            this.segmentStart = segmentStart;
             this.mpvr = mpvr;
             values = new TreeMap<>(new Comparator<Long>() {
                 @Override
@@ -243,6 +382,29 @@ public class MultiParameterDataRetrieval {
 
     }
 
+    static class ParameterGroupIteratorComparator implements Comparator<ParameterGroupIterator> {
+        final boolean ascending;
+
+        public ParameterGroupIteratorComparator(boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        @Override
+        public int compare(ParameterGroupIterator pgit1, ParameterGroupIterator pgit2) {
+            int c;
+            if (ascending) {
+                c = Long.compare(pgit1.segmentStart(), pgit2.segmentStart());
+            } else {
+                c = Long.compare(pgit2.segmentStart(), pgit1.segmentStart());
+            }
+
+            if (c != 0) {
+                return c;
+            }
+            return Integer.compare(pgit1.getParameterGroupId(), pgit2.getParameterGroupId());
+        }
+    }
+
     static class PartitionIteratorComparator implements Comparator<PartitionIterator> {
         final boolean ascending;
 
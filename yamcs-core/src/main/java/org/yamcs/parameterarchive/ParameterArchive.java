@@ -4,12 +4,20 @@ import static org.yamcs.yarch.rocksdb.RdbStorageEngine.TBS_INDEX_SIZE;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
@@ -21,6 +29,7 @@ import org.yamcs.Spec;
 import org.yamcs.Spec.OptionType;
 import org.yamcs.YConfiguration;
 import org.yamcs.YamcsServer;
+import org.yamcs.parameter.ValueArray;
 import org.yamcs.time.TimeService;
 import org.yamcs.utils.ByteArrayUtils;
 import org.yamcs.utils.DatabaseCorruptionException;
@@ -48,6 +57,9 @@ import org.yamcs.yarch.rocksdb.protobuf.Tablespace.TimeBasedPartition;
  * An interval covers 2^23 millisec =~ 139 minutes
  * 
  * An segment covers at most maxSegmentSize values for one parameter
+ * <p>
+ * For the numeric parameters, {@link Rollup}s are computed at the configured resolutions when the segments are written
+ * and stored in the {@value #CF_ROLLUPS} column family of the partition.
  * 
  * 
  * 
@@ -62,6 +74,10 @@ public class ParameterArchive extends AbstractYamcsService {
     public static final int TIMESTAMP_MASK = (0xFFFFFFFF >>> (32 - NUMBITS_MASK));
     public static final long INTERVAL_MASK = ~TIMESTAMP_MASK;
 
+    public static final String CF_ROLLUPS = "parameter_archive_rollups";
+    // key of the record giving for each resolution the time since when the rollups are available in a partition
+    static final byte[] ROLLUPS_SINCE_KEY = new byte[] { 0 };
+
     private ParameterIdDb parameterIdMap;
     private ParameterGroupIdDb parameterGroupIdMap;
     private Tablespace tablespace;
@@ -73,6 +89,12 @@ public class ParameterArchive extends AbstractYamcsService {
 
     private PartitionedTimeInterval<Partition> partitions = new PartitionedTimeInterval<>();
     SegmentEncoderDecoder vsEncoder = new SegmentEncoderDecoder();
+    // cache of decoded segments, null if disabled
+    private SegmentCache segmentCache;
+    // rollup resolutions in milliseconds, sorted ascending
+    private int[] rollupResolutions;
+    // partitions whose rollup availability record has been updated for the configured resolutions
+    private final Set<Partition> rollupsCheckedPartitions = ConcurrentHashMap.newKeySet();
 
     TimeService timeService;
     private BackFiller backFiller;
@@ -89,6 +111,9 @@ public class ParameterArchive extends AbstractYamcsService {
         spec.addOption("realtimeFiller", OptionType.ANY);
         spec.addOption("partitioningSchema", OptionType.STRING).withDefault("YYYY")
                 .withChoices("YYYY/DOY", "YYYY/MM", "YYYY", "none");
+        spec.addOption("segmentCacheSizeMB", OptionType.INTEGER).withDefault(64);
+        spec.addOption("rollupResolutions", OptionType.LIST).withElementType(OptionType.INTEGER)
+                .withDefault(Arrays.asList(60, 3600));
 
         return spec;
     }
@@ -117,6 +142,22 @@ public class ParameterArchive extends AbstractYamcsService {
             partitioningSchema = TimePartitionSchema.getInstance(schema);
         }
 
+        int segmentCacheSizeMB = config.getInt("segmentCacheSizeMB");
+        if (segmentCacheSizeMB > 0) {
+            segmentCache = new SegmentCache(segmentCacheSizeMB * 1024L * 1024L);
+        }
+
+        List<Integer> rl = config.getList("rollupResolutions");
+        rollupResolutions = new int[rl.size()];
+        for (int i = 0; i < rl.size(); i++) {
+            int res = rl.get(i);
+            if (res <= 0) {
+                throw new ConfigurationException("Invalid rollup resolution " + res + "; it has to be positive");
+            }
+            rollupResolutions[i] = res * 1000;
+        }
+        Arrays.sort(rollupResolutions);
+
         if (!config.containsKey("backFiller") && !config.containsKey("realtimeFiller")) {
             backFiller = new BackFiller(this, null);
         }
@@ -203,32 +244,75 @@ public class ParameterArchive extends AbstractYamcsService {
     public void writeToArchive(PGSegment pgs) throws RocksDBException, IOException {
         pgs.consolidate();
         Partition p = createAndGetPartition(pgs.getSegmentStart());
+        List<byte[]> keys = new ArrayList<>();
         try (WriteBatch writeBatch = new WriteBatch(); WriteOptions wo = new WriteOptions()) {
-            writeToBatch(writeBatch, p, pgs);
+            writeToBatch(writeBatch, p, pgs, keys);
             tablespace.getRdb(p.partitionDir, false).getDb().write(wo, writeBatch);
         }
+        invalidateCache(p, keys);
     }
 
     public void writeToArchive(long segStart, Collection<PGSegment> pgList) throws RocksDBException, IOException {
         Partition p = createAndGetPartition(segStart);
+        List<byte[]> keys = new ArrayList<>();
         try (WriteBatch writeBatch = new WriteBatch(); WriteOptions wo = new WriteOptions()) {
 
             for (PGSegment pgs : pgList) {
                 pgs.consolidate();
                 assert (segStart == pgs.getSegmentStart());
-                writeToBatch(writeBatch, p, pgs);
+                writeToBatch(writeBatch, p, pgs, keys);
             }
             tablespace.getRdb(p.partitionDir, false).getDb().write(wo, writeBatch);
         }
+        invalidateCache(p, keys);
+    }
+
+    /**
+     * writes the segments to the archive; unlike {@link #writeToArchive(long, Collection)} the segments do not need to
+     * have the same start. One write batch is committed for each partition touched.
+     */
+    public void writeToArchive(Collection<PGSegment> pgList) throws RocksDBException, IOException {
+        Map<Partition, List<PGSegment>> byPartition = new HashMap<>();
+        for (PGSegment pgs : pgList) {
+            Partition p = createAndGetPartition(pgs.getSegmentStart());
+            byPartition.computeIfAbsent(p, k -> new ArrayList<>()).add(pgs);
+        }
+        for (Map.Entry<Partition, List<PGSegment>> me : byPartition.entrySet()) {
+            Partition p = me.getKey();
+            List<byte[]> keys = new ArrayList<>();
+            try (WriteBatch writeBatch = new WriteBatch(); WriteOptions wo = new WriteOptions()) {
+                for (PGSegment pgs : me.getValue()) {
+                    pgs.consolidate();
+                    writeToBatch(writeBatch, p, pgs, keys);
+                }
+                tablespace.getRdb(p.partitionDir, false).getDb().write(wo, writeBatch);
+            }
+            invalidateCache(p, keys);
+        }
     }
 
-    private void writeToBatch(WriteBatch writeBatch, Partition p, PGSegment pgs) throws RocksDBException {
+    private void invalidateCache(Partition p, List<byte[]> keys) {
+        if (segmentCache != null) {
+            for (byte[] k : keys) {
+                segmentCache.invalidate(p.partitionDir, k);
+            }
+        }
+    }
+
+    /**
+     * adds the segments of pgs to the batch; the keys written are added to the keys list
+     */
+    private void writeToBatch(WriteBatch writeBatch, Partition p, PGSegment pgs, List<byte[]> keys)
+            throws RocksDBException {
         // write the time segment
         SortedTimeSegment timeSegment = pgs.getTimeSegment();
         byte[] timeKey = new SegmentKey(parameterIdMap.timeParameterId, pgs.getParameterGroupId(),
                 pgs.getSegmentStart(), SegmentKey.TYPE_ENG_VALUE).encode();
         byte[] timeValue = vsEncoder.encode(timeSegment);
         writeBatch.put(timeKey, timeValue);
+        keys.add(timeKey);
+
+        ColumnFamilyHandle rollupCfh = getRollupCfh(p);
 
         // and then the consolidated value segments
         List<BaseSegment> consolidated = pgs.getConsolidatedValueSegments();
@@ -251,6 +335,11 @@ public class ParameterArchive extends AbstractYamcsService {
                     SegmentKey.TYPE_ENG_VALUE).encode();
             byte[] engValue = vsEncoder.encode(vs);
             writeBatch.put(engKey, engValue);
+            keys.add(engKey);
+            if (rollupCfh != null && vs instanceof ValueSegment) {
+                writeRollups(writeBatch, rollupCfh, timeSegment, (ValueSegment) vs, parameterId,
+                        pgs.getParameterGroupId());
+            }
 
             if (STORE_RAW_VALUES && consolidatedRawValues != null) {
                 BaseSegment rvs = consolidatedRawValues.get(i);
@@ -267,6 +356,7 @@ public class ParameterArchive extends AbstractYamcsService {
                             SegmentKey.TYPE_RAW_VALUE).encode();
                     byte[] rawValue = vsEncoder.encode(rvs);
                     writeBatch.put(rawKey, rawValue);
+                    keys.add(rawKey);
 
                 }
             }
@@ -282,9 +372,180 @@ public class ParameterArchive extends AbstractYamcsService {
                     SegmentKey.TYPE_PARAMETER_STATUS).encode();
             byte[] pssValue = vsEncoder.encode(pss);
             writeBatch.put(pssKey, pssValue);
+            keys.add(pssKey);
+        }
+    }
+
+    private void writeRollups(WriteBatch writeBatch, ColumnFamilyHandle cfh, SortedTimeSegment timeSegment,
+            ValueSegment vs, int parameterId, int parameterGroupId) throws RocksDBException {
+        ValueArray values = vs.getRange(0, vs.size(), true);
+        if (!Rollup.isNumeric(values.getType())) {
+            return;
+        }
+        for (int res : rollupResolutions) {
+            Rollup r = Rollup.compute(timeSegment, values, res);
+            byte[] key = Rollup.encodeKey(parameterId, res, timeSegment.getSegmentStart(), parameterGroupId);
+            writeBatch.put(cfh, key, r.encode());
+        }
+    }
+
+    /**
+     * Returns the handle of the rollup column family of the partition, creating the column family if it does not
+     * exist, or null if no rollup resolution is configured.
+     */
+    private ColumnFamilyHandle getRollupCfh(Partition p) throws RocksDBException {
+        if (!rollupsCheckedPartitions.contains(p)) {
+            updateRollupsSince(p);
+        }
+        return rollupResolutions.length == 0 ? null : getRdb(p).getColumnFamilyHandle(CF_ROLLUPS);
+    }
+
+    /**
+     * Updates the record giving for each resolution the time since when the rollups are available in the partition.
+     * Called before the first write in the partition.
+     * <p>
+     * When a resolution is added in a partition which already contains data (written before the rollups at that
+     * resolution have been enabled), the rollups are only considered available starting with the next interval.
+     * <p>
+     * The resolutions which are not configured anymore are removed from the record because the data written from now
+     * on does not have rollups at these resolutions.
+     */
+    private void updateRollupsSince(Partition p) throws RocksDBException {
+        YRDB rdb = getRdb(p);
+        synchronized (rdb) {
+            if (rollupsCheckedPartitions.contains(p)) {
+                return;
+            }
+            ColumnFamilyHandle cfh = rdb.getColumnFamilyHandle(CF_ROLLUPS);
+            Map<Integer, Long> since = cfh == null ? new TreeMap<>()
+                    : decodeRollupsSince(rdb.get(cfh, ROLLUPS_SINCE_KEY));
+            Map<Integer, Long> updated = new TreeMap<>();
+            for (int res : rollupResolutions) {
+                Long t = since.get(res);
+                if (t == null) {
+                    if (p.partitionDir != null && isEmpty(rdb)) {
+                        t = Long.MIN_VALUE;
+                    } else {
+                        t = getIntervalEnd(timeService.getMissionTime()) + 1;
+                    }
+                    log.debug("Rollups at resolution {} ms available in {} since {}", res, p,
+                            TimeEncoding.toString(t));
+                }
+                updated.put(res, t);
+            }
+            if (!updated.equals(since)) {
+                if (cfh == null) {
+                    log.debug("Creating the rollup column family for {}", p);
+                    cfh = rdb.createColumnFamily(CF_ROLLUPS);
+                }
+                rdb.put(cfh, ROLLUPS_SINCE_KEY, encodeRollupsSince(updated));
+            }
+            rollupsCheckedPartitions.add(p);
+        }
+    }
+
+    private static byte[] encodeRollupsSince(Map<Integer, Long> since) {
+        ByteBuffer bb = ByteBuffer.allocate(12 * since.size());
+        for (Map.Entry<Integer, Long> me : since.entrySet()) {
+            bb.putInt(me.getKey());
+            bb.putLong(me.getValue());
+        }
+        return bb.array();
+    }
+
+    private static Map<Integer, Long> decodeRollupsSince(byte[] v) {
+        Map<Integer, Long> since = new TreeMap<>();
+        if (v == null || v.length % 12 != 0) {
+            return since;
+        }
+        ByteBuffer bb = ByteBuffer.wrap(v);
+        while (bb.hasRemaining()) {
+            since.put(bb.getInt(), bb.getLong());
+        }
+        return since;
+    }
+
+    private static boolean isEmpty(YRDB rdb) throws RocksDBException {
+        try (RocksIterator it = rdb.newIterator()) {
+            it.seekToFirst();
+            return !it.isValid();
+        }
+    }
+
+    private YRDB getRdb(Partition p) throws RocksDBException {
+        try {
+            return tablespace.getRdb(p.partitionDir, false);
+        } catch (IOException e) {
+            throw new ParameterArchiveException("Cannot open the database of " + p + ": " + e.getMessage());
         }
     }
 
+    /**
+     * 
+     * @return the configured rollup resolutions in milliseconds, sorted ascending
+     */
+    public int[] getRollupResolutions() {
+        return rollupResolutions;
+    }
+
+    /**
+     * Returns the largest rollup resolution smaller or equal than the given duration, for which the rollups are
+     * available for the whole time interval.
+     * 
+     * @param start
+     * @param stop
+     * @param maxResolution
+     *            - maximum acceptable resolution in milliseconds
+     * @return the resolution in milliseconds or -1 if no rollup can be used
+     */
+    public int getRollupResolution(long start, long stop, long maxResolution) throws RocksDBException {
+        List<Partition> parts = null;
+        for (int i = rollupResolutions.length - 1; i >= 0; i--) {
+            int res = rollupResolutions[i];
+            if (res > maxResolution) {
+                continue;
+            }
+            if (parts == null) {
+                parts = getPartitions(getIntervalStart(start), getIntervalEnd(stop), true);
+            }
+            if (rollupsAvailable(parts, start, res)) {
+                return res;
+            }
+        }
+        return -1;
+    }
+
+    private boolean rollupsAvailable(List<Partition> parts, long start, int resolution) throws RocksDBException {
+        for (Partition p : parts) {
+            long t = p.hasStart() ? Math.max(start, p.getStart()) : start;
+            if (getRollupsSince(p, resolution) > t) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // returns the time since which the rollups at the given resolution are available in the partition
+    private long getRollupsSince(Partition p, int resolution) throws RocksDBException {
+        YRDB rdb = getRdb(p);
+        ColumnFamilyHandle cfh = rdb.getColumnFamilyHandle(CF_ROLLUPS);
+        if (cfh == null) {
+            return Long.MAX_VALUE;
+        }
+        Long since = decodeRollupsSince(rdb.get(cfh, ROLLUPS_SINCE_KEY)).get(resolution);
+        return since == null ? Long.MAX_VALUE : since;
+    }
+
+    /**
+     * 
+     * @return an iterator over the rollups of the partition or null if the partition has no rollup
+     */
+    RocksIterator getRollupIterator(Partition p) throws RocksDBException {
+        YRDB rdb = getRdb(p);
+        ColumnFamilyHandle cfh = rdb.getColumnFamilyHandle(CF_ROLLUPS);
+        return cfh == null ? null : rdb.newIterator(cfh);
+    }
+
     /**
      * get partition for segment, creating it if it doesn't exist
      * 
@@ -311,6 +572,14 @@ public class ParameterArchive extends AbstractYamcsService {
         }
     }
 
+    /**
+     * 
+     * @return the realtime filler or null if the realtime filling is not enabled
+     */
+    RealtimeArchiveFiller getRealtimeFiller() {
+        return realtimeFiller;
+    }
+
     public Future<?> reprocess(long start, long stop) {
         log.debug("Scheduling a reprocess for interval [{} - {}]", TimeEncoding.toString(start),
                 TimeEncoding.toString(stop));
@@ -406,21 +675,40 @@ public class ParameterArchive extends AbstractYamcsService {
         return tablespace.getRdb(p.partitionDir, false).newIterator();
     }
 
+    /**
+     * Retrieves with one database call the values of a list of segment keys from the partition.
+     *
+     * @return a map containing only the keys found; the map keys are the same array instances as in the list.
+     */
+    public Map<byte[], byte[]> multiGet(Partition p, List<byte[]> keys) throws RocksDBException {
+        return tablespace.getRdb(p.partitionDir, false).multiGet(keys);
+    }
+
     public SortedTimeSegment getTimeSegment(Partition p, long segmentStart, int parameterGroupId)
             throws RocksDBException, IOException {
         byte[] timeKey = new SegmentKey(parameterIdMap.timeParameterId, parameterGroupId, segmentStart,
                 SegmentKey.TYPE_ENG_VALUE).encode();
-        byte[] tv = tablespace.getRdb(p.partitionDir, false).get(timeKey);
-        if (tv == null) {
-            return null;
-        }
         try {
-            return (SortedTimeSegment) vsEncoder.decode(tv, segmentStart);
+            if (segmentCache == null) {
+                return readTimeSegment(p, timeKey, segmentStart);
+            } else {
+                return (SortedTimeSegment) segmentCache.get(p.partitionDir, timeKey,
+                        () -> readTimeSegment(p, timeKey, segmentStart));
+            }
         } catch (DecodingException e) {
             throw new DatabaseCorruptionException(e);
         }
     }
 
+    private SortedTimeSegment readTimeSegment(Partition p, byte[] timeKey, long segmentStart)
+            throws RocksDBException, DecodingException {
+        byte[] tv = tablespace.getRdb(p.partitionDir, false).get(timeKey);
+        if (tv == null) {
+            return null;
+        }
+        return (SortedTimeSegment) vsEncoder.decode(tv, segmentStart);
+    }
+
     Partition getPartitions(long instant) {
         synchronized (partitions) {
             return partitions.getFit(instant);
@@ -456,6 +744,14 @@ public class ParameterArchive extends AbstractYamcsService {
         return TIMESTAMP_MASK + 1l;
     }
 
+    /**
+     *
+     * @return the cache of decoded segments or null if the cache is disabled
+     */
+    public SegmentCache getSegmentCache() {
+        return segmentCache;
+    }
+
     public Tablespace getTablespace() {
         return tablespace;
     }
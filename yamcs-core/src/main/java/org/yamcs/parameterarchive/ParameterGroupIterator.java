@@ -0,0 +1,108 @@
+package org.yamcs.parameterarchive;
+
+import org.rocksdb.RocksIterator;
+import org.yamcs.utils.DatabaseCorruptionException;
+import org.yamcs.utils.DecodingException;
+import org.yamcs.yarch.rocksdb.AscendingRangeIterator;
+import org.yamcs.yarch.rocksdb.DbIterator;
+import org.yamcs.yarch.rocksdb.DescendingRangeIterator;
+
+/**
+ * Iterates over the time segments of one partition for a ParameterGroup_id, between a start and stop.
+ * <p>
+ * Used when retrieving multiple parameters from the same group: the time segment is read and decoded once and the
+ * value segments of the parameters are retrieved with the same segment start.
+ *
+ */
+class ParameterGroupIterator implements AutoCloseable {
+    private final int parameterGroupId;
+    private final int timeParameterId;
+    private final boolean ascending;
+    SegmentEncoderDecoder segmentEncoder = new SegmentEncoderDecoder();
+    DbIterator dbIterator;
+    private long segmentStart;
+    private byte[] currentTimeSegment;
+    boolean valid;
+    SegmentCache cache;
+    String partitionDir;
+    long cacheSequence;
+
+    public ParameterGroupIterator(RocksIterator iterator, int timeParameterId, int parameterGroupId, long start,
+            long stop, boolean ascending) {
+        this.parameterGroupId = parameterGroupId;
+        this.timeParameterId = timeParameterId;
+        this.ascending = ascending;
+
+        byte[] rangeStart = new SegmentKey(timeParameterId, parameterGroupId, ParameterArchive.getIntervalStart(start),
+                (byte) 0).encode();
+        byte[] rangeStop = new SegmentKey(timeParameterId, parameterGroupId, stop, Byte.MAX_VALUE).encode();
+        if (ascending) {
+            dbIterator = new AscendingRangeIterator(iterator, rangeStart, rangeStop);
+        } else {
+            dbIterator = new DescendingRangeIterator(iterator, rangeStart, rangeStop);
+        }
+        next();
+    }
+
+    /**
+     * Use a cache for the decoded time segments.
+     *
+     * @param cacheSequence
+     *            - the {@link SegmentCache#getSequence()} before creating the RocksIterator
+     */
+    void setCache(SegmentCache cache, String partitionDir, long cacheSequence) {
+        this.cache = cache;
+        this.partitionDir = partitionDir;
+        this.cacheSequence = cacheSequence;
+    }
+
+    public void next() {
+        if (!dbIterator.isValid()) {
+            valid = false;
+            return;
+        }
+        valid = true;
+        segmentStart = SegmentKey.decode(dbIterator.key()).segmentStart;
+        currentTimeSegment = dbIterator.value();
+        if (ascending) {
+            dbIterator.next();
+        } else {
+            dbIterator.prev();
+        }
+    }
+
+    long segmentStart() {
+        return segmentStart;
+    }
+
+    SortedTimeSegment timeSegment() {
+        try {
+            if (cache == null) {
+                return (SortedTimeSegment) segmentEncoder.decode(currentTimeSegment, segmentStart);
+            }
+            byte[] key = new SegmentKey(timeParameterId, parameterGroupId, segmentStart, SegmentKey.TYPE_ENG_VALUE)
+                    .encode();
+            BaseSegment bs = cache.getIfPresent(partitionDir, key);
+            if (bs == null) {
+                bs = segmentEncoder.decode(currentTimeSegment, segmentStart);
+                cache.put(partitionDir, key, cacheSequence, bs);
+            }
+            return (SortedTimeSegment) bs;
+        } catch (DecodingException e) {
+            throw new DatabaseCorruptionException(e);
+        }
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    public int getParameterGroupId() {
+        return parameterGroupId;
+    }
+
+    @Override
+    public void close() {
+        dbIterator.close();
+    }
+}
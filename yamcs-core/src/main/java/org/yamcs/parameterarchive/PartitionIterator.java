@@ -28,6 +28,9 @@ public class PartitionIterator {
     final boolean retrieveParameterStatus;
     DbIterator dbIterator;
     boolean valid;
+    SegmentCache cache;
+    String partitionDir;
+    long cacheSequence;
 
     public PartitionIterator(RocksIterator iterator, int parameterId, int parameterGroupId, long start, long stop,
             boolean ascending, boolean retrieveEngValue, boolean retrieveRawValue, boolean retrieveParameterStatus) {
@@ -51,6 +54,18 @@ public class PartitionIterator {
         next();
     }
 
+    /**
+     * Use a cache for the decoded segments.
+     *
+     * @param cacheSequence
+     *            - the {@link SegmentCache#getSequence()} before creating the RocksIterator
+     */
+    void setCache(SegmentCache cache, String partitionDir, long cacheSequence) {
+        this.cache = cache;
+        this.partitionDir = partitionDir;
+        this.cacheSequence = cacheSequence;
+    }
+
     public void next() {
         if (!dbIterator.isValid()) {
             valid = false;
@@ -112,33 +127,32 @@ public class PartitionIterator {
     }
 
     ValueSegment engValue() {
-        if (currentEngValueSegment == null) {
-            return null;
-        }
-        try {
-            return (ValueSegment) segmentEncoder.decode(currentEngValueSegment, currentKey.segmentStart);
-        } catch (DecodingException e) {
-            throw new DatabaseCorruptionException(e);
-        }
+        return (ValueSegment) decode(currentEngValueSegment, SegmentKey.TYPE_ENG_VALUE);
     }
 
     ValueSegment rawValue() {
-        if (currentRawValueSegment == null) {
-            return null;
-        }
-        try {
-            return (ValueSegment) segmentEncoder.decode(currentRawValueSegment, currentKey.segmentStart);
-        } catch (DecodingException e) {
-            throw new DatabaseCorruptionException(e);
-        }
+        return (ValueSegment) decode(currentRawValueSegment, SegmentKey.TYPE_RAW_VALUE);
     }
 
     ParameterStatusSegment parameterStatus() {
-        if (currentStatusSegment == null) {
+        return (ParameterStatusSegment) decode(currentStatusSegment, SegmentKey.TYPE_PARAMETER_STATUS);
+    }
+
+    private BaseSegment decode(byte[] segment, byte type) {
+        if (segment == null) {
             return null;
         }
         try {
-            return (ParameterStatusSegment) segmentEncoder.decode(currentStatusSegment, currentKey.segmentStart);
+            if (cache == null) {
+                return segmentEncoder.decode(segment, currentKey.segmentStart);
+            }
+            byte[] key = new SegmentKey(parameterId, parameterGroupId, currentKey.segmentStart, type).encode();
+            BaseSegment bs = cache.getIfPresent(partitionDir, key);
+            if (bs == null) {
+                bs = segmentEncoder.decode(segment, currentKey.segmentStart);
+                cache.put(partitionDir, key, cacheSequence, bs);
+            }
+            return bs;
         } catch (DecodingException e) {
             throw new DatabaseCorruptionException(e);
         }
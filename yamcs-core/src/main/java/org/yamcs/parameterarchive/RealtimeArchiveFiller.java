@@ -2,13 +2,16 @@ package org.yamcs.parameterarchive;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.rocksdb.RocksDBException;
 import org.yamcs.ConfigurationException;
@@ -18,6 +21,8 @@ import org.yamcs.YamcsServer;
 import org.yamcs.logging.Log;
 import org.yamcs.parameter.ParameterConsumer;
 import org.yamcs.parameter.ParameterValue;
+import org.yamcs.parameter.SystemParametersCollector;
+import org.yamcs.parameter.SystemParametersProducer;
 
 import com.google.common.util.concurrent.AbstractExecutionThreadService;
 
@@ -34,13 +39,25 @@ import com.google.common.util.concurrent.AbstractExecutionThreadService;
  * We keep open max two segments for each group, one in each interval.
  * 
  * If the group reaches its max size, we archive it and open another one.
+ * <p>
+ * The sorting of the parameters into groups and the management of the intervals are done in the service thread. The
+ * segments are filled and written to the archive by numThreads worker threads, each parameter group being always
+ * handled by the same worker. The full segments are written in one batch when a worker has no more data in its queue
+ * (or when the batch reached {@link #MAX_BATCH_SEGMENTS}).
  * 
  * @author nm
  *
  */
-public class RealtimeArchiveFiller extends AbstractExecutionThreadService implements ParameterConsumer {
+public class RealtimeArchiveFiller extends AbstractExecutionThreadService
+        implements ParameterConsumer, SystemParametersProducer {
 
-    private static final List<ParameterValue> POISON = new ArrayList<>(0);
+    private static final Delivery POISON = new Delivery(new ArrayList<>(0), 0);
+    private static final Runnable STOP = () -> {
+    };
+    static final long NO_INTERVAL = Long.MIN_VALUE;
+
+    // maximum number of full segments written in one batch by a worker
+    static final int MAX_BATCH_SEGMENTS = 100;
 
     int flushInterval; // seconds
     String processorName = "realtime";
@@ -51,14 +68,22 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
     protected final ParameterGroupIdDb parameterGroupIdMap;
     final ParameterArchive parameterArchive;
     final private Log log;
-    final BlockingQueue<List<ParameterValue>> queue = new ArrayBlockingQueue<>(10);
+    int numThreads = 1;
+    int queueSize = 100;
+    BlockingQueue<Delivery> queue;
+    FillerWorker[] workers;
 
     // max allowed time for old data
     long threshold;
     int maxSegmentSize;
 
-    long numParams = 0;
-    ArchiveIntervalFiller first, second;
+    volatile long numParams = 0;
+    long firstIntervalStart = NO_INTERVAL;
+    long secondIntervalStart = NO_INTERVAL;
+
+    // maximum time in milliseconds between receiving data and adding it to a segment, since the last collection
+    final AtomicLong maxLag = new AtomicLong();
+    String spQueueSizeId, spWorkerQueueSizeId, spLagId;
 
     public RealtimeArchiveFiller(ParameterArchive parameterArchive, YConfiguration config) {
         this.parameterArchive = parameterArchive;
@@ -70,6 +95,7 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
         if (config != null) {
             parseConfig(config);
         }
+        queue = new ArrayBlockingQueue<>(queueSize);
     }
 
     private void parseConfig(YConfiguration config) {
@@ -77,59 +103,76 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
         processorName = config.getString("processorName", processorName);
         maxSegmentSize = config.getInt("maxSegmentSize", ArchiveFillerTask.DEFAULT_MAX_SEGMENT_SIZE);
         threshold = config.getInt("orderingThreshold", 20000);
+        numThreads = config.getInt("numThreads", numThreads);
+        if (numThreads < 1) {
+            throw new ConfigurationException("numThreads has to be at least 1");
+        }
+        queueSize = config.getInt("queueSize", queueSize);
+        if (queueSize < 1) {
+            throw new ConfigurationException("queueSize has to be at least 1");
+        }
     }
 
     @Override
     protected void run() throws Exception {
         while (isRunning()) {
-            List<ParameterValue> items = queue.poll(flushInterval, TimeUnit.SECONDS);
-            if (items == POISON) { // Service wants to stop
+            Delivery delivery = queue.poll(flushInterval, TimeUnit.SECONDS);
+            if (delivery == POISON) { // Service wants to stop
                 break;
             }
 
-            if ((items == null) || items.isEmpty()) {
+            if ((delivery == null) || delivery.items.isEmpty()) {
                 flush();
                 continue;
             }
-            if (first == null) { // this is the first delivery
-                long t = items.stream().mapToLong(pv -> pv.getGenerationTime()).min().getAsLong();
-                first = new ArchiveIntervalFiller(parameterArchive, log,
-                        ParameterArchive.getIntervalStart(t), maxSegmentSize);
-            }
-            long t = processParameters(items);
-            if (t < 0) {
-                continue;
-            }
-
-            if ((second != null) && (t > second.intervalStart + threshold)) {
-                first.flush();
-                first = second;
-                second = null;
-            }
+            processDelivery(delivery);
         }
         flush();
     }
 
+    /**
+     * Sends the parameters of the delivery to the workers and closes the first interval if the data is newer than
+     * the start of the second interval plus the ordering threshold.
+     * <p>
+     * Called from the service thread.
+     */
+    void processDelivery(Delivery delivery) throws RocksDBException, InterruptedException {
+        if (firstIntervalStart == NO_INTERVAL) { // this is the first delivery
+            long t = delivery.items.stream().mapToLong(pv -> pv.getGenerationTime()).min().getAsLong();
+            firstIntervalStart = ParameterArchive.getIntervalStart(t);
+        }
+        long t = processParameters(delivery);
+        if (t < 0) {
+            return;
+        }
+
+        if ((secondIntervalStart != NO_INTERVAL) && (t > secondIntervalStart + threshold)) {
+            closeFirstInterval();
+        }
+    }
+
     // send the parameters to the processing thread
     @Override
     public void updateItems(int subscriptionId, List<ParameterValue> items) {
         try {
-            queue.put(items);
+            queue.put(new Delivery(items, System.currentTimeMillis()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Asks the workers to write all the data collected so far to the archive.
+     * <p>
+     * The write is performed asynchronously by the worker threads.
+     */
     public void flush() {
         try {
-            if (first != null) {
-                first.flush();
+            for (FillerWorker w : workers) {
+                w.submit(w::flush);
             }
-            if (second != null) {
-                second.flush();
-            }
-        } catch (Exception e) {
-            log.error("Exception flushing the parameter archive");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -140,6 +183,8 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
         if (realtimeProcessor == null) {
             throw new ConfigurationException("No processor named '" + processorName + "' in instance " + yamcsInstance);
         }
+        startWorkers();
+        setupSystemParameters();
         subscriptionId = realtimeProcessor.getParameterRequestManager().subscribeAll(this);
     }
 
@@ -153,27 +198,54 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
     }
 
     @Override
-    protected void shutDown() {
+    protected void shutDown() throws InterruptedException {
         realtimeProcessor.getParameterRequestManager().unsubscribeAll(subscriptionId);
+        SystemParametersCollector collector = SystemParametersCollector.getInstance(yamcsInstance);
+        if (collector != null) {
+            collector.unregisterProducer(this);
+        }
+        stopWorkers();
+    }
+
+    void startWorkers() {
+        workers = new FillerWorker[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            workers[i] = new FillerWorker(queueSize);
+            workers[i].thread = new Thread(workers[i], "RealtimeArchiveFiller-" + yamcsInstance + "-" + i);
+            workers[i].thread.start();
+        }
+    }
+
+    /**
+     * Stops the workers and waits for them to finish. The data in the segments still open is not written, a
+     * {@link #flush()} has to be called before to write it.
+     */
+    void stopWorkers() throws InterruptedException {
+        for (FillerWorker w : workers) {
+            w.submit(STOP);
+        }
+        for (FillerWorker w : workers) {
+            w.thread.join();
+        }
     }
 
     /**
-     * adds the parameters to the pgSegments structure and return the highest timestamp or -1 if all parameters have
-     * been ignored (because they were too old)
+     * sorts the parameters into groups and sends them to the workers; returns the highest timestamp or -1 if all
+     * parameters have been ignored (because they were too old)
      * 
-     * parameters older than ignoreOlderThan are ignored.
+     * parameters older than the start of the first interval are ignored.
      * 
      * 
-     * @param items
+     * @param delivery
      * @return
      * @throws RocksDBException
-     * @throws IOException
+     * @throws InterruptedException
      */
-    protected long processParameters(List<ParameterValue> items) throws IOException, RocksDBException {
+    protected long processParameters(Delivery delivery) throws RocksDBException, InterruptedException {
         Map<Long, BasicParameterList> m = new HashMap<>();
-        for (ParameterValue pv : items) {
+        for (ParameterValue pv : delivery.items) {
             long t = pv.getGenerationTime();
-            if (t < first.intervalStart) {
+            if (t < firstIntervalStart) {
                 continue;
             }
             if (pv.getParameterQualifiedName() == null) {
@@ -184,18 +256,30 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
             l.add(pv);
         }
         long maxTimestamp = -1;
-        for (Map.Entry<Long, BasicParameterList> entry : m.entrySet()) {
+        Iterator<Map.Entry<Long, BasicParameterList>> it = m.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey()).iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, BasicParameterList> entry = it.next();
             long t = entry.getKey();
             BasicParameterList pvList = entry.getValue();
             long is = ParameterArchive.getIntervalStart(t);
-            if (is == first.intervalStart) {
-                first.addParameters(t, pvList);
-            } else {
-                if (second == null) {
-                    second = new ArchiveIntervalFiller(parameterArchive, log, is, maxSegmentSize);
+            if (is != firstIntervalStart) {
+                if (secondIntervalStart == NO_INTERVAL) {
+                    secondIntervalStart = is;
+                } else if (is > secondIntervalStart) {
+                    // the data jumped more than one interval ahead
+                    closeFirstInterval();
+                    secondIntervalStart = is;
+                } else if (is != secondIntervalStart) {
+                    continue;
                 }
-                second.addParameters(t, pvList);
             }
+            pvList.sort();
+            int parameterGroupId = parameterGroupIdMap.createAndGet(pvList.getPids());
+            FillerWorker w = workers[parameterGroupId % numThreads];
+            long receptionTime = delivery.receptionTime;
+            w.submit(() -> w.addParameters(is, t, parameterGroupId, pvList, receptionTime));
+            numParams += pvList.size();
 
             if (t > maxTimestamp) {
                 maxTimestamp = t;
@@ -204,14 +288,24 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
         return maxTimestamp;
     }
 
+    // writes and discards the first interval in all workers; the second interval becomes the first one
+    private void closeFirstInterval() throws InterruptedException {
+        long is = firstIntervalStart;
+        for (FillerWorker w : workers) {
+            w.submit(() -> w.closeInterval(is));
+        }
+        firstIntervalStart = secondIntervalStart;
+        secondIntervalStart = NO_INTERVAL;
+    }
+
     /**
      * writes data into the archive
      * 
      * @param pgList
      */
-    protected void writeToArchive(long segStart, Collection<PGSegment> pgList) {
+    protected void writeToArchive(Collection<PGSegment> pgList) {
         try {
-            parameterArchive.writeToArchive(segStart, pgList);
+            parameterArchive.writeToArchive(pgList);
         } catch (RocksDBException | IOException e) {
             log.error("failed to write data to the archive", e);
         }
@@ -220,4 +314,131 @@ public class RealtimeArchiveFiller extends AbstractExecutionThreadService implem
     public long getNumProcessedParameters() {
         return numParams;
     }
+
+    /**
+     * 
+     * @return the number of deliveries waiting to be sorted into groups
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * 
+     * @return the number of parameter groups waiting in the queues of the workers
+     */
+    public int getWorkerQueueSize() {
+        FillerWorker[] w = workers;
+        return w == null ? 0 : Arrays.stream(w).mapToInt(fw -> fw.queue.size()).sum();
+    }
+
+    void setupSystemParameters() {
+        SystemParametersCollector collector = SystemParametersCollector.getInstance(yamcsInstance);
+        if (collector != null) {
+            String prefix = collector.getNamespace() + "/parameterArchive/realtimeFiller/";
+            spQueueSizeId = prefix + "queueSize";
+            spWorkerQueueSizeId = prefix + "workerQueueSize";
+            spLagId = prefix + "lag";
+            collector.registerProducer(this);
+        }
+    }
+
+    @Override
+    public Collection<ParameterValue> getSystemParameters() {
+        long time = parameterArchive.timeService.getMissionTime();
+        return Arrays.asList(
+                SystemParametersCollector.getPV(spQueueSizeId, time, getQueueSize()),
+                SystemParametersCollector.getPV(spWorkerQueueSizeId, time, getWorkerQueueSize()),
+                SystemParametersCollector.getPV(spLagId, time, maxLag.getAndSet(0)));
+    }
+
+    static class Delivery {
+        final List<ParameterValue> items;
+        final long receptionTime;
+
+        Delivery(List<ParameterValue> items, long receptionTime) {
+            this.items = items;
+            this.receptionTime = receptionTime;
+        }
+    }
+
+    /**
+     * Fills the segments of the parameter groups assigned to it. All the methods (except submit) are executed in the
+     * worker thread.
+     */
+    class FillerWorker implements Runnable {
+        final BlockingQueue<Runnable> queue;
+        Thread thread;
+        // interval start -> interval filler
+        final Map<Long, ArchiveIntervalFiller> intervals = new HashMap<>();
+        // segments to be written in the next batch
+        final List<PGSegment> pending = new ArrayList<>();
+
+        FillerWorker(int queueSize) {
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        void submit(Runnable r) throws InterruptedException {
+            queue.put(r);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable r;
+                try {
+                    r = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (r == STOP) {
+                    break;
+                }
+                try {
+                    r.run();
+                    if (pending.size() >= MAX_BATCH_SEGMENTS || queue.isEmpty()) {
+                        writePending();
+                    }
+                } catch (Exception e) {
+                    log.error("Error filling the parameter archive", e);
+                }
+            }
+            writePending();
+        }
+
+        void addParameters(long intervalStart, long t, int parameterGroupId, BasicParameterList pvList,
+                long receptionTime) {
+            ArchiveIntervalFiller filler = intervals.computeIfAbsent(intervalStart,
+                    k -> new ArchiveIntervalFiller(log, intervalStart, maxSegmentSize, pending));
+            filler.addParameters(t, parameterGroupId, pvList);
+            long lag = System.currentTimeMillis() - receptionTime;
+            if (lag > maxLag.get()) {
+                maxLag.accumulateAndGet(lag, Math::max);
+            }
+        }
+
+        void closeInterval(long intervalStart) {
+            ArchiveIntervalFiller filler = intervals.remove(intervalStart);
+            if (filler != null) {
+                filler.getOpenSegments(pending);
+                writePending();
+            }
+        }
+
+        void flush() {
+            for (ArchiveIntervalFiller filler : intervals.values()) {
+                filler.getOpenSegments(pending);
+            }
+            writePending();
+        }
+
+        private void writePending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            writeToArchive(pending);
+            pending.clear();
+        }
+    }
 }
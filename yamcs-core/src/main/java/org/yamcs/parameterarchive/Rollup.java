@@ -0,0 +1,215 @@
+package org.yamcs.parameterarchive;
+
+import java.nio.ByteBuffer;
+
+import org.yamcs.parameter.ValueArray;
+import org.yamcs.protobuf.Yamcs.Value.Type;
+import org.yamcs.utils.DecodingException;
+import org.yamcs.utils.UnsignedLong;
+
+/**
+ * Pre-aggregated values (count, min, max, sum) of one numeric parameter over time buckets of fixed duration (the
+ * resolution).
+ * <p>
+ * One rollup is computed for each engineering value segment and each configured resolution when the segment is written
+ * to the archive. It is stored in its own column family, under a key similar with the key of the segment, such that
+ * when a segment is rewritten, its rollups are rewritten as well.
+ * <p>
+ * The buckets are aligned to multiples of the resolution; the buckets at the edges of a segment may be shared with
+ * the previous/next segment.
+ */
+public class Rollup {
+    static final int KEY_SIZE = 20;
+
+    final int resolution;
+    // timestamp of the last value included in the rollup
+    final long lastTime;
+    final long[] bucketStarts;
+    final int[] counts;
+    final double[] min;
+    final double[] max;
+    final double[] sum;
+    int size;
+
+    private Rollup(int resolution, long lastTime, int capacity) {
+        this.resolution = resolution;
+        this.lastTime = lastTime;
+        bucketStarts = new long[capacity];
+        counts = new int[capacity];
+        min = new double[capacity];
+        max = new double[capacity];
+        sum = new double[capacity];
+    }
+
+    /**
+     * Computes the rollup of a value segment.
+     *
+     * @param timeSegment
+     *            - the timestamps of the values
+     * @param values
+     *            - the values
+     * @param resolution
+     *            - the duration of the buckets in milliseconds
+     * @return the rollup or null if the values are not numeric
+     */
+    static Rollup compute(SortedTimeSegment timeSegment, ValueArray values, int resolution) {
+        int n = values.size();
+        if (n == 0 || !isNumeric(values.getType())) {
+            return null;
+        }
+        long first = bucketStart(timeSegment.getTime(0), resolution);
+        long last = timeSegment.getTime(n - 1);
+        int capacity = (int) Math.min(n, (last - first) / resolution + 1);
+        Rollup r = new Rollup(resolution, last, capacity);
+        for (int i = 0; i < n; i++) {
+            r.add(bucketStart(timeSegment.getTime(i), resolution), getDouble(values, i));
+        }
+        return r;
+    }
+
+    private void add(long bucketStart, double v) {
+        if (size == 0 || bucketStarts[size - 1] != bucketStart) {
+            bucketStarts[size] = bucketStart;
+            min[size] = max[size] = v;
+            size++;
+        } else {
+            int k = size - 1;
+            if (v < min[k]) {
+                min[k] = v;
+            }
+            if (v > max[k]) {
+                max[k] = v;
+            }
+        }
+        counts[size - 1]++;
+        sum[size - 1] += v;
+    }
+
+    static boolean isNumeric(Type type) {
+        switch (type) {
+        case FLOAT:
+        case DOUBLE:
+        case UINT32:
+        case SINT32:
+        case UINT64:
+        case SINT64:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    // same conversions as in the Downsampler
+    private static double getDouble(ValueArray values, int i) {
+        switch (values.getType()) {
+        case FLOAT:
+            return values.getFloatArray()[i];
+        case DOUBLE:
+            return values.getDoubleArray()[i];
+        case UINT32:
+            return values.getIntArray()[i] & 0xFFFFFFFFL;
+        case SINT32:
+            return values.getIntArray()[i];
+        case UINT64:
+            return UnsignedLong.toDouble(values.getLongArray()[i]);
+        case SINT64:
+            return values.getLongArray()[i];
+        default:
+            throw new IllegalStateException("Unexpected type " + values.getType());
+        }
+    }
+
+    static long bucketStart(long t, int resolution) {
+        return t - Math.floorMod(t, resolution);
+    }
+
+    /**
+     * the keys are sorted by parameter id, resolution and segment start such that all the rollups of one parameter at
+     * a given resolution can be retrieved with one range iteration
+     */
+    static byte[] encodeKey(int parameterId, int resolution, long segmentStart, int parameterGroupId) {
+        ByteBuffer bb = ByteBuffer.allocate(KEY_SIZE);
+        bb.putInt(parameterId);
+        bb.putInt(resolution);
+        bb.putLong(segmentStart);
+        bb.putInt(parameterGroupId);
+        return bb.array();
+    }
+
+    byte[] encode() {
+        ByteBuffer bb = ByteBuffer.allocate(12 + size * 36);
+        bb.putLong(lastTime);
+        bb.putInt(size);
+        for (int i = 0; i < size; i++) {
+            bb.putLong(bucketStarts[i]);
+            bb.putInt(counts[i]);
+            bb.putDouble(min[i]);
+            bb.putDouble(max[i]);
+            bb.putDouble(sum[i]);
+        }
+        return bb.array();
+    }
+
+    static Rollup decode(int resolution, byte[] b) throws DecodingException {
+        ByteBuffer bb = ByteBuffer.wrap(b);
+        if (b.length < 12) {
+            throw new DecodingException("Rollup too short: " + b.length + " bytes");
+        }
+        long lastTime = bb.getLong();
+        int n = bb.getInt();
+        if (n < 0 || b.length != 12 + n * 36) {
+            throw new DecodingException("Invalid rollup size " + n + " for " + b.length + " bytes");
+        }
+        Rollup r = new Rollup(resolution, lastTime, n);
+        for (int i = 0; i < n; i++) {
+            r.bucketStarts[i] = bb.getLong();
+            r.counts[i] = bb.getInt();
+            r.min[i] = bb.getDouble();
+            r.max[i] = bb.getDouble();
+            r.sum[i] = bb.getDouble();
+        }
+        r.size = n;
+        return r;
+    }
+
+    /**
+     * @return the duration of the buckets in milliseconds
+     */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return the timestamp of the last value included in this rollup
+     */
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getBucketStart(int idx) {
+        return bucketStarts[idx];
+    }
+
+    public int getCount(int idx) {
+        return counts[idx];
+    }
+
+    public double getMin(int idx) {
+        return min[idx];
+    }
+
+    public double getMax(int idx) {
+        return max[idx];
+    }
+
+    public double getSum(int idx) {
+        return sum[idx];
+    }
+}
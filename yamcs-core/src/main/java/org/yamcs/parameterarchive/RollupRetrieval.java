@@ -0,0 +1,110 @@
+package org.yamcs.parameterarchive;
+
+import static org.yamcs.parameterarchive.ParameterArchive.getIntervalEnd;
+import static org.yamcs.parameterarchive.ParameterArchive.getIntervalStart;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.yamcs.logging.Log;
+import org.yamcs.parameterarchive.ParameterArchive.Partition;
+import org.yamcs.utils.DatabaseCorruptionException;
+import org.yamcs.utils.DecodingException;
+import org.yamcs.utils.TimeEncoding;
+
+/**
+ * Retrieves the rollups of one parameter at a given resolution.
+ * <p>
+ * The rollups are sent to the consumer in ascending order for each parameter group, but the rollups of different
+ * parameter groups (or of different value types of the same parameter) are not merged.
+ */
+public class RollupRetrieval {
+    private final Log log;
+    final ParameterArchive parchive;
+    final ParameterId[] pids;
+    final long start;
+    final long stop;
+    final int resolution;
+    long lastTime = TimeEncoding.INVALID_INSTANT;
+
+    /**
+     * 
+     * @param parchive
+     * @param parameterFqn
+     * @param start
+     * @param stop
+     * @param resolution
+     *            - one of the resolutions returned by {@link ParameterArchive#getRollupResolutions()}
+     */
+    public RollupRetrieval(ParameterArchive parchive, String parameterFqn, long start, long stop, int resolution) {
+        this.parchive = parchive;
+        this.start = start;
+        this.stop = stop;
+        this.resolution = resolution;
+        this.log = new Log(RollupRetrieval.class, parchive.getYamcsInstance());
+        pids = parchive.getParameterIdDb().get(parameterFqn);
+    }
+
+    /**
+     * Sends to the consumer all the rollups of segments overlapping with the [start, stop] interval.
+     */
+    public void retrieve(Consumer<Rollup> consumer) throws RocksDBException {
+        if (pids == null) {
+            return;
+        }
+        for (Partition p : parchive.getPartitions(getIntervalStart(start), getIntervalEnd(stop), true)) {
+            RocksIterator it = parchive.getRollupIterator(p);
+            if (it == null) {
+                continue;
+            }
+            try {
+                for (ParameterId pid : pids) {
+                    retrieve(it, pid.pid, consumer);
+                }
+            } finally {
+                it.close();
+            }
+        }
+    }
+
+    private void retrieve(RocksIterator it, int parameterId, Consumer<Rollup> consumer) {
+        // the segments overlapping with start are part of the same interval
+        it.seek(Rollup.encodeKey(parameterId, resolution, getIntervalStart(start), 0));
+        while (it.isValid()) {
+            ByteBuffer key = ByteBuffer.wrap(it.key());
+            if (key.remaining() != Rollup.KEY_SIZE || key.getInt() != parameterId || key.getInt() != resolution) {
+                break;
+            }
+            long segmentStart = key.getLong();
+            if (segmentStart > stop) {
+                break;
+            }
+            Rollup r;
+            try {
+                r = Rollup.decode(resolution, it.value());
+            } catch (DecodingException e) {
+                log.error("Cannot decode rollup for parameter id {} segment start {}", parameterId,
+                        TimeEncoding.toString(segmentStart));
+                throw new DatabaseCorruptionException(e);
+            }
+            if (r.lastTime >= start && r.size() > 0 && r.getBucketStart(0) <= stop) {
+                if (r.lastTime > lastTime) {
+                    lastTime = r.lastTime;
+                }
+                consumer.accept(r);
+            }
+            it.next();
+        }
+    }
+
+    /**
+     * 
+     * @return the timestamp of the last value included in the rollups retrieved or
+     *         {@link TimeEncoding#INVALID_INSTANT} if no rollup has been retrieved
+     */
+    public long getLastTime() {
+        return lastTime;
+    }
+}
@@ -0,0 +1,165 @@
+package org.yamcs.parameterarchive;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.rocksdb.RocksDBException;
+import org.yamcs.utils.DecodingException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Size bounded LRU cache of decoded segments (time, value and parameter status segments).
+ * <p>
+ * The entries are keyed by the partition and the encoded {@link SegmentKey}; the weight of an entry is approximated by
+ * the serialized size of the segment.
+ * <p>
+ * The decoded segments are shared between the retrievals and must not be modified.
+ * <p>
+ * The segments written by the archive fillers are invalidated by the {@link ParameterArchive} after the write. Each
+ * invalidation increments a sequence number; a segment read from the database before an invalidation (for example
+ * from an iterator created earlier) is not kept in the cache if the sequence has changed in the meanwhile. This may
+ * discard unnecessarily some segments but never leaves a stale segment in the cache.
+ *
+ */
+public class SegmentCache {
+    final Cache<Key, BaseSegment> cache;
+    final long maxWeight;
+    final AtomicLong sequence = new AtomicLong();
+
+    /**
+     *
+     * @param maxWeight
+     *            - approximate maximum size of the cache in bytes
+     */
+    public SegmentCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key k, BaseSegment s) -> k.segmentKey.length + s.getMaxSerializedSize())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the segment from the cache, calling the loader if it is not cached.
+     *
+     * @param partitionDir
+     * @param segmentKey
+     *            - encoded segment key
+     * @param loader
+     *            - called to read and decode the segment from the database; may return null if the segment does not
+     *            exist
+     * @return the decoded segment or null if it does not exist
+     */
+    public BaseSegment get(String partitionDir, byte[] segmentKey, Loader loader)
+            throws RocksDBException, DecodingException {
+        long seq = sequence.get();
+        BaseSegment seg = getIfPresent(partitionDir, segmentKey);
+        if (seg == null) {
+            seg = loader.load();
+            if (seg != null) {
+                put(partitionDir, segmentKey, seq, seg);
+            }
+        }
+        return seg;
+    }
+
+    /**
+     *
+     * @return the cached segment or null if it is not in the cache
+     */
+    public BaseSegment getIfPresent(String partitionDir, byte[] segmentKey) {
+        return cache.getIfPresent(new Key(partitionDir, segmentKey));
+    }
+
+    /**
+     * Adds a segment to the cache.
+     *
+     * @param seq
+     *            - the value of {@link #getSequence()} before the segment has been read from the database. If
+     *            segments have been invalidated since, the segment is not kept in the cache.
+     */
+    public void put(String partitionDir, byte[] segmentKey, long seq, BaseSegment segment) {
+        Key key = new Key(partitionDir, segmentKey);
+        cache.put(key, segment);
+        if (sequence.get() != seq) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Called after the segment has been written to the database.
+     */
+    public void invalidate(String partitionDir, byte[] segmentKey) {
+        sequence.incrementAndGet();
+        cache.invalidate(new Key(partitionDir, segmentKey));
+    }
+
+    public void invalidateAll() {
+        sequence.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     *
+     * @return the number of segments in the cache
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     *
+     * @return the approximate maximum size of the cache in bytes
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        BaseSegment load() throws RocksDBException, DecodingException;
+    }
+
+    static final class Key {
+        final String partitionDir;
+        final byte[] segmentKey;
+        final int hash;
+
+        Key(String partitionDir, byte[] segmentKey) {
+            this.partitionDir = partitionDir;
+            this.segmentKey = segmentKey;
+            this.hash = 31 * Objects.hashCode(partitionDir) + Arrays.hashCode(segmentKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash && Objects.equals(partitionDir, other.partitionDir)
+                    && Arrays.equals(segmentKey, other.segmentKey);
+        }
+    }
+}
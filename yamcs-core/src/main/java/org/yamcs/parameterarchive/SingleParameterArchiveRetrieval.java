@@ -99,11 +99,14 @@ public class SingleParameterArchiveRetrieval {
     // this is the easy case, one single parameter group -> no merging of segments necessary
     private void retrieveValuesFromPartitionSingleGroup(ParameterId pid, int parameterGroupId, Partition p,
             Consumer<ParameterValueArray> consumer) throws RocksDBException, IOException {
+        SegmentCache cache = parchive.getSegmentCache();
+        long cacheSeq = cache == null ? 0 : cache.getSequence();
         RocksIterator it = parchive.getIterator(p);
         boolean retrieveEng = spvr.isRetrieveRawValues() || spvr.isRetrieveEngineeringValues();
         try {
             PartitionIterator pit = new PartitionIterator(it, pid.pid, parameterGroupId, spvr.start, spvr.stop,
                     spvr.ascending, retrieveEng, spvr.isRetrieveRawValues(), spvr.isRetrieveParameterStatus());
+            pit.setCache(cache, p.partitionDir, cacheSeq);
 
             while (pit.isValid()) {
                 SegmentKey key = pit.key();
@@ -134,12 +137,15 @@ public class SingleParameterArchiveRetrieval {
             PriorityQueue<PartitionIterator> queue = new PriorityQueue<PartitionIterator>(
                     new PartitionIteratorComparator(spvr.ascending));
             boolean retrieveEng = spvr.isRetrieveRawValues() || spvr.isRetrieveEngineeringValues();
+            SegmentCache cache = parchive.getSegmentCache();
+            long cacheSeq = cache == null ? 0 : cache.getSequence();
 
             for (int i = 0; i < parameterGroupIds.length; i++) {
                 its[i] = parchive.getIterator(p);
                 PartitionIterator pi = new PartitionIterator(its[i], pid.pid, parameterGroupIds[i],
                         spvr.start, spvr.stop, spvr.ascending,
                         retrieveEng, spvr.isRetrieveRawValues(), spvr.isRetrieveParameterStatus());
+                pi.setCache(cache, p.partitionDir, cacheSeq);
 
                 if (pi.isValid()) {
                     queue.add(pi);
@@ -0,0 +1,80 @@
+package org.yamcs.replication;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.yamcs.utils.DecodingException;
+
+/**
+ * Decompresses the COMPRESSED_DATA messages received on one connection into the transactions they contain.
+ * <p>
+ * The master compresses all the batches of a connection with the same deflate stream, so the same inflater has to
+ * be used for all the messages received on the connection, in the order in which they have been received.
+ */
+class BatchInflater {
+    final Inflater inflater = new Inflater();
+
+    /**
+     * Decompresses the message and decodes the transactions of the batch.
+     */
+    List<Message> inflate(CompressedMessage cmsg) throws DecodingException {
+        ByteBuffer data = inflateData(cmsg);
+        List<Message> msgs = new ArrayList<>();
+        while (data.hasRemaining()) {
+            int pos = data.position();
+            int end = pos + 4 + (data.getInt(pos) & 0xFFFFFF);
+            if (end > data.limit()) {
+                throw new DecodingException("Transaction at offset " + pos
+                        + " extends beyond the end of the compressed batch");
+            }
+            ByteBuffer txbuf = data.duplicate();
+            txbuf.limit(end);
+            data.position(end);
+            msgs.add(Message.decode(txbuf));
+        }
+        return msgs;
+    }
+
+    private ByteBuffer inflateData(CompressedMessage cmsg) throws DecodingException {
+        byte[] in = new byte[cmsg.buf.remaining()];
+        cmsg.buf.get(in);
+        inflater.setInput(in);
+
+        if (cmsg.uncompressedSize <= 0) {
+            throw new DecodingException("Invalid uncompressed size " + cmsg.uncompressedSize);
+        }
+        byte[] out = new byte[cmsg.uncompressedSize];
+        int n = 0;
+        try {
+            while (n < out.length) {
+                int k = inflater.inflate(out, n, out.length - n);
+                if (k == 0) {
+                    throw new DecodingException("Compressed data shorter than the announced size "
+                            + cmsg.uncompressedSize);
+                }
+                n += k;
+            }
+            if (!inflater.needsInput()) {
+                // consume the end of the sync flush block
+                inflater.inflate(out, 0, 0);
+                if (!inflater.needsInput()) {
+                    throw new DecodingException("Compressed data longer than the announced size "
+                            + cmsg.uncompressedSize);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new DecodingException(e);
+        }
+        return ByteBuffer.wrap(out);
+    }
+
+    /**
+     * Releases the resources of the inflater; it cannot be used anymore after this.
+     */
+    void end() {
+        inflater.end();
+    }
+}
@@ -1,16 +1,18 @@
 package org.yamcs.replication;
 
-import static org.yamcs.replication.ReplicationServer.workerGroup;
-
 import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 
 import org.yamcs.logging.Log;
 import org.yamcs.replication.ReplicationMaster.SlaveServer;
 import org.yamcs.replication.protobuf.Request;
 import org.yamcs.replication.protobuf.Response;
 import org.yamcs.replication.protobuf.Wakeup;
+import org.yamcs.utils.DataRateMeter;
 import org.yamcs.utils.DecodingException;
 
 import io.netty.buffer.ByteBuf;
@@ -22,9 +24,21 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 /**
  * 
  * runs on the master side sending data to slave
+ * <p>
+ * When all the available data has been sent, the handler waits to be notified by the {@link ReplicationFile} that new
+ * transactions have been written.
+ * <p>
+ * If the compression is enabled on the master and accepted by the slave, the transactions are sent in batches
+ * compressed with a deflate stream shared by all the batches sent over the connection.
  *
  */
 public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
+    // the slave accepts messages up to 8192 bytes; a batch of this size fits in one message even if not compressible
+    static final int MAX_BATCH_SIZE = 8000;
+    static final int MAX_MESSAGE_SIZE = 8192;
+    // after compressing this number of bytes, wait for the data to be sent before reading more from the file
+    static final int MAX_COMPRESSED_PER_FLUSH = 256 * 1024;
+
     ReplicationMaster replMaster;
 
     private ChannelHandlerContext channelHandlerContext;
@@ -36,6 +50,22 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
     final Log log;
     SlaveServer slaveServer;
 
+    final AtomicBoolean waitingForData = new AtomicBoolean();
+    final Runnable newDataListener = () -> newDataAvailable();
+
+    // set (from the channel executor) when the connection has been closed and the deflater released
+    volatile boolean closed;
+
+    // null if the data is sent uncompressed
+    Deflater deflater;
+    byte[] batchBuf;
+    final CRC32 crc32 = new CRC32();
+
+    final DataRateMeter txRateMeter = new DataRateMeter();
+    final DataRateMeter dataRateMeter = new DataRateMeter();
+    volatile long bytesSent;
+    volatile long uncompressedBytesSent;
+
     // called when we are TCP client, we first send a wakeup message and then we receive the request
     public MasterChannelHandler(ReplicationMaster master, SlaveServer slaveServer) {
         this.replMaster = master;
@@ -113,18 +143,35 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
             log.info("The slave did not provide a startTxId, starting from 0");
             nextTxToSend = 0;
         }
+        if (replMaster.compression && req.getAcceptCompressionList().contains(Message.DEFLATE)) {
+            log.debug("Sending compressed data");
+            if (deflater == null) {
+                deflater = new Deflater(Deflater.BEST_SPEED);
+                batchBuf = new byte[MAX_BATCH_SIZE];
+            } else {
+                deflater.reset();
+            }
+        }
         goToNextFile();
 
     }
 
     void goToNextFile() {
+        if (closed) {
+            return;
+        }
         log.trace("Looking for a new file for transaction {}", nextTxToSend);
+        if (currentFile != null) {
+            currentFile.removeNewDataListener(newDataListener);
+        }
         currentFile = replMaster.getFile(nextTxToSend);
         if (currentFile == null) {
             log.warn("next TX to send {} is in the future, checking back in 60 seconds", nextTxToSend);
-            workerGroup.schedule(() -> goToNextFile(), 60, TimeUnit.SECONDS);
+            // run on the channel executor such that it cannot overlap with the closing of the channel
+            channelHandlerContext.executor().schedule(() -> goToNextFile(), 60, TimeUnit.SECONDS);
             return;
         }
+        currentFile.addNewDataListener(newDataListener);
         log.trace("Found file with firstTxId={} nextTxId={}", currentFile.getFirstId(), currentFile.getNextTxId());
         if (nextTxToSend < currentFile.getFirstId()) {
             log.warn("Requested start from {} but the first available transaction is {}. Replaying from there",
@@ -140,8 +187,10 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
                     break;
                 }
                 log.debug("Sending metadata TX{} length: {} ", txId, buf.remaining());
+                int length = buf.remaining();
                 ByteBuf bb = Unpooled.wrappedBuffer(buf);
                 channelHandlerContext.writeAndFlush(bb);
+                dataSent(0, length, length);
             }
         }
         fileTail = null;
@@ -149,7 +198,8 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
     }
 
     void sendMoreData() {
-        if (!channelHandlerContext.channel().isActive()) {
+        // a task may have been queued on the executor before the channel has been closed
+        if (closed || !channelHandlerContext.channel().isActive()) {
             return;
         }
         if (fileTail == null) {
@@ -162,23 +212,175 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
         if (fileTail.nextTxId == nextTxToSend) {// no more data available
             if (fileTail.eof) { // file, full, go to next file
                 goToNextFile();
-            } else { // check back in 200 millisec
-                workerGroup.schedule(() -> sendMoreData(), 200, TimeUnit.MILLISECONDS);
+            } else { // wait for the file to notify us
+                waitForData();
             }
+        } else if (deflater != null) {
+            sendCompressed();
         } else {// got some data, send it and check back for more once the data has been sent
+            int length = fileTail.buf.remaining();
+            long numTx = fileTail.nextTxId - nextTxToSend;
             ByteBuf buf = Unpooled.wrappedBuffer(fileTail.buf);
             dataHandlingFuture = channelHandlerContext.writeAndFlush(buf).addListener(a -> {
                 fileTail.buf.position(fileTail.buf.limit());
                 nextTxToSend = fileTail.nextTxId;
+                dataSent(numTx, length, length);
                 sendMoreData();
             });
         }
     }
 
+    private void waitForData() {
+        waitingForData.set(true);
+        // the data may have been written between the check and the setting of the flag
+        currentFile.getNewData(fileTail);
+        if (fileTail.nextTxId != nextTxToSend || fileTail.eof) {
+            newDataAvailable();
+        }
+    }
+
+    // called by the replication file when new data has been written
+    private void newDataAvailable() {
+        if (waitingForData.compareAndSet(true, false) && !closed) {
+            channelHandlerContext.executor().execute(() -> sendMoreData());
+        }
+    }
+
+    /**
+     * Splits the available data into batches of full transactions, compresses them and sends the result. The
+     * transactions too large to fit in a batch are sent uncompressed.
+     */
+    private void sendCompressed() {
+        ByteBuffer data = fileTail.buf;
+        int start = data.position();
+        int limit = data.limit();
+        int pos = start;
+        int lastTxPos = start;
+        long numTx = 0;
+        long wireBytes = 0;
+        ChannelFuture future = null;
+
+        while (pos < limit && pos - start < MAX_COMPRESSED_PER_FLUSH) {
+            int batchEnd = pos;
+            while (batchEnd < limit) {
+                int txSize = 4 + (data.getInt(batchEnd) & 0xFFFFFF);
+                if (batchEnd + txSize - pos > MAX_BATCH_SIZE) {
+                    break;
+                }
+                lastTxPos = batchEnd;
+                batchEnd += txSize;
+                numTx++;
+            }
+            ByteBuf msg;
+            if (batchEnd == pos) {
+                lastTxPos = pos;
+                batchEnd = pos + 4 + (data.getInt(pos) & 0xFFFFFF);
+                numTx++;
+                ByteBuffer txbuf = data.duplicate();
+                txbuf.limit(batchEnd);
+                msg = Unpooled.wrappedBuffer(txbuf);
+            } else {
+                msg = compress(data, pos, batchEnd);
+                if (msg == null) {
+                    log.error("Compressed batch does not fit into a message, closing the connection");
+                    channelHandlerContext.close();
+                    return;
+                }
+            }
+            wireBytes += msg.readableBytes();
+            future = channelHandlerContext.write(msg);
+            pos = batchEnd;
+        }
+        channelHandlerContext.flush();
+
+        int end = pos;
+        long nextTxId = data.getLong(lastTxPos + 8) + 1;
+        long n = numTx;
+        long wb = wireBytes;
+        dataHandlingFuture = future.addListener(a -> {
+            data.position(end);
+            nextTxToSend = nextTxId;
+            dataSent(n, wb, end - start);
+            sendMoreData();
+        });
+    }
+
+    /**
+     * compress the data between start and end into a COMPRESSED_DATA message.
+     * <p>
+     * returns null if the result does not fit into a message (should not happen for batches up to
+     * {@link #MAX_BATCH_SIZE})
+     */
+    private ByteBuf compress(ByteBuffer data, int start, int end) {
+        int length = end - start;
+        ByteBuffer src = data.duplicate();
+        src.limit(end).position(start);
+        src.get(batchBuf, 0, length);
+
+        byte[] msg = new byte[MAX_MESSAGE_SIZE];
+        deflater.setInput(batchBuf, 0, length);
+        int maxClength = MAX_MESSAGE_SIZE - 12;
+        int clength = deflater.deflate(msg, 8, maxClength, Deflater.SYNC_FLUSH);
+        if (clength == maxClength || !deflater.needsInput()) {
+            return null;
+        }
+        ByteBuffer bb = ByteBuffer.wrap(msg);
+        bb.putInt((Message.COMPRESSED_DATA << 24) | (clength + 8));
+        bb.putInt(length);
+        crc32.reset();
+        crc32.update(msg, 0, clength + 8);
+        bb.putInt(clength + 8, (int) crc32.getValue());
+
+        return Unpooled.wrappedBuffer(msg, 0, clength + 12);
+    }
+
+    private void dataSent(long numTx, long wireBytes, long uncompressedBytes) {
+        txRateMeter.mark(numTx);
+        dataRateMeter.mark(8 * wireBytes);
+        bytesSent += wireBytes;
+        uncompressedBytesSent += uncompressedBytes;
+    }
+
     public long getNextTxId() {
         return nextTxToSend;
     }
 
+    public boolean isCompressed() {
+        return deflater != null;
+    }
+
+    /**
+     * 
+     * @return the number of transactions per second sent to the slave (five seconds average)
+     */
+    public double getTxRate() {
+        return txRateMeter.getFiveSecondsRate();
+    }
+
+    /**
+     * 
+     * @return the number of bits per second sent to the slave (five seconds average)
+     */
+    public double getDataRate() {
+        return dataRateMeter.getFiveSecondsRate();
+    }
+
+    /**
+     * 
+     * @return the number of bytes sent to the slave since the connection has been established
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * 
+     * @return the number of bytes of transactions sent to the slave, before the compression
+     */
+    public long getUncompressedBytesSent() {
+        return uncompressedBytesSent;
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         cause.printStackTrace();
@@ -204,8 +406,16 @@ public class MasterChannelHandler extends ChannelInboundHandlerAdapter {
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         log.debug("Connection {} closed", ctx.channel().remoteAddress());
         super.channelInactive(ctx);
+        closed = true;
         if (dataHandlingFuture != null) {
             dataHandlingFuture.cancel(true);
         }
+        if (currentFile != null) {
+            currentFile.removeNewDataListener(newDataListener);
+        }
+        if (deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
     }
 }
@@ -28,6 +28,15 @@ import com.google.protobuf.MessageLite;
  * This is the same structure used in the replication file to be able to play it directly over the network.
  * <p>
  * The replication file contains only STREAM_INFO and DATA messages (and we call them transactions)
+ * <p>
+ * If the slave accepts it, the master may send COMPRESSED_DATA messages containing a batch of consecutive
+ * transactions (as they are found in the replication file) compressed with a deflate stream which is kept for the
+ * whole connection. The data of the message is:
+ * 
+ * <pre>
+ * 4 bytes uncompressed size
+ * n bytes deflate data terminated by a sync flush
+ * </pre>
  */
 public class Message {
     public final static byte WAKEUP = 1;
@@ -35,6 +44,10 @@ public class Message {
     public final static byte RESPONSE = 3;
     public final static byte STREAM_INFO = 4;
     public final static byte DATA = 5;
+    public final static byte COMPRESSED_DATA = 6;
+
+    // compression algorithm which can be accepted by the slave in the Request
+    public final static String DEFLATE = "deflate";
 
     final byte type;
     MessageLite protoMsg;
@@ -74,6 +87,9 @@ public class Message {
                 msg = new Message(type);
                 msg.protoMsg = decodeProto(buf, Response.newBuilder()).build();
                 break;
+            case COMPRESSED_DATA:
+                msg = new CompressedMessage(buf.getInt(), buf);
+                break;
             case STREAM_INFO:
                 msg = new TransactionMessage(type, buf.getInt(), buf.getLong());
                 buf.getInt();//pointer to next metadata
@@ -175,3 +191,19 @@ class TransactionMessage extends Message {
         throw new UnsupportedOperationException();
     }
 }
+
+// batch of transactions compressed by the master
+class CompressedMessage extends Message {
+    int uncompressedSize;
+    ByteBuffer buf;
+
+    CompressedMessage(int uncompressedSize, ByteBuffer buf) {
+        super(COMPRESSED_DATA);
+        this.uncompressedSize = uncompressedSize;
+        this.buf = buf;
+    }
+
+    public ByteBuffer encode() {
+        throw new UnsupportedOperationException();
+    }
+}
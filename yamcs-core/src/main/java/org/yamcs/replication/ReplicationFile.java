@@ -14,6 +14,8 @@ import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.CRC32;
@@ -28,6 +30,9 @@ import org.yamcs.utils.StringConverter;
  * An index gives a pointer to the beginning of each page to allow to jump faster to a given transaction number.
  * <p>
  * The metadata transactions form a linked list in order to allow to send them all when a client connects.
+ * <p>
+ * Readers following the end of the file can register a listener with {@link #addNewDataListener(Runnable)} to be
+ * notified when new transactions have been written or when the file has become full.
  * 
  * <p>
  * Header:
@@ -105,6 +110,7 @@ public class ReplicationFile implements Closeable {
     int syncNumTx = 500;
     int syncCount = syncNumTx;
     CRC32 crc32 = new CRC32();
+    final List<Runnable> newDataListeners = new CopyOnWriteArrayList<>();
 
     class Header1 { // this is the first part - fixed - of the header
 
@@ -453,6 +459,29 @@ public class ReplicationFile implements Closeable {
             return txid;
         } finally {
             rwlock.writeLock().unlock();
+            // called also when the file became full such that the readers can move to the next file
+            notifyNewData();
+        }
+    }
+
+    /**
+     * Register a listener called (from the writer thread) each time a transaction has been written or the file has
+     * become full.
+     * <p>
+     * The listener should return quickly; it is typically used to schedule a {@link #getNewData(ReplicationTail)}
+     * call on another thread.
+     */
+    public void addNewDataListener(Runnable listener) {
+        newDataListeners.add(listener);
+    }
+
+    public void removeNewDataListener(Runnable listener) {
+        newDataListeners.remove(listener);
+    }
+
+    private void notifyNewData() {
+        for (Runnable r : newDataListeners) {
+            r.run();
         }
     }
 
@@ -83,6 +83,8 @@ public class ReplicationMaster extends AbstractYamcsService {
     // files not accessed longer than this will be closed
     private long fileCloseTime;
     Pattern filePattern;
+    // compress the data sent to the slaves accepting it
+    boolean compression;
 
     @Override
     public void init(String yamcsInstance, String serviceName, YConfiguration config) throws InitException {
@@ -95,6 +97,7 @@ public class ReplicationMaster extends AbstractYamcsService {
         pageSize = config.getInt("pageSize", 500);
         maxPages = config.getInt("maxPages", 500);
         maxFileSize = 1024 * config.getInt("maxFileSizeKB", 100 * 1024);
+        compression = config.getBoolean("compression", false);
         int hdrSize = ReplicationFile.headerSize(pageSize, maxPages);
         if (maxFileSize < hdrSize) {
             throw new InitException(
@@ -176,6 +179,7 @@ public class ReplicationMaster extends AbstractYamcsService {
         spec.addOption("maxFileSizeKB", OptionType.INTEGER);
         spec.addOption("fileCloseTimeSec", OptionType.INTEGER);
         spec.addOption("reconnectionIntervalSec", OptionType.INTEGER);
+        spec.addOption("compression", OptionType.BOOLEAN);
         spec.addOption("slaves", OptionType.LIST).withElementType(OptionType.MAP).withSpec(slaveSpec);
 
         return spec;
@@ -7,9 +7,16 @@ import java.nio.channels.FileLock;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.SSLException;
 
@@ -35,25 +42,40 @@ import org.yamcs.yarch.TupleDefinition;
 import org.yamcs.yarch.YarchDatabase;
 import org.yamcs.yarch.YarchDatabaseInstance;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.TextFormat;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 
+/**
+ * Receives the replicated transactions from the master and emits them on the local streams.
+ * <p>
+ * The data transactions are decoded and emitted by one worker thread per stream, such that a stream with slow
+ * subscribers does not delay the others. The order of the transactions is preserved within each stream. The
+ * transaction id saved in the last tx file is the one up to which all transactions have been emitted.
+ */
 public class ReplicationSlave extends AbstractYamcsService {
+    // stop reading from the master when this number of transactions are waiting to be emitted
+    static final int MAX_PENDING_TX = 4096;
+
     private TcpRole tcpRole;
     int port;
     String host;
     ReplicationClient tcpClient;
     long reconnectionInterval;
     String masterInstance;
-    long lastTxId;
+    // last transaction received from the master
+    volatile long lastTxId;
+    // last transaction written to the lastTxFile; all transactions up to it have been emitted
+    long savedTxId;
     SlaveChannelHandler slaveChannelHandler;
     List<String> streamNames;
     RandomAccessFile lastTxFile;
@@ -62,6 +84,13 @@ public class ReplicationSlave extends AbstractYamcsService {
     int localInstanceId;
     SslContext sslCtx = null;
 
+    final Map<String, StreamWorker> workers = new ConcurrentHashMap<>();
+    // transactions dispatched to the workers and not yet emitted
+    final ConcurrentSkipListSet<Long> pendingTxIds = new ConcurrentSkipListSet<>();
+    final AtomicInteger numPendingTx = new AtomicInteger();
+    // not null if the reading has been paused because of too many pending transactions
+    volatile Channel pausedChannel;
+
     @Override
     public void init(String yamcsInstance, String serviceName, YConfiguration config) throws InitException {
         super.init(yamcsInstance, serviceName, config);
@@ -102,13 +131,7 @@ public class ReplicationSlave extends AbstractYamcsService {
 
         txtfilePath = replicationDir.resolve(lastTxFilename);
         try {
-            lastTxFile = new RandomAccessFile(txtfilePath.toFile(), "rw");
-            String line = lastTxFile.readLine();
-            if (line != null) {
-                lastTxId = Long.parseLong(line);
-            } else {
-                lastTxId = -1;
-            }
+            openLastTxFile(txtfilePath);
         } catch (IOException e) {
             throw new InitException(e);
         } catch (NumberFormatException e) {
@@ -117,6 +140,21 @@ public class ReplicationSlave extends AbstractYamcsService {
 
     }
 
+    /**
+     * Opens the file where the last emitted transaction id is saved and reads the id from it
+     */
+    void openLastTxFile(Path path) throws IOException {
+        txtfilePath = path;
+        lastTxFile = new RandomAccessFile(path.toFile(), "rw");
+        String line = lastTxFile.readLine();
+        if (line != null) {
+            lastTxId = Long.parseLong(line);
+        } else {
+            lastTxId = -1;
+        }
+        savedTxId = lastTxId;
+    }
+
     @Override
     public Spec getSpec() {
         Spec spec = new Spec();
@@ -147,6 +185,20 @@ public class ReplicationSlave extends AbstractYamcsService {
         if (tcpClient != null) {
             tcpClient.stop();
         }
+        for (StreamWorker worker : workers.values()) {
+            worker.executor.shutdown();
+        }
+        try {
+            for (StreamWorker worker : workers.values()) {
+                if (!worker.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Timeout waiting for the transactions of stream {} to be emitted", worker.streamName);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // the last transaction may have been marked as received after having been emitted
+        updateLastTxFile();
 
         try {
             lastTxFile.close();
@@ -166,10 +218,69 @@ public class ReplicationSlave extends AbstractYamcsService {
         notifyFailed(new Exception(errMsg));
     }
 
-    private void updateLastTxFile() {
+    private synchronized void pauseReading(Channel channel) {
+        if (pausedChannel == null && numPendingTx.get() >= MAX_PENDING_TX) {
+            log.debug("{} transactions waiting to be emitted, pausing the reading from the master",
+                    numPendingTx.get());
+            pausedChannel = channel;
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    private synchronized void resumeReading() {
+        if (pausedChannel != null) {
+            log.debug("Resuming the reading from the master");
+            pausedChannel.config().setAutoRead(true);
+            pausedChannel = null;
+        }
+    }
+
+    /**
+     * Pass the transaction to the worker of its stream; the task emits it.
+     * <p>
+     * If there are too many transactions waiting to be emitted, stop reading from the channel until half of them
+     * have been processed.
+     */
+    void dispatch(long txId, StreamWorker worker, Runnable task, Channel channel) {
+        pendingTxIds.add(txId);
+        if (numPendingTx.incrementAndGet() >= MAX_PENDING_TX && pausedChannel == null) {
+            pauseReading(channel);
+        }
+        worker.executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                // the counter is updated first such that the reading is resumed even if the rest fails
+                if (numPendingTx.decrementAndGet() <= MAX_PENDING_TX / 2 && pausedChannel != null) {
+                    resumeReading();
+                }
+                txEmitted(txId);
+            }
+        });
+    }
+
+    // called by the workers after emitting a transaction
+    private void txEmitted(long txId) {
+        pendingTxIds.remove(txId);
+        updateLastTxFile();
+    }
+
+    synchronized void updateLastTxFile() {
+        // read the last received before checking the pending ones, they are added to the set before being received
+        long txId = lastTxId;
+        // the workers remove the emitted transactions concurrently, the set can become empty at any moment;
+        // ceiling(Long.MIN_VALUE) returns null in that case whereas first() would throw
+        Long firstPending = pendingTxIds.ceiling(Long.MIN_VALUE);
+        if (firstPending != null && firstPending <= txId) {
+            txId = firstPending - 1;
+        }
+        if (txId <= savedTxId) {
+            return;
+        }
         try {
             lastTxFile.seek(0);
-            lastTxFile.writeBytes(Long.toString(lastTxId) + "\n");
+            lastTxFile.writeBytes(Long.toString(txId) + "\n");
+            savedTxId = txId;
         } catch (IOException e) {
             log.warn("Failed to update the last tx file " + txtfilePath, e);
         }
@@ -221,6 +332,8 @@ public class ReplicationSlave extends AbstractYamcsService {
         ReplicationSlave replSlave;
         private ChannelHandlerContext channelHandlerContext;
         Map<Integer, ByteBufToStream> streamWriters = new HashMap<>();
+        // created when the first compressed message is received
+        BatchInflater inflater;
 
         public SlaveChannelHandler(ReplicationSlave slave) {
             this.replSlave = slave;
@@ -253,32 +366,59 @@ public class ReplicationSlave extends AbstractYamcsService {
                 return;
             }
 
-            if (msg.type == Message.DATA) {
-                TransactionMessage tmsg = (TransactionMessage) msg;
-
-                if (tmsg.txId <= lastTxId) {
-                    log.warn("Received data from the past txId={}, lastTxId={}", tmsg.txId, lastTxId);
-                } else {
-                    checkMissing(tmsg);
+            if (msg.type == Message.COMPRESSED_DATA) {
+                if (inflater == null) {
+                    inflater = new BatchInflater();
                 }
+                List<Message> txs;
+                try {
+                    txs = inflater.inflate((CompressedMessage) msg);
+                } catch (DecodingException e) {
+                    log.warn("TX{} Failed to decode compressed message; closing connection", lastTxId, e);
+                    ctx.close();
+                    return;
+                }
+                for (Message tx : txs) {
+                    if (state() != State.RUNNING) {
+                        return;
+                    }
+                    processMessage(tx);
+                }
+            } else {
+                processMessage(msg);
+            }
+        }
 
+        private void processMessage(Message msg) {
+            if (msg.type == Message.DATA) {
+                TransactionMessage tmsg = (TransactionMessage) msg;
                 int streamId = tmsg.buf.getInt();
 
                 if (tmsg.instanceId == localInstanceId) {
                     log.trace("Skipping data originating from myself (serverId: {})", tmsg.instanceId);
-                    return;
-                }
-                ByteBufToStream bbs = streamWriters.get(streamId);
-                if (bbs == null) {
-                    log.trace("Skipping data for unknown stream {}", streamId);
-                    return;
+                } else {
+                    ByteBufToStream bbs = streamWriters.get(streamId);
+                    if (bbs == null) {
+                        log.trace("Skipping data for unknown stream {}", streamId);
+                    } else {
+                        if (log.isTraceEnabled()) {
+                            log.trace("TX{} received data for stream {}, length {}", tmsg.txId,
+                                    bbs.stream.getName(), tmsg.buf.remaining());
+                        }
+                        // the data is copied because the message buffer is reused after the return from channelRead
+                        ByteBuffer data = ByteBuffer.allocate(tmsg.buf.remaining());
+                        data.put(tmsg.buf).flip();
+                        long txId = tmsg.txId;
+                        dispatch(txId, bbs.worker, () -> bbs.processData(txId, data),
+                                channelHandlerContext.channel());
+                    }
                 }
-                if (log.isTraceEnabled()) {
-                    log.trace("TX{} received data for stream {}, length {}", tmsg.txId, bbs.stream.getName(),
-                            tmsg.buf.remaining());
+                // the transaction is marked as received after having been added to the pending ones
+                if (tmsg.txId <= lastTxId) {
+                    log.warn("Received data from the past txId={}, lastTxId={}", tmsg.txId, lastTxId);
+                } else {
+                    checkMissing(tmsg);
                 }
-
-                bbs.processData(tmsg.txId, tmsg.buf);
             } else if (msg.type == Message.STREAM_INFO) {
                 TransactionMessage tmsg = (TransactionMessage) msg;
                 if (tmsg.txId > lastTxId) { // we expect to receive previous stream info transactions
@@ -344,7 +484,8 @@ public class ReplicationSlave extends AbstractYamcsService {
         }
 
         private void sendRequest() {
-            Request.Builder reqb = Request.newBuilder().setRequestSeq(1).setYamcsInstance(masterInstance);
+            Request.Builder reqb = Request.newBuilder().setRequestSeq(1).setYamcsInstance(masterInstance)
+                    .addAcceptCompression(Message.DEFLATE);
             if (lastTxId >= 0) {
                 reqb.setStartTxId(lastTxId + 1);
             }
@@ -375,18 +516,31 @@ public class ReplicationSlave extends AbstractYamcsService {
             log.debug("Connection {} closed", ctx.channel().remoteAddress());
             super.channelInactive(ctx);
             slaveChannelHandler = null;
+            if (inflater != null) {
+                inflater.end();
+                inflater = null;
+            }
         }
 
         class ByteBufToStream {
             TupleDefinition completeTuple;
             ColumnSerializer<?>[] serializers;
             Stream stream;
+            final StreamWorker worker;
+
+            // definition of the last decoded tuple reused if the next tuple has the same columns
+            // these are accessed only from the worker thread
+            TupleDefinition lastTdef = new TupleDefinition();
+            int[] lastColumns = new int[0];
+            int[] columns;
 
             public ByteBufToStream(Stream stream, StreamInfo streamInfo) {
                 this.stream = stream;
+                this.worker = workers.computeIfAbsent(stream.getName(), k -> new StreamWorker(k));
 
                 completeTuple = new TupleDefinition();
                 serializers = new ColumnSerializer<?>[streamInfo.getColumnsCount()];
+                columns = new int[serializers.length];
                 for (int i = 0; i < serializers.length; i++) {
                     ColumnInfo cinfo = streamInfo.getColumns(i);
                     if (cinfo.getId() != i) {
@@ -404,7 +558,6 @@ public class ReplicationSlave extends AbstractYamcsService {
 
             @SuppressWarnings("rawtypes")
             public void processData(long txId, ByteBuffer niobuf) {
-                TupleDefinition tdef = new TupleDefinition();
                 ArrayList<Object> cols = new ArrayList<>();
                 // deserialize the value
                 try {
@@ -432,18 +585,57 @@ public class ReplicationSlave extends AbstractYamcsService {
                             return;
                         }
                         Object o = cs.deserialize(niobuf, cd);
-                        tdef.addColumn(cd);
+                        if (cols.size() == columns.length) {
+                            log.warn("TX{}: when deserializing data for stream {}: too many columns", txId,
+                                    stream.getName());
+                            return;
+                        }
+                        columns[cols.size()] = cidx;
                         cols.add(o);
                     }
-                    Tuple t = new Tuple(tdef, cols);
+                    Tuple t = new Tuple(getTupleDefinition(cols.size()), cols);
                     stream.emitTuple(t);
-                    updateLastTxFile();
 
                 } catch (Exception e) {
                     log.warn("Cannot deserialize data for stream {}", stream.getName(), e);
                 }
             }
+
+            private TupleDefinition getTupleDefinition(int n) {
+                if (n == lastColumns.length) {
+                    boolean same = true;
+                    for (int i = 0; i < n; i++) {
+                        if (columns[i] != lastColumns[i]) {
+                            same = false;
+                            break;
+                        }
+                    }
+                    if (same) {
+                        return lastTdef;
+                    }
+                }
+                TupleDefinition tdef = new TupleDefinition();
+                for (int i = 0; i < n; i++) {
+                    tdef.addColumn(completeTuple.getColumn(columns[i]));
+                }
+                lastColumns = Arrays.copyOf(columns, n);
+                lastTdef = tdef;
+                return tdef;
+            }
         }
     }
 
+    /**
+     * Emits the transactions of one stream in the order in which they have been received
+     */
+    class StreamWorker {
+        final String streamName;
+        final ExecutorService executor;
+
+        StreamWorker(String streamName) {
+            this.streamName = streamName;
+            executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("ReplicationSlave-" + yamcsInstance + "-" + streamName).build());
+        }
+    }
 }
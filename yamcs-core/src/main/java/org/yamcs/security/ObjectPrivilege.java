@@ -1,6 +1,8 @@
 package org.yamcs.security;
 
 import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 /**
  * An object privilege is the right to perform a particular action on an object. The object is assumed to be
@@ -9,12 +11,23 @@ import java.util.Objects;
  */
 public class ObjectPrivilege {
 
+    // characters having a special meaning in a regular expression (outside of a character class)
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
     private ObjectPrivilegeType type;
     private String object;
 
+    // compiled once, the privileges are checked for each parameter of a subscription or MDB listing
+    private final Predicate<String> matcher;
+
+    /**
+     * @throws java.util.regex.PatternSyntaxException
+     *             if the object is not a valid regular expression
+     */
     public ObjectPrivilege(ObjectPrivilegeType type, String object) {
         this.type = type;
         this.object = object;
+        this.matcher = compile(object);
     }
 
     public ObjectPrivilegeType getType() {
@@ -25,6 +38,44 @@ public class ObjectPrivilege {
         return object;
     }
 
+    /**
+     * Returns true if the given object name matches the object of this privilege, interpreted as a regular expression.
+     */
+    public boolean matches(String objectName) {
+        return matcher.test(objectName);
+    }
+
+    /**
+     * Literal names and literal prefixes followed by {@code .*} (the most common forms) are matched without the regex
+     * engine.
+     */
+    static Predicate<String> compile(String regex) {
+        int n = 0;
+        while (n < regex.length() && REGEX_METACHARACTERS.indexOf(regex.charAt(n)) < 0) {
+            n++;
+        }
+        if (n == regex.length()) {
+            return s -> s.equals(regex);
+        } else if (n == regex.length() - 2 && regex.endsWith(".*")) {
+            String prefix = regex.substring(0, n);
+            return s -> s.startsWith(prefix) && !hasLineTerminator(s, prefix.length());
+        } else {
+            Pattern pattern = Pattern.compile(regex);
+            return s -> pattern.matcher(s).matches();
+        }
+    }
+
+    // the '.' does not match the line terminators
+    private static boolean hasLineTerminator(String s, int offset) {
+        for (int i = offset; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof ObjectPrivilege) {
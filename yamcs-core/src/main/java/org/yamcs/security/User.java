@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.yamcs.security.protobuf.AccountRecord;
@@ -14,6 +15,9 @@ import org.yamcs.security.protobuf.Clearance;
 import org.yamcs.security.protobuf.ExternalIdentity;
 import org.yamcs.security.protobuf.UserAccountRecordDetail;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * A user contains identifying information and a convenient set of methods to perform access control.
  * <p>
@@ -29,6 +33,9 @@ import org.yamcs.security.protobuf.UserAccountRecordDetail;
  */
 public class User extends Account {
 
+    // maximum number of cached object privilege decisions, for each privilege type
+    static final int MAX_CACHED_DECISIONS = 10000;
+
     private String email;
     private String hash; // Password hash, only for internal users
 
@@ -47,6 +54,11 @@ public class User extends Account {
     private Set<SystemPrivilege> systemPrivileges = new HashSet<>();
     private Map<ObjectPrivilegeType, Set<ObjectPrivilege>> objectPrivileges = new HashMap<>();
 
+    // Results of hasObjectPrivilege by type and object name. Replaced (rather than cleared) when the object privileges
+    // change, such that a check running concurrently with the change cannot store its result in the new cache.
+    private volatile Map<ObjectPrivilegeType, Cache<String, Boolean>> objectPrivilegeDecisions =
+            new ConcurrentHashMap<>();
+
     private Set<ClearanceListener> clearanceListeners = new CopyOnWriteArraySet<>();
 
     public User(String username, User createdBy) {
@@ -174,6 +186,7 @@ public class User extends Account {
             objectPrivileges.put(objectPrivilege.getType(), privilegesForType);
         }
         privilegesForType.add(objectPrivilege);
+        objectPrivilegeDecisions = new ConcurrentHashMap<>();
     }
 
     /**
@@ -184,7 +197,9 @@ public class User extends Account {
         systemPrivileges.addAll(externalSystemPrivileges);
 
         objectPrivileges.clear();
-        objectPrivileges.putAll(externalObjectPrivileges);
+        // copy the sets, the directory privileges are added to them
+        externalObjectPrivileges.forEach((type, privileges) -> objectPrivileges.put(type, new HashSet<>(privileges)));
+        objectPrivilegeDecisions = new ConcurrentHashMap<>();
     }
 
     public boolean hasSystemPrivilege(SystemPrivilege systemPrivilege) {
@@ -200,13 +215,20 @@ public class User extends Account {
             return true;
         }
 
-        for (ObjectPrivilege privilege : getObjectPrivileges(type)) {
-            if (object.matches(privilege.getObject())) {
-                return true;
+        Cache<String, Boolean> decisions = objectPrivilegeDecisions.computeIfAbsent(type,
+                t -> CacheBuilder.newBuilder().maximumSize(MAX_CACHED_DECISIONS).build());
+        Boolean decision = decisions.getIfPresent(object);
+        if (decision == null) {
+            decision = false;
+            for (ObjectPrivilege privilege : getObjectPrivileges(type)) {
+                if (privilege.matches(object)) {
+                    decision = true;
+                    break;
+                }
             }
+            decisions.put(object, decision);
         }
-
-        return false;
+        return decision;
     }
 
     public void addClearanceListener(ClearanceListener listener) {
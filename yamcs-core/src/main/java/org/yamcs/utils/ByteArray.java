@@ -237,6 +237,33 @@ public class ByteArray {
         return s;
     }
 
+    /**
+     * Advances the read position with n bytes.
+     * 
+     * @param n
+     *            - the number of bytes to skip
+     */
+    public void skip(int n) {
+        rangeCheck(position + n);
+        position += n;
+    }
+
+    /**
+     * Advances the read position after the next null byte.
+     * 
+     * @throws DecodingException
+     *             if there is no null byte after the current position
+     */
+    public void skipNullTerminated() throws DecodingException {
+        for (int i = position; i < length; i++) {
+            if (a[i] == 0) {
+                position = i + 1;
+                return;
+            }
+        }
+        throw new DecodingException("No null terminator found after position " + position);
+    }
+
     public void get(byte[] bp) {
         rangeCheck(position + bp.length);
         System.arraycopy(a, position, bp, 0, bp.length);
@@ -203,6 +203,9 @@ public class ParameterFormatter implements Closeable {
                     if (printRaw) {
                         l.add("");
                     }
+                    if (printMonitoring) {
+                        l.add("");
+                    }
                 }
             }
         }
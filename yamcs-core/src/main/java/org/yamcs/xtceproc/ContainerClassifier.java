@@ -0,0 +1,468 @@
+package org.yamcs.xtceproc;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.yamcs.utils.BitBuffer;
+import org.yamcs.xtce.BaseDataType;
+import org.yamcs.xtce.Comparison;
+import org.yamcs.xtce.ComparisonList;
+import org.yamcs.xtce.ContainerEntry;
+import org.yamcs.xtce.DataEncoding;
+import org.yamcs.xtce.IntegerDataEncoding;
+import org.yamcs.xtce.IntegerParameterType;
+import org.yamcs.xtce.MatchCriteria;
+import org.yamcs.xtce.OperatorType;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.xtce.ParameterEntry;
+import org.yamcs.xtce.ParameterInstanceRef;
+import org.yamcs.xtce.ParameterType;
+import org.yamcs.xtce.SequenceContainer;
+import org.yamcs.xtce.SequenceEntry;
+import org.yamcs.xtceproc.ContainerDecodingPlan.DecodeOp;
+
+/**
+ * Finds the name of the container used as archive partition for a packet (as given by
+ * {@link ContainerProcessingResult#getPacketName()}) without extracting the packet.
+ * <p>
+ * The inheritance tree of the containers subscribed in the extractor is compiled into a decision tree. The restriction
+ * criteria made of comparisons of unsigned integer parameters located at a fixed position in the packet (typically the
+ * APID or the packet id from the headers) are evaluated by reading directly the bits from the packet. When all the
+ * containers inheriting from a container are selected by the equality of the same parameter, the next container is
+ * found with a lookup in a table indexed by the value of that parameter.
+ * <p>
+ * If while classifying a packet the decision tree reaches a criteria which could not be compiled, a container
+ * including other containers or a parameter not fitting in the packet, the packet is extracted with the
+ * {@link XtceTmExtractor}.
+ * <p>
+ * The decision tree is rebuilt when the subscription of the extractor changes. This class is not thread safe.
+ */
+public class ContainerClassifier {
+    final XtceTmExtractor tmExtractor;
+    final SequenceContainer rootContainer;
+
+    private Subscription.Snapshot compiledSnapshot;
+    private Node tree;
+    private long numFallbacks;
+
+    /**
+     *
+     * @param tmExtractor
+     *            - the extractor used for the packets that cannot be classified with the decision tree. The containers
+     *            used as archive partition have to be subscribed.
+     * @param rootContainer
+     *            - the container where the extraction starts
+     */
+    public ContainerClassifier(XtceTmExtractor tmExtractor, SequenceContainer rootContainer) {
+        this.tmExtractor = tmExtractor;
+        this.rootContainer = rootContainer;
+    }
+
+    /**
+     * Returns the qualified name of the most specific container used as archive partition matching the packet or the
+     * name of the root container if there is no such container.
+     */
+    public String getPacketName(byte[] packet, long generationTime, long acquisitionTime) {
+        Subscription.Snapshot snapshot = tmExtractor.getSubscription().getSnapshot();
+        if (snapshot != compiledSnapshot) {
+            tree = new Compiler(snapshot).compile();
+            compiledSnapshot = snapshot;
+        }
+
+        String pname = tree.classify(new BitBuffer(packet), rootContainer.getQualifiedName());
+        if (pname == null) {
+            numFallbacks++;
+            ContainerProcessingResult cpr = tmExtractor.processPacket(packet, generationTime, acquisitionTime,
+                    rootContainer);
+            pname = cpr.getPacketName();
+        }
+        return pname;
+    }
+
+    /**
+     *
+     * @return the number of packets which could not be classified with the decision tree and have been extracted
+     */
+    public long getNumFallbacks() {
+        return numFallbacks;
+    }
+
+    /**
+     * Unsigned integer read from a fixed position in the packet and converted to a long the same way as the
+     * {@link CriteriaEvaluatorImpl} does for the raw or engineering value of the parameter.
+     */
+    static final class Field {
+        final int bitOffset;
+        final int sizeInBits;
+        final ByteOrder byteOrder;
+        // if true, the value is converted to int (i.e. sign extended if 32 bits long)
+        final boolean intValue;
+
+        Field(int bitOffset, int sizeInBits, ByteOrder byteOrder, boolean intValue) {
+            this.bitOffset = bitOffset;
+            this.sizeInBits = sizeInBits;
+            this.byteOrder = byteOrder;
+            this.intValue = intValue;
+        }
+
+        boolean fits(BitBuffer buf) {
+            return bitOffset + sizeInBits <= buf.sizeInBits();
+        }
+
+        long read(BitBuffer buf) {
+            buf.setPosition(bitOffset);
+            buf.setByteOrder(byteOrder);
+            long v = buf.getBits(sizeInBits);
+            return intValue ? (int) v : v;
+        }
+
+        @Override
+        public int hashCode() {
+            return bitOffset * 31 + sizeInBits;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Field)) {
+                return false;
+            }
+            Field f = (Field) obj;
+            return bitOffset == f.bitOffset && sizeInBits == f.sizeInBits && byteOrder == f.byteOrder
+                    && intValue == f.intValue;
+        }
+    }
+
+    static final class Condition {
+        final Field field;
+        final OperatorType op;
+        final long value;
+
+        Condition(Field field, OperatorType op, long value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        boolean isMet(long v) {
+            switch (op) {
+            case EQUALITY:
+                return v == value;
+            case INEQUALITY:
+                return v != value;
+            case LARGERTHAN:
+                return v > value;
+            case LARGEROREQUALTHAN:
+                return v >= value;
+            case SMALLERTHAN:
+                return v < value;
+            case SMALLEROREQUALTHAN:
+                return v <= value;
+            default:
+                return false;
+            }
+        }
+    }
+
+    static final class Child {
+        final Node node;
+        // null if the container has no restriction criteria
+        final Condition[] conditions;
+        // false if the restriction criteria could not be compiled
+        final boolean compiled;
+
+        Child(Node node, Condition[] conditions, boolean compiled) {
+            this.node = node;
+            this.conditions = conditions;
+            this.compiled = compiled;
+        }
+    }
+
+    static final class Node {
+        // qualified name of the container if used as archive partition, null otherwise
+        final String partitionName;
+        // false if the container includes other containers
+        final boolean compiled;
+        final Child[] children;
+
+        // if not null, the children are selected by looking up the value of this field in the keys array
+        Field keyField;
+        long[] keys;
+        Node[][] nodesByKey;
+
+        Node(SequenceContainer container, boolean compiled, Child[] children) {
+            this.partitionName = container.useAsArchivePartition() ? container.getQualifiedName() : null;
+            this.compiled = compiled;
+            this.children = children;
+        }
+
+        /**
+         * Walks the tree in the same order as the {@link SequenceContainerProcessor}.
+         *
+         * @return the name of the last container used as archive partition found or null if the packet has to be
+         *         extracted
+         */
+        String classify(BitBuffer buf, String pname) {
+            if (!compiled) {
+                return null;
+            }
+            if (partitionName != null) {
+                pname = partitionName;
+            }
+            if (keyField != null) {
+                if (!keyField.fits(buf)) {
+                    return null;
+                }
+                int idx = Arrays.binarySearch(keys, keyField.read(buf));
+                if (idx >= 0) {
+                    for (Node n : nodesByKey[idx]) {
+                        pname = n.classify(buf, pname);
+                        if (pname == null) {
+                            return null;
+                        }
+                    }
+                }
+                return pname;
+            }
+
+            for (Child child : children) {
+                if (!child.compiled) {
+                    return null;
+                }
+                boolean met = true;
+                if (child.conditions != null) {
+                    for (Condition c : child.conditions) {
+                        if (!c.field.fits(buf)) {
+                            return null;
+                        }
+                        if (!c.isMet(c.field.read(buf))) {
+                            met = false;
+                            break;
+                        }
+                    }
+                }
+                if (met) {
+                    pname = child.node.classify(buf, pname);
+                    if (pname == null) {
+                        return null;
+                    }
+                }
+            }
+            return pname;
+        }
+
+        /**
+         * builds the lookup table if all the children are selected by the equality of the same field
+         */
+        void buildLookupTable() {
+            if (children.length < 2) {
+                return;
+            }
+            Field field = null;
+            for (Child child : children) {
+                if (!child.compiled || child.conditions == null || child.conditions.length != 1
+                        || child.conditions[0].op != OperatorType.EQUALITY) {
+                    return;
+                }
+                Field f = child.conditions[0].field;
+                if (field == null) {
+                    field = f;
+                } else if (!field.equals(f)) {
+                    return;
+                }
+            }
+            // the order of the children having the same key is preserved
+            TreeMap<Long, List<Node>> m = new TreeMap<>();
+            for (Child child : children) {
+                m.computeIfAbsent(child.conditions[0].value, k -> new ArrayList<>()).add(child.node);
+            }
+            keys = new long[m.size()];
+            nodesByKey = new Node[m.size()][];
+            int i = 0;
+            for (Map.Entry<Long, List<Node>> me : m.entrySet()) {
+                keys[i] = me.getKey();
+                nodesByKey[i] = me.getValue().toArray(new Node[0]);
+                i++;
+            }
+            keyField = field;
+        }
+    }
+
+    class Compiler {
+        final Subscription.Snapshot snapshot;
+        final Map<SequenceContainer, ContainerDecodingPlan> plans = new HashMap<>();
+        // the containers extracted before the container being compiled, starting with the root container
+        final List<SequenceContainer> path = new ArrayList<>();
+        // the bit position where the extraction of each container in the path starts or -1 if it is not known
+        final List<Integer> startPositions = new ArrayList<>();
+
+        Compiler(Subscription.Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        Node compile() {
+            return compile(rootContainer, 0);
+        }
+
+        private Node compile(SequenceContainer sc, int startPosition) {
+            boolean compiled = true;
+            SequenceEntry[] entries = snapshot.getEntries(sc);
+            if (entries != null) {
+                for (SequenceEntry se : entries) {
+                    if (se instanceof ContainerEntry) {
+                        compiled = false;
+                    }
+                }
+            }
+            path.add(sc);
+            startPositions.add(startPosition);
+            int childStartPosition = getEndPosition(sc, startPosition);
+
+            SequenceContainer[] inheriting = snapshot.getInheritingContainers(sc);
+            Child[] children = new Child[inheriting == null ? 0 : inheriting.length];
+            for (int i = 0; i < children.length; i++) {
+                SequenceContainer sc1 = inheriting[i];
+                Node n = compile(sc1, childStartPosition);
+                MatchCriteria mc = sc1.getRestrictionCriteria();
+                if (mc == null) {
+                    children[i] = new Child(n, null, true);
+                } else {
+                    Condition[] conditions = compileCriteria(mc);
+                    children[i] = new Child(n, conditions, conditions != null);
+                }
+            }
+            path.remove(path.size() - 1);
+            startPositions.remove(startPositions.size() - 1);
+
+            Node node = new Node(sc, compiled, children);
+            node.buildLookupTable();
+            return node;
+        }
+
+        /**
+         * Returns the position after the last entry of the container, where the extraction of the inheriting
+         * containers starts, or -1 if it is not known without looking at the packet.
+         * <p>
+         * The last entry is extracted if a parameter from an inheriting container is needed at a position relative to
+         * the previous entry which is the only case when the position returned by this method is used.
+         */
+        private int getEndPosition(SequenceContainer sc, int startPosition) {
+            List<SequenceEntry> entryList = sc.getEntryList();
+            if (entryList.isEmpty()) {
+                return startPosition;
+            }
+            ContainerDecodingPlan plan = getPlan(sc);
+            DecodeOp op = plan == null ? null : plan.ops[entryList.size() - 1];
+            if (op == null) {
+                return -1;
+            } else if (op.fromContainerStart) {
+                return op.bitOffset + op.sizeInBits;
+            } else {
+                return startPosition < 0 ? -1 : startPosition + op.bitOffset + op.sizeInBits;
+            }
+        }
+
+        private ContainerDecodingPlan getPlan(SequenceContainer sc) {
+            return plans.computeIfAbsent(sc,
+                    k -> ContainerDecodingPlan.compile(sc.getEntryList().toArray(new SequenceEntry[0])));
+        }
+
+        private Condition[] compileCriteria(MatchCriteria mc) {
+            List<Comparison> comparisons;
+            if (mc instanceof Comparison) {
+                comparisons = Arrays.asList((Comparison) mc);
+            } else if (mc instanceof ComparisonList) {
+                comparisons = ((ComparisonList) mc).getComparisonList();
+            } else {
+                return null;
+            }
+            Condition[] conditions = new Condition[comparisons.size()];
+            for (int i = 0; i < conditions.length; i++) {
+                conditions[i] = compileComparison(comparisons.get(i));
+                if (conditions[i] == null) {
+                    return null;
+                }
+            }
+            return conditions;
+        }
+
+        private Condition compileComparison(Comparison comparison) {
+            ParameterInstanceRef pref = comparison.getParameterRef();
+            if (pref.getMemberPath() != null || !(comparison.getValue() instanceof Number)
+                    || comparison.getValue() instanceof Float || comparison.getValue() instanceof Double) {
+                return null;
+            }
+            Parameter p = pref.getParameter();
+            ParameterType ptype = p.getParameterType();
+            if (!(ptype instanceof BaseDataType)) {
+                return null;
+            }
+            DataEncoding encoding = ((BaseDataType) ptype).getEncoding();
+            if (!(encoding instanceof IntegerDataEncoding)) {
+                return null;
+            }
+            IntegerDataEncoding ide = (IntegerDataEncoding) encoding;
+            if (ide.getEncoding() != IntegerDataEncoding.Encoding.UNSIGNED || ide.getSizeInBits() > 32) {
+                return null;
+            }
+            boolean intValue;
+            if (pref.useCalibratedValue()) {
+                if (!(ptype instanceof IntegerParameterType) || ide.getDefaultCalibrator() != null
+                        || ide.getContextCalibratorList() != null) {
+                    return null;
+                }
+                intValue = ((IntegerParameterType) ptype).getSizeInBits() <= 32;
+            } else {
+                intValue = true;
+            }
+
+            int bitOffset = getBitOffset(p);
+            if (bitOffset < 0) {
+                return null;
+            }
+            Field field = new Field(bitOffset, ide.getSizeInBits(), ide.getByteOrder(), intValue);
+            return new Condition(field, comparison.getComparisonOperator(),
+                    ((Number) comparison.getValue()).longValue());
+        }
+
+        /**
+         * Finds the position of the parameter in the containers extracted before evaluating the criteria. The
+         * parameter has to appear once and its position has to be known without looking at the packet.
+         *
+         * @return the position in bits from the beginning of the packet or -1
+         */
+        private int getBitOffset(Parameter p) {
+            int bitOffset = -1;
+            int count = 0;
+            for (int k = 0; k < path.size(); k++) {
+                SequenceContainer sc = path.get(k);
+                List<SequenceEntry> entryList = sc.getEntryList();
+                ContainerDecodingPlan plan = null;
+                for (int i = 0; i < entryList.size(); i++) {
+                    SequenceEntry se = entryList.get(i);
+                    if (!(se instanceof ParameterEntry) || ((ParameterEntry) se).getParameter() != p) {
+                        continue;
+                    }
+                    count++;
+                    if (plan == null) {
+                        plan = getPlan(sc);
+                    }
+                    DecodeOp op = plan == null ? null : plan.ops[i];
+                    if (op == null) {
+                        continue;
+                    }
+                    if (op.fromContainerStart) {
+                        bitOffset = op.bitOffset;
+                    } else if (startPositions.get(k) >= 0) {
+                        bitOffset = startPositions.get(k) + op.bitOffset;
+                    }
+                }
+            }
+            return count == 1 ? bitOffset : -1;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.yamcs.xtceproc;
+
+import org.yamcs.xtce.BaseDataType;
+import org.yamcs.xtce.BooleanDataEncoding;
+import org.yamcs.xtce.DataEncoding;
+import org.yamcs.xtce.FloatDataEncoding;
+import org.yamcs.xtce.IntegerDataEncoding;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.xtce.ParameterEntry;
+import org.yamcs.xtce.ParameterType;
+import org.yamcs.xtce.SequenceEntry;
+
+/**
+ * Precomputed decoding of the subscribed entries of a container.
+ * <p>
+ * For each entry whose position in the packet is known without looking at the packet (i.e. it does not follow an entry
+ * of variable size or an entry which may or may not be present) and whose encoding has a fixed size, the plan contains
+ * a {@link DecodeOp} with the bit offset and size of the entry. These entries are extracted directly at their offset,
+ * without evaluating the reference location, include condition and repeat of the entry.
+ * <p>
+ * The other entries (arrays, aggregates, strings, containers, entries with include conditions or repeated, custom
+ * decoders...) are extracted by the {@link SequenceContainerProcessor} the usual way. A
+ * {@link SequenceEntry.ReferenceLocationType#CONTAINER_START} entry following such an entry makes the position known
+ * again.
+ * <p>
+ * The plan is immutable and shared by all the threads extracting packets.
+ */
+final class ContainerDecodingPlan {
+    /**
+     * one element for each subscribed entry; null for the entries which are not part of the plan
+     */
+    final DecodeOp[] ops;
+
+    private ContainerDecodingPlan(DecodeOp[] ops) {
+        this.ops = ops;
+    }
+
+    /**
+     *
+     * @param entries
+     *            - the subscribed entries of the container, in the order of their position
+     * @return the plan or null if none of the entries could be precomputed
+     */
+    static ContainerDecodingPlan compile(SequenceEntry[] entries) {
+        DecodeOp[] ops = new DecodeOp[entries.length];
+        boolean known = true;
+        boolean fromContainerStart = false;
+        int position = 0;
+        int count = 0;
+
+        for (int i = 0; i < entries.length; i++) {
+            SequenceEntry se = entries[i];
+            switch (se.getReferenceLocation()) {
+            case CONTAINER_START:
+                known = true;
+                fromContainerStart = true;
+                position = se.getLocationInContainerInBits();
+                break;
+            case PREVIOUS_ENTRY:
+                position += se.getLocationInContainerInBits();
+                break;
+            }
+            int sizeInBits = getFixedSizeInBits(se);
+            if (known && sizeInBits > 0 && position >= 0) {
+                ParameterEntry pe = (ParameterEntry) se;
+                ops[i] = new DecodeOp(pe, fromContainerStart, position, sizeInBits);
+                position += sizeInBits;
+                count++;
+            } else {
+                known = false;
+            }
+        }
+        return count == 0 ? null : new ContainerDecodingPlan(ops);
+    }
+
+    /**
+     * Returns the number of bits consumed by the {@link DataEncodingDecoder} when extracting the entry or -1 if the
+     * entry cannot be part of a plan.
+     */
+    static int getFixedSizeInBits(SequenceEntry se) {
+        if (se.getClass() != ParameterEntry.class || se.getIncludeCondition() != null
+                || se.getRepeatEntry() != null) {
+            return -1;
+        }
+        ParameterType ptype = ((ParameterEntry) se).getParameter().getParameterType();
+        if (!(ptype instanceof BaseDataType)) {
+            return -1;
+        }
+        DataEncoding encoding = ((BaseDataType) ptype).getEncoding();
+        if (encoding == null || encoding.getFromBinaryTransformAlgorithm() != null) {
+            return -1;
+        }
+        if (encoding instanceof IntegerDataEncoding) {
+            IntegerDataEncoding ide = (IntegerDataEncoding) encoding;
+            if (ide.getEncoding() == IntegerDataEncoding.Encoding.STRING) {
+                return -1;
+            }
+            int size = ide.getSizeInBits();
+            return size > 0 && size <= 64 ? size : -1;
+        } else if (encoding instanceof FloatDataEncoding) {
+            FloatDataEncoding fde = (FloatDataEncoding) encoding;
+            switch (fde.getEncoding()) {
+            case IEEE754_1985:
+            case MILSTD_1750A:
+                return fde.getSizeInBits() == 32 ? 32 : 64;
+            default:
+                return -1;
+            }
+        } else if (encoding instanceof BooleanDataEncoding) {
+            return 1;
+        } else {
+            return -1;
+        }
+    }
+
+    static final class DecodeOp {
+        final ParameterEntry entry;
+        final Parameter parameter;
+        final DataEncoding encoding;
+        /**
+         * if true, the offset is relative to the start of the buffer (as for the CONTAINER_START entries), otherwise
+         * it is relative to the position of the buffer when the extraction of the container starts.
+         */
+        final boolean fromContainerStart;
+        final int bitOffset;
+        final int sizeInBits;
+
+        DecodeOp(ParameterEntry entry, boolean fromContainerStart, int bitOffset, int sizeInBits) {
+            this.entry = entry;
+            this.parameter = entry.getParameter();
+            this.encoding = ((BaseDataType) parameter.getParameterType()).getEncoding();
+            this.fromContainerStart = fromContainerStart;
+            this.bitOffset = bitOffset;
+            this.sizeInBits = sizeInBits;
+        }
+
+        @Override
+        public String toString() {
+            return parameter.getQualifiedName() + "@" + (fromContainerStart ? "" : "+") + bitOffset + "/"
+                    + sizeInBits;
+        }
+    }
+}
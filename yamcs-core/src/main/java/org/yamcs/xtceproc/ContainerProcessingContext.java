@@ -24,7 +24,7 @@ public class ContainerProcessingContext {
     // with respect to the primary container where the processing started
     int containerAbsoluteByteOffset;
 
-    Subscription subscription;
+    Subscription.Snapshot subscription;
     ContainerProcessingResult result;
     ContainerProcessingOptions options;
 
@@ -38,6 +38,11 @@ public class ContainerProcessingContext {
 
     public ContainerProcessingContext(ProcessorData pdata, BitBuffer buffer, ContainerProcessingResult result,
             Subscription subscription, ContainerProcessingOptions options) {
+        this(pdata, buffer, result, subscription.getSnapshot(), options);
+    }
+
+    public ContainerProcessingContext(ProcessorData pdata, BitBuffer buffer, ContainerProcessingResult result,
+            Subscription.Snapshot subscription, ContainerProcessingOptions options) {
         this.pdata = pdata;
         this.buffer = buffer;
         this.subscription = subscription;
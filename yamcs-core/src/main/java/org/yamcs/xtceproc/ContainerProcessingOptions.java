@@ -5,6 +5,7 @@ import org.yamcs.YConfiguration;
 public class ContainerProcessingOptions {
     private static final String CONFIG_KEY_ignoreOutOfContainerEntries = "ignoreOutOfContainerEntries";
     private static final String CONFIG_KEY_expirationTolerance = "expirationTolerance";
+    private static final String CONFIG_KEY_compiledPlans = "compiledPlans";
     /**
      * If set to true, the entries that fit outside the packet definition, will not be even logged.
      * If set to false, a log message at WARNING level will be printed for the first entry that fits outside the binary
@@ -21,10 +22,19 @@ public class ContainerProcessingOptions {
      */
     double expirationTolerance = 1.9;
 
+    /**
+     * If set to true, the entries having a static position and a fixed size encoding are extracted using a
+     * precomputed plan (see {@link ContainerDecodingPlan}) instead of walking through the entries one by one.
+     * <p>
+     * The extracted values are the same in both cases.
+     */
+    boolean compiledPlans = false;
+
     public ContainerProcessingOptions(YConfiguration config) {
         if (config != null) {
             ignoreOutOfContainerEntries = config.getBoolean(CONFIG_KEY_ignoreOutOfContainerEntries, false);
             expirationTolerance = config.getDouble(CONFIG_KEY_expirationTolerance, expirationTolerance);
+            compiledPlans = config.getBoolean(CONFIG_KEY_compiledPlans, false);
         }
     }
     /**
@@ -50,4 +60,12 @@ public class ContainerProcessingOptions {
         this.expirationTolerance = expirationTolerance;
     }
 
+    public boolean useCompiledPlans() {
+        return compiledPlans;
+    }
+
+    public void setCompiledPlans(boolean compiledPlans) {
+        this.compiledPlans = compiledPlans;
+    }
+
 }
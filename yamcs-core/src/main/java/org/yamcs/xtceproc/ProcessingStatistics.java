@@ -16,13 +16,15 @@ public class ProcessingStatistics {
     public void newPacket(String pname, int subscribedParameterCount, long acquisitionTime,
             long generationTime, int sizeInBits) {
         TmStats s = stats.computeIfAbsent(pname, p -> new TmStats());
-        s.pname = pname;
-        s.receivedPackets++;
-        s.subscribedParameterCount = subscribedParameterCount;
-        s.lastReceived = acquisitionTime;
-        s.lastPacketTime = generationTime;
-        s.packetRateMeter.mark(1);
-        s.dataRateMeter.mark(sizeInBits);
+        synchronized (s) { // packets may be extracted in parallel
+            s.pname = pname;
+            s.receivedPackets++;
+            s.subscribedParameterCount = subscribedParameterCount;
+            s.lastReceived = acquisitionTime;
+            s.lastPacketTime = generationTime;
+            s.packetRateMeter.mark(1);
+            s.dataRateMeter.mark(sizeInBits);
+        }
         lastUpdated = System.currentTimeMillis();
     }
 
@@ -3,6 +3,7 @@ package org.yamcs.xtceproc;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.yamcs.Processor;
@@ -48,7 +49,7 @@ public class ProcessorData {
      */
     final ParameterTypeProcessor parameterTypeProcessor;
 
-    private Map<Calibrator, CalibratorProc> calibrators = new HashMap<>();
+    private Map<Calibrator, CalibratorProc> calibrators = new ConcurrentHashMap<>();
     private Map<DataEncoding, DataDecoder> decoders = new HashMap<>();
     private Map<DataEncoding, DataEncoder> encoders = new HashMap<>();
 
@@ -64,7 +65,7 @@ public class ProcessorData {
     /**
      * used to store parameter types which are changed dynamically (so they don't correspond anymore to MDB)
      */
-    Map<Parameter, ParameterType> typeOverrides = new HashMap<>();
+    Map<Parameter, ParameterType> typeOverrides = new ConcurrentHashMap<>();
     String yamcsInstance;
 
     private ProcessorConfig processorConfig;
@@ -2,12 +2,11 @@ package org.yamcs.xtceproc;
 
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
-import java.util.Set;
-import java.util.SortedSet;
 
 import org.yamcs.ContainerExtractionResult;
 import org.yamcs.logging.Log;
 import org.yamcs.utils.BitBuffer;
+import org.yamcs.xtceproc.ContainerDecodingPlan.DecodeOp;
 import org.yamcs.xtce.MatchCriteria;
 import org.yamcs.xtce.ParameterEntry;
 import org.yamcs.xtce.RateInStream;
@@ -37,10 +36,27 @@ public class SequenceContainerProcessor {
         int maxposition = buf.getPosition();
 
         // then extract the entries
-        SortedSet<SequenceEntry> entries = pcontext.subscription.getEntries(seq);
+        Subscription.ContainerInfo cinfo = pcontext.subscription.getContainerInfo(seq);
+        SequenceEntry[] entries = cinfo == null ? null : cinfo.entries;
         if (entries != null) {
-            for (SequenceEntry se : entries) {
+            ContainerDecodingPlan plan = pcontext.options.useCompiledPlans() ? cinfo.plan : null;
+            int startPosition = buf.getPosition();
+            for (int k = 0; k < entries.length; k++) {
+                SequenceEntry se = entries[k];
                 try {
+                    if (plan != null && plan.ops[k] != null) {
+                        DecodeOp op = plan.ops[k];
+                        int position = op.fromContainerStart ? op.bitOffset : startPosition + op.bitOffset;
+                        if (position + op.sizeInBits <= buf.sizeInBits()) {
+                            buf.setPosition(position);
+                            pcontext.sequenceEntryProcessor.extract(op);
+                            if (buf.getPosition() > maxposition) {
+                                maxposition = buf.getPosition();
+                            }
+                            continue;
+                        }
+                        // the entry does not fit in the packet; let the code below deal with it
+                    }
 
                     if (se.getIncludeCondition() != null
                             && !se.getIncludeCondition().isMet(pcontext.criteriaEvaluator)) {
@@ -99,7 +115,7 @@ public class SequenceContainerProcessor {
             }
         }
 
-        Set<SequenceContainer> inheritingContainers = pcontext.subscription.getInheritingContainers(seq);
+        SequenceContainer[] inheritingContainers = cinfo == null ? null : cinfo.inheritingContainers;
         boolean hasDerived = false;
         if (inheritingContainers != null) {
             // And then any derived containers
@@ -120,7 +136,7 @@ public class SequenceContainerProcessor {
         // Finaly update the stats. We add the packet into the statistics only if it doesn't have a derived container
         if (!hasDerived && (result.stats != null)) {
             String pname = result.getPacketName();
-            result.stats.newPacket(pname, (entries == null) ? 0 : entries.size(),
+            result.stats.newPacket(pname, (entries == null) ? 0 : entries.length,
                     result.acquisitionTime, result.generationTime, buf.sizeInBits());
         }
     }
@@ -26,6 +26,7 @@ import org.yamcs.xtce.ParameterInstanceRef;
 import org.yamcs.xtce.ParameterType;
 import org.yamcs.xtce.SequenceEntry;
 import org.yamcs.xtce.XtceDb;
+import org.yamcs.xtceproc.ContainerDecodingPlan.DecodeOp;
 
 public class SequenceEntryProcessor {
     static Logger log = LoggerFactory.getLogger(SequenceEntryProcessor.class.getName());
@@ -98,6 +99,32 @@ public class SequenceEntryProcessor {
         return pv;
     }
 
+    /**
+     * Extracts a parameter entry part of a {@link ContainerDecodingPlan}. The buffer has to be positioned at the start
+     * of the entry.
+     */
+    void extract(DecodeOp op) {
+        ContainerParameterValue pv = new ContainerParameterValue(op.parameter);
+        int offset = pcontext.buffer.getPosition();
+        pv.setAbsoluteBitOffset(pcontext.containerAbsoluteByteOffset + offset);
+
+        Value rv = pcontext.dataEncodingProcessor.extractRaw(op.encoding);
+        if (rv == null) {
+            pv.setAcquisitionStatus(AcquisitionStatus.INVALID);
+        } else {
+            pv.setRawValue(rv);
+        }
+        pv.setBitSize(op.sizeInBits);
+
+        pcontext.pdata.parameterTypeProcessor.calibrate(pcontext, pv);
+
+        pv.setAcquisitionTime(pcontext.result.acquisitionTime);
+        pv.setGenerationTime(pcontext.result.generationTime);
+        pv.setExpireMillis(pcontext.result.expireMillis);
+        pv.setSequenceEntry(op.entry);
+        pcontext.result.params.add(pv);
+    }
+
     private void extractParameterEntry(ParameterEntry pe) {
         ContainerParameterValue pv = extractParameter(pe.getParameter());
         pv.setSequenceEntry(pe);
@@ -25,7 +25,10 @@ import org.yamcs.xtce.XtceDb;
 
 /**
  * keeps track of the parameters and containers subscribed (because we only want to extract those)
- * 
+ * <p>
+ * The modifications are synchronized on this object. The packet extraction uses an immutable {@link Snapshot}
+ * obtained with {@link #getSnapshot()} which is rebuilt after each modification; this allows extracting packets in
+ * parallel and modifying the subscription without stopping the extraction.
  * 
  * @author nm
  *
@@ -40,11 +43,14 @@ public class Subscription {
 
     XtceDb xtcedb;
 
+    // rebuilt on demand after a modification
+    private volatile Snapshot snapshot;
+
     Subscription(XtceDb xtcedb) {
         this.xtcedb = xtcedb;
     }
 
-    public void addSequenceContainer(SequenceContainer seq) {
+    public synchronized void addSequenceContainer(SequenceContainer seq) {
         // if there is a base container, add that one to the subscription and the parameters which have to be
         // extracted from the base in order to know if the inheritance condition applies
         if (seq.getBaseContainer() != null) {
@@ -80,7 +86,7 @@ public class Subscription {
      * 
      * @param seq
      */
-    public void addAll(SequenceContainer seq) {
+    public synchronized void addAll(SequenceContainer seq) {
         for (SequenceEntry se : seq.getEntryList()) {
             addContainer2Entry(seq, se);
             if (se instanceof ContainerEntry) {
@@ -96,7 +102,7 @@ public class Subscription {
         }
     }
 
-    public void addSequenceEntry(SequenceEntry se) {
+    public synchronized void addSequenceEntry(SequenceEntry se) {
         boolean containerAlreadyAdded = container2EntryMap.containsKey(se.getSequenceContainer());
 
         addContainer2Entry(se.getSequenceContainer(), se);
@@ -137,7 +143,7 @@ public class Subscription {
      * 
      * @param parameter
      */
-    public void addParameter(Parameter parameter) {
+    public synchronized void addParameter(Parameter parameter) {
         List<ParameterEntry> tpips = xtcedb.getParameterEntries(parameter);
         if (tpips != null) {
             for (ParameterEntry pe : tpips) {
@@ -158,15 +164,43 @@ public class Subscription {
 
     private void addContainer2Entry(SequenceContainer sc, SequenceEntry se) {
         TreeSet<SequenceEntry> ts = container2EntryMap.computeIfAbsent(sc, k -> new TreeSet<SequenceEntry>());
-        ts.add(se);
+        if (ts.add(se)) {
+            snapshot = null;
+        }
     }
 
     private void addContainer2InheritingContainer(SequenceContainer container, SequenceContainer inheritedContainer) {
         HashSet<SequenceContainer> hs = container2InheritingContainerMap.computeIfAbsent(container,
                 k -> new HashSet<>());
-        hs.add(inheritedContainer);
+        if (hs.add(inheritedContainer)) {
+            snapshot = null;
+        }
     }
 
+    /**
+     * Returns an immutable view of the subscription, rebuilding it if the subscription has been modified since the
+     * last call.
+     * 
+     * @return the current snapshot of the subscription
+     */
+    public Snapshot getSnapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null) {
+                    s = new Snapshot(container2EntryMap, container2InheritingContainerMap);
+                    snapshot = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * The mutable sets returned by this method should only be accessed while holding the lock on the subscription;
+     * use {@link #getSnapshot()} otherwise.
+     */
     public SortedSet<SequenceEntry> getEntries(SequenceContainer container) {
         return container2EntryMap.get(container);
     }
@@ -180,7 +214,7 @@ public class Subscription {
      * 
      * @return set of containers subscribed
      */
-    public Collection<SequenceContainer> getContainers() {
+    public synchronized Collection<SequenceContainer> getContainers() {
         Set<SequenceContainer> r = new HashSet<SequenceContainer>();
         r.addAll(container2InheritingContainerMap.keySet());
         for (HashSet<SequenceContainer> hs : container2InheritingContainerMap.values()) {
@@ -191,7 +225,7 @@ public class Subscription {
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("Current list of parameter subscribed:\n");
         for (Map.Entry<SequenceContainer, TreeSet<SequenceEntry>> me : container2EntryMap.entrySet()) {
@@ -217,4 +251,71 @@ public class Subscription {
         return sb.toString();
     }
 
+    /**
+     * Immutable copy of the subscription used during the packet extraction.
+     * <p>
+     * For each container, the subscribed entries (in the order of their position in the container) and the inheriting
+     * containers are stored in arrays retrieved with one map lookup. The arrays are shared and must not be modified.
+     */
+    public static final class Snapshot {
+        private static final SequenceEntry[] NO_ENTRIES = new SequenceEntry[0];
+        private static final SequenceContainer[] NO_CONTAINERS = new SequenceContainer[0];
+
+        private final Map<SequenceContainer, ContainerInfo> containers;
+
+        Snapshot(Map<SequenceContainer, TreeSet<SequenceEntry>> container2EntryMap,
+                Map<SequenceContainer, HashSet<SequenceContainer>> container2InheritingContainerMap) {
+            Map<SequenceContainer, SequenceEntry[]> entries = new HashMap<>();
+            for (Map.Entry<SequenceContainer, TreeSet<SequenceEntry>> me : container2EntryMap.entrySet()) {
+                entries.put(me.getKey(), me.getValue().toArray(NO_ENTRIES));
+            }
+            Map<SequenceContainer, SequenceContainer[]> inheriting = new HashMap<>();
+            for (Map.Entry<SequenceContainer, HashSet<SequenceContainer>> me : container2InheritingContainerMap
+                    .entrySet()) {
+                inheriting.put(me.getKey(), me.getValue().toArray(NO_CONTAINERS));
+            }
+            Set<SequenceContainer> all = new HashSet<>(entries.keySet());
+            all.addAll(inheriting.keySet());
+
+            containers = new HashMap<>(all.size() * 2);
+            for (SequenceContainer sc : all) {
+                containers.put(sc, new ContainerInfo(entries.get(sc), inheriting.get(sc)));
+            }
+        }
+
+        /**
+         * @return the subscribed entries of the container or null if there is none
+         */
+        public SequenceEntry[] getEntries(SequenceContainer container) {
+            ContainerInfo ci = containers.get(container);
+            return ci == null ? null : ci.entries;
+        }
+
+        /**
+         * @return the subscribed containers inheriting from the container or null if there is none
+         */
+        public SequenceContainer[] getInheritingContainers(SequenceContainer container) {
+            ContainerInfo ci = containers.get(container);
+            return ci == null ? null : ci.inheritingContainers;
+        }
+
+        ContainerInfo getContainerInfo(SequenceContainer container) {
+            return containers.get(container);
+        }
+    }
+
+    static final class ContainerInfo {
+        final SequenceEntry[] entries;
+        final SequenceContainer[] inheritingContainers;
+        /**
+         * precomputed decoding of the entries with a static position; null if there is no such entry
+         */
+        final ContainerDecodingPlan plan;
+
+        ContainerInfo(SequenceEntry[] entries, SequenceContainer[] inheritingContainers) {
+            this.entries = entries;
+            this.inheritingContainers = inheritingContainers;
+            this.plan = entries == null ? null : ContainerDecodingPlan.compile(entries);
+        }
+    }
 }
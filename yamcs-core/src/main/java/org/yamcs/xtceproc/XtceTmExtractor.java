@@ -83,9 +83,11 @@ public class XtceTmExtractor {
      * Adds all containers and parameters to the subscription
      */
     public void provideAll() {
-        for (SequenceContainer c : xtcedb.getSequenceContainers()) {
-            if (c.getBaseContainer() == null) {
-                subscription.addAll(c);
+        synchronized (subscription) {
+            for (SequenceContainer c : xtcedb.getSequenceContainers()) {
+                if (c.getBaseContainer() == null) {
+                    subscription.addAll(c);
+                }
             }
         }
     }
@@ -118,16 +120,18 @@ public class XtceTmExtractor {
 
     /**
      * Extract one packet, starting at the specified container.
+     * <p>
+     * The extraction uses a snapshot of the subscription and does not hold any lock, so this method can be called
+     * concurrently from multiple threads. Changes of the subscription are visible to the packets processed after the
+     * change.
      */
     public ContainerProcessingResult processPacket(BitBuffer buf, long generationTime, long acquisitionTime,
             SequenceContainer startContainer) {
         ContainerProcessingResult result = new ContainerProcessingResult(acquisitionTime, generationTime, stats);
         try {
-            synchronized (subscription) {
-                ContainerProcessingContext cpc = new ContainerProcessingContext(pdata, buf, result, subscription,
-                        options);
-                cpc.sequenceContainerProcessor.extract(startContainer);
-            }
+            ContainerProcessingContext cpc = new ContainerProcessingContext(pdata, buf, result,
+                    subscription.getSnapshot(), options);
+            cpc.sequenceContainerProcessor.extract(startContainer);
         } catch (Exception e) {
             // send warning as events and in the log file.
             pdata.eventProducer.sendWarning(e.toString());
@@ -0,0 +1,279 @@
+package org.yamcs.yarch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.yamcs.logging.Log;
+
+/**
+ * Delivers the tuples of a stream to a subscriber from a dedicated thread.
+ * <p>
+ * The tuples emitted on the stream are stored in a bounded ring buffer and the producer returns immediately, such that
+ * a slow subscriber does not stall the thread emitting the tuples and the other subscribers of the stream. What happens
+ * when the buffer is full is decided by the {@link OverflowPolicy}.
+ * <p>
+ * The consumer thread takes all the available tuples from the buffer at once and delivers them outside the lock, so
+ * the producer and the consumer contend only for very short periods. The producer side is also protected by the lock
+ * because a stream may be fed from several threads.
+ * <p>
+ * The {@link StreamSubscriber#streamClosed(Stream)} is delivered after all the queued tuples.
+ * <p>
+ * Instances are created with {@link Stream#addAsyncSubscriber(StreamSubscriber, int, OverflowPolicy)}.
+ */
+public class AsyncStreamSubscriber implements StreamSubscriber {
+    public enum OverflowPolicy {
+        /**
+         * the producer waits until there is space in the buffer
+         */
+        BLOCK,
+        /**
+         * the oldest tuple in the buffer is discarded to make space for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * the new tuple is discarded
+         */
+        DROP_NEWEST
+    }
+
+    // maximum number of tuples taken from the buffer in one go
+    static final int MAX_BATCH_SIZE = 1024;
+
+    final Stream stream;
+    final StreamSubscriber subscriber;
+    final OverflowPolicy overflowPolicy;
+    final Log log;
+
+    private final Tuple[] buffer;
+    private final long[] enqueueTime;
+    // next position to be read, resp. written; the index in the buffer is position % buffer.length
+    private long head, tail;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private boolean streamClosed;
+    private volatile boolean quitting;
+
+    private volatile long deliveredCount;
+    private volatile long droppedCount;
+    private final Thread thread;
+
+    AsyncStreamSubscriber(Stream stream, StreamSubscriber subscriber, int queueSize, OverflowPolicy overflowPolicy) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("The queue size has to be positive");
+        }
+        this.stream = stream;
+        this.subscriber = subscriber;
+        this.overflowPolicy = overflowPolicy;
+        this.buffer = new Tuple[queueSize];
+        this.enqueueTime = new long[queueSize];
+        this.log = new Log(getClass(), stream.ydb.getName());
+        log.setContext(stream.getName());
+
+        thread = new Thread(this::run, "async-" + stream.getName());
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    @Override
+    public void onTuple(Stream s, Tuple tuple) {
+        lock.lock();
+        try {
+            if (quitting || streamClosed) {
+                return;
+            }
+            while (tail - head == buffer.length) {
+                switch (overflowPolicy) {
+                case BLOCK:
+                    notFull.await();
+                    if (quitting) {
+                        return;
+                    }
+                    break;
+                case DROP_OLDEST:
+                    buffer[index(head)] = null;
+                    head++;
+                    droppedCount++;
+                    break;
+                case DROP_NEWEST:
+                    droppedCount++;
+                    return;
+                }
+            }
+            int idx = index(tail);
+            buffer[idx] = tuple;
+            enqueueTime[idx] = System.nanoTime();
+            tail++;
+            if (tail - head == 1) {
+                notEmpty.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCount++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void streamClosed(Stream s) {
+        lock.lock();
+        try {
+            streamClosed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the consumer thread, discarding the tuples not yet delivered.
+     * <p>
+     * Called when the subscriber is removed from the stream.
+     */
+    void quit() {
+        quitting = true;
+        lock.lock();
+        try {
+            notEmpty.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        Tuple[] batch = new Tuple[Math.min(buffer.length, MAX_BATCH_SIZE)];
+        while (true) {
+            int n;
+            boolean closed;
+            lock.lock();
+            try {
+                while (head == tail && !streamClosed && !quitting) {
+                    notEmpty.await();
+                }
+                if (quitting) {
+                    return;
+                }
+                n = (int) Math.min(tail - head, batch.length);
+                for (int k = 0; k < n; k++) {
+                    int idx = index(head);
+                    batch[k] = buffer[idx];
+                    buffer[idx] = null;
+                    head++;
+                }
+                closed = streamClosed && head == tail;
+                if (n > 0) {
+                    notFull.signalAll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            for (int k = 0; k < n; k++) {
+                Tuple t = batch[k];
+                batch[k] = null;
+                if (quitting) {
+                    return;
+                }
+                try {
+                    subscriber.onTuple(stream, t);
+                } catch (Exception e) {
+                    log.warn("Exception received when delivering tuple to subscriber " + subscriber, e);
+                }
+                deliveredCount++;
+            }
+            if (closed) {
+                subscriber.streamClosed(stream);
+                return;
+            }
+        }
+    }
+
+    private int index(long position) {
+        return (int) (position % buffer.length);
+    }
+
+    /**
+     *
+     * @return the subscriber to which the tuples are delivered
+     */
+    public StreamSubscriber getSubscriber() {
+        return subscriber;
+    }
+
+    public Stream getStream() {
+        return stream;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     *
+     * @return the maximum number of tuples that can be queued
+     */
+    public int getQueueCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     *
+     * @return the number of tuples waiting to be delivered
+     */
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     *
+     * @return the time in milliseconds since the oldest tuple waiting to be delivered has been queued or 0 if there is
+     *         no tuple waiting
+     */
+    public long getLag() {
+        lock.lock();
+        try {
+            if (head == tail) {
+                return 0;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueueTime[index(head)]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     *
+     * @return the number of tuples delivered to the subscriber
+     */
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     *
+     * @return the number of tuples discarded because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "async(" + subscriber + ")";
+    }
+}
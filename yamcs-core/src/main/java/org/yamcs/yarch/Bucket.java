@@ -1,6 +1,8 @@
 package org.yamcs.yarch;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -43,6 +45,23 @@ public interface Bucket {
 
     void putObject(String objectName, String contentType, Map<String, String> metadata, byte[] objectData)
             throws IOException;
+
+    /**
+     * Put an object with the content of a file. The file is not modified.
+     * <p>
+     * The default implementation reads the whole file in memory; the buckets which can store the data directly from
+     * the file override it.
+     * 
+     * @param objectName
+     * @param contentType
+     * @param metadata
+     * @param file
+     * @throws IOException
+     */
+    default void putObject(String objectName, String contentType, Map<String, String> metadata, Path file)
+            throws IOException {
+        putObject(objectName, contentType, metadata, Files.readAllBytes(file));
+    }
     
     /**
      * Retrieve object from the bucket. Returns null if object does not exist. 
@@ -84,4 +84,19 @@ public interface ColumnSerializer<T> {
         return deserialize(ba, cd);
     }
 
+    /**
+     * Skips one column value, advancing the position of the array after it.
+     * <p>
+     * It is used when reading table rows for the columns which are not required. The default implementation
+     * deserializes the value and discards it; the serializers of variable length types override it to skip the data
+     * based on its length.
+     * 
+     * @param array
+     *            - array used for the input
+     * @param cd
+     *            the column definition for the involved column
+     */
+    public default void skip(ByteArray array, ColumnDefinition cd) {
+        deserialize(array, cd);
+    }
 }
@@ -273,6 +273,15 @@ public class ColumnSerializerFactory {
             return decodeUTF(byteBuf, true);
         }
 
+        @Override
+        public void skip(ByteArray byteArray, ColumnDefinition cd) {
+            try {
+                byteArray.skipNullTerminated();
+            } catch (DecodingException e) {
+                throw new DatabaseCorruptionException(e);
+            }
+        }
+
         @Override
         public void serialize(ByteArray byteArray, String v) {
             byteArray.addNullTerminatedUTF(v);
@@ -309,6 +318,12 @@ public class ColumnSerializerFactory {
             return s;
         }
 
+        @Override
+        public void skip(ByteArray byteArray, ColumnDefinition cd) {
+            int len = byteArray.getShort() & 0xFFFF;
+            byteArray.skip(len);
+        }
+
         @Override
         public void serialize(ByteArray byteArray, String v) {
             byteArray.addSizePrefixedUTF(v);
@@ -406,6 +421,11 @@ public class ColumnSerializerFactory {
             return bp;
         }
 
+        @Override
+        public void skip(ByteArray byteArray, ColumnDefinition cd) {
+            byteArray.skip(byteArray.getInt());
+        }
+
         @Override
         public void serialize(ByteArray byteArray, byte[] v) {
             byteArray.addInt(v.length);
@@ -464,6 +484,11 @@ public class ColumnSerializerFactory {
             return b.build();
         }
 
+        @Override
+        public void skip(ByteArray byteArray, ColumnDefinition cd) {
+            byteArray.skip(byteArray.getInt());
+        }
+
         @Override
         public void serialize(ByteArray byteArray, MessageLite v) {
             byteArray.addSizePrefixedProto(v);
@@ -528,6 +553,11 @@ public class ColumnSerializerFactory {
             return getValue(byteBuf.getShort());
         }
 
+        @Override
+        public void skip(ByteArray byteArray, ColumnDefinition cd) {
+            byteArray.skip(2);
+        }
+
         @Override
         public void serialize(ByteArray byteArray, String value) {
             byteArray.addShort(getIndex(value));
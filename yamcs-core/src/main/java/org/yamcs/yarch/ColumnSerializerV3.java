@@ -259,6 +259,11 @@ public class ColumnSerializerV3 {
             return list;
         }
 
+        @Override
+        public void skip(ByteArray array, ColumnDefinition cd) {
+            array.skip(array.getInt());
+        }
+
         @Override
         public void serialize(ByteArray array, List v) {
             int position = array.size();
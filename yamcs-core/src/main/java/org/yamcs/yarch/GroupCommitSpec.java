@@ -0,0 +1,44 @@
+package org.yamcs.yarch;
+
+/**
+ * Specifies how a table writer groups rows before committing them to the database.
+ * <p>
+ * Instead of writing each tuple as soon as it is received, the writer accumulates the rows in a batch which is
+ * committed when it contains {@link #maxRows} rows or when {@link #maxDelay} milliseconds have passed since the first
+ * row has been added, whichever comes first.
+ * <p>
+ * Can be specified in the CREATE TABLE statement (stored with the table definition) or in the INSERT statements
+ * (overriding the table setting for that writer):
+ *
+ * <pre>
+ * create table tm(...) group_commit(1000, 100)
+ * insert into tm group_commit(1000, 100) select * from tm_realtime
+ * </pre>
+ *
+ */
+public class GroupCommitSpec {
+    /**
+     * maximum number of rows accumulated before committing the batch
+     */
+    final public int maxRows;
+    /**
+     * maximum time in milliseconds a row can stay uncommitted
+     */
+    final public int maxDelay;
+
+    public GroupCommitSpec(int maxRows, int maxDelay) {
+        if (maxRows < 1) {
+            throw new IllegalArgumentException("maxRows has to be positive");
+        }
+        if (maxDelay < 1) {
+            throw new IllegalArgumentException("maxDelay has to be positive");
+        }
+        this.maxRows = maxRows;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "GROUP_COMMIT(" + maxRows + ", " + maxDelay + ")";
+    }
+}
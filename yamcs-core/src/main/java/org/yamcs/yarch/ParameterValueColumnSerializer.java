@@ -49,6 +49,11 @@ public class ParameterValueColumnSerializer implements ColumnSerializer<Paramete
         return fromProto(cd.getName(), gpvb.build());
     }
 
+    @Override
+    public void skip(ByteArray byteArray, ColumnDefinition cd) {
+        byteArray.skip(byteArray.getInt());
+    }
+
     @Override
     public void serialize(ByteArray byteArray, ParameterValue pv) {
         byteArray.addSizePrefixedProto(toProto(pv));
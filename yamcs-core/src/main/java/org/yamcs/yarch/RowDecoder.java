@@ -0,0 +1,137 @@
+package org.yamcs.yarch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.yamcs.utils.ByteArray;
+import org.yamcs.utils.DatabaseCorruptionException;
+import org.yamcs.utils.IndexedList;
+import org.yamcs.utils.IntArray;
+import org.yamcs.utils.StringConverter;
+
+/**
+ * Decodes the rows of a table into tuples, optionally keeping only some of the value columns.
+ * <p>
+ * The value columns which are not required are skipped based on their serialized length instead of being decoded. The
+ * key columns are always decoded.
+ * <p>
+ * The value columns are optional so the rows of a table do not all have the same columns. The tuple definitions are
+ * cached and shared between all the rows having the same columns (in the same order), therefore the definitions of the
+ * returned tuples must not be modified.
+ * <p>
+ * This class is not thread safe, each table reader should use its own instance.
+ *
+ */
+public class RowDecoder {
+    // limits the memory used by the cache for tables with many different column combinations
+    static final int MAX_CACHED_SCHEMAS = 1000;
+
+    final TableDefinition tableDefinition;
+    final Set<String> requiredColumns;
+
+    // the value columns for which the fields below have been computed
+    IndexedList<String, TableColumnDefinition> valueDef;
+    // selected[i] is true if the value column with the index i has to be decoded
+    boolean[] selected;
+    TupleDefinition keyTdef;
+    // the tuple definitions indexed by the list of value columns indices present in the row
+    Map<IntArray, TupleDefinition> schemas = new HashMap<>();
+
+    /**
+     *
+     * @param tableDefinition
+     *            - the table whose rows are decoded
+     * @param requiredColumns
+     *            - the names of the columns to be decoded; if null, all columns are decoded
+     */
+    public RowDecoder(TableDefinition tableDefinition, Set<String> requiredColumns) {
+        this.tableDefinition = tableDefinition;
+        this.requiredColumns = requiredColumns;
+    }
+
+    public Tuple decode(byte[] k, byte[] v) {
+        IndexedList<String, TableColumnDefinition> vdef = tableDefinition.getValueDefinitionIndex();
+        if (vdef != valueDef) { // first row or the table definition has changed
+            reset(vdef);
+        }
+        List<TableColumnDefinition> keyDef = tableDefinition.getKeyDefinition();
+        ArrayList<Object> cols = new ArrayList<>(keyDef.size() + 4);
+        IntArray signature = new IntArray();
+        ByteArray byteArray = ByteArray.wrap(k);
+
+        try {
+            // deserialize the key
+            for (TableColumnDefinition tcd : keyDef) {
+                cols.add(tcd.deserializeValue(byteArray));
+            }
+
+            // deserialize the value
+            byteArray = ByteArray.wrap(v);
+            while (true) {
+                int cidx = byteArray.getInt(); // column index
+                if (cidx == -1) {
+                    break;
+                }
+                byte dt = (byte) (cidx >>> 24);
+                cidx &= 0xFFFFFF;
+                if (cidx >= vdef.size()) {
+                    throw new DatabaseCorruptionException(
+                            "Reference to index " + cidx + " found but the table definition does not have this column");
+                }
+
+                TableColumnDefinition tcd = vdef.get(cidx);
+                if (tableDefinition.getFormatVersion() >= 3 && tcd.getType().getTypeId() != dt) {
+                    throw new DatabaseCorruptionException(String.format(
+                            "Data type for table %s, column %s (id: %d) does not match the data read: expected %d, read: %d",
+                            tableDefinition.getName(), tcd.getName(), cidx, tcd.getType().getTypeId(), dt));
+                }
+                if (selected[cidx]) {
+                    cols.add(tcd.deserializeValue(byteArray));
+                    signature.add(cidx);
+                } else {
+                    tcd.getSerializer().skip(byteArray, tcd);
+                }
+            }
+        } catch (IOException e) {
+            throw new DatabaseCorruptionException(
+                    "cannot deserialize row from " + tableDefinition.getName() + " "
+                            + "(key:" + StringConverter.byteBufferToHexString(ByteBuffer.wrap(k))
+                            + ", value: " + StringConverter.byteBufferToHexString(ByteBuffer.wrap(v)) + ")",
+                    e);
+        }
+
+        return new Tuple(getTupleDefinition(signature), cols);
+    }
+
+    private TupleDefinition getTupleDefinition(IntArray signature) {
+        TupleDefinition tdef = schemas.get(signature);
+        if (tdef == null) {
+            tdef = keyTdef.copy();
+            for (int i = 0; i < signature.size(); i++) {
+                tdef.addColumn(valueDef.get(signature.get(i)));
+            }
+            if (schemas.size() < MAX_CACHED_SCHEMAS) {
+                schemas.put(signature, tdef);
+            }
+        }
+        return tdef;
+    }
+
+    private void reset(IndexedList<String, TableColumnDefinition> vdef) {
+        valueDef = vdef;
+        selected = new boolean[vdef.size()];
+        for (int i = 0; i < selected.length; i++) {
+            selected[i] = requiredColumns == null || requiredColumns.contains(vdef.get(i).getName());
+        }
+        keyTdef = new TupleDefinition();
+        for (TableColumnDefinition tcd : tableDefinition.getKeyDefinition()) {
+            keyTdef.addColumn(tcd);
+        }
+        schemas.clear();
+    }
+}
@@ -7,6 +7,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.yamcs.logging.Log;
+import org.yamcs.yarch.AsyncStreamSubscriber.OverflowPolicy;
 
 /**
  * Streams are means to transport tuples.
@@ -78,9 +79,49 @@ public abstract class Stream {
         subscriberCount.incrementAndGet();
     }
 
+    /**
+     * Adds a subscriber which receives the tuples from a dedicated thread instead of the thread emitting them.
+     * <p>
+     * Up to queueSize tuples are buffered for the subscriber; the overflow policy decides what happens when the
+     * subscriber does not keep up.
+     * <p>
+     * The subscriber can be removed with {@link #removeSubscriber(StreamSubscriber)} as usual.
+     * 
+     * @return the object wrapping the subscriber, which can be used to monitor its queue
+     */
+    public AsyncStreamSubscriber addAsyncSubscriber(StreamSubscriber s, int queueSize, OverflowPolicy overflowPolicy) {
+        AsyncStreamSubscriber asyncSubscriber = new AsyncStreamSubscriber(this, s, queueSize, overflowPolicy);
+        asyncSubscriber.start();
+        addSubscriber(asyncSubscriber);
+        return asyncSubscriber;
+    }
+
+    /**
+     * Removes the subscriber.
+     * <p>
+     * If the subscriber has been added with {@link #addAsyncSubscriber(StreamSubscriber, int, OverflowPolicy)}, its
+     * delivery thread is stopped and the tuples not yet delivered are discarded.
+     */
     public void removeSubscriber(StreamSubscriber s) {
-        subscribers.remove(s);
+        StreamSubscriber removed = null;
+        if (subscribers.remove(s)) {
+            removed = s;
+        } else {
+            for (StreamSubscriber s1 : subscribers) {
+                if (s1 instanceof AsyncStreamSubscriber && ((AsyncStreamSubscriber) s1).getSubscriber() == s
+                        && subscribers.remove(s1)) {
+                    removed = s1;
+                    break;
+                }
+            }
+        }
+        if (removed == null) {
+            return;
+        }
         subscriberCount.decrementAndGet();
+        if (removed instanceof AsyncStreamSubscriber) {
+            ((AsyncStreamSubscriber) removed).quit();
+        }
     }
 
     public ColumnDefinition getColumnDefinition(String colName) {
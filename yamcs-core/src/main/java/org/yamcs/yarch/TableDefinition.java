@@ -67,6 +67,8 @@ public class TableDefinition {
     private YarchDatabaseInstance ydb;
 
     private boolean compressed;
+    // if not null, the writers accumulate rows into batches before committing them
+    private GroupCommitSpec groupCommitSpec;
     private PartitioningSpec partitioningSpec = PartitioningSpec.noneSpec();
 
     private String storageEngineName = YarchDatabase.RDB_ENGINE_NAME;
@@ -237,6 +239,13 @@ public class TableDefinition {
         return valueDef.getList();
     }
 
+    /**
+     * the value columns indexed by name; the object is replaced each time a column is added or changed.
+     */
+    IndexedList<String, TableColumnDefinition> getValueDefinitionIndex() {
+        return valueDef;
+    }
+
     public String getName() {
         return name;
     }
@@ -531,6 +540,12 @@ public class TableDefinition {
         }
     }
 
+    /**
+     * Transforms the key and value read from the database into a tuple having all the columns present in the row.
+     * <p>
+     * Each call creates a new tuple definition which can be modified by the caller. The readers which do not need to
+     * modify the tuple definition should use a {@link RowDecoder}.
+     */
     public Tuple deserialize(byte[] k, byte[] v) {
         TupleDefinition tdef = new TupleDefinition();
         ArrayList<Object> cols = new ArrayList<>();
@@ -612,6 +627,18 @@ public class TableDefinition {
         this.compressed = compressed;
     }
 
+    /**
+     * 
+     * @return the group commit settings used by the table writers or null if the rows are written one by one
+     */
+    public GroupCommitSpec getGroupCommitSpec() {
+        return groupCommitSpec;
+    }
+
+    public void setGroupCommitSpec(GroupCommitSpec groupCommitSpec) {
+        this.groupCommitSpec = groupCommitSpec;
+    }
+
     public void setHistogramColumns(List<String> histoColumns) throws StreamSqlException {
         if (keyDef.get(0).getType() != DataType.TIMESTAMP)
             throw new StreamSqlException(ErrCode.INVALID_HISTOGRAM_COLUMN,
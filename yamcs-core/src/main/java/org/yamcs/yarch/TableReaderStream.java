@@ -1,5 +1,6 @@
 package org.yamcs.yarch;
 
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -14,13 +15,28 @@ public class TableReaderStream extends Stream implements Runnable, TableVisitor
     TableWalker tblIterator;
     
     protected TableDefinition tableDefinition;;
+    final RowDecoder rowDecoder;
     Thread thread;
     
     public TableReaderStream(YarchDatabaseInstance ydb, TableDefinition tblDef, TableWalker iterator) {
+        this(ydb, tblDef, iterator, null);
+    }
+
+    /**
+     * Creates a stream emitting only the key columns and the value columns from the requiredColumns set.
+     * <p>
+     * The other value columns are skipped without being decoded.
+     * 
+     * @param requiredColumns
+     *            - the names of the columns needed by the consumers of the stream; null means all columns.
+     */
+    public TableReaderStream(YarchDatabaseInstance ydb, TableDefinition tblDef, TableWalker iterator,
+            Set<String> requiredColumns) {
        super(ydb, tblDef.getName() + "_" + count.getAndIncrement(),
                tblDef.getTupleDefinition());
        this.tblIterator = iterator;
        this.tableDefinition = tblDef;
+       this.rowDecoder = new RowDecoder(tblDef, requiredColumns);
     }
   
     @Override
@@ -50,7 +66,7 @@ public class TableReaderStream extends Stream implements Runnable, TableVisitor
 
 
     protected Tuple dataToTuple(byte[] k, byte[] v) {
-        return tableDefinition.deserialize(k, v);
+        return rowDecoder.decode(k, v);
     }
 
     @Override
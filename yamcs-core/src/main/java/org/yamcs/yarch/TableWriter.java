@@ -48,6 +48,17 @@ public abstract class TableWriter implements StreamSubscriber {
         return closeFuture;
     }
 
+    /**
+     * Overrides the group commit settings from the table definition.
+     * <p>
+     * Has to be called before the writer receives the first tuple. Writers which do not support grouping rows into
+     * batches ignore the settings and write the rows one by one.
+     * 
+     * @param groupCommitSpec
+     */
+    public void setGroupCommitSpec(GroupCommitSpec groupCommitSpec) {
+    }
+
     /**
      * close writer and any open resources
      * <p> call the close future after closing has been completed
@@ -2,12 +2,17 @@ package org.yamcs.yarch.rocksdb;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
@@ -30,6 +35,8 @@ import org.yamcs.yarch.YarchException;
 import org.yamcs.yarch.rocksdb.protobuf.Tablespace.TablespaceRecord.Type;
 import org.yamcs.yarch.streamsql.StreamSqlException;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import static org.yamcs.yarch.HistogramSegment.segmentStart;
 import static org.yamcs.yarch.rocksdb.RdbHistogramInfo.histoDbKey;
 import static org.yamcs.yarch.rocksdb.RdbStorageEngine.dbKey;
@@ -46,6 +53,7 @@ public class HistogramRebuilder {
     static Logger log = LoggerFactory.getLogger(HistogramRebuilder.class);
     Tablespace tablespace;
     protected TableVisitor visitor;
+    int numThreads = Runtime.getRuntime().availableProcessors();
 
     public HistogramRebuilder(Tablespace tablespace, YarchDatabaseInstance ydb, String tableName) {
         this.ydb = ydb;
@@ -60,9 +68,21 @@ public class HistogramRebuilder {
         }
     }
 
+    /**
+     * Sets the number of threads used for rebuilding the histograms of different partitions in parallel (default: the
+     * number of available processors).
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("The number of threads has to be at least 1");
+        }
+        this.numThreads = numThreads;
+    }
+
     public CompletableFuture<Void> rebuild() throws YarchException {
         return rebuild(new TimeInterval());
     }
+
     public CompletableFuture<Void> rebuild(TimeInterval timeIterval) throws YarchException {
         if (timeIterval.hasStart() || timeIterval.hasEnd()) {
             log.info("Rebuilding histogram for table {}/{} time interval: {}", ydb.getName(), tableDefinition.getName(),
@@ -70,26 +90,50 @@ public class HistogramRebuilder {
         } else {
             log.info("Rebuilding histogram for table {}/{}", ydb.getName(), tableDefinition.getName());
         }
-        CompletableFuture<Void> startCf = new CompletableFuture<Void>();
 
         PartitionManager partitionManager = tablespace.getTable(tableDefinition).getPartitionManager();
 
         // an Interval is a collection of value based partitions for the same time interval
         // in the rocksdb2 engine all these partitions share the same rocksdb database
         // we need to iterate over such intervals to snapshot the corresponding database while freezing the normal
-        // histogram writers
+        // histogram writers.
+        // The intervals stored in different databases are rebuilt in parallel, the ones sharing the same database are
+        // rebuilt one after the other.
+        Map<String, List<Interval>> intervalsByDir = new LinkedHashMap<>();
         Iterator<Interval> intervalIterator = partitionManager.intervalIterator(timeIterval);
-        CompletableFuture<Void> cf = startCf;
-
         while (intervalIterator.hasNext()) {
             Interval interval = intervalIterator.next();
-            CompletableFuture<Void> cf1 = cf;
-            cf = cf1.thenAccept(v -> {
-                rebuildHistogramsForInterval(interval, cf1);
+            RdbPartition p0 = (RdbPartition) interval.iterator().next();
+            intervalsByDir.computeIfAbsent(p0.dir, k -> new ArrayList<>()).add(interval);
+        }
+        if (intervalsByDir.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        ThreadFactory tf = new ThreadFactoryBuilder()
+                .setNameFormat("HistogramRebuilder-" + tableDefinition.getName() + "-%d").build();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numThreads, intervalsByDir.size()), tf);
+        List<CompletableFuture<Void>> cfList = new ArrayList<>();
+        for (List<Interval> intervals : intervalsByDir.values()) {
+            CompletableFuture<Void> cf = new CompletableFuture<>();
+            executor.execute(() -> {
+                for (Interval interval : intervals) {
+                    rebuildHistogramsForInterval(interval, cf);
+                    if (cf.isDone()) { // completed exceptionally
+                        return;
+                    }
+                }
+                cf.complete(null);
             });
+            cfList.add(cf);
         }
-        startCf.complete(null);
-        return cf;
+        executor.shutdown();
+
+        long t0 = System.currentTimeMillis();
+        return CompletableFuture.allOf(cfList.toArray(new CompletableFuture[0])).thenRun(() -> {
+            log.info("Rebuilt histogram for table {}/{} ({} databases) in {} ms", ydb.getName(),
+                    tableDefinition.getName(), intervalsByDir.size(), System.currentTimeMillis() - t0);
+        });
     }
 
     private void rebuildHistogramsForInterval(Interval interval, CompletableFuture<Void> cf) {
@@ -119,7 +163,13 @@ public class HistogramRebuilder {
     boolean deleteHistograms(Interval interval, CompletableFuture<Void> cf) {
         IntArray a = new IntArray();
         try {
-            for (HistogramInfo hi : interval.removeHistograms()) {
+            // the partition manager is also used by the writers of the table
+            Collection<HistogramInfo> histograms;
+            PartitionManager partitionManager = tablespace.getTable(tableDefinition).getPartitionManager();
+            synchronized (partitionManager) {
+                histograms = interval.removeHistograms();
+            }
+            for (HistogramInfo hi : histograms) {
                 RdbHistogramInfo histo = (RdbHistogramInfo) hi;
                 YRDB db = tablespace.getRdb(histo.partitionDir, false);
                 db.getDb().deleteRange(dbKey(histo.tbsIndex), dbKey(histo.tbsIndex + 1));
@@ -26,7 +26,8 @@ import org.yamcs.yarch.YarchException;
  * The {@link HistogramRebuilder} will use another writer during build
  * 
  * <p>
- * It does allow concurrent access
+ * It does allow concurrent access; the rows added by {@link #addHistogram(Row)} may be buffered and only be visible in
+ * the database after {@link #flush()} is called.
  * 
  * @author nm
  *
@@ -47,6 +48,24 @@ public abstract class HistogramWriter {
 
     public abstract void addHistogram(Row sertuple) throws IOException, RocksDBException;
 
+    /**
+     * Adds all the rows to the histograms, collecting the updated histogram segments in one write batch per database
+     * instead of writing them one by one.
+     * <p>
+     * Used by the table writers in group commit mode; the rows have to be already committed to the database (like for
+     * {@link #addHistogram(Row)}).
+     * 
+     * @param rows
+     */
+    public abstract void addHistograms(List<Row> rows) throws IOException, RocksDBException;
+
+    /**
+     * Adds to the histograms the rows which have been passed to {@link #addHistogram(Row)} but are still buffered.
+     * <p>
+     * Called before reading the histograms, when closing the table writers and periodically by the tablespace.
+     */
+    public abstract void flush();
+
     /**
      * called from the histogram rebuilder to start queueing all new data while the builder rebuilds a (part) of the.
      * <p>
@@ -100,6 +119,14 @@ public abstract class HistogramWriter {
         }
 
         void addHistogram(long time, byte[] value) {
+            addHistogram(time, value, null);
+        }
+
+        /**
+         * if batches is not null, the updated segment is added to the batch of the database instead of being written
+         * directly
+         */
+        void addHistogram(long time, byte[] value, WriteBatchSet batches) {
             RdbHistogramInfo histo;
             try {
                 histo = (RdbHistogramInfo) table.createAndGetHistogram(time, columnName);
@@ -120,7 +147,11 @@ public abstract class HistogramWriter {
                     }
                 }
                 segment.merge(dtime);
-                rdb.put(histoDbKey, segment.val());
+                if (batches == null) {
+                    rdb.put(histoDbKey, segment.val());
+                } else {
+                    batches.get(rdb).put(histoDbKey, segment.val());
+                }
 
                 segments.put(hmkey, segment);
             } catch (RocksDBException e) {
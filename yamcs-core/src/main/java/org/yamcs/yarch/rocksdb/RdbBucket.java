@@ -7,6 +7,8 @@ import static org.yamcs.yarch.rocksdb.RdbStorageEngine.TBS_INDEX_SIZE;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +37,8 @@ public class RdbBucket implements Bucket {
     final Tablespace tablespace;
     final String yamcsInstance;
     private static final Logger log = LoggerFactory.getLogger(RdbBucket.class);
+    // the data of an object is read and written as one byte array
+    static final long MAX_OBJECT_SIZE = Integer.MAX_VALUE - 8;
 
     public RdbBucket(String yamcsInstance, Tablespace tablespace, int tbsIndex, BucketProperties bucketProps)
             throws IOException {
@@ -121,6 +125,29 @@ public class RdbBucket implements Bucket {
         }
     }
 
+    /**
+     * Put an object with the content of a file.
+     * <p>
+     * The object data is stored as one value in the database, so the file is read in memory. Its size is verified
+     * against the bucket limits before reading it.
+     */
+    @Override
+    public synchronized void putObject(String objectName, String contentType, Map<String, String> metadata,
+            Path file) throws IOException {
+        long size = Files.size(file);
+        ObjectProperties oldProps = findObject(objectName);
+        long bsize = bucketProps.getSize() + size - ((oldProps == null) ? 0 : oldProps.getSize());
+        if (bsize > bucketProps.getMaxSize()) {
+            throw new IOException("Cannot store the file " + file + " of " + size + " bytes in bucket "
+                    + getName() + ": maximum bucket size " + bucketProps.getMaxSize() + " exceeded");
+        }
+        if (size > MAX_OBJECT_SIZE) {
+            throw new IOException("Cannot store the file " + file + " of " + size + " bytes in bucket "
+                    + getName() + ": maximum object size " + MAX_OBJECT_SIZE + " exceeded");
+        }
+        putObject(objectName, contentType, metadata, Files.readAllBytes(file));
+    }
+
     @Override
     public ObjectProperties findObject(String objectName) throws IOException {
         byte[] k = getKey(TYPE_OBJ_METADATA, objectName);
@@ -52,7 +52,12 @@ public class RdbHistogramIterator implements HistogramIterator {
         this.colName = colName;
         this.tablespace = tablespace;
 
-        partMgr = tablespace.getTable(tblDef).getPartitionManager();
+        RdbTable table = tablespace.getTable(tblDef);
+        HistogramWriter histoWriter = table.getHistogramWriter();
+        if (histoWriter != null) {
+            histoWriter.flush();
+        }
+        partMgr = table.getPartitionManager();
         partitionIterator = partMgr.intervalIterator(interval);
         log = new Log(getClass(), yamcsInstance);
         log.setContext(partMgr.getTableName());
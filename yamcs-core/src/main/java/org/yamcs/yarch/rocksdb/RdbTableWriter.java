@@ -5,6 +5,13 @@ import static org.yamcs.yarch.rocksdb.RdbStorageEngine.dbKey;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.rocksdb.RocksDBException;
 import org.rocksdb.WriteBatch;
@@ -12,9 +19,11 @@ import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yamcs.YamcsServer;
+import org.yamcs.utils.ByteArrayWrapper;
 import org.yamcs.utils.TimeEncoding;
 import org.yamcs.yarch.ColumnDefinition;
 import org.yamcs.yarch.DataType;
+import org.yamcs.yarch.GroupCommitSpec;
 import org.yamcs.yarch.PartitioningSpec;
 import org.yamcs.yarch.Row;
 import org.yamcs.yarch.Stream;
@@ -38,6 +47,14 @@ import static org.yamcs.yarch.rocksdb.RdbStorageEngine.TBS_INDEX_SIZE;;
  * 
  * <p>
  * The histograms are written by the {@link HistogramWriter}.
+ * 
+ * <p>
+ * If the table (or the insert statement) specifies a {@link GroupCommitSpec}, the rows are not written one by one but
+ * accumulated in memory, one group for each database, and committed using a {@link WriteBatch}. The duplicate check
+ * is performed inside the group when the row is received and against the database with one multiGet when the group
+ * is committed. The secondary index is written in the same batch (if it is in the same database) and the histograms
+ * are updated with one batch after the data has been committed. The group commit is not used for the INSERT_APPEND
+ * and UPSERT_APPEND modes which have to merge the new row with the existing one.
  *
  * 
  * @author nm
@@ -55,6 +72,13 @@ public class RdbTableWriter extends TableWriter {
     final SecondaryIndexWriter indexWriter;
     TableDefinition tableDefinition;
 
+    // not null if the rows are accumulated and committed in groups
+    private GroupCommitSpec groupCommit;
+    // rows waiting to be committed, one group for each database where they are written
+    private final Map<YRDB, PendingRows> pending = new LinkedHashMap<>();
+    private int numPending;
+    private ScheduledFuture<?> flushFuture;
+
     public RdbTableWriter(YarchDatabaseInstance ydb, RdbTable table, InsertMode mode) {
         super(ydb, table, mode);
         this.tableDefinition = table.getDefinition();
@@ -69,6 +93,17 @@ public class RdbTableWriter extends TableWriter {
         }
         histoWriter = table.getHistogramWriter();
         indexWriter = table.getSecondaryIndexWriter();
+        setGroupCommitSpec(tableDefinition.getGroupCommitSpec());
+    }
+
+    @Override
+    public void setGroupCommitSpec(GroupCommitSpec groupCommitSpec) {
+        if (groupCommitSpec != null && (mode == InsertMode.INSERT_APPEND || mode == InsertMode.UPSERT_APPEND)) {
+            log.debug("Group commit not supported for {} mode, writing rows one by one in table {}", mode,
+                    table.getName());
+            return;
+        }
+        this.groupCommit = groupCommitSpec;
     }
 
     @Override
@@ -90,6 +125,10 @@ public class RdbTableWriter extends TableWriter {
         try {
             RdbPartition partition = getDbPartition(t);
             YRDB rdb = tablespace.getRdb(partition.dir, false);
+            if (groupCommit != null) {
+                addToGroup(rdb, partition, t);
+                return;
+            }
 
             switch (mode) {
             case INSERT:
@@ -110,9 +149,125 @@ public class RdbTableWriter extends TableWriter {
 
             tablespace.dispose(rdb);
         } catch (IOException | RocksDBException | YarchException e) {
-            log.error("failed to insert a record: ", e);
-            YamcsServer.getServer().getCrashHandler(ydb.getYamcsInstance()).handleCrash("Archive",
-                    "failed to insert a record in " + table.getName() + ": " + e);
+            handleWriteError(e);
+        }
+    }
+
+    private void handleWriteError(Exception e) {
+        log.error("failed to insert a record: ", e);
+        YamcsServer.getServer().getCrashHandler(ydb.getYamcsInstance()).handleCrash("Archive",
+                "failed to insert a record in " + table.getName() + ": " + e);
+    }
+
+    /**
+     * add the tuple to the group of rows waiting to be committed in the database rdb.
+     * <p>
+     * The group keeps the reference to the database until it is committed.
+     */
+    private synchronized void addToGroup(YRDB rdb, RdbPartition partition, Tuple t)
+            throws RocksDBException, IOException {
+        if (closed) {
+            tablespace.dispose(rdb);
+            return;
+        }
+        PendingRows pr = pending.get(rdb);
+        if (pr == null) {
+            pr = new PendingRows(rdb);
+            pending.put(rdb, pr);
+        } else {
+            tablespace.dispose(rdb);
+        }
+
+        Row row = tableDefinition.generateRow(t);
+        byte[] k = dbKey(partition.tbsIndex, row.getKey());
+        ByteArrayWrapper kw = new ByteArrayWrapper(k);
+        if (mode == InsertMode.INSERT && pr.rows.containsKey(kw)) {
+            return;
+        }
+        byte[] v = tableDefinition.serializeValue(t, row);
+        if (pr.rows.put(kw, new PendingRow(partition, k, v, row)) == null) {
+            numPending++;
+        }
+
+        if (numPending >= groupCommit.maxRows) {
+            flush();
+        } else if (flushFuture == null) {
+            flushFuture = tablespace.getExecutor().schedule(this::scheduledFlush, groupCommit.maxDelay,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (IOException | RocksDBException | YarchException e) {
+            handleWriteError(e);
+        }
+    }
+
+    /**
+     * commit all the pending rows
+     */
+    private synchronized void flush() throws RocksDBException, IOException {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+        if (numPending == 0) {
+            return;
+        }
+        try {
+            List<Row> inserted = new ArrayList<>(numPending);
+            for (PendingRows pr : pending.values()) {
+                commit(pr, inserted);
+            }
+            if (histoWriter != null && !inserted.isEmpty()) {
+                histoWriter.addHistograms(inserted);
+            }
+        } finally {
+            for (PendingRows pr : pending.values()) {
+                tablespace.dispose(pr.rdb);
+            }
+            pending.clear();
+            numPending = 0;
+        }
+    }
+
+    /**
+     * writes the rows from one group together with their secondary index
+     * 
+     * @param inserted
+     *            - the rows which did not exist in the database are added to this list to be passed to the histogram
+     *            writer
+     */
+    private void commit(PendingRows pr, List<Row> inserted) throws RocksDBException {
+        Collection<PendingRow> rows = pr.rows.values();
+        Map<byte[], byte[]> existing = Collections.emptyMap();
+        if (mode != InsertMode.LOAD) {
+            List<byte[]> keys = new ArrayList<>(rows.size());
+            for (PendingRow r : rows) {
+                keys.add(r.key);
+            }
+            existing = pr.rdb.multiGet(keys);
+        }
+
+        try (WriteBatchSet batches = new WriteBatchSet()) {
+            WriteBatch dataBatch = batches.get(pr.rdb);
+            WriteBatch indexBatch = indexWriter == null ? null : batches.get(tablespace.getRdb());
+            for (PendingRow r : rows) {
+                boolean exists = existing.containsKey(r.key);
+                if (exists && mode == InsertMode.INSERT) {
+                    continue;
+                }
+                dataBatch.put(r.key, r.value);
+                if (indexBatch != null) {
+                    indexWriter.addTuple(indexBatch, r.row, r.partition);
+                }
+                if (!exists && mode != InsertMode.LOAD) {
+                    inserted.add(r.row);
+                }
+            }
+            batches.writeAll(wopt);
         }
     }
 
@@ -311,6 +466,20 @@ public class RdbTableWriter extends TableWriter {
             return;
         }
         closed = true;
+        if (groupCommit != null) {
+            try {
+                flush();
+            } catch (IOException | RocksDBException | YarchException e) {
+                handleWriteError(e);
+            }
+        }
+        if (histoWriter != null) {
+            try {
+                histoWriter.flush();
+            } catch (YarchException e) {
+                handleWriteError(e);
+            }
+        }
     }
 
     @Override
@@ -318,4 +487,27 @@ public class RdbTableWriter extends TableWriter {
         log.debug("Stream {} closed", stream.getName());
         close();
     }
+
+    static class PendingRows {
+        final YRDB rdb;
+        final LinkedHashMap<ByteArrayWrapper, PendingRow> rows = new LinkedHashMap<>();
+
+        PendingRows(YRDB rdb) {
+            this.rdb = rdb;
+        }
+    }
+
+    static class PendingRow {
+        final RdbPartition partition;
+        final byte[] key;
+        final byte[] value;
+        final Row row;
+
+        PendingRow(RdbPartition partition, byte[] key, byte[] value, Row row) {
+            this.partition = partition;
+            this.key = key;
+            this.value = value;
+            this.row = row;
+        }
+    }
 }
@@ -1,16 +1,24 @@
 package org.yamcs.yarch.rocksdb;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
+import org.rocksdb.WriteOptions;
 import org.yamcs.yarch.ColumnSerializer;
 import org.yamcs.yarch.Row;
+import org.yamcs.yarch.YarchException;
 
 /**
  * Histogram writer for the tables having one column histogram (which is actually all standard tables from Yamcs)
@@ -20,41 +28,153 @@ import org.yamcs.yarch.Row;
  */
 public class SingleColumnHistogramWriter extends HistogramWriter {
 
+    // maximum number of rows kept in a per thread buffer
+    static final int MAX_BUFFERED_ROWS = 1000;
+    // maximum time in milliseconds a row is kept in a per thread buffer (when the thread keeps writing)
+    static final long MAX_BUFFER_TIME = 1000;
+
     final ColumnHistogramWriter colHistoWriter;
     final Map<String, WhileRebuild> wrs = new HashMap<>();
     long lastCleanupTime;
 
+    // the rows not yet added to the histograms, one buffer per writing thread
+    final Set<ThreadBuffer> buffers = ConcurrentHashMap.newKeySet();
+    final ThreadLocal<ThreadBuffer> threadBuffer = ThreadLocal.withInitial(() -> {
+        ThreadBuffer buf = new ThreadBuffer();
+        buffers.add(buf);
+        return buf;
+    });
+    // set while a histogram rebuild is in progress; the rows are then added directly to the histograms
+    volatile boolean queueing = false;
+
     public SingleColumnHistogramWriter(RdbTable table, String histoColumn) {
         super(table);
         this.colHistoWriter = new ColumnHistogramWriter(histoColumn);
     }
 
-    boolean printed = false;
+    /**
+     * Adds the row to the buffer of the calling thread. The buffer is merged into the histograms when it becomes full
+     * or old, or when {@link #flush()} is called.
+     * <p>
+     * This avoids the table writers running in different threads contending for the writer lock for each row.
+     */
+    @Override
+    public void addHistogram(Row row) throws IOException, RocksDBException {
+        HistoData hd = getHistoData(row);
+        if (hd == null) {
+            return;
+        }
+        if (queueing) {
+            synchronized (this) {
+                addHistograms(Collections.singletonList(hd), null);
+            }
+            return;
+        }
 
+        ThreadBuffer buf = threadBuffer.get();
+        boolean full;
+        synchronized (buf) {
+            if (buf.data.isEmpty()) {
+                buf.firstAddTime = System.currentTimeMillis();
+            }
+            buf.data.add(hd);
+            // queueing is checked again because startQueueing may have flushed the buffers since the check above;
+            // the row is then merged now, while the rebuild is still waiting for its snapshot
+            full = queueing || buf.data.size() >= MAX_BUFFERED_ROWS
+                    || System.currentTimeMillis() - buf.firstAddTime >= MAX_BUFFER_TIME;
+        }
+        if (full) {
+            merge(buf);
+        }
+    }
+
+    @Override
+    public synchronized void addHistograms(List<Row> rows) throws IOException, RocksDBException {
+        List<HistoData> l = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            HistoData hd = getHistoData(row);
+            if (hd != null) {
+                l.add(hd);
+            }
+        }
+        writeHistograms(l);
+    }
+
+    /**
+     * Merges the buffers of all threads into the histograms.
+     */
     @Override
-    public synchronized void addHistogram(Row row) throws IOException, RocksDBException {
+    public void flush() {
+        for (ThreadBuffer buf : buffers) {
+            try {
+                merge(buf);
+            } catch (RocksDBException e) {
+                throw new YarchException(e);
+            }
+            if (!buf.thread.isAlive()) {
+                buffers.remove(buf);
+            }
+        }
+    }
+
+    private synchronized void merge(ThreadBuffer buf) throws RocksDBException {
+        List<HistoData> l;
+        synchronized (buf) {
+            if (buf.data.isEmpty()) {
+                return;
+            }
+            l = buf.data;
+            buf.data = new ArrayList<>();
+        }
+        writeHistograms(l);
+    }
+
+    // called with the lock held
+    private void writeHistograms(List<HistoData> l) throws RocksDBException {
+        try (WriteBatchSet batches = new WriteBatchSet(); WriteOptions wopt = new WriteOptions()) {
+            addHistograms(l, batches);
+            batches.writeAll(wopt);
+        }
+    }
+
+    private HistoData getHistoData(Row row) {
         String columnName = colHistoWriter.columnName;
         Object colValue = row.get(columnName);
         if (colValue == null) {
-            return;
+            return null;
         }
 
         long time = (Long) row.get(0);
         ColumnSerializer cs = tableDefinition.getColumnSerializer(columnName);
-        byte[] v = cs.toByteArray(row.get(columnName));
-        RdbHistogramInfo histo = table.createAndGetHistogram(time, columnName);
-        WhileRebuild wr = wrs.get(histo.partitionDir);
-        if (wr == null) {
-            colHistoWriter.addHistogram(time, v);
-        } else {
-            if (wr.cf != null) {
-                // the histogram rebuilder is waiting for a snapshot
-                sendSnapshot(histo.partitionDir, wr);
+        byte[] v = cs.toByteArray(colValue);
+        return new HistoData(time, v);
+    }
 
-                // we know that this tuple has already been added to the db so it is part of the snapshot
-                // we therefore don't queue this tuple but start from the next one
-            } else {
-                wr.queue.add(new HistoData(time, v));
+    /**
+     * All the rows have been committed to the database before this method is called. If the snapshot for a rebuild
+     * is taken while processing the list, the rows of the corresponding partition are part of it and are neither
+     * added to the histograms nor queued.
+     */
+    private void addHistograms(List<HistoData> l, WriteBatchSet batches) {
+        Set<WhileRebuild> snapshotTaken = null;
+        for (HistoData hd : l) {
+            RdbHistogramInfo histo = table.createAndGetHistogram(hd.time, colHistoWriter.columnName);
+            WhileRebuild wr = wrs.get(histo.partitionDir);
+            if (wr == null) {
+                colHistoWriter.addHistogram(hd.time, hd.value, batches);
+            } else if (wr.cf != null) {
+                // the histogram rebuilder is waiting for a snapshot
+                try {
+                    sendSnapshot(histo.partitionDir, wr);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (snapshotTaken == null) {
+                    snapshotTaken = new HashSet<>();
+                }
+                snapshotTaken.add(wr);
+            } else if (snapshotTaken == null || !snapshotTaken.contains(wr)) {
+                wr.queue.add(hd);
             }
         }
     }
@@ -105,6 +225,10 @@ public class SingleColumnHistogramWriter extends HistogramWriter {
         if (wrs.containsKey(dbPartition)) {
             throw new IllegalStateException("Already queing for this partition");
         }
+        // from now on the rows are not buffered anymore; the rows already buffered are committed to the database and
+        // will be part of the snapshot; they are added to the histograms which are going to be rebuilt
+        queueing = true;
+        flush();
         WhileRebuild wr = new WhileRebuild();
         wrs.put(dbPartition, wr);
         tablespace.getExecutor().schedule(() -> {
@@ -131,6 +255,7 @@ public class SingleColumnHistogramWriter extends HistogramWriter {
         if (wr == null) {
             throw new IllegalStateException("Not queing for this partition");
         }
+        queueing = !wrs.isEmpty();
         for (HistoData hd : wr.queue) {
             colHistoWriter.addHistogram(hd.time, hd.value);
         }
@@ -146,6 +271,12 @@ public class SingleColumnHistogramWriter extends HistogramWriter {
         }
     }
 
+    static class ThreadBuffer {
+        final Thread thread = Thread.currentThread();
+        ArrayList<HistoData> data = new ArrayList<>();
+        long firstAddTime;
+    }
+
     static class WhileRebuild {
         CompletableFuture<Snapshot> cf = new CompletableFuture<>();
         ArrayList<HistoData> queue = new ArrayList<>();
@@ -7,9 +7,11 @@ import java.util.Map.Entry;
 
 import org.yamcs.utils.DatabaseCorruptionException;
 import org.yamcs.yarch.DataType;
+import org.yamcs.yarch.GroupCommitSpec;
 import org.yamcs.yarch.PartitioningSpec;
 import org.yamcs.yarch.TableColumnDefinition;
 import org.yamcs.yarch.TableDefinition;
+import org.yamcs.yarch.rocksdb.protobuf.Tablespace.GroupCommitInfo;
 import org.yamcs.yarch.rocksdb.protobuf.Tablespace.PartitioningInfo;
 import org.yamcs.yarch.rocksdb.protobuf.Tablespace.PartitioningInfo.PartitioningType;
 import org.yamcs.yarch.rocksdb.protobuf.Tablespace.ProtoTableDefinition;
@@ -53,6 +55,10 @@ class TableDefinitionSerializer {
         if (scndIdx != null) {
             infob.addSecondaryIndex(SecondaryIndex.newBuilder().addAllColumnName(scndIdx).build());
         }
+        GroupCommitSpec gcs = def.getGroupCommitSpec();
+        if (gcs != null) {
+            infob.setGroupCommit(GroupCommitInfo.newBuilder().setMaxRows(gcs.maxRows).setMaxDelay(gcs.maxDelay));
+        }
         return infob.build();
     }
 
@@ -164,6 +170,10 @@ class TableDefinitionSerializer {
             throw new DatabaseCorruptionException(e);
         }
         tdef.setCompressed(protodef.getCompressed());
+        if (protodef.hasGroupCommit()) {
+            GroupCommitInfo gci = protodef.getGroupCommit();
+            tdef.setGroupCommitSpec(new GroupCommitSpec(gci.getMaxRows(), gci.getMaxDelay()));
+        }
         tdef.setStorageEngineName(protodef.getStorageEngine());
 
         return tdef;
@@ -12,7 +12,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.rocksdb.ColumnFamilyHandle;
@@ -127,10 +129,16 @@ public class Tablespace {
 
     Map<String, RdbSequence> sequences = new HashMap<>();
 
+    // period in milliseconds for adding the rows buffered by the histogram writers to the histograms
+    static final long HISTOGRAM_FLUSH_INTERVAL = 1000;
+    final ScheduledFuture<?> histogramFlushFuture;
+
     public Tablespace(String name) {
         this.name = name;
         this.executor = new ScheduledThreadPoolExecutor(1,
                 new ThreadFactoryBuilder().setNameFormat("Tablespace-" + name).build());
+        histogramFlushFuture = executor.scheduleWithFixedDelay(this::flushHistograms, HISTOGRAM_FLUSH_INTERVAL,
+                HISTOGRAM_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     public void loadDb(boolean readonly) throws IOException {
@@ -679,6 +687,8 @@ public class Tablespace {
         for (TableWalker rrs : walkers.keySet()) {
             rrs.close();
         }
+        histogramFlushFuture.cancel(false);
+        flushHistograms();
         synchronized (sequences) {
             for (RdbSequence seq : sequences.values()) {
                 seq.close();
@@ -699,6 +709,24 @@ public class Tablespace {
         }
     }
 
+    private void flushHistograms() {
+        List<RdbTable> l;
+        synchronized (tables) {
+            l = new ArrayList<>(tables.values());
+        }
+        for (RdbTable table : l) {
+            HistogramWriter histoWriter = table.getHistogramWriter();
+            if (histoWriter == null) {
+                continue;
+            }
+            try {
+                histoWriter.flush();
+            } catch (Exception e) {
+                log.error("Failed to write the histograms of table {}", table.getName(), e);
+            }
+        }
+    }
+
     ScheduledThreadPoolExecutor getExecutor() {
         return executor;
     }
@@ -0,0 +1,49 @@
+package org.yamcs.yarch.rocksdb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+/**
+ * Keeps one {@link WriteBatch} for each of the databases of a tablespace touched by a group of writes.
+ * <p>
+ * The data of a partitioned table, its secondary index and its histograms may be stored in different RocksDB
+ * databases; the batches are written one after the other in the order in which they have been created.
+ *
+ */
+class WriteBatchSet implements AutoCloseable {
+    private final Map<YRDB, WriteBatch> batches = new LinkedHashMap<>();
+
+    /**
+     *
+     * @param rdb
+     * @return the batch collecting the writes for the given database
+     */
+    WriteBatch get(YRDB rdb) {
+        return batches.computeIfAbsent(rdb, r -> new WriteBatch());
+    }
+
+    boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    void writeAll(WriteOptions wopt) throws RocksDBException {
+        for (Map.Entry<YRDB, WriteBatch> me : batches.entrySet()) {
+            WriteBatch wb = me.getValue();
+            if (wb.count() > 0) {
+                me.getKey().write(wopt, wb);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (WriteBatch wb : batches.values()) {
+            wb.close();
+        }
+        batches.clear();
+    }
+}
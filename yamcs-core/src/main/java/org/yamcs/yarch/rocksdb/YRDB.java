@@ -165,6 +165,16 @@ public class YRDB {
         return db.get(k);
     }
 
+    /**
+     * {@link RocksDB#multiGet(List)}
+     *
+     * @return a map containing only the keys found in the database; the map keys are the same array instances as in
+     *         the list.
+     */
+    public Map<byte[], byte[]> multiGet(List<byte[]> keys) throws RocksDBException {
+        return db.multiGet(keys);
+    }
+
     public synchronized ColumnFamilyHandle createColumnFamily(byte[] cfname) throws RocksDBException {
         ColumnFamilyDescriptor cfd = new ColumnFamilyDescriptor(cfname, cfoptions);
         ColumnFamilyHandle cfh = db.createColumnFamily(cfd);
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import org.yamcs.yarch.GroupCommitSpec;
 import org.yamcs.yarch.PartitioningSpec;
 import org.yamcs.yarch.TableDefinition;
 import org.yamcs.yarch.Tuple;
@@ -23,6 +24,7 @@ public class CreateTableStatement extends SimpleStreamSqlStatement {
     PartitioningSpec partitioningSpec;
     String tablespace;
     String engine;
+    GroupCommitSpec groupCommit;
 
     private boolean compressed = false;
 
@@ -48,6 +50,10 @@ public class CreateTableStatement extends SimpleStreamSqlStatement {
         this.compressed = c;
     }
 
+    public void setGroupCommit(GroupCommitSpec groupCommit) {
+        this.groupCommit = groupCommit;
+    }
+
     public void addHistogramColumn(String columnName) {
         if (histoColumns == null) {
             histoColumns = new ArrayList<>();
@@ -79,6 +85,7 @@ public class CreateTableStatement extends SimpleStreamSqlStatement {
             }
 
             tableDefinition.setCompressed(compressed);
+            tableDefinition.setGroupCommitSpec(groupCommit);
             if (partitioningSpec != null) {
                 tableDefinition.setPartitioningSpec(partitioningSpec);
             } else {
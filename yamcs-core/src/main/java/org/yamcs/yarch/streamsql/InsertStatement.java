@@ -4,6 +4,8 @@ import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.yamcs.yarch.AsyncStreamSubscriber.OverflowPolicy;
+import org.yamcs.yarch.GroupCommitSpec;
 import org.yamcs.yarch.Stream;
 import org.yamcs.yarch.StreamSubscriber;
 import org.yamcs.yarch.TableDefinition;
@@ -19,11 +21,35 @@ public class InsertStatement extends SimpleStreamSqlStatement {
     StreamExpression expression;
     static Logger log = LoggerFactory.getLogger(InsertStatement.class.getName());
     InsertMode insertMode;
+    GroupCommitSpec groupCommit;
+    int asyncQueueSize;
+    OverflowPolicy overflowPolicy;
 
     public InsertStatement(String name, StreamExpression expression, InsertMode mode) {
+        this(name, expression, mode, null);
+    }
+
+    /**
+     * 
+     * @param groupCommit
+     *            if not null, overrides the group commit settings of the table for the writer created by this
+     *            statement
+     */
+    public InsertStatement(String name, StreamExpression expression, InsertMode mode, GroupCommitSpec groupCommit) {
         this.name = name;
         this.expression = expression;
         this.insertMode = mode;
+        this.groupCommit = groupCommit;
+    }
+
+    /**
+     * Deliver the tuples to the table or stream from a dedicated thread with a queue of the given size.
+     * 
+     * @see Stream#addAsyncSubscriber(StreamSubscriber, int, OverflowPolicy)
+     */
+    public void setAsync(int queueSize, OverflowPolicy overflowPolicy) {
+        this.asyncQueueSize = queueSize;
+        this.overflowPolicy = overflowPolicy;
     }
 
     @Override
@@ -36,6 +62,9 @@ public class InsertStatement extends SimpleStreamSqlStatement {
         if (outputTableDef == null && outputStream == null) {
             throw new ResourceNotFoundException(name);
         }
+        if (outputStream != null && groupCommit != null) {
+            throw new GenericStreamSqlException("GROUP_COMMIT can only be used when inserting into a table");
+        }
 
         expression.bind(context);
         Stream inputStream = expression.execute(context);
@@ -45,14 +74,17 @@ public class InsertStatement extends SimpleStreamSqlStatement {
                 // writing into a table
                 TableWriter tableWriter = ydb.getStorageEngine(outputTableDef)
                         .newTableWriter(ydb, outputTableDef, insertMode);
-                inputStream.addSubscriber(tableWriter);
+                if (groupCommit != null) {
+                    tableWriter.setGroupCommitSpec(groupCommit);
+                }
+                subscribe(inputStream, tableWriter);
                 tableWriter.closeFuture().thenAccept(v -> inputStream.removeSubscriber(tableWriter));
             } catch (YarchException e) {
                 log.warn("Exception while creating table", e);
                 throw new GenericStreamSqlException(e.getMessage());
             }
         } else {
-            inputStream.addSubscriber(new StreamSubscriber() {
+            subscribe(inputStream, new StreamSubscriber() {
                 @Override
                 public void streamClosed(Stream stream) {
                     log.debug("InputStream {} closed", stream.getName());
@@ -66,4 +98,12 @@ public class InsertStatement extends SimpleStreamSqlStatement {
 
         }
     }
+
+    private void subscribe(Stream inputStream, StreamSubscriber subscriber) {
+        if (overflowPolicy == null) {
+            inputStream.addSubscriber(subscriber);
+        } else {
+            inputStream.addAsyncSubscriber(subscriber, asyncQueueSize, overflowPolicy);
+        }
+    }
 }
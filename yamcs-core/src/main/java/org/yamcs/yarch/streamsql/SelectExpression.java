@@ -2,7 +2,9 @@ package org.yamcs.yarch.streamsql;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.yamcs.yarch.ColumnDefinition;
 import org.yamcs.yarch.CompiledAggregateExpression;
@@ -222,6 +224,40 @@ public class SelectExpression implements StreamExpression {
 
     }
 
+    /**
+     * Computes the input columns needed to evaluate the where clause and the select list.
+     * <p>
+     * For the queries with aggregates or windows, all the columns are considered required.
+     * 
+     * @return the names of the required input columns or null if all the columns are required
+     */
+    Set<String> getRequiredColumns() {
+        if (selectStar || selectList.contains(SelectItem.STAR) || windowSpec != null
+                || (aggList != null && !aggList.isEmpty())) {
+            return null;
+        }
+        Set<String> columns = new HashSet<>();
+        if (whereClause != null) {
+            collectColumns(whereClause, columns);
+        }
+        for (SelectItem item : selectList) {
+            collectColumns(item.expr, columns);
+        }
+        return columns;
+    }
+
+    // the column expressions are checked directly because collectRequiredInputs uses the alias of the column
+    private static void collectColumns(Expression expr, Set<String> columns) {
+        if (expr instanceof ColumnExpression) {
+            ColumnExpression cexpr = (ColumnExpression) expr;
+            columns.add(cexpr.className == null ? cexpr.name : cexpr.className);
+        } else if (expr.children != null) {
+            for (Expression c : expr.children) {
+                collectColumns(c, columns);
+            }
+        }
+    }
+
     @Override
     public TupleDefinition getOutputDefinition() {
         return outputDef;
@@ -233,6 +269,7 @@ public class SelectExpression implements StreamExpression {
             whereClause.addFilter(tupleSourceExpression);
         }
 
+        tupleSourceExpression.setRequiredColumns(getRequiredColumns());
         Stream stream = tupleSourceExpression.execute(c);
         CompiledExpression cWhereClause = (whereClause == null) ? null : whereClause.compile();
 
@@ -13,6 +13,7 @@ import org.yamcs.utils.parser.ParseException;
 import org.yamcs.yarch.*;
 import org.yamcs.yarch.streamsql.funct.*;
 import org.yamcs.yarch.TableWriter.InsertMode;
+import org.yamcs.yarch.AsyncStreamSubscriber.OverflowPolicy;
 
 
 public class StreamSqlParser implements StreamSqlParserConstants {
@@ -99,9 +100,9 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       break;
     case K_PROTOBUF:
       jj_consume_token(K_PROTOBUF);
-      jj_consume_token(130);
+      jj_consume_token(132);
       className = jj_consume_token(S_STRING);
-      jj_consume_token(131);
+      jj_consume_token(133);
                                                      dataType =  DataType.protobuf(getNonEscapedString(className.image));
       break;
     case S_IDENTIFIER:
@@ -114,8 +115,8 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       throw new ParseException();
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 132:
-      jj_consume_token(132);
+    case 134:
+      jj_consume_token(134);
             dataType = DataType.array(dataType);
       break;
     default:
@@ -264,11 +265,11 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       ;
     }
     tableName = ObjectName();
-    jj_consume_token(130);
+    jj_consume_token(132);
     label_1:
     while (true) {
       tcd = TableColumnDefinition();
-      jj_consume_token(133);
+      jj_consume_token(135);
                                             tupleDefinition.addColumn(tcd);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case S_IDENTIFIER:
@@ -282,57 +283,58 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     }
     jj_consume_token(K_PRIMARY);
     jj_consume_token(K_KEY);
-    jj_consume_token(130);
+    jj_consume_token(132);
     pk = ObjectName();
                                               primaryKey.add(pk);
     label_2:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
         jj_la1[6] = jj_gen;
         break label_2;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       pk = ObjectName();
                                                                                         primaryKey.add(pk);
     }
-    jj_consume_token(131);
+    jj_consume_token(133);
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 133:
-      jj_consume_token(133);
+    case 135:
+      jj_consume_token(135);
       jj_consume_token(K_INDEX);
-      jj_consume_token(130);
+      jj_consume_token(132);
       indexColumn = ObjectName();
                                                  index.add(indexColumn);
       label_3:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 133:
+        case 135:
           ;
           break;
         default:
           jj_la1[7] = jj_gen;
           break label_3;
         }
-        jj_consume_token(133);
+        jj_consume_token(135);
         indexColumn = ObjectName();
                                                                                                         index.add(indexColumn);
       }
-      jj_consume_token(131);
+      jj_consume_token(133);
       break;
     default:
       jj_la1[8] = jj_gen;
       ;
     }
-    jj_consume_token(131);
+    jj_consume_token(133);
       cts=new CreateTableStatement(ifNotExists, tableName, tupleDefinition, primaryKey, index);
     label_4:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case K_ENGINE:
+      case K_GROUP_COMMIT:
       case K_HISTOGRAM:
       case K_PARTITION:
       case K_TABLE_FORMAT:
@@ -372,27 +374,28 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   final public void TableOption(CreateTableStatement cts) throws ParseException, StreamSqlException {
    String columnName, tablespace, engine;
    PartitioningSpec pspec;
+   GroupCommitSpec gcspec;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case K_HISTOGRAM:
       jj_consume_token(K_HISTOGRAM);
-      jj_consume_token(130);
+      jj_consume_token(132);
       columnName = ObjectName();
                                               cts.addHistogramColumn(columnName);
       label_5:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 133:
+        case 135:
           ;
           break;
         default:
           jj_la1[11] = jj_gen;
           break label_5;
         }
-        jj_consume_token(133);
+        jj_consume_token(135);
         columnName = ObjectName();
                                                                                                                 cts.addHistogramColumn(columnName);
       }
-      jj_consume_token(131);
+      jj_consume_token(133);
       break;
     case K_ENGINE:
       jj_consume_token(K_ENGINE);
@@ -412,10 +415,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       break;
     case K_TABLE_FORMAT:
       jj_consume_token(K_TABLE_FORMAT);
-      jj_consume_token(134);
+      jj_consume_token(136);
       jj_consume_token(K_COMPRESSED);
                                       cts.setCompressed(true);
       break;
+    case K_GROUP_COMMIT:
+      gcspec = GroupCommitSpec();
+                             cts.setGroupCommit(gcspec);
+      break;
     default:
       jj_la1[12] = jj_gen;
       jj_consume_token(-1);
@@ -423,6 +430,24 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     }
   }
 
+  final public GroupCommitSpec GroupCommitSpec() throws ParseException, StreamSqlException {
+   int maxRows, maxDelay;
+    jj_consume_token(K_GROUP_COMMIT);
+    jj_consume_token(132);
+    jj_consume_token(S_INTEGER);
+                                     maxRows = Integer.parseInt(token.image);
+    jj_consume_token(135);
+    jj_consume_token(S_INTEGER);
+                         maxDelay = Integer.parseInt(token.image);
+    jj_consume_token(133);
+      try {
+         {if (true) return new GroupCommitSpec(maxRows, maxDelay);}
+      } catch (IllegalArgumentException e) {
+         {if (true) throw new GenericStreamSqlException(e.getMessage());}
+      }
+    throw new Error("Missing return statement in function");
+  }
+
   final public PartitioningSpec PartitioningSpec() throws ParseException, StreamSqlException {
     PartitioningSpec pspec;
     String cname1, cname2;
@@ -430,45 +455,45 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case K_TIME:
       jj_consume_token(K_TIME);
-      jj_consume_token(130);
+      jj_consume_token(132);
       cname1 = ObjectName();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 130:
-        jj_consume_token(130);
+      case 132:
+        jj_consume_token(132);
         timePartSchema = jj_consume_token(S_STRING);
-        jj_consume_token(131);
+        jj_consume_token(133);
         break;
       default:
         jj_la1[13] = jj_gen;
         ;
       }
-      jj_consume_token(131);
+      jj_consume_token(133);
                                                                                   pspec = PartitioningSpec.timeSpec(cname1);
       break;
     case K_VALUE:
       jj_consume_token(K_VALUE);
-      jj_consume_token(130);
+      jj_consume_token(132);
       cname1 = ObjectName();
-      jj_consume_token(131);
+      jj_consume_token(133);
                                                pspec = PartitioningSpec.valueSpec(cname1);
       break;
     case K_TIME_AND_VALUE:
       jj_consume_token(K_TIME_AND_VALUE);
-      jj_consume_token(130);
+      jj_consume_token(132);
       cname1 = ObjectName();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 130:
-        jj_consume_token(130);
+      case 132:
+        jj_consume_token(132);
         timePartSchema = jj_consume_token(S_STRING);
-        jj_consume_token(131);
+        jj_consume_token(133);
         break;
       default:
         jj_la1[14] = jj_gen;
         ;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       cname2 = ObjectName();
-      jj_consume_token(131);
+      jj_consume_token(133);
                                                                                                                          pspec = PartitioningSpec.timeAndValueSpec(cname1, cname2);
       break;
     default:
@@ -513,7 +538,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       expression = SpeedLimitStreamExpression();
             {if (true) return new CreateStreamStatement(name,expression);}
       break;
-    case 130:
+    case 132:
       tupleDefinition = TupleDefinition();
             {if (true) return new CreateStreamStatement(name,tupleDefinition);}
       break;
@@ -695,38 +720,38 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       label_6:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 133:
+        case 135:
           ;
           break;
         default:
           jj_la1[22] = jj_gen;
           break label_6;
         }
-        jj_consume_token(133);
+        jj_consume_token(135);
         ColumnValue();
       }
       break;
-    case 130:
-      jj_consume_token(130);
+    case 132:
+      jj_consume_token(132);
       ObjectName();
       label_7:
       while (true) {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 133:
+        case 135:
           ;
           break;
         default:
           jj_la1[23] = jj_gen;
           break label_7;
         }
-        jj_consume_token(133);
+        jj_consume_token(135);
         ObjectName();
       }
-      jj_consume_token(131);
-      jj_consume_token(134);
-      jj_consume_token(130);
+      jj_consume_token(133);
+      jj_consume_token(136);
+      jj_consume_token(132);
       SelectExpression();
-      jj_consume_token(131);
+      jj_consume_token(133);
       break;
     default:
       jj_la1[24] = jj_gen;
@@ -737,62 +762,95 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   final public void ColumnValue() throws ParseException, StreamSqlException {
     ObjectName();
-    jj_consume_token(134);
+    jj_consume_token(136);
     Expression();
   }
 
   final public InsertStatement InsertStatement() throws ParseException, StreamSqlException {
-    String name;
-    StreamExpression expression;
+    InsertStatement stmt;
     jj_consume_token(K_INSERT);
-    jj_consume_token(K_INTO);
-    name = ObjectName();
-    expression = StreamExpression();
-       {if (true) return new InsertStatement(name, expression, InsertMode.INSERT);}
+    stmt = InsertInto(InsertMode.INSERT);
+                                                 {if (true) return stmt;}
     throw new Error("Missing return statement in function");
   }
 
   final public InsertStatement UpsertStatement() throws ParseException, StreamSqlException {
-    String name;
-    StreamExpression expression;
+    InsertStatement stmt;
     jj_consume_token(K_UPSERT);
-    jj_consume_token(K_INTO);
-    name = ObjectName();
-    expression = StreamExpression();
-       {if (true) return new InsertStatement(name, expression, InsertMode.UPSERT);}
+    stmt = InsertInto(InsertMode.UPSERT);
+                                                   {if (true) return stmt;}
     throw new Error("Missing return statement in function");
   }
 
   final public InsertStatement InsertAppendStatement() throws ParseException, StreamSqlException {
-    String name;
-    StreamExpression expression;
+    InsertStatement stmt;
     jj_consume_token(K_INSERT_APPEND);
-    jj_consume_token(K_INTO);
-    name = ObjectName();
-    expression = StreamExpression();
-       {if (true) return new InsertStatement(name, expression, InsertMode.INSERT_APPEND);}
+    stmt = InsertInto(InsertMode.INSERT_APPEND);
+                                                               {if (true) return stmt;}
     throw new Error("Missing return statement in function");
   }
 
   final public InsertStatement UpsertAppendStatement() throws ParseException, StreamSqlException {
-    String name;
-    StreamExpression expression;
+    InsertStatement stmt;
     jj_consume_token(K_UPSERT_APPEND);
-    jj_consume_token(K_INTO);
-    name = ObjectName();
-    expression = StreamExpression();
-       {if (true) return new InsertStatement(name, expression, InsertMode.UPSERT_APPEND);}
+    stmt = InsertInto(InsertMode.UPSERT_APPEND);
+                                                               {if (true) return stmt;}
     throw new Error("Missing return statement in function");
   }
 
   final public InsertStatement LoadStatement() throws ParseException, StreamSqlException {
-    String name;
-    StreamExpression expression;
+    InsertStatement stmt;
     jj_consume_token(K_LOAD);
+    stmt = InsertInto(InsertMode.LOAD);
+                                             {if (true) return stmt;}
+    throw new Error("Missing return statement in function");
+  }
+
+  final public InsertStatement InsertInto(InsertMode mode) throws ParseException, StreamSqlException {
+    String name, policyName;
+    StreamExpression expression;
+    GroupCommitSpec gcspec = null;
+    int queueSize = 0;
+    OverflowPolicy policy = null;
     jj_consume_token(K_INTO);
     name = ObjectName();
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case K_GROUP_COMMIT:
+      gcspec = GroupCommitSpec();
+      break;
+    default:
+      jj_la1[25] = jj_gen;
+      ;
+    }
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case K_ASYNC:
+      jj_consume_token(K_ASYNC);
+      jj_consume_token(132);
+      jj_consume_token(S_INTEGER);
+                                queueSize = Integer.parseInt(token.image);
+      jj_consume_token(135);
+      policyName = ObjectName();
+      jj_consume_token(133);
+          if (queueSize < 1) {
+             {if (true) throw new GenericStreamSqlException("The ASYNC queue size has to be positive");}
+          }
+          try {
+             policy = OverflowPolicy.valueOf(policyName.toUpperCase());
+          } catch (IllegalArgumentException e) {
+             {if (true) throw new GenericStreamSqlException("Invalid overflow policy '" + policyName
+                + "'; valid values are BLOCK, DROP_OLDEST and DROP_NEWEST");}
+          }
+      break;
+    default:
+      jj_la1[26] = jj_gen;
+      ;
+    }
     expression = StreamExpression();
-       {if (true) return new InsertStatement(name, expression, InsertMode.LOAD);}
+       InsertStatement stmt = new InsertStatement(name, expression, mode, gcspec);
+       if (policy != null) {
+          stmt.setAsync(queueSize, policy);
+       }
+       {if (true) return stmt;}
     throw new Error("Missing return statement in function");
   }
 
@@ -807,14 +865,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     label_8:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[25] = jj_gen;
+        jj_la1[27] = jj_gen;
         break label_8;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       tsrc = TupleSourceExpression();
                                       mergeExpr.addTupleSourceExpression(tsrc);
     }
@@ -827,7 +885,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                mergeExpr.setAscending(ascending);
       break;
     default:
-      jj_la1[26] = jj_gen;
+      jj_la1[28] = jj_gen;
       ;
     }
         {if (true) return mergeExpr;}
@@ -847,7 +905,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       expression = Expression();
       break;
     default:
-      jj_la1[27] = jj_gen;
+      jj_la1[29] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -856,7 +914,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       limit = NumericConstant();
       break;
     default:
-      jj_la1[28] = jj_gen;
+      jj_la1[30] = jj_gen;
       ;
     }
         {if (true) return new DeleteStatement(tableName, expression, limit.longValue());}
@@ -874,22 +932,22 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     tableName = ObjectName();
     jj_consume_token(K_SET);
     colName = ObjectName();
-    jj_consume_token(134);
+    jj_consume_token(136);
     colValue = SimpleExpression();
           updateList.add(new UpdateTableStatement.UpdateItem(colName, colValue));
     label_9:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[29] = jj_gen;
+        jj_la1[31] = jj_gen;
         break label_9;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       colName = ObjectName();
-      jj_consume_token(134);
+      jj_consume_token(136);
       colValue = SimpleExpression();
           updateList.add(new UpdateTableStatement.UpdateItem(colName, colValue));
     }
@@ -899,7 +957,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       whereExpr = Expression();
       break;
     default:
-      jj_la1[30] = jj_gen;
+      jj_la1[32] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -908,7 +966,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       limit = NumericConstant();
       break;
     default:
-      jj_la1[31] = jj_gen;
+      jj_la1[33] = jj_gen;
       ;
     }
         {if (true) return new UpdateTableStatement(tableName, updateList, whereExpr, limit.longValue());}
@@ -933,13 +991,13 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_consume_token(K_ORIGINAL);
       columnName = ObjectName();
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
-        jj_consume_token(133);
+      case 135:
+        jj_consume_token(135);
         bd = NumericConstant();
                                                                   x=bd.floatValue();
         break;
       default:
-        jj_la1[32] = jj_gen;
+        jj_la1[34] = jj_gen;
         ;
       }
                                                                                         {if (true) return new SpeedSpec(SpeedSpec.Type.ORIGINAL, columnName, x);}
@@ -950,7 +1008,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                 {if (true) return new SpeedSpec(SpeedSpec.Type.STEP_BY_STEP, Integer.parseInt(token.image));}
       break;
     default:
-      jj_la1[33] = jj_gen;
+      jj_la1[35] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -970,7 +1028,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                     retExpr = new OrExpression(retExpr, expr);
       break;
     default:
-      jj_la1[34] = jj_gen;
+      jj_la1[36] = jj_gen;
       ;
     }
         retExpr.setArgs(args);
@@ -990,7 +1048,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
         ;
         break;
       default:
-        jj_la1[35] = jj_gen;
+        jj_la1[37] = jj_gen;
         break label_10;
       }
       jj_consume_token(K_AND);
@@ -1011,7 +1069,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
             notset = true;
       break;
     default:
-      jj_la1[36] = jj_gen;
+      jj_la1[38] = jj_gen;
       ;
     }
     expr = RelationalExpression();
@@ -1034,23 +1092,23 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     case K_IS:
     case K_LIKE:
     case K_NOT:
-    case 134:
-    case 140:
-    case 148:
-    case 149:
+    case 136:
+    case 142:
     case 150:
+    case 151:
+    case 152:
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 134:
-      case 140:
-      case 148:
-      case 149:
+      case 136:
+      case 142:
       case 150:
+      case 151:
+      case 152:
         relOp = RelOp();
         expr = SimpleExpression();
                                                retExpr=new RelationalExpression(retExpr,expr,relOp);
         break;
       default:
-        jj_la1[37] = jj_gen;
+        jj_la1[39] = jj_gen;
         if (jj_2_10(2)) {
           inClause = InClause();
                                         retExpr=new InExpression(expr, inClause);
@@ -1065,7 +1123,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
             IsNullClause();
             break;
           default:
-            jj_la1[38] = jj_gen;
+            jj_la1[40] = jj_gen;
             jj_consume_token(-1);
             throw new ParseException();
           }
@@ -1073,7 +1131,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       }
       break;
     default:
-      jj_la1[39] = jj_gen;
+      jj_la1[41] = jj_gen;
       ;
     }
         {if (true) return retExpr;}
@@ -1088,14 +1146,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     label_11:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[40] = jj_gen;
+        jj_la1[42] = jj_gen;
         break label_11;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       expr = Expression();
                                                                list.add(expr);
     }
@@ -1112,13 +1170,13 @@ public class StreamSqlParser implements StreamSqlParserConstants {
             inClause.setNegation(true);
       break;
     default:
-      jj_la1[41] = jj_gen;
+      jj_la1[43] = jj_gen;
       ;
     }
     jj_consume_token(K_IN);
-    jj_consume_token(130);
+    jj_consume_token(132);
     list = ExpressionList();
-    jj_consume_token(131);
+    jj_consume_token(133);
                                        inClause.setList(list);
     {if (true) return inClause;}
     throw new Error("Missing return statement in function");
@@ -1130,7 +1188,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_consume_token(K_NOT);
       break;
     default:
-      jj_la1[42] = jj_gen;
+      jj_la1[44] = jj_gen;
       ;
     }
     jj_consume_token(K_BETWEEN);
@@ -1148,7 +1206,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
             likeClause.setNegation(true);
       break;
     default:
-      jj_la1[43] = jj_gen;
+      jj_la1[45] = jj_gen;
       ;
     }
     jj_consume_token(K_LIKE);
@@ -1162,7 +1220,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                  likeClause.setPattern(nextArgAsString());
       break;
     default:
-      jj_la1[44] = jj_gen;
+      jj_la1[46] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1177,7 +1235,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_consume_token(K_NOT);
       break;
     default:
-      jj_la1[45] = jj_gen;
+      jj_la1[47] = jj_gen;
       ;
     }
     jj_consume_token(K_NULL);
@@ -1219,13 +1277,13 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     label_13:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 136:
-      case 137:
-      case 145:
+      case 138:
+      case 139:
+      case 147:
         ;
         break;
       default:
-        jj_la1[46] = jj_gen;
+        jj_la1[48] = jj_gen;
         break label_13;
       }
       addOp = AddOp();
@@ -1251,12 +1309,12 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case K_MOD:
-      case 146:
-      case 147:
+      case 148:
+      case 149:
         ;
         break;
       default:
-        jj_la1[47] = jj_gen;
+        jj_la1[49] = jj_gen;
         break label_14;
       }
       multOp = MultOp();
@@ -1276,13 +1334,13 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     expr = UnaryExpression();
                             retExpr=expr;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 135:
-      jj_consume_token(135);
+    case 137:
+      jj_consume_token(137);
       expr = UnaryExpression();
                                    retExpr=new ExponentExpression(retExpr,expr);
       break;
     default:
-      jj_la1[48] = jj_gen;
+      jj_la1[50] = jj_gen;
       ;
     }
         {if (true) return retExpr;}
@@ -1293,24 +1351,24 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     Expression expr;
     boolean negative=false;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 136:
-    case 137:
+    case 138:
+    case 139:
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 136:
-        jj_consume_token(136);
+      case 138:
+        jj_consume_token(138);
         break;
-      case 137:
-        jj_consume_token(137);
+      case 139:
+        jj_consume_token(139);
                 negative=true;
         break;
       default:
-        jj_la1[49] = jj_gen;
+        jj_la1[51] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       break;
     default:
-      jj_la1[50] = jj_gen;
+      jj_la1[52] = jj_gen;
       ;
     }
     expr = PrimaryExpression();
@@ -1357,23 +1415,23 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                {if (true) return nextArg();}
       break;
     default:
-      jj_la1[51] = jj_gen;
+      jj_la1[53] = jj_gen;
       if (jj_2_14(3)) {
-        jj_consume_token(130);
+        jj_consume_token(132);
         expr = SimpleExpression();
-        jj_consume_token(131);
+        jj_consume_token(133);
                                                     {if (true) return expr;}
       } else {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
         case K_ARRAY:
           jj_consume_token(K_ARRAY);
-          jj_consume_token(138);
+          jj_consume_token(140);
           exprList = ExpressionList();
-          jj_consume_token(139);
+          jj_consume_token(141);
                                                  {if (true) return new ArrayExpression(exprList);}
           break;
         default:
-          jj_la1[52] = jj_gen;
+          jj_la1[54] = jj_gen;
           if (jj_2_15(2147483647)) {
             expr = FunctionCall();
                                                      {if (true) return expr;}
@@ -1385,7 +1443,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                        {if (true) return new ColumnExpression(name);}
               break;
             default:
-              jj_la1[53] = jj_gen;
+              jj_la1[55] = jj_gen;
               jj_consume_token(-1);
               throw new ParseException();
             }
@@ -1408,7 +1466,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                   String s1 = token.image; {if (true) return s1.substring(1, s1.length() - 1);}
       break;
     default:
-      jj_la1[54] = jj_gen;
+      jj_la1[56] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1417,28 +1475,28 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   final public BitwiseOp BitwiseOp() throws ParseException, StreamSqlException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 140:
-      jj_consume_token(140);
-         {if (true) return BitwiseOp.AND;}
-      break;
-    case 141:
-      jj_consume_token(141);
-         {if (true) return BitwiseOp.OR;}
-      break;
     case 142:
       jj_consume_token(142);
-         {if (true) return BitwiseOp.XOR;}
+         {if (true) return BitwiseOp.AND;}
       break;
     case 143:
       jj_consume_token(143);
-          {if (true) return BitwiseOp.LSHIFT;}
+         {if (true) return BitwiseOp.OR;}
       break;
     case 144:
       jj_consume_token(144);
+         {if (true) return BitwiseOp.XOR;}
+      break;
+    case 145:
+      jj_consume_token(145);
+          {if (true) return BitwiseOp.LSHIFT;}
+      break;
+    case 146:
+      jj_consume_token(146);
           {if (true) return BitwiseOp.RSHIFT;}
       break;
     default:
-      jj_la1[55] = jj_gen;
+      jj_la1[57] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1447,20 +1505,20 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   final public AddOp AddOp() throws ParseException, StreamSqlException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 136:
-      jj_consume_token(136);
+    case 138:
+      jj_consume_token(138);
          {if (true) return AddOp.PLUS;}
       break;
-    case 137:
-      jj_consume_token(137);
+    case 139:
+      jj_consume_token(139);
          {if (true) return AddOp.MINUS;}
       break;
-    case 145:
-      jj_consume_token(145);
+    case 147:
+      jj_consume_token(147);
           {if (true) return AddOp.STRING_PLUS;}
       break;
     default:
-      jj_la1[56] = jj_gen;
+      jj_la1[58] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1469,12 +1527,12 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   final public MultOp MultOp() throws ParseException, StreamSqlException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 146:
-      jj_consume_token(146);
+    case 148:
+      jj_consume_token(148);
          {if (true) return MultOp.MULT;}
       break;
-    case 147:
-      jj_consume_token(147);
+    case 149:
+      jj_consume_token(149);
          {if (true) return MultOp.DIV;}
       break;
     case K_MOD:
@@ -1482,7 +1540,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
            {if (true) return MultOp.MOD;}
       break;
     default:
-      jj_la1[57] = jj_gen;
+      jj_la1[59] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1491,49 +1549,49 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   final public RelOp RelOp() throws ParseException, StreamSqlException {
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 134:
-      jj_consume_token(134);
+    case 136:
+      jj_consume_token(136);
          {if (true) return RelOp.EQUAL;}
       break;
-    case 148:
-      jj_consume_token(148);
-      jj_consume_token(134);
+    case 150:
+      jj_consume_token(150);
+      jj_consume_token(136);
              {if (true) return RelOp.NOT_EQUAL;}
       break;
     default:
-      jj_la1[58] = jj_gen;
+      jj_la1[60] = jj_gen;
       if (jj_2_16(2)) {
-        jj_consume_token(149);
-        jj_consume_token(134);
+        jj_consume_token(151);
+        jj_consume_token(136);
                           {if (true) return RelOp.GREATER_OR_EQUAL;}
       } else {
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 149:
-          jj_consume_token(149);
+        case 151:
+          jj_consume_token(151);
          {if (true) return RelOp.GREATER;}
           break;
         default:
-          jj_la1[59] = jj_gen;
+          jj_la1[61] = jj_gen;
           if (jj_2_17(2)) {
-            jj_consume_token(150);
-            jj_consume_token(149);
+            jj_consume_token(152);
+            jj_consume_token(151);
                           {if (true) return RelOp.NOT_EQUAL;}
           } else if (jj_2_18(2)) {
-            jj_consume_token(150);
-            jj_consume_token(134);
+            jj_consume_token(152);
+            jj_consume_token(136);
                           {if (true) return RelOp.LESS_OR_EQUAL;}
           } else if (jj_2_19(2)) {
-            jj_consume_token(140);
-            jj_consume_token(140);
+            jj_consume_token(142);
+            jj_consume_token(142);
                           {if (true) return RelOp.OVERLAP;}
           } else {
             switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-            case 150:
-              jj_consume_token(150);
+            case 152:
+              jj_consume_token(152);
          {if (true) return RelOp.LESS;}
               break;
             default:
-              jj_la1[60] = jj_gen;
+              jj_la1[62] = jj_gen;
               jj_consume_token(-1);
               throw new ParseException();
             }
@@ -1549,14 +1607,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     label_15:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[61] = jj_gen;
+        jj_la1[63] = jj_gen;
         break label_15;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       Argument();
     }
   }
@@ -1564,7 +1622,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   final public void Argument() throws ParseException, StreamSqlException {
     if (jj_2_20(2)) {
       jj_consume_token(S_IDENTIFIER);
-      jj_consume_token(151);
+      jj_consume_token(153);
     } else {
       ;
     }
@@ -1586,7 +1644,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                 expression.setAscending(ascending);
       break;
     default:
-      jj_la1[62] = jj_gen;
+      jj_la1[64] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1594,7 +1652,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_consume_token(K_LIMIT);
       if (jj_2_21(2)) {
         offset = NumericConstant();
-        jj_consume_token(133);
+        jj_consume_token(135);
       } else {
         ;
       }
@@ -1602,7 +1660,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                   expression.setLimit(offset, limit);
       break;
     default:
-      jj_la1[63] = jj_gen;
+      jj_la1[65] = jj_gen;
       ;
     }
         {if (true) return expression;}
@@ -1622,14 +1680,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     tsrc = TupleSourceExpression();
                                            selectExpr.setFirstSource(tsrc);
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 138:
-      jj_consume_token(138);
+    case 140:
+      jj_consume_token(140);
       windowSpec = WindowSpecification();
                                             selectExpr.setWindow(windowSpec);
-      jj_consume_token(139);
+      jj_consume_token(141);
       break;
     default:
-      jj_la1[64] = jj_gen;
+      jj_la1[66] = jj_gen;
       ;
     }
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1639,7 +1697,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                                          selectExpr.setWhereClause(whereClause);
       break;
     default:
-      jj_la1[65] = jj_gen;
+      jj_la1[67] = jj_gen;
       ;
     }
         {if (true) return selectExpr;}
@@ -1655,14 +1713,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     label_16:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[66] = jj_gen;
+        jj_la1[68] = jj_gen;
         break label_16;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       selectItem = SelectItem();
                                     selectList.add(selectItem);
     }
@@ -1675,8 +1733,8 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     Expression expr;
     SelectItem selectItem;
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-    case 146:
-      jj_consume_token(146);
+    case 148:
+      jj_consume_token(148);
             {if (true) return SelectItem.STAR;}
       break;
     case K_ARRAY:
@@ -1686,9 +1744,9 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     case S_IDENTIFIER:
     case S_DOUBLE_QUOTED_IDENTIFIER:
     case S_QMARK:
-    case 130:
-    case 136:
-    case 137:
+    case 132:
+    case 138:
+    case 139:
       expr = SimpleExpression();
                                 selectItem=new SelectItem(expr);
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
@@ -1700,20 +1758,20 @@ public class StreamSqlParser implements StreamSqlParserConstants {
           jj_consume_token(K_AS);
           break;
         default:
-          jj_la1[67] = jj_gen;
+          jj_la1[69] = jj_gen;
           ;
         }
         name = ObjectName();
             selectItem.setAlias(name);
         break;
       default:
-        jj_la1[68] = jj_gen;
+        jj_la1[70] = jj_gen;
         ;
       }
       {if (true) return selectItem;}
       break;
     default:
-      jj_la1[69] = jj_gen;
+      jj_la1[71] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1750,14 +1808,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                         wspec = new WindowSpecification(size,advance,WindowSpecification.Type.FIELD,field);
         break;
       default:
-        jj_la1[70] = jj_gen;
+        jj_la1[72] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
    {if (true) return wspec;}
       break;
     default:
-      jj_la1[71] = jj_gen;
+      jj_la1[73] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -1777,32 +1835,32 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case K_HISTOGRAM:
         jj_consume_token(K_HISTOGRAM);
-        jj_consume_token(130);
+        jj_consume_token(132);
         histoColumn = ObjectName();
                                                          tsrc.setHistogramColumn(histoColumn);
         switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-        case 133:
-          jj_consume_token(133);
+        case 135:
+          jj_consume_token(135);
           mergeTime = NumericConstant();
                                                  tsrc.setHistogramMergeTime(mergeTime);
           break;
         default:
-          jj_la1[72] = jj_gen;
+          jj_la1[74] = jj_gen;
           ;
         }
-        jj_consume_token(131);
+        jj_consume_token(133);
         break;
       default:
-        jj_la1[73] = jj_gen;
+        jj_la1[75] = jj_gen;
         ;
       }
       break;
     default:
-      jj_la1[74] = jj_gen;
+      jj_la1[76] = jj_gen;
       if (jj_2_22(3)) {
-        jj_consume_token(130);
+        jj_consume_token(132);
         expr = StreamExpression();
-        jj_consume_token(131);
+        jj_consume_token(133);
                                                        tsrc=new TupleSourceExpression(expr);
       } else {
         jj_consume_token(-1);
@@ -1817,26 +1875,26 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     String columnName;
     TupleDefinition tupleDefinition=new TupleDefinition();
     DataType columnType;
-    jj_consume_token(130);
+    jj_consume_token(132);
     columnName = ObjectName();
     columnType = DataTypeDefinition();
                                                                  tupleDefinition.addColumn(columnName,columnType);
     label_17:
     while (true) {
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
-      case 133:
+      case 135:
         ;
         break;
       default:
-        jj_la1[75] = jj_gen;
+        jj_la1[77] = jj_gen;
         break label_17;
       }
-      jj_consume_token(133);
+      jj_consume_token(135);
       columnName = ObjectName();
       columnType = DataTypeDefinition();
                                                                   tupleDefinition.addColumn(columnName,columnType);
     }
-    jj_consume_token(131);
+    jj_consume_token(133);
         {if (true) return tupleDefinition;}
     throw new Error("Missing return statement in function");
   }
@@ -1856,13 +1914,13 @@ public class StreamSqlParser implements StreamSqlParserConstants {
                      ascending=false;
         break;
       default:
-        jj_la1[76] = jj_gen;
+        jj_la1[78] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       break;
     default:
-      jj_la1[77] = jj_gen;
+      jj_la1[79] = jj_gen;
       ;
     }
     {if (true) return ascending;}
@@ -1874,7 +1932,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
    List<Expression> args=null;
    boolean star=false;
     name = ObjectName();
-    jj_consume_token(130);
+    jj_consume_token(132);
     switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
     case K_ARRAY:
     case K_NOT:
@@ -1884,10 +1942,10 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     case S_IDENTIFIER:
     case S_DOUBLE_QUOTED_IDENTIFIER:
     case S_QMARK:
-    case 130:
-    case 136:
-    case 137:
-    case 146:
+    case 132:
+    case 138:
+    case 139:
+    case 148:
       switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
       case K_ARRAY:
       case K_NOT:
@@ -1897,26 +1955,26 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       case S_IDENTIFIER:
       case S_DOUBLE_QUOTED_IDENTIFIER:
       case S_QMARK:
-      case 130:
-      case 136:
-      case 137:
+      case 132:
+      case 138:
+      case 139:
         args = ExpressionList();
         break;
-      case 146:
-        jj_consume_token(146);
+      case 148:
+        jj_consume_token(148);
                    star=true;
         break;
       default:
-        jj_la1[78] = jj_gen;
+        jj_la1[80] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
       break;
     default:
-      jj_la1[79] = jj_gen;
+      jj_la1[81] = jj_gen;
       ;
     }
-    jj_consume_token(131);
+    jj_consume_token(133);
       {if (true) return FunctionExpressionFactory.get(name, args, star);}
     throw new Error("Missing return statement in function");
   }
@@ -1930,7 +1988,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_consume_token(S_FLOAT);
       break;
     default:
-      jj_la1[80] = jj_gen;
+      jj_la1[82] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -2101,170 +2159,6 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     finally { jj_save(21, xla); }
   }
 
-  private boolean jj_3R_56() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_63()) {
-    jj_scanpos = xsp;
-    if (jj_3R_64()) {
-    jj_scanpos = xsp;
-    if (jj_3R_65()) return true;
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_63() {
-    if (jj_scan_token(136)) return true;
-    return false;
-  }
-
-  private boolean jj_3_10() {
-    if (jj_3R_27()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_44() {
-    if (jj_scan_token(144)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_43() {
-    if (jj_scan_token(143)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_42() {
-    if (jj_scan_token(142)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_49() {
-    if (jj_3R_53()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_41() {
-    if (jj_scan_token(141)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_48() {
-    if (jj_3R_52()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_30() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_40()) {
-    jj_scanpos = xsp;
-    if (jj_3R_41()) {
-    jj_scanpos = xsp;
-    if (jj_3R_42()) {
-    jj_scanpos = xsp;
-    if (jj_3R_43()) {
-    jj_scanpos = xsp;
-    if (jj_3R_44()) return true;
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  private boolean jj_3R_40() {
-    if (jj_scan_token(140)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_35() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_48()) {
-    jj_scanpos = xsp;
-    if (jj_3R_49()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_47() {
-    if (jj_scan_token(S_DOUBLE_QUOTED_IDENTIFIER)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_33() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_46()) {
-    jj_scanpos = xsp;
-    if (jj_3R_47()) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_46() {
-    if (jj_scan_token(S_IDENTIFIER)) return true;
-    return false;
-  }
-
-  private boolean jj_3_15() {
-    if (jj_3R_33()) return true;
-    if (jj_scan_token(130)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_26() {
-    if (jj_scan_token(K_ALTER)) return true;
-    if (jj_scan_token(K_SEQUENCE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_34() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(114)) {
-    jj_scanpos = xsp;
-    if (jj_scan_token(117)) return true;
-    }
-    return false;
-  }
-
-  private boolean jj_3R_18() {
-    if (jj_scan_token(K_CREATE)) return true;
-    if (jj_scan_token(K_TABLE)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_80() {
-    if (jj_3R_33()) return true;
-    if (jj_scan_token(130)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_75() {
-    if (jj_3R_33()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_74() {
-    if (jj_3R_80()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_73() {
-    if (jj_scan_token(K_ARRAY)) return true;
-    if (jj_scan_token(138)) return true;
-    return false;
-  }
-
-  private boolean jj_3_14() {
-    if (jj_scan_token(130)) return true;
-    if (jj_3R_32()) return true;
-    if (jj_scan_token(131)) return true;
-    return false;
-  }
-
   private boolean jj_3R_72() {
     if (jj_scan_token(S_QMARK)) return true;
     return false;
@@ -2280,23 +2174,11 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3R_25() {
-    if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_SEQUENCES)) return true;
-    return false;
-  }
-
   private boolean jj_3R_69() {
     if (jj_scan_token(S_INTEGER)) return true;
     return false;
   }
 
-  private boolean jj_3R_24() {
-    if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_DATABASES)) return true;
-    return false;
-  }
-
   private boolean jj_3R_60() {
     Token xsp;
     xsp = jj_scanpos;
@@ -2325,58 +2207,45 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3R_23() {
+  private boolean jj_3R_25() {
     if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_ENGINES)) return true;
-    return false;
-  }
-
-  private boolean jj_3_9() {
-    if (jj_3R_26()) return true;
-    return false;
-  }
-
-  private boolean jj_3R_68() {
-    if (jj_scan_token(137)) return true;
+    if (jj_scan_token(K_SEQUENCES)) return true;
     return false;
   }
 
-  private boolean jj_3_8() {
-    if (jj_3R_25()) return true;
+  private boolean jj_3R_18() {
+    if (jj_scan_token(K_CREATE)) return true;
+    if (jj_scan_token(K_TABLE)) return true;
     return false;
   }
 
-  private boolean jj_3_7() {
-    if (jj_3R_24()) return true;
+  private boolean jj_3R_24() {
+    if (jj_scan_token(K_SHOW)) return true;
+    if (jj_scan_token(K_DATABASES)) return true;
     return false;
   }
 
-  private boolean jj_3R_21() {
-    if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_STREAM)) return true;
+  private boolean jj_3R_68() {
+    if (jj_scan_token(139)) return true;
     return false;
   }
 
   private boolean jj_3_22() {
-    if (jj_scan_token(130)) return true;
+    if (jj_scan_token(132)) return true;
     if (jj_3R_35()) return true;
     return false;
   }
 
-  private boolean jj_3_6() {
-    if (jj_3R_23()) return true;
-    return false;
-  }
-
-  private boolean jj_3_5() {
-    if (jj_3R_22()) return true;
+  private boolean jj_3R_23() {
+    if (jj_scan_token(K_SHOW)) return true;
+    if (jj_scan_token(K_ENGINES)) return true;
     return false;
   }
 
   private boolean jj_3R_59() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(136)) {
+    if (jj_scan_token(138)) {
     jj_scanpos = xsp;
     if (jj_3R_68()) return true;
     }
@@ -2391,21 +2260,11 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3_4() {
-    if (jj_3R_21()) return true;
-    return false;
-  }
-
   private boolean jj_3R_67() {
     if (jj_3R_33()) return true;
     return false;
   }
 
-  private boolean jj_3_3() {
-    if (jj_3R_20()) return true;
-    return false;
-  }
-
   private boolean jj_3R_58() {
     Token xsp;
     xsp = jj_scanpos;
@@ -2416,14 +2275,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3R_22() {
+  private boolean jj_3R_21() {
     if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_TABLES)) return true;
+    if (jj_scan_token(K_STREAM)) return true;
     return false;
   }
 
   private boolean jj_3R_61() {
-    if (jj_scan_token(135)) return true;
+    if (jj_scan_token(137)) return true;
     return false;
   }
 
@@ -2435,9 +2294,24 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3R_20() {
+  private boolean jj_3R_22() {
     if (jj_scan_token(K_SHOW)) return true;
-    if (jj_scan_token(K_STREAMS)) return true;
+    if (jj_scan_token(K_TABLES)) return true;
+    return false;
+  }
+
+  private boolean jj_3_9() {
+    if (jj_3R_26()) return true;
+    return false;
+  }
+
+  private boolean jj_3_8() {
+    if (jj_3R_25()) return true;
+    return false;
+  }
+
+  private boolean jj_3_7() {
+    if (jj_3R_24()) return true;
     return false;
   }
 
@@ -2446,6 +2320,17 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
+  private boolean jj_3_6() {
+    if (jj_3R_23()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_20() {
+    if (jj_scan_token(K_SHOW)) return true;
+    if (jj_scan_token(K_STREAMS)) return true;
+    return false;
+  }
+
   private boolean jj_3R_45() {
     if (jj_3R_50()) return true;
     Token xsp;
@@ -2456,13 +2341,18 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
-  private boolean jj_3_2() {
-    if (jj_3R_19()) return true;
+  private boolean jj_3_5() {
+    if (jj_3R_22()) return true;
     return false;
   }
 
-  private boolean jj_3_1() {
-    if (jj_3R_18()) return true;
+  private boolean jj_3_4() {
+    if (jj_3R_21()) return true;
+    return false;
+  }
+
+  private boolean jj_3_3() {
+    if (jj_3R_20()) return true;
     return false;
   }
 
@@ -2472,7 +2362,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   }
 
   private boolean jj_3R_81() {
-    if (jj_scan_token(146)) return true;
+    if (jj_scan_token(148)) return true;
     return false;
   }
 
@@ -2512,6 +2402,16 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
+  private boolean jj_3_2() {
+    if (jj_3R_19()) return true;
+    return false;
+  }
+
+  private boolean jj_3_1() {
+    if (jj_3R_18()) return true;
+    return false;
+  }
+
   private boolean jj_3_13() {
     if (jj_3R_30()) return true;
     if (jj_3R_31()) return true;
@@ -2536,13 +2436,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   private boolean jj_3_21() {
     if (jj_3R_34()) return true;
-    if (jj_scan_token(133)) return true;
-    return false;
-  }
-
-  private boolean jj_3R_19() {
-    if (jj_scan_token(K_CREATE)) return true;
-    if (jj_scan_token(K_STREAM)) return true;
+    if (jj_scan_token(135)) return true;
     return false;
   }
 
@@ -2566,6 +2460,12 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     return false;
   }
 
+  private boolean jj_3R_19() {
+    if (jj_scan_token(K_CREATE)) return true;
+    if (jj_scan_token(K_STREAM)) return true;
+    return false;
+  }
+
   private boolean jj_3R_29() {
     Token xsp;
     xsp = jj_scanpos;
@@ -2581,14 +2481,14 @@ public class StreamSqlParser implements StreamSqlParserConstants {
 
   private boolean jj_3_20() {
     if (jj_scan_token(S_IDENTIFIER)) return true;
-    if (jj_scan_token(151)) return true;
+    if (jj_scan_token(153)) return true;
     return false;
   }
 
   private boolean jj_3R_28() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(61)) jj_scanpos = xsp;
+    if (jj_scan_token(63)) jj_scanpos = xsp;
     if (jj_scan_token(K_BETWEEN)) return true;
     if (jj_3R_32()) return true;
     return false;
@@ -2604,31 +2504,31 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     xsp = jj_scanpos;
     if (jj_3R_36()) jj_scanpos = xsp;
     if (jj_scan_token(K_IN)) return true;
-    if (jj_scan_token(130)) return true;
+    if (jj_scan_token(132)) return true;
     return false;
   }
 
   private boolean jj_3_19() {
-    if (jj_scan_token(140)) return true;
-    if (jj_scan_token(140)) return true;
+    if (jj_scan_token(142)) return true;
+    if (jj_scan_token(142)) return true;
     return false;
   }
 
   private boolean jj_3_18() {
-    if (jj_scan_token(150)) return true;
-    if (jj_scan_token(134)) return true;
+    if (jj_scan_token(152)) return true;
+    if (jj_scan_token(136)) return true;
     return false;
   }
 
   private boolean jj_3_17() {
-    if (jj_scan_token(150)) return true;
-    if (jj_scan_token(149)) return true;
+    if (jj_scan_token(152)) return true;
+    if (jj_scan_token(151)) return true;
     return false;
   }
 
   private boolean jj_3_16() {
-    if (jj_scan_token(149)) return true;
-    if (jj_scan_token(134)) return true;
+    if (jj_scan_token(151)) return true;
+    if (jj_scan_token(136)) return true;
     return false;
   }
 
@@ -2638,12 +2538,12 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   }
 
   private boolean jj_3R_77() {
-    if (jj_scan_token(147)) return true;
+    if (jj_scan_token(149)) return true;
     return false;
   }
 
   private boolean jj_3R_76() {
-    if (jj_scan_token(146)) return true;
+    if (jj_scan_token(148)) return true;
     return false;
   }
 
@@ -2666,7 +2566,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   }
 
   private boolean jj_3R_65() {
-    if (jj_scan_token(145)) return true;
+    if (jj_scan_token(147)) return true;
     return false;
   }
 
@@ -2676,7 +2576,165 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   }
 
   private boolean jj_3R_64() {
-    if (jj_scan_token(137)) return true;
+    if (jj_scan_token(139)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_56() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_63()) {
+    jj_scanpos = xsp;
+    if (jj_3R_64()) {
+    jj_scanpos = xsp;
+    if (jj_3R_65()) return true;
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_63() {
+    if (jj_scan_token(138)) return true;
+    return false;
+  }
+
+  private boolean jj_3_10() {
+    if (jj_3R_27()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_44() {
+    if (jj_scan_token(146)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_43() {
+    if (jj_scan_token(145)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_42() {
+    if (jj_scan_token(144)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_41() {
+    if (jj_scan_token(143)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_30() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_40()) {
+    jj_scanpos = xsp;
+    if (jj_3R_41()) {
+    jj_scanpos = xsp;
+    if (jj_3R_42()) {
+    jj_scanpos = xsp;
+    if (jj_3R_43()) {
+    jj_scanpos = xsp;
+    if (jj_3R_44()) return true;
+    }
+    }
+    }
+    }
+    return false;
+  }
+
+  private boolean jj_3R_40() {
+    if (jj_scan_token(142)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_47() {
+    if (jj_scan_token(S_DOUBLE_QUOTED_IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_33() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_46()) {
+    jj_scanpos = xsp;
+    if (jj_3R_47()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_46() {
+    if (jj_scan_token(S_IDENTIFIER)) return true;
+    return false;
+  }
+
+  private boolean jj_3_15() {
+    if (jj_3R_33()) return true;
+    if (jj_scan_token(132)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_34() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(116)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(119)) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_49() {
+    if (jj_3R_53()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_48() {
+    if (jj_3R_52()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_35() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_48()) {
+    jj_scanpos = xsp;
+    if (jj_3R_49()) return true;
+    }
+    return false;
+  }
+
+  private boolean jj_3R_80() {
+    if (jj_3R_33()) return true;
+    if (jj_scan_token(132)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_75() {
+    if (jj_3R_33()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_74() {
+    if (jj_3R_80()) return true;
+    return false;
+  }
+
+  private boolean jj_3R_73() {
+    if (jj_scan_token(K_ARRAY)) return true;
+    if (jj_scan_token(140)) return true;
+    return false;
+  }
+
+  private boolean jj_3R_26() {
+    if (jj_scan_token(K_ALTER)) return true;
+    if (jj_scan_token(K_SEQUENCE)) return true;
+    return false;
+  }
+
+  private boolean jj_3_14() {
+    if (jj_scan_token(132)) return true;
+    if (jj_3R_32()) return true;
+    if (jj_scan_token(133)) return true;
     return false;
   }
 
@@ -2691,7 +2749,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   private Token jj_scanpos, jj_lastpos;
   private int jj_la;
   private int jj_gen;
-  final private int[] jj_la1 = new int[81];
+  final private int[] jj_la1 = new int[83];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static private int[] jj_la1_2;
@@ -2705,19 +2763,19 @@ public class StreamSqlParser implements StreamSqlParserConstants {
       jj_la1_init_4();
    }
    private static void jj_la1_init_0() {
-      jj_la1_0 = new int[] {0x50000,0x0,0x50100000,0x50900101,0x0,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x0,0x0,0x0,0x0,0x1000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x200,0x0,0x0,0x0,0x8000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000,0x1000,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x20002000,0x20002000,0x800,0x800,0x0,};
+      jj_la1_0 = new int[] {0xa0000,0x0,0xa0200000,0xa1200101,0x0,0x0,0x0,0x0,0x0,0x0,0x8000,0x0,0x0,0x0,0x0,0x0,0x1000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x200,0x0,0x0,0x0,0x10000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000,0x1000,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x40002000,0x40002000,0x800,0x800,0x0,};
    }
    private static void jj_la1_init_1() {
-      jj_la1_1 = new int[] {0x4080011,0x0,0x2060002,0x2060002,0x1000,0x0,0x0,0x0,0x0,0x804,0x0,0x0,0x804,0x0,0x0,0x0,0x0,0x0,0x40000000,0x1000,0x0,0x8000000,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x0,0x0,0x1000000,0x0,0x80,0x0,0x0,0x20000000,0x0,0x200000,0x20a02000,0x0,0x20000000,0x20000000,0x20000000,0x0,0x20000000,0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x1000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x0,0x0,0x0,0x0,0x20000000,0x20000000,0x0,};
+      jj_la1_1 = new int[] {0x10200022,0x0,0x8180004,0x8180004,0x4000,0x0,0x0,0x0,0x0,0x2808,0x0,0x0,0x2808,0x0,0x0,0x0,0x0,0x0,0x0,0x4000,0x0,0x20000000,0x0,0x0,0x0,0x800,0x0,0x0,0x0,0x0,0x4000000,0x0,0x0,0x4000000,0x0,0x100,0x0,0x0,0x80000000,0x0,0x800000,0x82808000,0x0,0x80000000,0x80000000,0x80000000,0x0,0x80000000,0x0,0x40000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40000000,0x0,0x0,0x0,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000,0x0,0x0,0x0,0x0,0x80000000,0x80000000,0x0,};
    }
    private static void jj_la1_init_2() {
-      jj_la1_2 = new int[] {0x2000800,0x0,0x100000,0x1100000,0x0,0x0,0x0,0x0,0x0,0x100,0x0,0x0,0x100,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x100000,0x0,0x0,0x0,0x0,0x10,0x0,0x0,0x0,0x0,0x0,0x0,0x20000020,0x8,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2,0x800000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
+      jj_la1_2 = new int[] {0x8002000,0x0,0x400000,0x4400000,0x0,0x0,0x0,0x0,0x0,0x400,0x0,0x0,0x400,0x0,0x0,0x0,0x0,0x40000000,0x1,0x0,0x0,0x400000,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0x0,0x0,0x0,0x0,0x80000080,0x20,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x8,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
    }
    private static void jj_la1_init_3() {
-      jj_la1_3 = new int[] {0x20000001,0x0,0xe00,0xe00,0x0,0x20000000,0x0,0x0,0x0,0x14,0x0,0x0,0x14,0x0,0x0,0x4060,0x0,0x0,0x0,0x0,0x20000,0x0,0x0,0x0,0x20000000,0x0,0x0,0x10000,0x0,0x0,0x10000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x0,0x0,0x4240000,0x0,0x20000000,0x20000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10000,0x0,0x0,0x20000000,0x24240000,0xa0,0x20000000,0x0,0x0,0x20000000,0x0,0x0,0x0,0x24240000,0x24240000,0x240000,};
+      jj_la1_3 = new int[] {0x80000004,0x0,0x3800,0x3800,0x0,0x80000000,0x0,0x0,0x0,0x50,0x0,0x0,0x50,0x0,0x0,0x10180,0x0,0x0,0x0,0x0,0x80000,0x0,0x0,0x0,0x80000000,0x0,0x0,0x0,0x0,0x40000,0x0,0x0,0x40000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10000000,0x0,0x0,0x0,0x0,0x0,0x0,0x10900000,0x0,0x80000000,0x80000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x40000,0x0,0x0,0x80000000,0x90900000,0x280,0x80000000,0x0,0x0,0x80000000,0x0,0x0,0x0,0x90900000,0x90900000,0x900000,};
    }
    private static void jj_la1_init_4() {
-      jj_la1_4 = new int[] {0x0,0x10,0x0,0x0,0x0,0x1,0x20,0x20,0x20,0x0,0x0,0x20,0x0,0x4,0x4,0x0,0x4,0x0,0x0,0x0,0x0,0x0,0x20,0x20,0x5,0x20,0x0,0x0,0x0,0x20,0x0,0x0,0x20,0x0,0x0,0x0,0x0,0x701040,0x0,0x701040,0x20,0x0,0x0,0x0,0x2,0x0,0x20300,0xc0000,0x80,0x300,0x300,0x2,0x0,0x1,0x1,0x1f000,0x20300,0xc0000,0x100040,0x200000,0x400000,0x20,0x0,0x0,0x400,0x0,0x20,0x0,0x1,0x40307,0x0,0x1,0x20,0x0,0x1,0x20,0x0,0x0,0x40307,0x40307,0x0,};
+      jj_la1_4 = new int[] {0x0,0x40,0x0,0x0,0x0,0x4,0x80,0x80,0x80,0x0,0x0,0x80,0x0,0x10,0x10,0x0,0x10,0x0,0x0,0x0,0x0,0x0,0x80,0x80,0x14,0x0,0x0,0x80,0x0,0x0,0x0,0x80,0x0,0x0,0x80,0x0,0x0,0x0,0x0,0x1c04100,0x0,0x1c04100,0x80,0x0,0x0,0x0,0x8,0x0,0x80c00,0x300000,0x200,0xc00,0xc00,0x8,0x0,0x4,0x4,0x7c000,0x80c00,0x300000,0x400100,0x800000,0x1000000,0x80,0x0,0x0,0x1000,0x0,0x80,0x0,0x4,0x100c1c,0x0,0x4,0x80,0x0,0x4,0x80,0x0,0x0,0x100c1c,0x100c1c,0x0,};
    }
   final private JJCalls[] jj_2_rtns = new JJCalls[22];
   private boolean jj_rescan = false;
@@ -2734,7 +2792,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2749,7 +2807,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2760,7 +2818,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2771,7 +2829,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2781,7 +2839,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2791,7 +2849,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 81; i++) jj_la1[i] = -1;
+    for (int i = 0; i < 83; i++) jj_la1[i] = -1;
     for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
   }
 
@@ -2906,12 +2964,12 @@ public class StreamSqlParser implements StreamSqlParserConstants {
   /** Generate ParseException. */
   public ParseException generateParseException() {
     jj_expentries.clear();
-    boolean[] la1tokens = new boolean[152];
+    boolean[] la1tokens = new boolean[154];
     if (jj_kind >= 0) {
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 81; i++) {
+    for (int i = 0; i < 83; i++) {
       if (jj_la1[i] == jj_gen) {
         for (int j = 0; j < 32; j++) {
           if ((jj_la1_0[i] & (1<<j)) != 0) {
@@ -2932,7 +2990,7 @@ public class StreamSqlParser implements StreamSqlParserConstants {
         }
       }
     }
-    for (int i = 0; i < 152; i++) {
+    for (int i = 0; i < 154; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
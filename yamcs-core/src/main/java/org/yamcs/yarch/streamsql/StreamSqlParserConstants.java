@@ -29,237 +29,241 @@ public interface StreamSqlParserConstants {
   /** RegularExpression Id. */
   int K_ASC = 13;
   /** RegularExpression Id. */
-  int K_AUTO_INCREMENT = 14;
+  int K_ASYNC = 14;
   /** RegularExpression Id. */
-  int K_BETWEEN = 15;
+  int K_AUTO_INCREMENT = 15;
   /** RegularExpression Id. */
-  int K_BOOLEAN = 16;
+  int K_BETWEEN = 16;
   /** RegularExpression Id. */
-  int K_BY = 17;
+  int K_BOOLEAN = 17;
   /** RegularExpression Id. */
-  int K_BYTE = 18;
+  int K_BY = 18;
   /** RegularExpression Id. */
-  int K_CHAR = 19;
+  int K_BYTE = 19;
   /** RegularExpression Id. */
-  int K_CLOSE = 20;
+  int K_CHAR = 20;
   /** RegularExpression Id. */
-  int K_COLUMN_FAMILY = 21;
+  int K_CLOSE = 21;
   /** RegularExpression Id. */
-  int K_COMPRESSED = 22;
+  int K_COLUMN_FAMILY = 22;
   /** RegularExpression Id. */
-  int K_CREATE = 23;
+  int K_COMPRESSED = 23;
   /** RegularExpression Id. */
-  int K_CURRENT = 24;
+  int K_CREATE = 24;
   /** RegularExpression Id. */
-  int K_DATABASES = 25;
+  int K_CURRENT = 25;
   /** RegularExpression Id. */
-  int K_DATE = 26;
+  int K_DATABASES = 26;
   /** RegularExpression Id. */
-  int K_DECIMAL = 27;
+  int K_DATE = 27;
   /** RegularExpression Id. */
-  int K_DELETE = 28;
+  int K_DECIMAL = 28;
   /** RegularExpression Id. */
-  int K_DESC = 29;
+  int K_DELETE = 29;
   /** RegularExpression Id. */
-  int K_DESCRIBE = 30;
+  int K_DESC = 30;
   /** RegularExpression Id. */
-  int K_DISTINCT = 31;
+  int K_DESCRIBE = 31;
   /** RegularExpression Id. */
-  int K_DOUBLE = 32;
+  int K_DISTINCT = 32;
   /** RegularExpression Id. */
-  int K_DROP = 33;
+  int K_DOUBLE = 33;
   /** RegularExpression Id. */
-  int K_ENGINE = 34;
+  int K_DROP = 34;
   /** RegularExpression Id. */
-  int K_ENGINES = 35;
+  int K_ENGINE = 35;
   /** RegularExpression Id. */
-  int K_ENUM = 36;
+  int K_ENGINES = 36;
   /** RegularExpression Id. */
-  int K_ESCAPE = 37;
+  int K_ENUM = 37;
   /** RegularExpression Id. */
-  int K_EXISTS = 38;
+  int K_ESCAPE = 38;
   /** RegularExpression Id. */
-  int K_FIXED_DELAY = 39;
+  int K_EXISTS = 39;
   /** RegularExpression Id. */
-  int K_FLOAT = 40;
+  int K_FIXED_DELAY = 40;
   /** RegularExpression Id. */
-  int K_FROM = 41;
+  int K_FLOAT = 41;
   /** RegularExpression Id. */
-  int K_HAVING = 42;
+  int K_FROM = 42;
   /** RegularExpression Id. */
-  int K_HISTOGRAM = 43;
+  int K_GROUP_COMMIT = 43;
   /** RegularExpression Id. */
-  int K_IF = 44;
+  int K_HAVING = 44;
   /** RegularExpression Id. */
-  int K_IN = 45;
+  int K_HISTOGRAM = 45;
   /** RegularExpression Id. */
-  int K_IN_KEY = 46;
+  int K_IF = 46;
   /** RegularExpression Id. */
-  int K_INPUT = 47;
+  int K_IN = 47;
   /** RegularExpression Id. */
-  int K_INDEX = 48;
+  int K_IN_KEY = 48;
   /** RegularExpression Id. */
-  int K_INSERT = 49;
+  int K_INPUT = 49;
   /** RegularExpression Id. */
-  int K_INSERT_APPEND = 50;
+  int K_INDEX = 50;
   /** RegularExpression Id. */
-  int K_INT = 51;
+  int K_INSERT = 51;
   /** RegularExpression Id. */
-  int K_INTO = 52;
+  int K_INSERT_APPEND = 52;
   /** RegularExpression Id. */
-  int K_IS = 53;
+  int K_INT = 53;
   /** RegularExpression Id. */
-  int K_KEY = 54;
+  int K_INTO = 54;
   /** RegularExpression Id. */
-  int K_LIKE = 55;
+  int K_IS = 55;
   /** RegularExpression Id. */
-  int K_LIMIT = 56;
+  int K_KEY = 56;
   /** RegularExpression Id. */
-  int K_LOAD = 57;
+  int K_LIKE = 57;
   /** RegularExpression Id. */
-  int K_LONG = 58;
+  int K_LIMIT = 58;
   /** RegularExpression Id. */
-  int K_MERGE = 59;
+  int K_LOAD = 59;
   /** RegularExpression Id. */
-  int K_MOD = 60;
+  int K_LONG = 60;
   /** RegularExpression Id. */
-  int K_NOT = 61;
+  int K_MERGE = 61;
   /** RegularExpression Id. */
-  int K_NOFOLLOW = 62;
+  int K_MOD = 62;
   /** RegularExpression Id. */
-  int K_NULL = 63;
+  int K_NOT = 63;
   /** RegularExpression Id. */
-  int K_NULLS = 64;
+  int K_NOFOLLOW = 64;
   /** RegularExpression Id. */
-  int K_ON = 65;
+  int K_NULL = 65;
   /** RegularExpression Id. */
-  int K_ONLY = 66;
+  int K_NULLS = 66;
   /** RegularExpression Id. */
-  int K_OR = 67;
+  int K_ON = 67;
   /** RegularExpression Id. */
-  int K_ORDER = 68;
+  int K_ONLY = 68;
   /** RegularExpression Id. */
-  int K_ORIGINAL = 69;
+  int K_OR = 69;
   /** RegularExpression Id. */
-  int K_OUT = 70;
+  int K_ORDER = 70;
   /** RegularExpression Id. */
-  int K_OUTPUT = 71;
+  int K_ORIGINAL = 71;
   /** RegularExpression Id. */
-  int K_PARTITION = 72;
+  int K_OUT = 72;
   /** RegularExpression Id. */
-  int K_PORT = 73;
+  int K_OUTPUT = 73;
   /** RegularExpression Id. */
-  int K_PRIMARY = 74;
+  int K_PARTITION = 74;
   /** RegularExpression Id. */
-  int K_PROTOBUF = 75;
+  int K_PORT = 75;
   /** RegularExpression Id. */
-  int K_RANGE = 76;
+  int K_PRIMARY = 76;
   /** RegularExpression Id. */
-  int K_READ = 77;
+  int K_PROTOBUF = 77;
   /** RegularExpression Id. */
-  int K_REAL = 78;
+  int K_RANGE = 78;
   /** RegularExpression Id. */
-  int K_RESTART = 79;
+  int K_READ = 79;
   /** RegularExpression Id. */
-  int K_REVERSE = 80;
+  int K_REAL = 80;
   /** RegularExpression Id. */
-  int K_ROW = 81;
+  int K_RESTART = 81;
   /** RegularExpression Id. */
-  int K_ROWS = 82;
+  int K_REVERSE = 82;
   /** RegularExpression Id. */
-  int K_SAMPLE = 83;
+  int K_ROW = 83;
   /** RegularExpression Id. */
-  int K_SELECT = 84;
+  int K_ROWS = 84;
   /** RegularExpression Id. */
-  int K_SEQUENCE = 85;
+  int K_SAMPLE = 85;
   /** RegularExpression Id. */
-  int K_SET = 86;
+  int K_SELECT = 86;
   /** RegularExpression Id. */
-  int K_SIZE = 87;
+  int K_SEQUENCE = 87;
   /** RegularExpression Id. */
-  int K_SHOW = 88;
+  int K_SET = 88;
   /** RegularExpression Id. */
-  int K_SHRT = 89;
+  int K_SIZE = 89;
   /** RegularExpression Id. */
-  int K_SMALLINT = 90;
+  int K_SHOW = 90;
   /** RegularExpression Id. */
-  int K_SEQUENCES = 91;
+  int K_SHRT = 91;
   /** RegularExpression Id. */
-  int K_SPEED = 92;
+  int K_SMALLINT = 92;
   /** RegularExpression Id. */
-  int K_STEP_BY_STEP = 93;
+  int K_SEQUENCES = 93;
   /** RegularExpression Id. */
-  int K_STREAM = 94;
+  int K_SPEED = 94;
   /** RegularExpression Id. */
-  int K_STREAMS = 95;
+  int K_STEP_BY_STEP = 95;
   /** RegularExpression Id. */
-  int K_STRING = 96;
+  int K_STREAM = 96;
   /** RegularExpression Id. */
-  int K_TABLE = 97;
+  int K_STREAMS = 97;
   /** RegularExpression Id. */
-  int K_TABLE_FORMAT = 98;
+  int K_STRING = 98;
   /** RegularExpression Id. */
-  int K_TABLES = 99;
+  int K_TABLE = 99;
   /** RegularExpression Id. */
-  int K_TABLESPACE = 100;
+  int K_TABLE_FORMAT = 100;
   /** RegularExpression Id. */
-  int K_TIME = 101;
+  int K_TABLES = 101;
   /** RegularExpression Id. */
-  int K_TIME_AND_VALUE = 102;
+  int K_TABLESPACE = 102;
   /** RegularExpression Id. */
-  int K_TUPLES = 103;
+  int K_TIME = 103;
   /** RegularExpression Id. */
-  int K_UNIQUE = 104;
+  int K_TIME_AND_VALUE = 104;
   /** RegularExpression Id. */
-  int K_UPDATE = 105;
+  int K_TUPLES = 105;
   /** RegularExpression Id. */
-  int K_UPSERT = 106;
+  int K_UNIQUE = 106;
   /** RegularExpression Id. */
-  int K_UPSERT_APPEND = 107;
+  int K_UPDATE = 107;
   /** RegularExpression Id. */
-  int K_USE = 108;
+  int K_UPSERT = 108;
   /** RegularExpression Id. */
-  int K_USING = 109;
+  int K_UPSERT_APPEND = 109;
   /** RegularExpression Id. */
-  int K_VALUE = 110;
+  int K_USE = 110;
   /** RegularExpression Id. */
-  int K_WHEN = 111;
+  int K_USING = 111;
   /** RegularExpression Id. */
-  int K_WHERE = 112;
+  int K_VALUE = 112;
   /** RegularExpression Id. */
-  int K_WITH = 113;
+  int K_WHEN = 113;
   /** RegularExpression Id. */
-  int S_INTEGER = 114;
+  int K_WHERE = 114;
   /** RegularExpression Id. */
-  int DECIMAL_LITERAL = 115;
+  int K_WITH = 115;
   /** RegularExpression Id. */
-  int HEX_LITERAL = 116;
+  int S_INTEGER = 116;
   /** RegularExpression Id. */
-  int S_FLOAT = 117;
+  int DECIMAL_LITERAL = 117;
   /** RegularExpression Id. */
-  int EXPONENT = 118;
+  int HEX_LITERAL = 118;
   /** RegularExpression Id. */
-  int DIGIT = 119;
+  int S_FLOAT = 119;
   /** RegularExpression Id. */
-  int HEX_DIGIT = 120;
+  int EXPONENT = 120;
   /** RegularExpression Id. */
-  int SIGN = 121;
+  int DIGIT = 121;
   /** RegularExpression Id. */
-  int S_STRING = 122;
+  int HEX_DIGIT = 122;
   /** RegularExpression Id. */
-  int LINE_COMMENT = 123;
+  int SIGN = 123;
   /** RegularExpression Id. */
-  int MULTI_LINE_COMMENT = 124;
+  int S_STRING = 124;
   /** RegularExpression Id. */
-  int S_IDENTIFIER = 125;
+  int LINE_COMMENT = 125;
   /** RegularExpression Id. */
-  int LETTER = 126;
+  int MULTI_LINE_COMMENT = 126;
   /** RegularExpression Id. */
-  int SPECIAL_CHARS = 127;
+  int S_IDENTIFIER = 127;
   /** RegularExpression Id. */
-  int S_DOUBLE_QUOTED_IDENTIFIER = 128;
+  int LETTER = 128;
   /** RegularExpression Id. */
-  int S_QMARK = 129;
+  int SPECIAL_CHARS = 129;
+  /** RegularExpression Id. */
+  int S_DOUBLE_QUOTED_IDENTIFIER = 130;
+  /** RegularExpression Id. */
+  int S_QMARK = 131;
 
   /** Lexical state. */
   int DEFAULT = 0;
@@ -280,6 +284,7 @@ public interface StreamSqlParserConstants {
     "\"ARRAY\"",
     "\"AS\"",
     "\"ASC\"",
+    "\"ASYNC\"",
     "\"AUTO_INCREMENT\"",
     "\"BETWEEN\"",
     "\"BOOLEAN\"",
@@ -308,6 +313,7 @@ public interface StreamSqlParserConstants {
     "\"FIXED_DELAY\"",
     "\"FLOAT\"",
     "\"FROM\"",
+    "\"GROUP_COMMIT\"",
     "\"HAVING\"",
     "\"HISTOGRAM\"",
     "\"IF\"",
@@ -10,6 +10,7 @@ import org.yamcs.utils.parser.ParseException;
 import org.yamcs.yarch.*;
 import org.yamcs.yarch.streamsql.funct.*;
 import org.yamcs.yarch.TableWriter.InsertMode;
+import org.yamcs.yarch.AsyncStreamSubscriber.OverflowPolicy;
 
 /** Token Manager. */
 public class StreamSqlParserTokenManager implements StreamSqlParserConstants
@@ -24,209 +25,209 @@ private final int jjStopStringLiteralDfa_0(int pos, long active0, long active1,
    switch (pos)
    {
       case 0:
-         if ((active2 & 0x80000L) != 0L)
-            return 16;
-         if ((active2 & 0x200L) != 0L)
-            return 13;
-         if ((active0 & 0xffffffffffffffe0L) != 0L || (active1 & 0x3ffffffffffffL) != 0L)
+         if ((active0 & 0xffffffffffffffe0L) != 0L || (active1 & 0xfffffffffffffL) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             return 35;
          }
+         if ((active2 & 0x200000L) != 0L)
+            return 16;
+         if ((active2 & 0x800L) != 0L)
+            return 13;
          return -1;
       case 1:
-         if ((active0 & 0xffc00ffffff9cfe0L) != 0L || (active1 & 0x3ffffffffffc1L) != 0L)
+         if ((active0 & 0xffc000000c7000L) != 0L || (active1 & 0xf8L) != 0L)
+            return 35;
+         if ((active0 & 0xff003ffffff38fe0L) != 0L || (active1 & 0xfffffffffff07L) != 0L)
          {
             if (jjmatchedPos != 1)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 1;
             }
             return 35;
          }
-         if ((active0 & 0x3ff00000063000L) != 0L || (active1 & 0x3eL) != 0L)
-            return 35;
          return -1;
       case 2:
-         if ((active0 & 0xcf878ffffffdc960L) != 0L || (active1 & 0x3efffffb9ff35L) != 0L)
+         if ((active0 & 0x3e1e3ffffffbc960L) != 0L || (active1 & 0xfbffffee7fcd7L) != 0L)
          {
             if (jjmatchedPos != 2)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 2;
             }
             return 35;
          }
-         if ((active0 & 0x400000000000L) != 0L)
+         if ((active0 & 0x1000000000000L) != 0L)
          {
             if (jjmatchedPos != 2)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 2;
             }
             return 24;
          }
-         if ((active0 & 0x3058000000002680L) != 0L || (active1 & 0x1000004600c0L) != 0L)
+         if ((active0 & 0xc160000000002680L) != 0L || (active1 & 0x400001180300L) != 0L)
             return 35;
          return -1;
       case 3:
-         if ((active0 & 0x86900212640c0040L) != 0L || (active1 & 0x2806001846205L) != 0L)
-            return 35;
-         if ((active0 & 0x400000000000L) != 0L)
+         if ((active0 & 0x241e3bdb37e3c920L) != 0L || (active1 & 0x5be7ff8e676c1L) != 0L)
          {
             if (jjmatchedPos != 3)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 3;
             }
-            return 24;
+            return 35;
          }
-         if ((active0 & 0x49078ded9bf1c920L) != 0L || (active1 & 0x16f9ffe399db0L) != 0L)
+         if ((active0 & 0x1a400424c8180040L) != 0L || (active1 & 0xa018006118816L) != 0L)
+            return 35;
+         if ((active0 & 0x1000000000000L) != 0L)
          {
             if (jjmatchedPos != 3)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 3;
             }
-            return 35;
+            return 24;
          }
          return -1;
       case 4:
-         if ((active0 & 0x400000004000L) != 0L || (active1 & 0x4020000000L) != 0L)
+         if ((active0 & 0x1000000008000L) != 0L || (active1 & 0x10080000000L) != 0L)
          {
             if (jjmatchedPos != 4)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 4;
             }
             return 24;
          }
-         if ((active0 & 0x40060ceddbe18020L) != 0L || (active1 & 0xf81cc398da0L) != 0L)
+         if ((active0 & 0x2406020000204900L) != 0L || (active1 & 0x5807848004044L) != 0L)
+            return 35;
+         if ((active0 & 0x1839dbb7c30020L) != 0L || (active1 & 0x3e0730e63681L) != 0L)
          {
             if (jjmatchedPos != 4)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 4;
             }
             return 35;
          }
-         if ((active0 & 0x901810000100900L) != 0L || (active1 & 0x1601e12001011L) != 0L)
-            return 35;
          return -1;
       case 5:
-         if ((active0 & 0x400000000000L) != 0L)
+         if ((active0 & 0x1000000000000L) != 0L)
             return 24;
-         if ((active0 & 0x40000800cb618020L) != 0L || (active1 & 0xc218d20L) != 0L)
+         if ((active0 & 0x90000008000L) != 0L || (active1 & 0x11080000000L) != 0L)
          {
             if (jjmatchedPos != 5)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 5;
             }
-            return 35;
+            return 24;
          }
-         if ((active0 & 0x8000004000L) != 0L || (active1 & 0x4420000000L) != 0L)
+         if ((active0 & 0x200196c30020L) != 0L || (active1 & 0x30863481L) != 0L)
          {
             if (jjmatchedPos != 5)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 5;
             }
-            return 24;
+            return 35;
          }
-         if ((active0 & 0x6046d10800000L) != 0L || (active1 & 0xf99c0180080L) != 0L)
+         if ((active0 & 0x1810da21000000L) != 0L || (active1 & 0x3e6700600200L) != 0L)
             return 35;
          return -1;
       case 6:
-         if ((active0 & 0x809018020L) != 0L || (active1 & 0x80018400L) != 0L)
-            return 35;
-         if ((active0 & 0x4008000204000L) != 0L || (active1 & 0x84420000000L) != 0L)
+         if ((active0 & 0x200184800000L) != 0L || (active1 & 0x4030802481L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 6;
-            return 24;
+            return 35;
          }
-         if ((active0 & 0x40000800c2400000L) != 0L || (active1 & 0x100c200920L) != 0L)
+         if ((active0 & 0x1012030020L) != 0L || (active1 & 0x200061000L) != 0L)
+            return 35;
+         if ((active0 & 0x10090000408000L) != 0L || (active1 & 0x211080000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 6;
-            return 35;
+            return 24;
          }
          return -1;
       case 7:
-         if ((active0 & 0x4008000204000L) != 0L || (active1 & 0x84420000000L) != 0L)
+         if ((active0 & 0x10090000408000L) != 0L || (active1 & 0x211080000000L) != 0L)
          {
             if (jjmatchedPos != 7)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 7;
             }
             return 24;
          }
-         if ((active0 & 0x80002400000L) != 0L || (active1 & 0x1000000100L) != 0L)
+         if ((active0 & 0x180000000L) != 0L || (active1 & 0x30802081L) != 0L)
+            return 35;
+         if ((active0 & 0x200004800000L) != 0L || (active1 & 0x4000000400L) != 0L)
          {
             if (jjmatchedPos != 7)
             {
-               jjmatchedKind = 125;
+               jjmatchedKind = 127;
                jjmatchedPos = 7;
             }
             return 35;
          }
-         if ((active0 & 0x40000000c0000000L) != 0L || (active1 & 0xc200820L) != 0L)
-            return 35;
          return -1;
       case 8:
-         if ((active0 & 0x400000L) != 0L || (active1 & 0x1000000000L) != 0L)
+         if ((active0 & 0x800000L) != 0L || (active1 & 0x4000000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 8;
             return 35;
          }
-         if ((active0 & 0x4008000204000L) != 0L || (active1 & 0x84420000000L) != 0L)
+         if ((active0 & 0x10090000408000L) != 0L || (active1 & 0x211080000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 8;
             return 24;
          }
-         if ((active0 & 0x80002000000L) != 0L || (active1 & 0x8000100L) != 0L)
+         if ((active0 & 0x200004000000L) != 0L || (active1 & 0x20000400L) != 0L)
             return 35;
          return -1;
       case 9:
-         if ((active0 & 0x4008000204000L) != 0L || (active1 & 0x84420000000L) != 0L)
+         if ((active0 & 0x10090000408000L) != 0L || (active1 & 0x211080000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 9;
             return 24;
          }
-         if ((active0 & 0x400000L) != 0L || (active1 & 0x1000000000L) != 0L)
+         if ((active0 & 0x800000L) != 0L || (active1 & 0x4000000000L) != 0L)
             return 35;
          return -1;
       case 10:
-         if ((active0 & 0x8000000000L) != 0L)
+         if ((active0 & 0x10000000000L) != 0L)
             return 24;
-         if ((active0 & 0x4000000204000L) != 0L || (active1 & 0x84420000000L) != 0L)
+         if ((active0 & 0x10080000408000L) != 0L || (active1 & 0x211080000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 10;
             return 24;
          }
          return -1;
       case 11:
-         if ((active1 & 0x420000000L) != 0L)
+         if ((active0 & 0x80000000000L) != 0L || (active1 & 0x1080000000L) != 0L)
             return 24;
-         if ((active0 & 0x4000000204000L) != 0L || (active1 & 0x84000000000L) != 0L)
+         if ((active0 & 0x10000000408000L) != 0L || (active1 & 0x210000000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 11;
             return 24;
          }
          return -1;
       case 12:
-         if ((active0 & 0x4000000200000L) != 0L || (active1 & 0x80000000000L) != 0L)
+         if ((active0 & 0x10000000400000L) != 0L || (active1 & 0x200000000000L) != 0L)
             return 24;
-         if ((active0 & 0x4000L) != 0L || (active1 & 0x4000000000L) != 0L)
+         if ((active0 & 0x8000L) != 0L || (active1 & 0x10000000000L) != 0L)
          {
-            jjmatchedKind = 125;
+            jjmatchedKind = 127;
             jjmatchedPos = 12;
             return 24;
          }
@@ -250,105 +251,108 @@ private int jjMoveStringLiteralDfa0_0()
    switch(curChar)
    {
       case 33:
-         return jjStopAtPos(0, 148);
+         return jjStopAtPos(0, 150);
       case 38:
-         return jjStopAtPos(0, 140);
+         return jjStopAtPos(0, 142);
       case 40:
-         return jjStopAtPos(0, 130);
+         return jjStopAtPos(0, 132);
       case 41:
-         return jjStopAtPos(0, 131);
+         return jjStopAtPos(0, 133);
       case 42:
-         jjmatchedKind = 146;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x80L);
+         jjmatchedKind = 148;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x200L);
       case 43:
-         return jjStopAtPos(0, 136);
+         return jjStopAtPos(0, 138);
       case 44:
-         return jjStopAtPos(0, 133);
+         return jjStopAtPos(0, 135);
       case 45:
-         return jjStartNfaWithStates_0(0, 137, 13);
+         return jjStartNfaWithStates_0(0, 139, 13);
       case 47:
-         return jjStartNfaWithStates_0(0, 147, 16);
+         return jjStartNfaWithStates_0(0, 149, 16);
       case 60:
-         jjmatchedKind = 150;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x8000L);
+         jjmatchedKind = 152;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x20000L);
       case 61:
-         jjmatchedKind = 134;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x800000L);
+         jjmatchedKind = 136;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x2000000L);
       case 62:
-         jjmatchedKind = 149;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x10000L);
+         jjmatchedKind = 151;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x40000L);
       case 63:
-         return jjStopAtPos(0, 129);
+         return jjStopAtPos(0, 131);
       case 91:
-         jjmatchedKind = 138;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x10L);
+         jjmatchedKind = 140;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x40L);
       case 93:
-         return jjStopAtPos(0, 139);
+         return jjStopAtPos(0, 141);
       case 94:
-         return jjStopAtPos(0, 142);
+         return jjStopAtPos(0, 144);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa1_0(0x7fe0L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0xffe0L, 0x0L, 0x0L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa1_0(0x78000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0xf0000L, 0x0L, 0x0L);
       case 67:
       case 99:
-         return jjMoveStringLiteralDfa1_0(0x1f80000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x3f00000L, 0x0L, 0x0L);
       case 68:
       case 100:
-         return jjMoveStringLiteralDfa1_0(0x3fe000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x7fc000000L, 0x0L, 0x0L);
       case 69:
       case 101:
-         return jjMoveStringLiteralDfa1_0(0x7c00000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0xf800000000L, 0x0L, 0x0L);
       case 70:
       case 102:
-         return jjMoveStringLiteralDfa1_0(0x38000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x70000000000L, 0x0L, 0x0L);
+      case 71:
+      case 103:
+         return jjMoveStringLiteralDfa1_0(0x80000000000L, 0x0L, 0x0L);
       case 72:
       case 104:
-         return jjMoveStringLiteralDfa1_0(0xc0000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x300000000000L, 0x0L, 0x0L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa1_0(0x3ff00000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0xffc00000000000L, 0x0L, 0x0L);
       case 75:
       case 107:
-         return jjMoveStringLiteralDfa1_0(0x40000000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x100000000000000L, 0x0L, 0x0L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa1_0(0x780000000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x1e00000000000000L, 0x0L, 0x0L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa1_0(0x1800000000000000L, 0x0L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x6000000000000000L, 0x0L, 0x0L);
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa1_0(0xe000000000000000L, 0x1L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x8000000000000000L, 0x7L, 0x0L);
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0xfeL, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x3f8L, 0x0L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0xf00L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x3c00L, 0x0L);
       case 82:
       case 114:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x7f000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x1fc000L, 0x0L);
       case 83:
       case 115:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x1fff80000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x7ffe00000L, 0x0L);
       case 84:
       case 116:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0xfe00000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x3f800000000L, 0x0L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x3f0000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0xfc0000000000L, 0x0L);
       case 86:
       case 118:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x400000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x1000000000000L, 0x0L);
       case 87:
       case 119:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x3800000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0xe000000000000L, 0x0L);
       case 124:
-         jjmatchedKind = 141;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x20000L);
+         jjmatchedKind = 143;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x80000L);
       default :
          return jjMoveNfa_0(0, 0);
    }
@@ -363,76 +367,76 @@ private int jjMoveStringLiteralDfa1_0(long active0, long active1, long active2)
    switch(curChar)
    {
       case 42:
-         if ((active2 & 0x80L) != 0L)
-            return jjStopAtPos(1, 135);
+         if ((active2 & 0x200L) != 0L)
+            return jjStopAtPos(1, 137);
          break;
       case 60:
-         if ((active2 & 0x8000L) != 0L)
-            return jjStopAtPos(1, 143);
+         if ((active2 & 0x20000L) != 0L)
+            return jjStopAtPos(1, 145);
          break;
       case 62:
-         if ((active2 & 0x10000L) != 0L)
-            return jjStopAtPos(1, 144);
-         else if ((active2 & 0x800000L) != 0L)
-            return jjStopAtPos(1, 151);
+         if ((active2 & 0x40000L) != 0L)
+            return jjStopAtPos(1, 146);
+         else if ((active2 & 0x2000000L) != 0L)
+            return jjStopAtPos(1, 153);
          break;
       case 93:
-         if ((active2 & 0x10L) != 0L)
-            return jjStopAtPos(1, 132);
+         if ((active2 & 0x40L) != 0L)
+            return jjStopAtPos(1, 134);
          break;
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa2_0(active0, 0x40006000000L, active1, 0x401e00081100L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x10000c000000L, active1, 0x1007800204400L, active2, 0L);
       case 68:
       case 100:
          return jjMoveStringLiteralDfa2_0(active0, 0x20L, active1, 0L, active2, 0L);
       case 69:
       case 101:
-         return jjMoveStringLiteralDfa2_0(active0, 0x840000078008000L, active1, 0x871e000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x21000000f0010000L, active1, 0x21c78000L, active2, 0L);
       case 70:
       case 102:
-         if ((active0 & 0x100000000000L) != 0L)
-            return jjStartNfaWithStates_0(1, 44, 35);
+         if ((active0 & 0x400000000000L) != 0L)
+            return jjStartNfaWithStates_0(1, 46, 35);
          return jjMoveStringLiteralDfa2_0(active0, 0x40L, active1, 0L, active2, 0L);
       case 72:
       case 104:
-         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0x1800003000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x100000L, active1, 0x600000c000000L, active2, 0L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa2_0(active0, 0x180088080000000L, active1, 0x2006000800000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x600210100000000L, active1, 0x8018002000000L, active2, 0L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa2_0(active0, 0x10000100180L, active1, 0L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x20000200180L, active1, 0L, active2, 0L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x4000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x10000000L, active2, 0L);
       case 78:
       case 110:
-         if ((active0 & 0x200000000000L) != 0L)
+         if ((active0 & 0x800000000000L) != 0L)
          {
-            jjmatchedKind = 45;
+            jjmatchedKind = 47;
             jjmatchedPos = 1;
          }
-         else if ((active1 & 0x2L) != 0L)
+         else if ((active1 & 0x8L) != 0L)
          {
-            jjmatchedKind = 65;
+            jjmatchedKind = 67;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x1fc01c00000600L, active1, 0x10000000004L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x7f003800000600L, active1, 0x40000000010L, active2, 0L);
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa2_0(active0, 0x7600000100610000L, active1, 0x60200L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0xd800000200c20000L, active1, 0x180801L, active2, 0L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0xe0010000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x380040000000L, active2, 0L);
       case 82:
       case 114:
-         if ((active1 & 0x8L) != 0L)
+         if ((active1 & 0x20L) != 0L)
          {
-            jjmatchedKind = 67;
+            jjmatchedKind = 69;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x20200800800L, active1, 0xc30L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0xc0401000800L, active1, 0x30c0L, active2, 0L);
       case 83:
       case 115:
          if ((active0 & 0x1000L) != 0L)
@@ -440,29 +444,29 @@ private int jjMoveStringLiteralDfa1_0(long active0, long active1, long active2)
             jjmatchedKind = 12;
             jjmatchedPos = 1;
          }
-         else if ((active0 & 0x20000000000000L) != 0L)
-            return jjStartNfaWithStates_0(1, 53, 35);
-         return jjMoveStringLiteralDfa2_0(active0, 0x2000002000L, active1, 0x300000000000L, active2, 0L);
+         else if ((active0 & 0x80000000000000L) != 0L)
+            return jjStartNfaWithStates_0(1, 55, 35);
+         return jjMoveStringLiteralDfa2_0(active0, 0x4000006000L, active1, 0xc00000000000L, active2, 0L);
       case 84:
       case 116:
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x1e0000000L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x780000000L, active2, 0L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8000000001004000L, active1, 0x80000000c1L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x2008000L, active1, 0x20000000306L, active2, 0L);
       case 88:
       case 120:
-         return jjMoveStringLiteralDfa2_0(active0, 0x4000000000L, active1, 0L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8000000000L, active1, 0L, active2, 0L);
       case 89:
       case 121:
-         if ((active0 & 0x20000L) != 0L)
+         if ((active0 & 0x40000L) != 0L)
          {
-            jjmatchedKind = 17;
+            jjmatchedKind = 18;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0x40000L, active1, 0L, active2, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x80000L, active1, 0L, active2, 0L);
       case 124:
-         if ((active2 & 0x20000L) != 0L)
-            return jjStopAtPos(1, 145);
+         if ((active2 & 0x80000L) != 0L)
+            return jjStopAtPos(1, 147);
          break;
       default :
          break;
@@ -481,112 +485,112 @@ private int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000000L, active1, 0L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa3_0(active0, 0x200000000080040L, active1, 0x4006000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x800000000100040L, active1, 0x10018000L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x1e00000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x7800000000L);
       case 67:
       case 99:
          if ((active0 & 0x2000L) != 0L)
             return jjStartNfaWithStates_0(2, 13, 35);
-         return jjMoveStringLiteralDfa3_0(active0, 0x2008000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4010000000L, active1, 0L);
       case 68:
       case 100:
          if ((active0 & 0x200L) != 0L)
             return jjStartNfaWithStates_0(2, 9, 35);
-         else if ((active0 & 0x1000000000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 60, 35);
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000000L, active1, 0x20000000010L);
+         else if ((active0 & 0x4000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 62, 35);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4000000000000L, active1, 0x80000000040L);
       case 69:
       case 101:
-         if ((active1 & 0x100000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 108, 35);
-         return jjMoveStringLiteralDfa3_0(active0, 0x800000L, active1, 0x1800030000000L);
+         if ((active1 & 0x400000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 110, 35);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000000L, active1, 0x60000c0000000L);
       case 70:
       case 102:
-         return jjMoveStringLiteralDfa3_0(active0, 0x4000000000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x1L);
       case 71:
       case 103:
-         return jjMoveStringLiteralDfa3_0(active0, 0xc00000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1800000000L, active1, 0L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa3_0(active0, 0x4000000000L, active1, 0x210000000420L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x8000000000L, active1, 0x840000001080L);
       case 75:
       case 107:
-         return jjMoveStringLiteralDfa3_0(active0, 0x80000000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x200000000000000L, active1, 0L);
       case 76:
       case 108:
          if ((active0 & 0x80L) != 0L)
             return jjStartNfaWithStates_0(2, 7, 35);
-         return jjMoveStringLiteralDfa3_0(active0, 0x8000000010200000L, active1, 0x400000100005L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x20400000L, active1, 0x1000000400016L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa3_0(active0, 0x100000000400000L, active1, 0x6000080000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x400000000800000L, active1, 0x18000200000L);
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa3_0(active0, 0x400000000000000L, active1, 0x1000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x1000000000000000L, active1, 0x4000L);
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa3_0(active0, 0x30200110000L, active1, 0x3000800L);
+         return jjMoveStringLiteralDfa3_0(active0, 0xe0400220000L, active1, 0xc002000L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa3_0(active0, 0x800000000000L, active1, 0x8000000000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000000000000L, active1, 0x20000000000L);
       case 81:
       case 113:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x8200000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x20800000L);
       case 82:
       case 114:
-         return jjMoveStringLiteralDfa3_0(active0, 0x800000001000800L, active1, 0x1c0000300L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000000002000800L, active1, 0x700000c00L);
       case 83:
       case 115:
-         return jjMoveStringLiteralDfa3_0(active0, 0x60800e0000000L, active1, 0xc0000008000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x182001c0000000L, active1, 0x300000020000L);
       case 84:
       case 116:
-         if ((active0 & 0x8000000000000L) != 0L)
+         if ((active0 & 0x20000000000000L) != 0L)
          {
-            jjmatchedKind = 51;
+            jjmatchedKind = 53;
             jjmatchedPos = 2;
          }
-         else if ((active0 & 0x2000000000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 61, 35);
-         else if ((active1 & 0x40L) != 0L)
+         else if ((active0 & 0x8000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 63, 35);
+         else if ((active1 & 0x100L) != 0L)
          {
-            jjmatchedKind = 70;
+            jjmatchedKind = 72;
             jjmatchedPos = 2;
          }
-         else if ((active1 & 0x400000L) != 0L)
-            return jjStartNfaWithStates_0(2, 86, 35);
-         return jjMoveStringLiteralDfa3_0(active0, 0x1000000604c100L, active1, 0x2000000000080L);
+         else if ((active1 & 0x1000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 88, 35);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4000000c098100L, active1, 0x8000000000200L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa3_0(active0, 0x1100000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2200000000L, active1, 0L);
       case 86:
       case 118:
-         return jjMoveStringLiteralDfa3_0(active0, 0x40000000020L, active1, 0x10000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x100000000020L, active1, 0x40000L);
       case 87:
       case 119:
-         if ((active1 & 0x20000L) != 0L)
+         if ((active1 & 0x80000L) != 0L)
          {
-            jjmatchedKind = 81;
+            jjmatchedKind = 83;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x40000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x100000L);
       case 88:
       case 120:
-         return jjMoveStringLiteralDfa3_0(active0, 0x8000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10000000000L, active1, 0L);
       case 89:
       case 121:
          if ((active0 & 0x400L) != 0L)
             return jjStartNfaWithStates_0(2, 10, 35);
-         else if ((active0 & 0x40000000000000L) != 0L)
-            return jjStartNfaWithStates_0(2, 54, 35);
-         break;
+         else if ((active0 & 0x100000000000000L) != 0L)
+            return jjStartNfaWithStates_0(2, 56, 35);
+         return jjMoveStringLiteralDfa3_0(active0, 0x4000L, active1, 0L);
       case 90:
       case 122:
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x800000L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x2000000L);
       default :
          break;
    }
@@ -605,121 +609,121 @@ private int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1, long a
    {
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa4_0(active0, 0x12002800820L, active1, 0x20000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x24005000820L, active1, 0x80000000000L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa4_0(active0, 0x100000000L, active1, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x200000000L, active1, 0L);
       case 67:
       case 99:
-         if ((active0 & 0x20000000L) != 0L)
+         if ((active0 & 0x40000000L) != 0L)
          {
-            jjmatchedKind = 29;
+            jjmatchedKind = 30;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x40000000L, active1, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x80000000L, active1, 0L);
       case 68:
       case 100:
-         if ((active0 & 0x200000000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 57, 35);
-         else if ((active1 & 0x2000L) != 0L)
-            return jjStartNfaWithStates_0(3, 77, 35);
+         if ((active0 & 0x800000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 59, 35);
+         else if ((active1 & 0x8000L) != 0L)
+            return jjStartNfaWithStates_0(3, 79, 35);
          break;
       case 69:
       case 101:
-         if ((active0 & 0x40000L) != 0L)
-            return jjStartNfaWithStates_0(3, 18, 35);
-         else if ((active0 & 0x4000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 26, 35);
-         else if ((active0 & 0x80000000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 55, 35);
-         else if ((active1 & 0x800000L) != 0L)
-            return jjStartNfaWithStates_0(3, 87, 35);
-         else if ((active1 & 0x2000000000L) != 0L)
+         if ((active0 & 0x80000L) != 0L)
+            return jjStartNfaWithStates_0(3, 19, 35);
+         else if ((active0 & 0x8000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 27, 35);
+         else if ((active0 & 0x200000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 57, 35);
+         else if ((active1 & 0x2000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 89, 35);
+         else if ((active1 & 0x8000000000L) != 0L)
          {
-            jjmatchedKind = 101;
+            jjmatchedKind = 103;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x7008010000100L, active1, 0xc40d0110010L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1c010020000100L, active1, 0x310340440040L);
       case 71:
       case 103:
-         if ((active0 & 0x400000000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 58, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000000000000L, active1, 0x1020L);
+         if ((active0 & 0x1000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 60, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x2000000000000000L, active1, 0x4080L);
       case 72:
       case 104:
-         if ((active1 & 0x2000000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 113, 35);
+         if ((active1 & 0x8000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 115, 35);
          break;
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa4_0(active0, 0x100040c08000000L, active1, 0x100000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x400101810000000L, active1, 0x400000000L);
       case 75:
       case 107:
-         return jjMoveStringLiteralDfa4_0(active0, 0x400000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x1000000000000L, active1, 0L);
       case 76:
       case 108:
-         if ((active0 & 0x8000000000000000L) != 0L)
+         if ((active1 & 0x2L) != 0L)
          {
-            jjmatchedKind = 63;
+            jjmatchedKind = 65;
             jjmatchedPos = 3;
          }
-         else if ((active1 & 0x4000L) != 0L)
-            return jjStartNfaWithStates_0(3, 78, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x10000L, active1, 0x9e04000001L);
+         else if ((active1 & 0x10000L) != 0L)
+            return jjStartNfaWithStates_0(3, 80, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x20000L, active1, 0x27810000004L);
       case 77:
       case 109:
-         if ((active0 & 0x1000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 36, 35);
-         else if ((active0 & 0x20000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 41, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x400L);
+         if ((active0 & 0x2000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 37, 35);
+         else if ((active0 & 0x40000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 42, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x1000L);
       case 78:
       case 110:
-         if ((active1 & 0x800000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 111, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x200000000000L);
+         if ((active1 & 0x2000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 113, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x4000L, active1, 0x800000000000L);
       case 79:
       case 111:
-         if ((active0 & 0x10000000000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 52, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x4000000000004000L, active1, 0L);
+         if ((active0 & 0x40000000000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 54, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000L, active1, 0x1L);
       case 80:
       case 112:
          if ((active0 & 0x40L) != 0L)
             return jjStartNfaWithStates_0(3, 6, 35);
-         else if ((active0 & 0x200000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 33, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x400000L, active1, 0x20080080L);
+         else if ((active0 & 0x400000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 34, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x800000L, active1, 0x80200200L);
       case 81:
       case 113:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x10000000000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x40000000000L);
       case 82:
       case 114:
-         if ((active0 & 0x80000L) != 0L)
-            return jjStartNfaWithStates_0(3, 19, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x1000000L, active1, 0x1000002000000L);
+         if ((active0 & 0x100000L) != 0L)
+            return jjStartNfaWithStates_0(3, 20, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x2000000L, active1, 0x4000008000000L);
       case 83:
       case 115:
-         if ((active1 & 0x40000L) != 0L)
-            return jjStartNfaWithStates_0(3, 82, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x4000100000L, active1, 0L);
+         if ((active1 & 0x100000L) != 0L)
+            return jjStartNfaWithStates_0(3, 84, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000200000L, active1, 0L);
       case 84:
       case 116:
-         if ((active1 & 0x200L) != 0L)
-            return jjStartNfaWithStates_0(3, 73, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x80080000000L, active1, 0x8900L);
+         if ((active1 & 0x800L) != 0L)
+            return jjStartNfaWithStates_0(3, 75, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x200100000000L, active1, 0x22400L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa4_0(active0, 0x800000200000L, active1, 0x400008200000L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x2080000400000L, active1, 0x1000020800000L);
       case 87:
       case 119:
-         if ((active1 & 0x1000000L) != 0L)
-            return jjStartNfaWithStates_0(3, 88, 35);
-         return jjMoveStringLiteralDfa4_0(active0, 0x8000L, active1, 0L);
+         if ((active1 & 0x4000000L) != 0L)
+            return jjStartNfaWithStates_0(3, 90, 35);
+         return jjMoveStringLiteralDfa4_0(active0, 0x10000L, active1, 0L);
       case 89:
       case 121:
-         if ((active1 & 0x4L) != 0L)
-            return jjStartNfaWithStates_0(3, 66, 35);
+         if ((active1 & 0x10L) != 0L)
+            return jjStartNfaWithStates_0(3, 68, 35);
          break;
       default :
          break;
@@ -738,92 +742,94 @@ private int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa5_0(active0, 0x4000L, active1, 0x4020000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x8000L, active1, 0x10080000000L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0xc0008400L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x300021000L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa5_0(active0, 0x2000000L, active1, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x4000000L, active1, 0L);
       case 67:
       case 99:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x100000L);
+         if ((active0 & 0x4000L) != 0L)
+            return jjStartNfaWithStates_0(4, 14, 35);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400000L);
       case 68:
       case 100:
-         if ((active1 & 0x10000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 92, 35);
-         return jjMoveStringLiteralDfa5_0(active0, 0x8000000000L, active1, 0L);
+         if ((active1 & 0x40000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 94, 35);
+         return jjMoveStringLiteralDfa5_0(active0, 0x10000000000L, active1, 0L);
       case 69:
       case 101:
-         if ((active0 & 0x100000L) != 0L)
-            return jjStartNfaWithStates_0(4, 20, 35);
-         else if ((active0 & 0x800000000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 59, 35);
-         else if ((active1 & 0x1000L) != 0L)
-            return jjStartNfaWithStates_0(4, 76, 35);
-         else if ((active1 & 0x200000000L) != 0L)
+         if ((active0 & 0x200000L) != 0L)
+            return jjStartNfaWithStates_0(4, 21, 35);
+         else if ((active0 & 0x2000000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 61, 35);
+         else if ((active1 & 0x4000L) != 0L)
+            return jjStartNfaWithStates_0(4, 78, 35);
+         else if ((active1 & 0x800000000L) != 0L)
          {
-            jjmatchedKind = 97;
+            jjmatchedKind = 99;
             jjmatchedPos = 4;
          }
-         else if ((active1 & 0x400000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 110, 35);
          else if ((active1 & 0x1000000000000L) != 0L)
             return jjStartNfaWithStates_0(4, 112, 35);
-         return jjMoveStringLiteralDfa5_0(active0, 0x400001018000L, active1, 0x9c08200000L);
+         else if ((active1 & 0x4000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 114, 35);
+         return jjMoveStringLiteralDfa5_0(active0, 0x1000002030000L, active1, 0x27020800000L);
       case 71:
       case 103:
-         if ((active1 & 0x200000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 109, 35);
+         if ((active1 & 0x800000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 111, 35);
          break;
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa5_0(active0, 0x80000000L, active1, 0x120L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x100000000L, active1, 0x480L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa5_0(active0, 0x4000000100000000L, active1, 0x4080000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000000L, active1, 0x10200001L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa5_0(active0, 0x8200000L, active1, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x10400000L, active1, 0L);
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa5_0(active0, 0x40c00000020L, active1, 0x100000000L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x101800000020L, active1, 0x400000000L);
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa5_0(active0, 0x80000000000L, active1, 0x800L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x200000000000L, active1, 0x2000L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa5_0(active0, 0x2000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0x84000000000L, active1, 0L);
       case 82:
       case 114:
          if ((active0 & 0x100L) != 0L)
             return jjStartNfaWithStates_0(4, 8, 35);
-         else if ((active1 & 0x10L) != 0L)
-            return jjStartNfaWithStates_0(4, 68, 35);
-         return jjMoveStringLiteralDfa5_0(active0, 0x6000040400000L, active1, 0xc0000010000L);
+         else if ((active1 & 0x40L) != 0L)
+            return jjStartNfaWithStates_0(4, 70, 35);
+         return jjMoveStringLiteralDfa5_0(active0, 0x18000080800000L, active1, 0x300000040000L);
       case 83:
       case 115:
-         if ((active1 & 0x1L) != 0L)
-            return jjStartNfaWithStates_0(4, 64, 35);
+         if ((active1 & 0x4L) != 0L)
+            return jjStartNfaWithStates_0(4, 66, 35);
          break;
       case 84:
       case 116:
-         if ((active0 & 0x10000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 40, 35);
-         else if ((active0 & 0x800000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 47, 35);
-         else if ((active0 & 0x100000000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 56, 35);
-         else if ((active1 & 0x2000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 89, 35);
-         return jjMoveStringLiteralDfa5_0(active0, 0x4010800000L, active1, 0x20000000000L);
+         if ((active0 & 0x20000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 41, 35);
+         else if ((active0 & 0x2000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 49, 35);
+         else if ((active0 & 0x400000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 58, 35);
+         else if ((active1 & 0x8000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 91, 35);
+         return jjMoveStringLiteralDfa5_0(active0, 0x8021000000L, active1, 0x80000000000L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x10000000080L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x40000000200L);
       case 88:
       case 120:
-         if ((active0 & 0x1000000000000L) != 0L)
-            return jjStartNfaWithStates_0(4, 48, 35);
+         if ((active0 & 0x4000000000000L) != 0L)
+            return jjStartNfaWithStates_0(4, 50, 35);
          break;
       case 89:
       case 121:
@@ -847,98 +853,98 @@ private int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa6_0(active0, 0x8000000000L, active1, 0x400000000L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x90000000000L, active1, 0x1000000000L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa6_0(active0, 0xa010000L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x14020000L, active1, 0x10000000000L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x20000800L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x80002000L);
       case 67:
       case 99:
          return jjMoveStringLiteralDfa6_0(active0, 0x20L, active1, 0L);
       case 69:
       case 101:
-         if ((active0 & 0x800000L) != 0L)
-            return jjStartNfaWithStates_0(5, 23, 35);
-         else if ((active0 & 0x10000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 28, 35);
-         else if ((active0 & 0x100000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 32, 35);
-         else if ((active0 & 0x400000000L) != 0L)
+         if ((active0 & 0x1000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 24, 35);
+         else if ((active0 & 0x20000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 29, 35);
+         else if ((active0 & 0x200000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 33, 35);
+         else if ((active0 & 0x800000000L) != 0L)
          {
-            jjmatchedKind = 34;
+            jjmatchedKind = 35;
             jjmatchedPos = 5;
          }
-         else if ((active0 & 0x2000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 37, 35);
-         else if ((active1 & 0x80000L) != 0L)
-            return jjStartNfaWithStates_0(5, 83, 35);
-         else if ((active1 & 0x10000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 104, 35);
-         else if ((active1 & 0x20000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 105, 35);
-         return jjMoveStringLiteralDfa6_0(active0, 0x800408000L, active1, 0L);
+         else if ((active0 & 0x4000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 38, 35);
+         else if ((active1 & 0x200000L) != 0L)
+            return jjStartNfaWithStates_0(5, 85, 35);
+         else if ((active1 & 0x40000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 106, 35);
+         else if ((active1 & 0x80000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 107, 35);
+         return jjMoveStringLiteralDfa6_0(active0, 0x1000810000L, active1, 0L);
       case 71:
       case 103:
-         if ((active0 & 0x40000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 42, 35);
-         else if ((active1 & 0x100000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 96, 35);
-         return jjMoveStringLiteralDfa6_0(active0, 0x80000000000L, active1, 0L);
+         if ((active0 & 0x100000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 44, 35);
+         else if ((active1 & 0x400000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 98, 35);
+         return jjMoveStringLiteralDfa6_0(active0, 0x200000000000L, active1, 0L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa6_0(active0, 0x40004000L, active1, 0x4000000L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x80008000L, active1, 0x10000000L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa6_0(active0, 0x4000000000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x1L);
       case 77:
       case 109:
-         if ((active1 & 0x40000000L) != 0L)
+         if ((active1 & 0x100000000L) != 0L)
          {
-            jjmatchedKind = 94;
+            jjmatchedKind = 96;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x80000000L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x200000000L);
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa6_0(active0, 0x81200000L, active1, 0x8200020L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x102400000L, active1, 0x20800080L);
       case 82:
       case 114:
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x8400L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x21000L);
       case 83:
       case 115:
-         if ((active0 & 0x4000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 38, 35);
-         else if ((active1 & 0x800000000L) != 0L)
+         if ((active0 & 0x8000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 39, 35);
+         else if ((active1 & 0x2000000000L) != 0L)
          {
-            jjmatchedKind = 99;
+            jjmatchedKind = 101;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x8000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 103, 35);
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x1000010000L);
+         else if ((active1 & 0x20000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 105, 35);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x4000040000L);
       case 84:
       case 116:
-         if ((active0 & 0x2000000000000L) != 0L)
+         if ((active0 & 0x8000000000000L) != 0L)
          {
-            jjmatchedKind = 49;
+            jjmatchedKind = 51;
             jjmatchedPos = 5;
          }
-         else if ((active1 & 0x80L) != 0L)
-            return jjStartNfaWithStates_0(5, 71, 35);
-         else if ((active1 & 0x100000L) != 0L)
-            return jjStartNfaWithStates_0(5, 84, 35);
-         else if ((active1 & 0x40000000000L) != 0L)
+         else if ((active1 & 0x200L) != 0L)
+            return jjStartNfaWithStates_0(5, 73, 35);
+         else if ((active1 & 0x400000L) != 0L)
+            return jjStartNfaWithStates_0(5, 86, 35);
+         else if ((active1 & 0x100000000000L) != 0L)
          {
-            jjmatchedKind = 106;
+            jjmatchedKind = 108;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0x4000000000000L, active1, 0x80000000100L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x10000000000000L, active1, 0x200000000400L);
       case 89:
       case 121:
-         if ((active0 & 0x400000000000L) != 0L)
-            return jjStartNfaWithStates_0(5, 46, 24);
+         if ((active0 & 0x1000000000000L) != 0L)
+            return jjStartNfaWithStates_0(5, 48, 24);
          break;
       default :
          break;
@@ -957,75 +963,75 @@ private int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa7_0(active0, 0x4000000200000L, active1, 0x80000000000L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x10000000400000L, active1, 0x200000000000L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x20L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x80L);
       case 66:
       case 98:
-         return jjMoveStringLiteralDfa7_0(active0, 0x40000000L, active1, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x80000000L, active1, 0L);
       case 67:
       case 99:
-         return jjMoveStringLiteralDfa7_0(active0, 0x80000000L, active1, 0x8200000L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x80100000000L, active1, 0x20800000L);
       case 68:
       case 100:
-         return jjMoveStringLiteralDfa7_0(active0, 0x8000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x10000000000L, active1, 0L);
       case 69:
       case 101:
          if ((active0 & 0x20L) != 0L)
             return jjStartNfaWithStates_0(6, 5, 35);
-         else if ((active1 & 0x10000L) != 0L)
-            return jjStartNfaWithStates_0(6, 80, 35);
+         else if ((active1 & 0x40000L) != 0L)
+            return jjStartNfaWithStates_0(6, 82, 35);
          break;
       case 70:
       case 102:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400000000L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x1000000000L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x100L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400L);
       case 76:
       case 108:
-         if ((active0 & 0x8000000L) != 0L)
-            return jjStartNfaWithStates_0(6, 27, 35);
+         if ((active0 & 0x10000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 28, 35);
          break;
       case 78:
       case 110:
-         if ((active0 & 0x8000L) != 0L)
-            return jjStartNfaWithStates_0(6, 15, 35);
-         else if ((active0 & 0x10000L) != 0L)
+         if ((active0 & 0x10000L) != 0L)
             return jjStartNfaWithStates_0(6, 16, 35);
-         return jjMoveStringLiteralDfa7_0(active0, 0x4000L, active1, 0x4004000000L);
+         else if ((active0 & 0x20000L) != 0L)
+            return jjStartNfaWithStates_0(6, 17, 35);
+         return jjMoveStringLiteralDfa7_0(active0, 0x8000L, active1, 0x10010000000L);
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa7_0(active0, 0x4000000000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x1L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x1000000000L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x4000000000L);
       case 82:
       case 114:
-         return jjMoveStringLiteralDfa7_0(active0, 0x80000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0x200000000000L, active1, 0L);
       case 83:
       case 115:
-         if ((active0 & 0x800000000L) != 0L)
-            return jjStartNfaWithStates_0(6, 35, 35);
-         else if ((active1 & 0x80000000L) != 0L)
-            return jjStartNfaWithStates_0(6, 95, 35);
-         return jjMoveStringLiteralDfa7_0(active0, 0x2400000L, active1, 0L);
+         if ((active0 & 0x1000000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 36, 35);
+         else if ((active1 & 0x200000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 97, 35);
+         return jjMoveStringLiteralDfa7_0(active0, 0x4800000L, active1, 0L);
       case 84:
       case 116:
-         if ((active0 & 0x1000000L) != 0L)
-            return jjStartNfaWithStates_0(6, 24, 35);
-         else if ((active1 & 0x8000L) != 0L)
-            return jjStartNfaWithStates_0(6, 79, 35);
+         if ((active0 & 0x2000000L) != 0L)
+            return jjStartNfaWithStates_0(6, 25, 35);
+         else if ((active1 & 0x20000L) != 0L)
+            return jjStartNfaWithStates_0(6, 81, 35);
          break;
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x800L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2000L);
       case 89:
       case 121:
-         if ((active1 & 0x400L) != 0L)
-            return jjStartNfaWithStates_0(6, 74, 35);
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x20000000L);
+         if ((active1 & 0x1000L) != 0L)
+            return jjStartNfaWithStates_0(6, 76, 35);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x80000000L);
       default :
          break;
    }
@@ -1043,53 +1049,53 @@ private int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x20000000L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x80000000L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa8_0(active0, 0x4080000000000L, active1, 0x81000000000L);
+         return jjMoveStringLiteralDfa8_0(active0, 0x10200000000000L, active1, 0x204000000000L);
       case 67:
       case 99:
-         return jjMoveStringLiteralDfa8_0(active0, 0x4000L, active1, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0x8000L, active1, 0L);
       case 68:
       case 100:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x10000000000L);
       case 69:
       case 101:
-         if ((active0 & 0x40000000L) != 0L)
-            return jjStartNfaWithStates_0(7, 30, 35);
-         else if ((active1 & 0x200000L) != 0L)
+         if ((active0 & 0x80000000L) != 0L)
+            return jjStartNfaWithStates_0(7, 31, 35);
+         else if ((active1 & 0x800000L) != 0L)
          {
-            jjmatchedKind = 85;
+            jjmatchedKind = 87;
             jjmatchedPos = 7;
          }
-         return jjMoveStringLiteralDfa8_0(active0, 0x8002000000L, active1, 0x8000000L);
+         return jjMoveStringLiteralDfa8_0(active0, 0x10004000000L, active1, 0x20000000L);
       case 70:
       case 102:
-         if ((active1 & 0x800L) != 0L)
-            return jjStartNfaWithStates_0(7, 75, 35);
-         return jjMoveStringLiteralDfa8_0(active0, 0x200000L, active1, 0L);
+         if ((active1 & 0x2000L) != 0L)
+            return jjStartNfaWithStates_0(7, 77, 35);
+         return jjMoveStringLiteralDfa8_0(active0, 0x400000L, active1, 0L);
       case 76:
       case 108:
-         if ((active1 & 0x20L) != 0L)
-            return jjStartNfaWithStates_0(7, 69, 35);
+         if ((active1 & 0x80L) != 0L)
+            return jjStartNfaWithStates_0(7, 71, 35);
          break;
       case 79:
       case 111:
-         return jjMoveStringLiteralDfa8_0(active0, 0L, active1, 0x400000100L);
+         return jjMoveStringLiteralDfa8_0(active0, 0x80000000000L, active1, 0x1000000400L);
       case 83:
       case 115:
-         return jjMoveStringLiteralDfa8_0(active0, 0x400000L, active1, 0L);
+         return jjMoveStringLiteralDfa8_0(active0, 0x800000L, active1, 0L);
       case 84:
       case 116:
-         if ((active0 & 0x80000000L) != 0L)
-            return jjStartNfaWithStates_0(7, 31, 35);
-         else if ((active1 & 0x4000000L) != 0L)
-            return jjStartNfaWithStates_0(7, 90, 35);
+         if ((active0 & 0x100000000L) != 0L)
+            return jjStartNfaWithStates_0(7, 32, 35);
+         else if ((active1 & 0x10000000L) != 0L)
+            return jjStartNfaWithStates_0(7, 92, 35);
          break;
       case 87:
       case 119:
-         if ((active0 & 0x4000000000000000L) != 0L)
-            return jjStartNfaWithStates_0(7, 62, 35);
+         if ((active1 & 0x1L) != 0L)
+            return jjStartNfaWithStates_0(7, 64, 35);
          break;
       default :
          break;
@@ -1108,42 +1114,42 @@ private int jjMoveStringLiteralDfa8_0(long old0, long active0, long old1, long a
    switch(curChar)
    {
       case 95:
-         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x10000000000L);
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa9_0(active0, 0x200000L, active1, 0L);
+         return jjMoveStringLiteralDfa9_0(active0, 0x400000L, active1, 0L);
       case 67:
       case 99:
-         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x1000000000L);
+         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x4000000000L);
       case 69:
       case 101:
-         return jjMoveStringLiteralDfa9_0(active0, 0x400000L, active1, 0L);
+         return jjMoveStringLiteralDfa9_0(active0, 0x800000L, active1, 0L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa9_0(active0, 0x8000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa9_0(active0, 0x10000000000L, active1, 0L);
       case 77:
       case 109:
-         if ((active0 & 0x80000000000L) != 0L)
-            return jjStartNfaWithStates_0(8, 43, 35);
-         break;
+         if ((active0 & 0x200000000000L) != 0L)
+            return jjStartNfaWithStates_0(8, 45, 35);
+         return jjMoveStringLiteralDfa9_0(active0, 0x80000000000L, active1, 0L);
       case 78:
       case 110:
-         if ((active1 & 0x100L) != 0L)
-            return jjStartNfaWithStates_0(8, 72, 35);
+         if ((active1 & 0x400L) != 0L)
+            return jjStartNfaWithStates_0(8, 74, 35);
          break;
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa9_0(active0, 0x4000000000000L, active1, 0x80000000000L);
+         return jjMoveStringLiteralDfa9_0(active0, 0x10000000000000L, active1, 0x200000000000L);
       case 82:
       case 114:
-         return jjMoveStringLiteralDfa9_0(active0, 0x4000L, active1, 0x400000000L);
+         return jjMoveStringLiteralDfa9_0(active0, 0x8000L, active1, 0x1000000000L);
       case 83:
       case 115:
-         if ((active0 & 0x2000000L) != 0L)
-            return jjStartNfaWithStates_0(8, 25, 35);
-         else if ((active1 & 0x8000000L) != 0L)
-            return jjStartNfaWithStates_0(8, 91, 35);
-         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x20000000L);
+         if ((active0 & 0x4000000L) != 0L)
+            return jjStartNfaWithStates_0(8, 26, 35);
+         else if ((active1 & 0x20000000L) != 0L)
+            return jjStartNfaWithStates_0(8, 93, 35);
+         return jjMoveStringLiteralDfa9_0(active0, 0L, active1, 0x80000000L);
       default :
          break;
    }
@@ -1162,29 +1168,29 @@ private int jjMoveStringLiteralDfa9_0(long old0, long active0, long old1, long a
    {
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa10_0(active0, 0x8000000000L, active1, 0L);
+         return jjMoveStringLiteralDfa10_0(active0, 0x10000000000L, active1, 0L);
       case 68:
       case 100:
-         if ((active0 & 0x400000L) != 0L)
-            return jjStartNfaWithStates_0(9, 22, 35);
+         if ((active0 & 0x800000L) != 0L)
+            return jjStartNfaWithStates_0(9, 23, 35);
          break;
       case 69:
       case 101:
-         if ((active1 & 0x1000000000L) != 0L)
-            return jjStartNfaWithStates_0(9, 100, 35);
-         return jjMoveStringLiteralDfa10_0(active0, 0x4000L, active1, 0L);
+         if ((active1 & 0x4000000000L) != 0L)
+            return jjStartNfaWithStates_0(9, 102, 35);
+         return jjMoveStringLiteralDfa10_0(active0, 0x8000L, active1, 0L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa10_0(active0, 0x200000L, active1, 0x400000000L);
+         return jjMoveStringLiteralDfa10_0(active0, 0x80000400000L, active1, 0x1000000000L);
       case 80:
       case 112:
-         return jjMoveStringLiteralDfa10_0(active0, 0x4000000000000L, active1, 0x80000000000L);
+         return jjMoveStringLiteralDfa10_0(active0, 0x10000000000000L, active1, 0x200000000000L);
       case 84:
       case 116:
-         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x20000000L);
+         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x80000000L);
       case 86:
       case 118:
-         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa10_0(active0, 0L, active1, 0x10000000000L);
       default :
          break;
    }
@@ -1203,20 +1209,20 @@ private int jjMoveStringLiteralDfa10_0(long old0, long active0, long old1, long
    {
       case 65:
       case 97:
-         return jjMoveStringLiteralDfa11_0(active0, 0L, active1, 0x4400000000L);
+         return jjMoveStringLiteralDfa11_0(active0, 0L, active1, 0x11000000000L);
       case 69:
       case 101:
-         return jjMoveStringLiteralDfa11_0(active0, 0x4000000000000L, active1, 0x80020000000L);
+         return jjMoveStringLiteralDfa11_0(active0, 0x10000000000000L, active1, 0x200080000000L);
       case 73:
       case 105:
-         return jjMoveStringLiteralDfa11_0(active0, 0x200000L, active1, 0L);
+         return jjMoveStringLiteralDfa11_0(active0, 0x80000400000L, active1, 0L);
       case 77:
       case 109:
-         return jjMoveStringLiteralDfa11_0(active0, 0x4000L, active1, 0L);
+         return jjMoveStringLiteralDfa11_0(active0, 0x8000L, active1, 0L);
       case 89:
       case 121:
-         if ((active0 & 0x8000000000L) != 0L)
-            return jjStartNfaWithStates_0(10, 39, 24);
+         if ((active0 & 0x10000000000L) != 0L)
+            return jjStartNfaWithStates_0(10, 40, 24);
          break;
       default :
          break;
@@ -1236,22 +1242,24 @@ private int jjMoveStringLiteralDfa11_0(long old0, long active0, long old1, long
    {
       case 69:
       case 101:
-         return jjMoveStringLiteralDfa12_0(active0, 0x4000L, active1, 0L);
+         return jjMoveStringLiteralDfa12_0(active0, 0x8000L, active1, 0L);
       case 76:
       case 108:
-         return jjMoveStringLiteralDfa12_0(active0, 0x200000L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa12_0(active0, 0x400000L, active1, 0x10000000000L);
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa12_0(active0, 0x4000000000000L, active1, 0x80000000000L);
+         return jjMoveStringLiteralDfa12_0(active0, 0x10000000000000L, active1, 0x200000000000L);
       case 80:
       case 112:
-         if ((active1 & 0x20000000L) != 0L)
-            return jjStartNfaWithStates_0(11, 93, 24);
+         if ((active1 & 0x80000000L) != 0L)
+            return jjStartNfaWithStates_0(11, 95, 24);
          break;
       case 84:
       case 116:
-         if ((active1 & 0x400000000L) != 0L)
-            return jjStartNfaWithStates_0(11, 98, 24);
+         if ((active0 & 0x80000000000L) != 0L)
+            return jjStartNfaWithStates_0(11, 43, 24);
+         else if ((active1 & 0x1000000000L) != 0L)
+            return jjStartNfaWithStates_0(11, 100, 24);
          break;
       default :
          break;
@@ -1271,21 +1279,21 @@ private int jjMoveStringLiteralDfa12_0(long old0, long active0, long old1, long
    {
       case 68:
       case 100:
-         if ((active0 & 0x4000000000000L) != 0L)
-            return jjStartNfaWithStates_0(12, 50, 24);
-         else if ((active1 & 0x80000000000L) != 0L)
-            return jjStartNfaWithStates_0(12, 107, 24);
+         if ((active0 & 0x10000000000000L) != 0L)
+            return jjStartNfaWithStates_0(12, 52, 24);
+         else if ((active1 & 0x200000000000L) != 0L)
+            return jjStartNfaWithStates_0(12, 109, 24);
          break;
       case 78:
       case 110:
-         return jjMoveStringLiteralDfa13_0(active0, 0x4000L, active1, 0L);
+         return jjMoveStringLiteralDfa13_0(active0, 0x8000L, active1, 0L);
       case 85:
       case 117:
-         return jjMoveStringLiteralDfa13_0(active0, 0L, active1, 0x4000000000L);
+         return jjMoveStringLiteralDfa13_0(active0, 0L, active1, 0x10000000000L);
       case 89:
       case 121:
-         if ((active0 & 0x200000L) != 0L)
-            return jjStartNfaWithStates_0(12, 21, 24);
+         if ((active0 & 0x400000L) != 0L)
+            return jjStartNfaWithStates_0(12, 22, 24);
          break;
       default :
          break;
@@ -1305,13 +1313,13 @@ private int jjMoveStringLiteralDfa13_0(long old0, long active0, long old1, long
    {
       case 69:
       case 101:
-         if ((active1 & 0x4000000000L) != 0L)
-            return jjStartNfaWithStates_0(13, 102, 24);
+         if ((active1 & 0x10000000000L) != 0L)
+            return jjStartNfaWithStates_0(13, 104, 24);
          break;
       case 84:
       case 116:
-         if ((active0 & 0x4000L) != 0L)
-            return jjStartNfaWithStates_0(13, 14, 24);
+         if ((active0 & 0x8000L) != 0L)
+            return jjStartNfaWithStates_0(13, 15, 24);
          break;
       default :
          break;
@@ -1351,15 +1359,15 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 24:
                   if ((0x3ff401800000000L & l) == 0L)
                      break;
-                  if (kind > 125)
-                     kind = 125;
+                  if (kind > 127)
+                     kind = 127;
                   jjCheckNAdd(24);
                   break;
                case 0:
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 114)
-                        kind = 114;
+                     if (kind > 116)
+                        kind = 116;
                      jjCheckNAddStates(0, 5);
                   }
                   else if (curChar == 34)
@@ -1378,8 +1386,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 2:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 114)
-                     kind = 114;
+                  if (kind > 116)
+                     kind = 116;
                   jjstateSet[jjnewStateCnt++] = 2;
                   break;
                case 3:
@@ -1389,8 +1397,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 4:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 117)
-                     kind = 117;
+                  if (kind > 119)
+                     kind = 119;
                   jjCheckNAddStates(6, 8);
                   break;
                case 5:
@@ -1400,8 +1408,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 7:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 117)
-                     kind = 117;
+                  if (kind > 119)
+                     kind = 119;
                   jjstateSet[jjnewStateCnt++] = 7;
                   break;
                case 8:
@@ -1415,8 +1423,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 10:
                   if (curChar != 39)
                      break;
-                  if (kind > 122)
-                     kind = 122;
+                  if (kind > 124)
+                     kind = 124;
                   jjstateSet[jjnewStateCnt++] = 11;
                   break;
                case 11:
@@ -1430,15 +1438,15 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 13:
                   if (curChar != 45)
                      break;
-                  if (kind > 123)
-                     kind = 123;
+                  if (kind > 125)
+                     kind = 125;
                   jjCheckNAdd(14);
                   break;
                case 14:
                   if ((0xffffffffffffdbffL & l) == 0L)
                      break;
-                  if (kind > 123)
-                     kind = 123;
+                  if (kind > 125)
+                     kind = 125;
                   jjCheckNAdd(14);
                   break;
                case 15:
@@ -1466,8 +1474,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddTwoStates(20, 18);
                   break;
                case 21:
-                  if (curChar == 47 && kind > 124)
-                     kind = 124;
+                  if (curChar == 47 && kind > 126)
+                     kind = 126;
                   break;
                case 22:
                   if (curChar == 47)
@@ -1482,21 +1490,21 @@ private int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddTwoStates(26, 27);
                   break;
                case 27:
-                  if (curChar == 34 && kind > 128)
-                     kind = 128;
+                  if (curChar == 34 && kind > 130)
+                     kind = 130;
                   break;
                case 28:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 114)
-                     kind = 114;
+                  if (kind > 116)
+                     kind = 116;
                   jjCheckNAddStates(0, 5);
                   break;
                case 29:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 114)
-                     kind = 114;
+                  if (kind > 116)
+                     kind = 116;
                   jjCheckNAdd(29);
                   break;
                case 30:
@@ -1514,8 +1522,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 34:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 117)
-                     kind = 117;
+                  if (kind > 119)
+                     kind = 119;
                   jjstateSet[jjnewStateCnt++] = 34;
                   break;
                default : break;
@@ -1532,14 +1540,14 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 35:
                   if ((0x7fffffe87fffffeL & l) != 0L)
                   {
-                     if (kind > 125)
-                        kind = 125;
+                     if (kind > 127)
+                        kind = 127;
                      jjCheckNAdd(24);
                   }
                   if ((0x7fffffe07fffffeL & l) != 0L)
                   {
-                     if (kind > 125)
-                        kind = 125;
+                     if (kind > 127)
+                        kind = 127;
                      jjCheckNAddTwoStates(23, 24);
                   }
                   break;
@@ -1547,8 +1555,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 23:
                   if ((0x7fffffe07fffffeL & l) == 0L)
                      break;
-                  if (kind > 125)
-                     kind = 125;
+                  if (kind > 127)
+                     kind = 127;
                   jjCheckNAddTwoStates(23, 24);
                   break;
                case 1:
@@ -1558,8 +1566,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 2:
                   if ((0x7e0000007eL & l) == 0L)
                      break;
-                  if (kind > 114)
-                     kind = 114;
+                  if (kind > 116)
+                     kind = 116;
                   jjCheckNAdd(2);
                   break;
                case 6:
@@ -1573,8 +1581,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                   jjCheckNAddTwoStates(12, 10);
                   break;
                case 14:
-                  if (kind > 123)
-                     kind = 123;
+                  if (kind > 125)
+                     kind = 125;
                   jjstateSet[jjnewStateCnt++] = 14;
                   break;
                case 17:
@@ -1587,8 +1595,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 24:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 125)
-                     kind = 125;
+                  if (kind > 127)
+                     kind = 127;
                   jjCheckNAdd(24);
                   break;
                case 26:
@@ -1621,8 +1629,8 @@ private int jjMoveNfa_0(int startState, int curPos)
                case 14:
                   if ((jjbitVec0[i2] & l2) == 0L)
                      break;
-                  if (kind > 123)
-                     kind = 123;
+                  if (kind > 125)
+                     kind = 125;
                   jjstateSet[jjnewStateCnt++] = 14;
                   break;
                case 17:
@@ -1671,22 +1679,22 @@ null, null, null, null, null, null, null, null, null, null, null, null, null, nu
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
-null, null, null, null, "\77", "\50", "\51", "\133\135", "\54", "\75", "\52\52", 
-"\53", "\55", "\133", "\135", "\46", "\174", "\136", "\74\74", "\76\76", "\174\174", 
-"\52", "\57", "\41", "\76", "\74", "\75\76", };
+null, null, null, null, null, null, "\77", "\50", "\51", "\133\135", "\54", "\75", 
+"\52\52", "\53", "\55", "\133", "\135", "\46", "\174", "\136", "\74\74", "\76\76", 
+"\174\174", "\52", "\57", "\41", "\76", "\74", "\75\76", };
 
 /** Lexer state names. */
 public static final String[] lexStateNames = {
    "DEFAULT",
 };
 static final long[] jjtoToken = {
-   0xffffffffffffffe1L, 0x2427ffffffffffffL, 0xffffffL, 
+   0xffffffffffffffe1L, 0x909fffffffffffffL, 0x3fffffcL, 
 };
 static final long[] jjtoSkip = {
-   0x1eL, 0x1800000000000000L, 0x0L, 
+   0x1eL, 0x6000000000000000L, 0x0L, 
 };
 static final long[] jjtoSpecial = {
-   0x0L, 0x1800000000000000L, 0x0L, 
+   0x0L, 0x6000000000000000L, 0x0L, 
 };
 protected SimpleCharStream input_stream;
 private final int[] jjrounds = new int[35];
@@ -43,6 +43,8 @@ public class TupleSourceExpression implements FilterableTarget {
 
     boolean ascending = true;
     boolean follow = false;
+    // columns needed by the consumer when reading from a table; null means all
+    Set<String> requiredColumns;
 
     // after binding
     TupleDefinition definition;
@@ -158,7 +160,7 @@ public class TupleSourceExpression implements FilterableTarget {
             break;
         case TABLE:
             TableWalker tblit = tableWalkerBuilder.build();
-            stream = new TableReaderStream(ydb, tableWalkerBuilder.getTableDefinition(), tblit);
+            stream = new TableReaderStream(ydb, tableWalkerBuilder.getTableDefinition(), tblit, requiredColumns);
             break;
         case TABLE_HISTOGRAM:
             HistogramReaderStream histoStream = histogramStreamBuilder.build();
@@ -184,6 +186,19 @@ public class TupleSourceExpression implements FilterableTarget {
         this.follow = follow;
     }
 
+    /**
+     * Restricts the value columns read from the table to the given set. The other columns are not decoded and not
+     * present in the tuples.
+     * <p>
+     * Has no effect if the source is not a table.
+     * 
+     * @param requiredColumns
+     *            - the names of the columns required or null for all columns
+     */
+    public void setRequiredColumns(Set<String> requiredColumns) {
+        this.requiredColumns = requiredColumns;
+    }
+
     TupleDefinition getDefinition() {
         return definition;
     }
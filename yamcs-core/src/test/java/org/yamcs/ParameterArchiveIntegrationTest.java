@@ -2,6 +2,7 @@ package org.yamcs;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -16,6 +17,8 @@ import org.yamcs.client.archive.ArchiveClient;
 import org.yamcs.client.archive.ArchiveClient.ListOptions;
 import org.yamcs.client.archive.ArchiveClient.RangeOptions;
 import org.yamcs.parameterarchive.ParameterArchive;
+import org.yamcs.parameterarchive.ParameterRequest;
+import org.yamcs.parameterarchive.SingleParameterArchiveRetrieval;
 import org.yamcs.protobuf.Pvalue.AcquisitionStatus;
 import org.yamcs.protobuf.Pvalue.ParameterValue;
 import org.yamcs.protobuf.Pvalue.Ranges.Range;
@@ -327,6 +330,32 @@ public class ParameterArchiveIntegrationTest extends AbstractIntegrationTest {
         assertEquals(23, s0.getAvg(), 1e-5);
     }
 
+    @Test
+    public void testParallelBackFilling() throws Exception {
+        // 5 hours of data covering at least 3 parameter archive intervals, filled in parallel
+        generatePkt13AndPps("2021-03-01T00:00:00", 5 * 3600);
+        buildParameterArchive("2021-03-01T00:00:00", "2021-03-01T05:00:00");
+
+        ParameterArchive parameterArchive = YamcsServer.getServer().getServices(yamcsInstance, ParameterArchive.class)
+                .get(0);
+        long start = TimeEncoding.parse("2021-03-01T00:00:00");
+        long stop = TimeEncoding.parse("2021-03-01T05:00:00");
+        assertTrue(ParameterArchive.getIntervalStart(stop) - ParameterArchive.getIntervalStart(start) >= 2
+                * ParameterArchive.getIntervalDuration());
+
+        List<Long> timestamps = new ArrayList<>();
+        ParameterRequest req = new ParameterRequest(start, stop, true, true, false, false);
+        new SingleParameterArchiveRetrieval(parameterArchive, "/REFMDB/SUBSYS1/FloatPara1_1_2", req).retrieve(pva -> {
+            for (long t : pva.getTimestamps()) {
+                timestamps.add(t);
+            }
+        });
+        assertEquals(5 * 3600, timestamps.size());
+        for (int i = 0; i < timestamps.size(); i++) {
+            assertEquals(start + 1000L * i, timestamps.get(i).longValue());
+        }
+    }
+
     private void buildParameterArchive(String start, String stop) throws InterruptedException, ExecutionException {
         ParameterArchive parameterArchive = YamcsServer.getServer().getServices(yamcsInstance, ParameterArchive.class)
                 .get(0);
@@ -34,6 +34,8 @@ import org.yamcs.yarch.protobuf.Db.Event;
 import org.yamcs.protobuf.Yamcs.Event.EventSeverity;
 import org.yamcs.protobuf.Yamcs.NamedObjectId;
 import org.yamcs.utils.TimeEncoding;
+import org.yamcs.xtce.Algorithm;
+import org.yamcs.xtce.CustomAlgorithm;
 import org.yamcs.xtce.Parameter;
 import org.yamcs.xtce.XtceDb;
 import org.yamcs.xtceproc.XtceDbFactory;
@@ -51,6 +53,7 @@ public class AlgorithmManagerTest {
     private RefMdbPacketGenerator tmGenerator;
     private ParameterRequestManager prm;
     private Queue<Event> q;
+    private AlgorithmManager algMgr;
 
     @Before
     public void beforeEachTest() throws InitException, ProcessorException {
@@ -70,7 +73,7 @@ public class AlgorithmManagerTest {
         config.put("libraries", jslib);
 
 
-        AlgorithmManager algMgr = new AlgorithmManager();
+        algMgr = new AlgorithmManager();
         proc = ProcessorFactory.create("refmdb", "AlgorithmManagerTest",
                  getPwc(tmGenerator, YConfiguration.emptyConfig()),
                  getPwc(algMgr, YConfiguration.wrap(config)));
@@ -113,6 +116,40 @@ public class AlgorithmManagerTest {
         }
     }
 
+    @Test
+    public void testAlgorithmStatus() throws InvalidIdentification {
+        Parameter floatAddition = prm
+                .getParameter(NamedObjectId.newBuilder().setName("/REFMDB/SUBSYS1/AlgoFloatAddition").build());
+        Algorithm algo = db.getAlgorithms().stream()
+                .filter(a -> a.getOutputSet().stream().anyMatch(op -> op.getParameter() == floatAddition))
+                .findFirst().get();
+        prm.addRequest(floatAddition, (ParameterConsumer) (subscriptionId, items) -> {
+        });
+        AlgorithmStatus status = algMgr.getAlgorithmStatus(algo);
+        assertNotNull(status);
+        assertEquals(0, status.getRunCount());
+
+        proc.start();
+        tmGenerator.generate_PKT1_1();
+        tmGenerator.generate_PKT1_1();
+        assertEquals(2, status.getRunCount());
+        assertTrue(status.getLastRun() != TimeEncoding.INVALID_INSTANT);
+
+        // a new status is available as soon as the algorithm is overridden and when the override is cleared
+        CustomAlgorithm calg = (CustomAlgorithm) algo;
+        algMgr.setAlgorithmText(calg, calg.getAlgorithmText());
+        AlgorithmStatus overrStatus = algMgr.getAlgorithmStatus(algo);
+        assertNotNull(overrStatus);
+        assertEquals(0, overrStatus.getRunCount());
+        tmGenerator.generate_PKT1_1();
+        assertEquals(1, overrStatus.getRunCount());
+
+        algMgr.clearAlgorithmOverride(calg);
+        AlgorithmStatus clearedStatus = algMgr.getAlgorithmStatus(algo);
+        assertNotNull(clearedStatus);
+        assertEquals(0, clearedStatus.getRunCount());
+    }
+
     @Ignore
     @Test
     // this can be used to see that the performance of javascript is much worse in some later versions of Java 6
@@ -98,6 +98,48 @@ public class CcsdsTmIndexTest extends YarchTestCase {
         // tmindex.printApidDb();
     }
 
+    @Test
+    public void testInSequencePackets() throws Exception {
+        CcsdsTmIndex tmindex = new CcsdsTmIndex();
+        tmindex.init(ydb.getName(), "test", YConfiguration.wrap(config));
+
+        short apid = 1500;
+        for (int i = 0; i < 100; i++) {
+            tmindex.addPacket(apid, 1000L + i, (short) (i + 1));
+        }
+        // duplicate of a packet from the open run
+        tmindex.addPacket(apid, 1050L, (short) 51);
+
+        CcsdsIndexIterator it = tmindex.new CcsdsIndexIterator((short) -1, -1L, -1L);
+        assertEqual(it.getNextRecord(), 1000, 1099, 100);
+        assertNull(it.getNextRecord());
+        it.close();
+
+        // fills the gap between two records
+        tmindex.addPacket(apid, 1200L, (short) 102);
+        tmindex.addPacket(apid, 1201L, (short) 103);
+        tmindex.addPacket(apid, 1100L, (short) 101);
+
+        it = tmindex.new CcsdsIndexIterator((short) -1, -1L, -1L);
+        assertEqual(it.getNextRecord(), 1000, 1201, 103);
+        assertNull(it.getNextRecord());
+        it.close();
+
+        // the open run is not extended past the next record
+        tmindex.addPacket(apid, 500L, (short) 200);
+        tmindex.addPacket(apid, 600L, (short) 300);
+        tmindex.addPacket(apid, 501L, (short) 201);
+        tmindex.addPacket(apid, 599L, (short) 299);
+        tmindex.addPacket(apid, 502L, (short) 202);
+
+        it = tmindex.new CcsdsIndexIterator((short) -1, -1L, -1L);
+        assertEqual(it.getNextRecord(), 500, 502, 3);
+        assertEqual(it.getNextRecord(), 599, 600, 2);
+        assertEqual(it.getNextRecord(), 1000, 1201, 103);
+        assertNull(it.getNextRecord());
+        it.close();
+    }
+
     @Test
     @Ignore
     public void testApidIndexSameTimeAndWraparound() throws Exception {
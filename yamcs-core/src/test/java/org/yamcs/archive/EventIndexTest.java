@@ -0,0 +1,157 @@
+package org.yamcs.archive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.yamcs.StandardTupleDefinitions;
+import org.yamcs.protobuf.Yamcs.Event.EventSeverity;
+import org.yamcs.yarch.Stream;
+import org.yamcs.yarch.Tuple;
+import org.yamcs.yarch.YarchTestCase;
+import org.yamcs.yarch.protobuf.Db.Event;
+
+public class EventIndexTest extends YarchTestCase {
+    Stream stream;
+    int seqNum = 0;
+
+    @Before
+    public void createTable() throws Exception {
+        ydb.execute("create table " + EventRecorder.TABLE_NAME
+                + "(gentime timestamp, source enum, seqNum int, body PROTOBUF('" + Event.class.getName()
+                + "'), primary key(gentime, source, seqNum)) histogram(source) table_format=compressed");
+        ydb.execute("create stream " + EventRecorder.REALTIME_EVENT_STREAM_NAME
+                + StandardTupleDefinitions.EVENT.getStringDefinition());
+        ydb.execute("insert into " + EventRecorder.TABLE_NAME + " select * from "
+                + EventRecorder.REALTIME_EVENT_STREAM_NAME);
+        stream = ydb.getStream(EventRecorder.REALTIME_EVENT_STREAM_NAME);
+    }
+
+    @Test
+    public void testText() throws Exception {
+        EventIndex index = createIndex();
+        emit(1000, "src1", EventSeverity.INFO, "Pump 1 started");
+        emit(2000, "src2", EventSeverity.WARNING, "pump 2 stopped (pressure low)");
+        emit(3000, "src1", EventSeverity.INFO, "Valve opened");
+
+        assertEquals(Arrays.asList(1000L, 2000L), retrieve(index, new EventIndex.Request("INFO", "PUMP")));
+        assertEquals(Arrays.asList(2000L), retrieve(index, new EventIndex.Request("INFO", "stopped pump")));
+        assertEquals(Arrays.asList(2000L), retrieve(index, new EventIndex.Request("INFO", "pressure low)")));
+        assertEquals(Arrays.asList(), retrieve(index, new EventIndex.Request("INFO", "pum")));
+        assertEquals(Arrays.asList(), retrieve(index, new EventIndex.Request("INFO", "valve closed")));
+        assertEquals(Arrays.asList(2000L), retrieve(index, new EventIndex.Request("WARNING", "pump")));
+
+        EventIndex.Request req = new EventIndex.Request("INFO", "pump");
+        req.setSources(Arrays.asList("src1"));
+        assertEquals(Arrays.asList(1000L), retrieve(index, req));
+
+        assertFalse(index.supports(new EventIndex.Request("INFO", " - ")));
+    }
+
+    @Test
+    public void testSeverity() throws Exception {
+        EventIndex index = createIndex();
+        emit(1000, "src1", EventSeverity.WATCH, "a");
+        emit(2000, "src1", EventSeverity.ERROR, "b");
+        emit(3000, "src2", EventSeverity.DISTRESS, "c");
+        emit(4000, "src1", EventSeverity.INFO, "d");
+        emit(5000, "src2", EventSeverity.WARNING, "e");
+
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L, 5000L),
+                retrieve(index, new EventIndex.Request("WATCH", null)));
+        assertEquals(Arrays.asList(2000L, 3000L), retrieve(index, new EventIndex.Request("DISTRESS", null)));
+        assertEquals(Arrays.asList(2000L), retrieve(index, new EventIndex.Request("SEVERE", null)));
+        assertFalse(index.supports(new EventIndex.Request("INFO", null)));
+
+        EventIndex.Request req = new EventIndex.Request("WARNING", null);
+        req.setStart(2000);
+        req.setStop(5000);
+        assertEquals(Arrays.asList(2000L, 3000L), retrieve(index, req));
+
+        req = new EventIndex.Request("WATCH", null);
+        req.setDescending(true);
+        req.setAfter(3000, "src2", 2);
+        assertEquals(Arrays.asList(2000L, 1000L), retrieve(index, req));
+
+        req = new EventIndex.Request("WATCH", null);
+        req.setAfter(2000, "src1", 1);
+        assertEquals(Arrays.asList(3000L, 5000L), retrieve(index, req));
+    }
+
+    @Test
+    public void testAfterSameTime() throws Exception {
+        EventIndex index = createIndex();
+        emit(1000, "src2", EventSeverity.WARNING, "a");
+        emit(2000, "src1", EventSeverity.WARNING, "b");
+        emit(2000, "src2", EventSeverity.WARNING, "c");
+
+        // at the same generation time the events are sorted by source before the sequence number
+        List<String> messages = retrieveMessages(index, new EventIndex.Request("WARNING", null));
+        assertEquals(Arrays.asList("a", "c", "b"), messages);
+
+        EventIndex.Request req = new EventIndex.Request("WARNING", null);
+        req.setAfter(2000, "src2", 2);
+        assertEquals(Arrays.asList("b"), retrieveMessages(index, req));
+
+        req = new EventIndex.Request("WARNING", null);
+        req.setDescending(true);
+        req.setAfter(2000, "src1", 1);
+        assertEquals(Arrays.asList("c", "a"), retrieveMessages(index, req));
+    }
+
+    @Test
+    public void testRecordedEvents() throws Exception {
+        emit(1000, "src1", EventSeverity.INFO, "pump started");
+        emit(2000, "src1", EventSeverity.CRITICAL, "pump failed");
+
+        EventIndex index = createIndex();
+        assertFalse(index.isComplete());
+        emit(3000, "src1", EventSeverity.INFO, "pump restarted");
+
+        index.indexRecordedEvents();
+        assertTrue(index.isComplete());
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L), retrieve(index, new EventIndex.Request("INFO", "pump")));
+        assertEquals(Arrays.asList(2000L), retrieve(index, new EventIndex.Request("CRITICAL", null)));
+
+        // the marker of the complete index is found at the next start
+        assertTrue(new EventIndex(ydb).isComplete());
+    }
+
+    @Test
+    public void testTokenize() {
+        assertEquals(Arrays.asList("temperature", "tc", "1", "21", "5"),
+                new ArrayList<>(EventIndex.tokenize("Temperature TC_1: 21.5, tc 1")));
+        assertTrue(EventIndex.tokenize(null).isEmpty());
+    }
+
+    private EventIndex createIndex() throws Exception {
+        EventIndex index = new EventIndex(ydb);
+        stream.addSubscriber(index);
+        return index;
+    }
+
+    private void emit(long gentime, String source, EventSeverity severity, String message) {
+        Event event = Event.newBuilder().setGenerationTime(gentime).setReceptionTime(gentime)
+                .setSource(source).setSeqNumber(seqNum).setSeverity(severity).setMessage(message).build();
+        stream.emitTuple(new Tuple(StandardTupleDefinitions.EVENT, new Object[] { gentime, source, seqNum, event }));
+        seqNum++;
+    }
+
+    private List<Long> retrieve(EventIndex index, EventIndex.Request req) throws Exception {
+        List<Long> times = new ArrayList<>();
+        index.retrieve(req, event -> times.add(event.getGenerationTime()));
+        return times;
+    }
+
+    private List<String> retrieveMessages(EventIndex index, EventIndex.Request req) throws Exception {
+        List<String> messages = new ArrayList<>();
+        index.retrieve(req, event -> messages.add(event.getMessage()));
+        return messages;
+    }
+}
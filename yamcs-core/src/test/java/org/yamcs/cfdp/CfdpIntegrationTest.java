@@ -3,6 +3,7 @@ package org.yamcs.cfdp;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -49,6 +50,8 @@ public class CfdpIntegrationTest {
 
     // MyReceiver will place the file in this bucket
     private static Bucket incomingBucket;
+    // MyReceiver will spool the incoming data here
+    private static Path spoolDir;
 
     private YamcsClient client;
     private FileTransferClient cfdpClient;
@@ -66,6 +69,7 @@ public class CfdpIntegrationTest {
         
         incomingBucket = yarch.createBucket("cfdp-bucket-in");
         outgoingBucket = yarch.createBucket("cfdp-bucket-out");
+        spoolDir = Files.createDirectories(dataDir.resolve("receiver-spool"));
         // org.yamcs.LoggingUtils.enableLogging(java.util.logging.Level.FINE);
     }
 
@@ -259,8 +263,8 @@ public class CfdpIntegrationTest {
 
                     if (trsf == null) {
                         trsf = new CfdpIncomingTransfer("test", 1, TimeEncoding.getWallclockTime(), executor, config,
-                                packet.getHeader(), cfdpIn, incomingBucket, eventProducer, MyFileReceiver.this,
-                                Collections.emptyMap());
+                                packet.getHeader(), cfdpIn, incomingBucket, spoolDir, eventProducer,
+                                MyFileReceiver.this, Collections.emptyMap());
                     }
                     // System.out.println("processing packet "+packet);
                     trsf.processPacket(packet);
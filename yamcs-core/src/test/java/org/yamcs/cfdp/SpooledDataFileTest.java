@@ -0,0 +1,149 @@
+package org.yamcs.cfdp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.cfdp.pdu.SegmentRequest;
+import org.yamcs.utils.FileUtils;
+
+public class SpooledDataFileTest {
+    static int n = 100;
+    static byte[] data = new byte[n];
+    Path dir;
+    SpooledDataFile df;
+
+    @BeforeClass
+    static public void beforeClass() {
+        for (int i = 0; i < n; i++) {
+            data[i] = (byte) i;
+        }
+    }
+
+    @Before
+    public void before() throws IOException {
+        dir = Files.createTempDirectory("cfdp-spool");
+        df = new SpooledDataFile(dir, n);
+    }
+
+    @After
+    public void after() throws IOException {
+        df.close();
+        assertFalse(Files.exists(df.getPath()));
+        FileUtils.deleteRecursivelyIfExists(dir);
+    }
+
+    @Test
+    public void test1() throws IOException {
+        df.addSegment(getSegment(0, 3));
+
+        List<SegmentRequest> lmissing = df.getMissingChunks();
+        assertEquals(1, lmissing.size());
+        verifyEquals(3, n, lmissing.get(0));
+
+        df.addSegment(getSegment(5, 5));
+
+        lmissing = df.getMissingChunks();
+        assertEquals(2, lmissing.size());
+        verifyEquals(3, 5, lmissing.get(0));
+        verifyEquals(10, n, lmissing.get(1));
+
+        lmissing = df.getMissingChunks(false);
+        assertEquals(1, lmissing.size());
+        verifyEquals(3, 5, lmissing.get(0));
+
+        assertFalse(df.isComplete());
+        assertEquals(8, df.getReceivedSize());
+        assertEquals(10, df.endOfFileOffset());
+
+        df.addSegment(getSegment(3, 2));
+        df.addSegment(getSegment(10, n - 10));
+
+        assertTrue(df.isComplete());
+        assertEquals(0, df.getMissingChunks().size());
+        assertArrayEquals(data, Files.readAllBytes(df.getPath()));
+        assertEquals(ChecksumCalculator.calculateChecksum(data), df.getChecksum());
+    }
+
+    @Test
+    public void testOverlaps() throws IOException {
+        df.addSegment(getSegment(0, 10));
+        df.addSegment(getSegment(20, 10));
+        df.addSegment(getSegment(40, 10));
+        df.addSegment(getSegment(5, 40));
+        df.addSegment(getSegment(0, 4));
+
+        List<SegmentRequest> lmissing = df.getMissingChunks();
+        assertEquals(1, lmissing.size());
+        verifyEquals(50, n, lmissing.get(0));
+        assertEquals(50, df.getReceivedSize());
+
+        df.addSegment(getSegment(45, n - 45));
+        assertTrue(df.isComplete());
+        assertArrayEquals(data, Files.readAllBytes(df.getPath()));
+        assertEquals(ChecksumCalculator.calculateChecksum(data), df.getChecksum());
+    }
+
+    @Test
+    public void testRandomOrder() throws IOException {
+        byte[] rdata = new byte[100_000];
+        Random random = new Random(1);
+        random.nextBytes(rdata);
+        SpooledDataFile rdf = new SpooledDataFile(dir, -1);
+        try {
+            // random segments, some overlapping, until the whole file is covered
+            while (rdf.getReceivedSize() < rdata.length) {
+                int offset = random.nextInt(rdata.length);
+                int length = Math.min(1 + random.nextInt(1000), rdata.length - offset);
+                rdf.addSegment(new DataFileSegment(offset, Arrays.copyOfRange(rdata, offset, offset + length)));
+            }
+            rdf.setSize(rdata.length);
+            assertTrue(rdf.isComplete());
+            assertArrayEquals(rdata, Files.readAllBytes(rdf.getPath()));
+            assertEquals(ChecksumCalculator.calculateChecksum(rdata), rdf.getChecksum());
+        } finally {
+            rdf.close();
+        }
+    }
+
+    @Test
+    public void testDeleteStaleFiles() throws IOException {
+        assertEquals(dir, df.getPath().getParent());
+        SpooledDataFile stale = new SpooledDataFile(dir, -1);
+        stale.addSegment(getSegment(0, 10));
+        Path other = Files.createFile(dir.resolve("other.txt"));
+
+        // the files not closed are deleted at the next start, the other files are left alone
+        assertEquals(2, SpooledDataFile.deleteStaleFiles(dir));
+        assertFalse(Files.exists(stale.getPath()));
+        assertTrue(Files.exists(other));
+        stale.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBeyondEnd() {
+        df.addSegment(getSegment(90, 10));
+        df.addSegment(new DataFileSegment(95, new byte[10]));
+    }
+
+    private DataFileSegment getSegment(int offset, int length) {
+        return new DataFileSegment(offset, Arrays.copyOfRange(data, offset, offset + length));
+    }
+
+    private void verifyEquals(long expectedStart, long expectedEnd, SegmentRequest sr) {
+        assertEquals(expectedStart, sr.getSegmentStart());
+        assertEquals(expectedEnd, sr.getSegmentEnd());
+    }
+}
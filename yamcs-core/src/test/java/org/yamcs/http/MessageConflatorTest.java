@@ -0,0 +1,98 @@
+package org.yamcs.http;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.yamcs.protobuf.AlarmData;
+import org.yamcs.protobuf.LinkEvent;
+import org.yamcs.protobuf.LinkInfo;
+import org.yamcs.protobuf.Pvalue.ParameterValue;
+import org.yamcs.protobuf.SubscribeParametersData;
+import org.yamcs.protobuf.Yamcs.NamedObjectId;
+
+import com.google.protobuf.Message;
+
+public class MessageConflatorTest {
+
+    @Test
+    public void testParameters() {
+        MessageConflator c = MessageConflator.forTopic("parameters");
+        NamedObjectId id1 = NamedObjectId.newBuilder().setName("/p1").build();
+        NamedObjectId id2 = NamedObjectId.newBuilder().setName("/p2").build();
+        NamedObjectId invalid = NamedObjectId.newBuilder().setName("/invalid").build();
+
+        c.add(SubscribeParametersData.newBuilder().putMapping(1, id1).putMapping(2, id2).addInvalid(invalid)
+                .addValues(pv(1, 10)).build());
+        c.add(SubscribeParametersData.newBuilder().addValues(pv(2, 20)).addValues(pv(1, 11)).build());
+        c.add(SubscribeParametersData.newBuilder().addValues(pv(1, 12)).build());
+
+        List<Message> l = c.drain();
+        assertEquals(1, l.size());
+        SubscribeParametersData data = (SubscribeParametersData) l.get(0);
+        assertEquals(2, data.getMappingCount());
+        assertEquals(id1, data.getMappingMap().get(1));
+        assertEquals(1, data.getInvalidCount());
+        assertEquals(2, data.getValuesCount());
+        assertEquals(2, data.getValues(0).getNumericId());
+        assertEquals(20, data.getValues(0).getExpireMillis());
+        assertEquals(1, data.getValues(1).getNumericId());
+        assertEquals(12, data.getValues(1).getExpireMillis());
+
+        assertTrue(c.isEmpty());
+        assertTrue(c.drain().isEmpty());
+    }
+
+    @Test
+    public void testAlarms() {
+        MessageConflator c = MessageConflator.forTopic("alarms");
+        c.add(alarm("/a1", 1, 1));
+        c.add(alarm("/a2", 1, 1));
+        c.add(alarm("/a1", 1, 2));
+        c.add(alarm("/a1", 2, 1));
+
+        List<Message> l = c.drain();
+        assertEquals(3, l.size());
+        assertEquals(alarm("/a2", 1, 1), l.get(0));
+        assertEquals(alarm("/a1", 1, 2), l.get(1));
+        assertEquals(alarm("/a1", 2, 1), l.get(2));
+    }
+
+    @Test
+    public void testLinks() {
+        MessageConflator c = MessageConflator.forTopic("links");
+        c.add(link("l1", LinkEvent.Type.REGISTERED, 0));
+        c.add(link("l1", LinkEvent.Type.UPDATED, 5));
+        c.add(link("l2", LinkEvent.Type.UPDATED, 1));
+        c.add(link("l2", LinkEvent.Type.UPDATED, 2));
+        c.add(link("l3", LinkEvent.Type.REGISTERED, 0));
+        c.add(link("l3", LinkEvent.Type.UNREGISTERED, 0));
+
+        List<Message> l = c.drain();
+        assertEquals(2, l.size());
+        assertEquals(link("l1", LinkEvent.Type.REGISTERED, 5), l.get(0));
+        assertEquals(link("l2", LinkEvent.Type.UPDATED, 2), l.get(1));
+    }
+
+    @Test
+    public void testUnsupportedTopic() {
+        assertNull(MessageConflator.forTopic("events"));
+    }
+
+    static ParameterValue pv(int numericId, long time) {
+        return ParameterValue.newBuilder().setNumericId(numericId).setExpireMillis(time).build();
+    }
+
+    static AlarmData alarm(String name, int seqNum, int count) {
+        return AlarmData.newBuilder().setId(NamedObjectId.newBuilder().setName(name)).setSeqNum(seqNum)
+                .setCount(count).build();
+    }
+
+    static LinkEvent link(String name, LinkEvent.Type type, long dataInCount) {
+        return LinkEvent.newBuilder().setType(type)
+                .setLinkInfo(LinkInfo.newBuilder().setName(name).setDataInCount(dataInCount)).build();
+    }
+}
@@ -0,0 +1,233 @@
+package org.yamcs.http.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.YConfiguration;
+import org.yamcs.YamcsServer;
+import org.yamcs.api.HttpBody;
+import org.yamcs.api.Observer;
+import org.yamcs.http.MediaType;
+import org.yamcs.parameter.BasicParameterValue;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.parameterarchive.MultiParameterDataRetrieval;
+import org.yamcs.parameterarchive.MultipleParameterValueRequest;
+import org.yamcs.parameterarchive.PGSegment;
+import org.yamcs.parameterarchive.ParameterArchive;
+import org.yamcs.parameterarchive.ParameterIdValueList;
+import org.yamcs.protobuf.Pvalue.MonitoringResult;
+import org.yamcs.protobuf.Pvalue.ParameterData;
+import org.yamcs.protobuf.Yamcs.NamedObjectId;
+import org.yamcs.protobuf.Yamcs.Value.Type;
+import org.yamcs.time.RealtimeTimeService;
+import org.yamcs.utils.FileUtils;
+import org.yamcs.utils.IntArray;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.utils.ValueUtility;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.yarch.YarchDatabase;
+import org.yamcs.yarch.rocksdb.RdbStorageEngine;
+
+import com.google.protobuf.ByteString;
+
+public class ParameterArchiveExporterTest {
+    static String instance = "ParameterArchiveExporterTest";
+    static Parameter p1, p2;
+    static NamedObjectId id1, id2;
+
+    TestObserver observer = new TestObserver();
+
+    @BeforeClass
+    public static void beforeClass() {
+        p1 = new Parameter("p1");
+        p2 = new Parameter("p2");
+        p1.setQualifiedName("/test/p1");
+        p2.setQualifiedName("/test/p2");
+        id1 = NamedObjectId.newBuilder().setName("/test/p1").build();
+        id2 = NamedObjectId.newBuilder().setName("/test/p2").build();
+        TimeEncoding.setUp();
+        YamcsServer.setMockupTimeService(new RealtimeTimeService());
+    }
+
+    @Test
+    public void testCsv() throws Exception {
+        ParameterArchiveExporter exporter = new ParameterArchiveExporter(observer, MediaType.CSV, "test",
+                Arrays.asList(id1, id2), true, true);
+        assertEquals(1, observer.bodies.size());
+        assertEquals(MediaType.CSV.toString(), observer.bodies.get(0).getContentType());
+        assertEquals("test", observer.bodies.get(0).getFilename());
+
+        exporter.accept(pvList(1000, getParameterValue(p1, 1000, 3, MonitoringResult.WARNING),
+                getParameterValue(p2, 1000, 4, null)));
+        exporter.accept(pvList(2000, getParameterValue(p1, 2000, 5, MonitoringResult.IN_LIMITS)));
+        exporter.finish();
+        assertTrue(observer.completed);
+
+        String[] lines = observer.getText().split("\r?\n");
+        assertEquals(3, lines.length);
+        assertEquals("Time\t/test/p1\t/test/p1_RAW\t/test/p1_MONITORING"
+                + "\t/test/p2\t/test/p2_RAW\t/test/p2_MONITORING", lines[0]);
+        assertEquals(TimeEncoding.toString(1000) + "\t3.0\t3\tWARNING\t4.0\t4\t", lines[1]);
+        assertEquals(TimeEncoding.toString(2000) + "\t5.0\t5\tIN_LIMITS\t\t\t", lines[2]);
+    }
+
+    @Test
+    public void testProtobuf() throws Exception {
+        ParameterArchiveExporter exporter = new ParameterArchiveExporter(observer, MediaType.PROTOBUF, "test",
+                Arrays.asList(id1, id2), false, false);
+        List<ParameterIdValueList> written = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            long t = 1000 * i;
+            ParameterIdValueList pidvList = i % 3 == 0 ? pvList(t, getParameterValue(p1, t, i, null))
+                    : pvList(t, getParameterValue(p1, t, i, MonitoringResult.IN_LIMITS),
+                            getParameterValue(p2, t, -i, MonitoringResult.CRITICAL));
+            exporter.accept(pidvList);
+            written.add(pidvList);
+            // the record is sent without waiting for more data
+            assertEquals(i + 2, observer.bodies.size());
+        }
+        exporter.finish();
+        assertTrue(observer.completed);
+
+        try (InputStream in = observer.getData().newInput()) {
+            for (ParameterIdValueList pidvList : written) {
+                ParameterData pd = ParameterData.parseDelimitedFrom(in);
+                List<ParameterValue> values = pidvList.getValues();
+                assertEquals(values.size(), pd.getParameterCount());
+                for (int i = 0; i < values.size(); i++) {
+                    ParameterValue pv = values.get(i);
+                    org.yamcs.protobuf.Pvalue.ParameterValue gpv = pd.getParameter(i);
+                    assertEquals(pv.getParameterQualifiedName(), gpv.getId().getName());
+                    assertEquals(pv.getGenerationTime(), TimeEncoding.fromProtobufTimestamp(gpv.getGenerationTime()));
+                    assertEquals(pv.getEngValue().getFloatValue(), gpv.getEngValue().getFloatValue(), 0);
+                    assertEquals(pv.getRawValue().getSint32Value(), gpv.getRawValue().getSint32Value());
+                    if (pv.getMonitoringResult() == null) {
+                        assertFalse(gpv.hasMonitoringResult());
+                    } else {
+                        assertEquals(pv.getMonitoringResult(), gpv.getMonitoringResult());
+                    }
+                }
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        ParameterArchive parchive = openArchive();
+        try {
+            int pid = parchive.getParameterIdDb().createAndGet(p1.getQualifiedName(), Type.FLOAT, Type.SINT32);
+            int pgid = parchive.getParameterGroupIdDb().createAndGet(IntArray.wrap(pid));
+            long t0 = ParameterArchive.getIntervalStart(TimeEncoding.parse("2020-01-01T00:00:00"));
+            PGSegment pgs = new PGSegment(pgid, t0, IntArray.wrap(pid));
+            for (int i = 0; i < 1000; i++) {
+                List<BasicParameterValue> l = new ArrayList<>();
+                l.add(getParameterValue(p1, t0 + i, i, null));
+                pgs.addRecord(t0 + i, l);
+            }
+            parchive.writeToArchive(pgs);
+
+            BitSet retrieveRawValues = new BitSet();
+            retrieveRawValues.set(0);
+            MultipleParameterValueRequest mpvr = new MultipleParameterValueRequest(t0, t0 + 1000,
+                    new String[] { p1.getQualifiedName() }, new int[] { pid }, new int[] { pgid }, retrieveRawValues,
+                    true);
+            observer.cancelAfter = 10;
+            ParameterArchiveExporter exporter = new ParameterArchiveExporter(observer, MediaType.PROTOBUF, "test",
+                    Arrays.asList(id1), true, false);
+            new MultiParameterDataRetrieval(parchive, mpvr).retrieve(exporter);
+            exporter.finish();
+
+            // the metadata and the records sent before the cancellation
+            assertEquals(11, observer.bodies.size());
+            assertTrue(observer.completed);
+        } finally {
+            RdbStorageEngine.getInstance().dropTablespace(instance);
+        }
+    }
+
+    private ParameterArchive openArchive() throws Exception {
+        String dbroot = YarchDatabase.getInstance(instance).getRoot();
+        FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot));
+        FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot + ".rdb"));
+        FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot + ".tbs"));
+        RdbStorageEngine rse = RdbStorageEngine.getInstance();
+        if (rse.getTablespace(instance) != null) {
+            rse.dropTablespace(instance);
+        }
+        rse.createTablespace(instance);
+        ParameterArchive parchive = new ParameterArchive();
+        YConfiguration config = parchive.getSpec().validate(YConfiguration.emptyConfig());
+        parchive.init(instance, "test", config);
+        return parchive;
+    }
+
+    static ParameterIdValueList pvList(long instant, ParameterValue... pvs) {
+        ParameterIdValueList pidvList = new ParameterIdValueList(instant);
+        for (int i = 0; i < pvs.length; i++) {
+            pidvList.add(i, pvs[i]);
+        }
+        return pidvList;
+    }
+
+    static ParameterValue getParameterValue(Parameter p, long instant, int v, MonitoringResult mr) {
+        ParameterValue pv = new ParameterValue(p);
+        pv.setGenerationTime(instant);
+        pv.setEngineeringValue(ValueUtility.getFloatValue(v));
+        pv.setRawValue(ValueUtility.getSint32Value(v));
+        if (mr != null) {
+            pv.setMonitoringResult(mr);
+        }
+        return pv;
+    }
+
+    static class TestObserver implements Observer<HttpBody> {
+        List<HttpBody> bodies = new ArrayList<>();
+        int cancelAfter = -1;
+        boolean completed;
+
+        @Override
+        public void next(HttpBody message) {
+            bodies.add(message);
+        }
+
+        @Override
+        public void completeExceptionally(Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            // the first body is the metadata
+            return cancelAfter >= 0 && bodies.size() > cancelAfter;
+        }
+
+        ByteString getData() {
+            ByteString data = ByteString.EMPTY;
+            for (HttpBody body : bodies.subList(1, bodies.size())) {
+                data = data.concat(body.getData());
+            }
+            return data;
+        }
+
+        String getText() {
+            return getData().toString(StandardCharsets.UTF_8);
+        }
+    }
+}
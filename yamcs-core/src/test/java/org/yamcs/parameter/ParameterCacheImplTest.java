@@ -5,6 +5,11 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.BeforeClass;
 import org.junit.Ignore;
@@ -220,9 +225,60 @@ public class ParameterCacheImplTest {
      * Due to these results, and the fact that locking offers the advantage that getAll gives correctly sorted results, 
      * we have selected the read/write lock implementation
      * 
+     * 4. writeLock of a StampedLock in CacheEntry.add, optimistic read in CacheEntry.getAll and volatile last delivery
+     *    gives correctly sorted results without any lock on the read path. The comparison is done by the
+     *    ParameterCacheBenchmark in the yamcs-benchmarks module.
+     * 
      * 
      */
     
+    @Test
+    public void testConcurrentReads() throws Exception {
+        ParameterCacheConfig pcc = new ParameterCacheConfig(true, true, 1000, 256);
+        ParameterCache pcache = new ParameterCacheImpl(pcc);
+        int n = 20000;
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicInteger errors = new AtomicInteger();
+
+        Runnable reader = () -> {
+            long lastTime = -1;
+            while (!done.get()) {
+                ParameterValue pv = pcache.getLastValue(p1);
+                if (pv != null) {
+                    if (pv.getGenerationTime() < lastTime) {
+                        errors.incrementAndGet();
+                    }
+                    lastTime = pv.getGenerationTime();
+                }
+                List<ParameterValue> pvlist = pcache.getAllValues(p1);
+                if (pvlist != null) {
+                    for (int i = 1; i < pvlist.size(); i++) {
+                        if (pvlist.get(i).getGenerationTime() >= pvlist.get(i - 1).getGenerationTime()) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(reader));
+        }
+        for (int i = 0; i < n; i++) {
+            pcache.update(Arrays.asList(getUint64ParameterValue(p1, 10L * i), getUint64ParameterValue(p2, 10L * i)));
+        }
+        done.set(true);
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+
+        assertEquals(0, errors.get());
+        assertEquals(10L * (n - 1), pcache.getLastValue(p1).getGenerationTime());
+        assertEquals(256, pcache.getAllValues(p1).size());
+    }
+
     static int numWrites = 100000;
     static int numReads = 1000000;
     static int numParam = 300;
@@ -0,0 +1,175 @@
+package org.yamcs.parameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.Processor;
+import org.yamcs.ProcessorFactory;
+import org.yamcs.ProcessorServiceWithConfig;
+import org.yamcs.RefMdbPacketGenerator;
+import org.yamcs.YConfiguration;
+import org.yamcs.utils.ValueUtility;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.xtceproc.XtceDbFactory;
+
+public class ParameterRequestManagerTest {
+    private Processor proc;
+    private RefMdbPacketGenerator tmGenerator;
+    private ParameterRequestManager prm;
+    private Parameter p1;
+    private Parameter p2;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        YConfiguration.setupTest("refmdb");
+        XtceDbFactory.reset();
+    }
+
+    @Before
+    public void beforeEachTest() throws Exception {
+        tmGenerator = new RefMdbPacketGenerator();
+        proc = ProcessorFactory.create("refmdb", "ParameterRequestManagerTest",
+                new ProcessorServiceWithConfig(tmGenerator, RefMdbPacketGenerator.class.getName(),
+                        RefMdbPacketGenerator.class.getName(), YConfiguration.emptyConfig()));
+        prm = proc.getParameterRequestManager();
+        p1 = prm.getParameter("/REFMDB/SUBSYS1/IntegerPara1_1_6");
+        p2 = prm.getParameter("/REFMDB/SUBSYS1/IntegerPara1_1_7");
+        proc.start();
+    }
+
+    @After
+    public void afterEachTest() {
+        proc.quit();
+    }
+
+    @Test
+    public void testDelivery() {
+        List<ParameterValue> l1 = new ArrayList<>();
+        List<ParameterValue> l12 = new ArrayList<>();
+        List<ParameterValue> all = new ArrayList<>();
+        prm.addRequest(p1, (ParameterConsumer) (subscriptionId, items) -> l1.addAll(items));
+        prm.addRequest(Arrays.asList(p1, p2), (ParameterConsumer) (subscriptionId, items) -> l12.addAll(items));
+        int allId = prm.subscribeAll((subscriptionId, items) -> all.addAll(items));
+
+        tmGenerator.generate_PKT1_1();
+        assertEquals(1, l1.size());
+        assertEquals(p1, l1.get(0).getParameter());
+        assertEquals(2, l12.size());
+        assertTrue(all.size() > 2);
+
+        assertTrue(prm.unsubscribeAll(allId));
+        all.clear();
+        tmGenerator.generate_PKT1_1();
+        assertEquals(0, all.size());
+        assertEquals(2, l1.size());
+        assertEquals(4, l12.size());
+    }
+
+    @Test
+    public void testRemoveRequest() {
+        List<ParameterValue> l1 = new ArrayList<>();
+        List<ParameterValue> l2 = new ArrayList<>();
+        int id1 = prm.addRequest(Arrays.asList(p1, p2),
+                (ParameterConsumer) (subscriptionId, items) -> l1.addAll(items));
+
+        List<Parameter> removed = prm.removeRequest(id1);
+        assertEquals(2, removed.size());
+
+        // the new subscription reuses the slot of the removed one
+        List<Integer> ids = new ArrayList<>();
+        int id2 = prm.addRequest(p2, (ParameterConsumer) (subscriptionId, items) -> {
+            ids.add(subscriptionId);
+            l2.addAll(items);
+        });
+        tmGenerator.generate_PKT1_1();
+        assertEquals(0, l1.size());
+        assertEquals(Arrays.asList(id2), ids);
+        assertEquals(1, l2.size());
+        assertEquals(p2, l2.get(0).getParameter());
+    }
+
+    @Test
+    public void testUnsubscribeAllKeepsParameters() throws Exception {
+        List<ParameterValue> l1 = new ArrayList<>();
+        List<ParameterValue> l2 = new ArrayList<>();
+        int id1 = prm.subscribeAll((subscriptionId, items) -> l1.addAll(items));
+        prm.addItemsToRequest(id1, p1);
+        assertTrue(prm.unsubscribeAll(id1));
+
+        // the slot is still used by the parameter subscription and is not given to the new subscription
+        prm.addRequest(p2, (ParameterConsumer) (subscriptionId, items) -> l2.addAll(items));
+        tmGenerator.generate_PKT1_1();
+        assertEquals(1, l1.size());
+        assertEquals(p1, l1.get(0).getParameter());
+        assertEquals(1, l2.size());
+        assertEquals(p2, l2.get(0).getParameter());
+    }
+
+    @Test
+    public void testSlotReusedDuringDelivery() {
+        List<ParameterValue> l2 = new ArrayList<>();
+        List<ParameterValue> l3 = new ArrayList<>();
+        int[] id2 = new int[1];
+        // the first subscriber removes the second one and creates a new one (reusing its slot) during the delivery
+        prm.addRequest(p1, (ParameterConsumer) (subscriptionId, items) -> {
+            if (l3.isEmpty() && prm.removeRequest(id2[0]).size() > 0) {
+                prm.addRequest(p1, (ParameterConsumer) (subscriptionId3, items3) -> l3.addAll(items3));
+            }
+        });
+        id2[0] = prm.addRequest(p2, (ParameterConsumer) (subscriptionId, items) -> l2.addAll(items));
+
+        tmGenerator.generate_PKT1_1();
+        // the removed subscriber does not get anything and the new one gets its data starting with the next delivery
+        assertEquals(0, l2.size());
+        assertEquals(0, l3.size());
+
+        tmGenerator.generate_PKT1_1();
+        assertEquals(0, l2.size());
+        assertEquals(1, l3.size());
+        assertEquals(p1, l3.get(0).getParameter());
+    }
+
+    @Test
+    public void testDeliveredListsKept() {
+        List<List<ParameterValue>> kept = new ArrayList<>();
+        prm.addRequest(Arrays.asList(p1, p2), (ParameterConsumer) (subscriptionId, items) -> kept.add(items));
+
+        tmGenerator.generate_PKT1_1();
+        tmGenerator.generate_PKT1_1();
+        // the lists given to the consumer are not affected by the reuse of the delivery lists
+        assertEquals(2, kept.size());
+        assertEquals(2, kept.get(0).size());
+        assertEquals(2, kept.get(1).size());
+        assertNotSame(kept.get(0).get(0), kept.get(1).get(0));
+    }
+
+    @Test
+    public void testUpdateDuringDelivery() {
+        List<ParameterValue> l1 = new ArrayList<>();
+        List<ParameterValue> l2 = new ArrayList<>();
+        // the first consumer updates p2 from within the delivery of p1
+        prm.addRequest(p1, (ParameterConsumer) (subscriptionId, items) -> {
+            l1.addAll(items);
+            ParameterValue pv = new ParameterValue(p2);
+            pv.setEngineeringValue(ValueUtility.getUint32Value(3));
+            prm.update(Arrays.asList(pv));
+        });
+        prm.addRequest(p2, (ParameterConsumer) (subscriptionId, items) -> l2.addAll(items));
+
+        tmGenerator.generate_PKT1_1();
+        assertEquals(1, l1.size());
+        assertEquals(p1, l1.get(0).getParameter());
+        // the value from the packet and the one set by the first consumer, in any order
+        assertEquals(2, l2.size());
+        assertEquals(1, l2.stream().filter(pv -> pv.getEngValue().equals(ValueUtility.getUint32Value(3))).count());
+    }
+}
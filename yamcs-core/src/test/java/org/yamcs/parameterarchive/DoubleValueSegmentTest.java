@@ -2,12 +2,17 @@ package org.yamcs.parameterarchive;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
+import org.yamcs.parameter.Value;
 import org.yamcs.utils.DecodingException;
 import org.yamcs.utils.ValueUtility;
 
@@ -30,4 +35,70 @@ public class DoubleValueSegmentTest {
         assertArrayEquals(new double[]{1.2, 2.3,3}, fvs1.getRange(0, 3, true).getDoubleArray(), 1e-10);
         assertArrayEquals(new double[]{3, 2.3}, fvs1.getRange(0, 2, false).getDoubleArray(), 1e-10);
     }
+
+    @Test
+    public void testCompressed() throws DecodingException {
+        List<Value> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(ValueUtility.getDoubleValue(20 + (i / 10) * 0.25));
+        }
+        ByteBuffer bb = encode(values);
+        assertEquals(DoubleValueSegment.SUBFORMAT_ID_COMPRESSED, bb.get(0));
+        assertTrue(bb.limit() < 8 * values.size() / 4);
+        checkDecoded(values, bb);
+    }
+
+    @Test
+    public void testConstant() throws DecodingException {
+        List<Value> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(ValueUtility.getDoubleValue(3.14));
+        }
+        ByteBuffer bb = encode(values);
+        assertEquals(DoubleValueSegment.SUBFORMAT_ID_CONSTANT, bb.get(0));
+        assertEquals(11, bb.limit());
+        checkDecoded(values, bb);
+    }
+
+    @Test
+    public void testRandom() throws DecodingException {
+        Random random = new Random(0);
+        List<Value> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(ValueUtility.getDoubleValue(Double.longBitsToDouble(random.nextLong())));
+        }
+        // does not compress, the raw encoding is used
+        ByteBuffer bb = encode(values);
+        assertEquals(DoubleValueSegment.SUBFORMAT_ID_RAW, bb.get(0));
+        checkDecoded(values, bb);
+    }
+
+    @Test
+    public void testCompressor() throws DecodingException {
+        double[] da = new double[] { 0, -0.0, 1, 1, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE,
+                Double.MAX_VALUE, -Double.MAX_VALUE, 1e-300, 1e-300 + 1e-315, 7.5, 7.25, 7.125, 7.125, -7.125, 0 };
+        ByteBuffer bb = ByteBuffer.allocate(8 * da.length + 8);
+        DoubleCompressor.compress(da, bb);
+        bb.flip();
+        double[] da1 = DoubleCompressor.decompress(bb, da.length);
+        for (int i = 0; i < da.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(da[i]), Double.doubleToRawLongBits(da1[i]));
+        }
+    }
+
+    private ByteBuffer encode(List<Value> values) {
+        DoubleValueSegment dvs = DoubleValueSegment.consolidate(values);
+        ByteBuffer bb = ByteBuffer.allocate(dvs.getMaxSerializedSize());
+        dvs.writeTo(bb);
+        bb.flip();
+        return bb;
+    }
+
+    private void checkDecoded(List<Value> values, ByteBuffer bb) throws DecodingException {
+        DoubleValueSegment dvs = DoubleValueSegment.parseFrom(bb);
+        assertEquals(values.size(), dvs.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(values.get(i), dvs.getValue(i));
+        }
+    }
 }
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.yamcs.parameterarchive.TestUtils.checkEquals;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 
 import org.junit.After;
@@ -81,6 +83,7 @@ public class ParameterArchiveTest {
 
     @Before
     public void openDb() throws Exception {
+        timeService.missionTime = 0;
         String dbroot = YarchDatabase.getInstance(instance).getRoot();
         FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot));
         FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot + ".rdb"));
@@ -271,6 +274,130 @@ public class ParameterArchiveTest {
 
     }
 
+    @Test
+    public void testMissingTimeSegment() throws Exception {
+        ParameterValue pv1_0 = getParameterValue(p1, 100, "blala100", 100);
+        int p1id = pidMap.createAndGet(p1.getQualifiedName(), pv1_0.getEngValue().getType(),
+                pv1_0.getRawValue().getType());
+        int pg1id = pgidMap.createAndGet(IntArray.wrap(p1id));
+
+        PGSegment pgSegment1 = new PGSegment(pg1id, 0, IntArray.wrap(p1id));
+        pgSegment1.addRecord(100, Arrays.asList(pv1_0));
+        parchive.writeToArchive(pgSegment1);
+
+        Partition p = parchive.getPartitions(100);
+        int timeParameterId = parchive.getParameterIdDb().getTimeParameterId();
+        parchive.getTablespace().getRdb(p.partitionDir).delete(
+                new SegmentKey(timeParameterId, pg1id, 0, SegmentKey.TYPE_ENG_VALUE).encode());
+
+        for (boolean ascending : new boolean[] { true, false }) {
+            try {
+                retrieveMultipleParameters(0, 1000, new int[] { p1id }, new int[] { pg1id }, ascending);
+                fail("should have thrown an exception");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("Cannot find a time segment"));
+            }
+        }
+    }
+
+    @Test
+    public void testMultipleGroupsMultipleSegments() throws Exception {
+        Parameter[] params = { p1, p2, p3, p4, p5 };
+        int[] pids = new int[params.length];
+        for (int i = 0; i < params.length; i++) {
+            pids[i] = pidMap.createAndGet(params[i].getQualifiedName(), Type.STRING, Type.UINT32);
+        }
+        // p1, p2 in group 1, p3 in group 2, p4, p5 in group 3
+        int[][] groupParams = { { 0, 1 }, { 2 }, { 3, 4 } };
+        int[] pgids = new int[groupParams.length];
+        int[] pgidOfParam = new int[params.length];
+        for (int g = 0; g < groupParams.length; g++) {
+            IntArray a = new IntArray();
+            for (int i : groupParams[g]) {
+                a.add(pids[i]);
+            }
+            pgids[g] = pgidMap.createAndGet(a);
+            for (int i : groupParams[g]) {
+                pgidOfParam[i] = pgids[g];
+            }
+        }
+
+        // the intervals where each group has data
+        int[][] groupIntervals = { { 0, 2 }, { 0, 1, 2 }, { 1, 2 } };
+        long t0 = TimeEncoding.parse("2020-03-01T00:00:00");
+        long[] intervals = new long[3];
+        intervals[0] = ParameterArchive.getIntervalStart(t0);
+        for (int k = 1; k < intervals.length; k++) {
+            intervals[k] = ParameterArchive.getIntervalEnd(intervals[k - 1]) + 1;
+        }
+
+        // instant -> parameter group id -> values
+        TreeMap<Long, TreeMap<Integer, List<ParameterValue>>> expected = new TreeMap<>();
+        for (int g = 0; g < groupParams.length; g++) {
+            for (int k : groupIntervals[g]) {
+                PGSegment pgs = new PGSegment(pgids[g], intervals[k], IntArray.wrap(select(pids, groupParams[g])));
+                for (int j = 0; j < 3; j++) {
+                    long t = intervals[k] + 100 * (g + 1) + 1000 * j;
+                    List<ParameterValue> pvs = new ArrayList<>();
+                    for (int i : groupParams[g]) {
+                        pvs.add(getParameterValue(params[i], t, params[i].getName() + "_" + t, j));
+                    }
+                    pgs.addRecord(t, new ArrayList<>(pvs));
+                    expected.computeIfAbsent(t, x -> new TreeMap<>()).put(pgids[g], pvs);
+                }
+                parchive.writeToArchive(pgs);
+            }
+        }
+
+        for (boolean ascending : new boolean[] { true, false }) {
+            List<ParameterIdValueList> l = retrieveMultipleParameters(0, TimeEncoding.MAX_INSTANT, pids,
+                    pgidOfParam, ascending);
+            List<Long> times = new ArrayList<>(ascending ? expected.keySet() : expected.descendingKeySet());
+            int n = 0;
+            for (long t : times) {
+                for (List<ParameterValue> pvs : expected.get(t).values()) {
+                    checkEquals(l.get(n++), t, pvs.toArray(new ParameterValue[0]));
+                }
+            }
+            assertEquals(n, l.size());
+
+            // only p2 and p4 from the middle interval
+            l = retrieveMultipleParameters(intervals[1], intervals[2], new int[] { pids[1], pids[3] },
+                    new int[] { pgidOfParam[1], pgidOfParam[3] }, ascending);
+            assertEquals(3, l.size());
+            for (ParameterIdValueList pivl : l) {
+                assertEquals(1, pivl.values.size());
+                assertEquals(p4.getName() + "_" + pivl.instant, pivl.values.get(0).getEngValue().getStringValue());
+            }
+        }
+
+        // a value segment of group 2 in the middle interval is left without time segment
+        Partition p = parchive.getPartitions(intervals[1]);
+        int timeParameterId = parchive.getParameterIdDb().getTimeParameterId();
+        parchive.getTablespace().getRdb(p.partitionDir).delete(
+                new SegmentKey(timeParameterId, pgids[1], intervals[1], SegmentKey.TYPE_ENG_VALUE).encode());
+        for (boolean ascending : new boolean[] { true, false }) {
+            try {
+                retrieveMultipleParameters(0, TimeEncoding.MAX_INSTANT, pids, pgidOfParam, ascending);
+                fail("should have thrown an exception");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("Cannot find a time segment for parameterGroupId=" + pgids[1]));
+            }
+            // the other groups are not affected
+            List<ParameterIdValueList> l = retrieveMultipleParameters(0, TimeEncoding.MAX_INSTANT,
+                    new int[] { pids[0], pids[3] }, new int[] { pgidOfParam[0], pgidOfParam[3] }, ascending);
+            assertEquals(12, l.size());
+        }
+    }
+
+    private static int[] select(int[] pids, int[] idx) {
+        int[] r = new int[idx.length];
+        for (int k = 0; k < idx.length; k++) {
+            r[k] = pids[idx[k]];
+        }
+        return r;
+    }
+
     List<ParameterValueArray> retrieveSingleParamSingleGroup(long start, long stop, int parameterId,
             int parameterGroupId, boolean ascending, boolean retrieveEngValues, boolean retrieveRawValues,
             boolean retriveParamStatus) throws Exception {
@@ -289,6 +416,113 @@ public class ParameterArchiveTest {
         return retrieveSingleParamSingleGroup(start, stop, parameterId, parameterGroupId, ascending, true, true, true);
     }
 
+    @Test
+    public void testRollups() throws Exception {
+        int p2id = pidMap.createAndGet(p2.getQualifiedName(), Type.DOUBLE);
+        int pgid = pgidMap.createAndGet(IntArray.wrap(p2id));
+        long t0 = Rollup.bucketStart(
+                ParameterArchive.getIntervalStart(TimeEncoding.parse("2018-03-01T00:00:00")) + 600000, 60000);
+        PGSegment pgs = new PGSegment(pgid, ParameterArchive.getIntervalStart(t0), IntArray.wrap(p2id));
+        // one value each 10 seconds during 3 minutes
+        for (int i = 0; i < 18; i++) {
+            ParameterValue pv = new ParameterValue(p2);
+            pv.setGenerationTime(t0 + i * 10000);
+            pv.setEngineeringValue(ValueUtility.getDoubleValue(i));
+            pgs.addRecord(t0 + i * 10000, Arrays.asList(pv));
+        }
+        parchive.writeToArchive(pgs);
+
+        List<Rollup> l = new ArrayList<>();
+        RollupRetrieval rr = new RollupRetrieval(parchive, p2.getQualifiedName(), t0, t0 + 180000, 60000);
+        rr.retrieve(l::add);
+        assertEquals(1, l.size());
+        Rollup r = l.get(0);
+        assertEquals(3, r.size());
+        assertEquals(t0, r.getBucketStart(0));
+        assertEquals(6, r.getCount(0));
+        assertEquals(0, r.getMin(0), 1e-10);
+        assertEquals(5, r.getMax(0), 1e-10);
+        assertEquals(15, r.getSum(0), 1e-10);
+        assertEquals(t0 + 120000, r.getBucketStart(2));
+        assertEquals(87, r.getSum(2), 1e-10);
+        assertEquals(t0 + 170000, rr.getLastTime());
+
+        // no rollup before the data
+        l.clear();
+        new RollupRetrieval(parchive, p2.getQualifiedName(), t0 - 1000000, t0 - 1, 60000).retrieve(l::add);
+        assertEquals(0, l.size());
+
+        if (!"none".equals(partitioningSchema)) {
+            assertEquals(60000, parchive.getRollupResolution(t0, t0 + 180000, 100000));
+        }
+        assertEquals(-1, parchive.getRollupResolution(t0, t0 + 180000, 1000));
+    }
+
+    @Test
+    public void testRollupResolutionChanges() throws Exception {
+        if ("none".equals(partitioningSchema)) {
+            return;
+        }
+        long intervalDuration = ParameterArchive.getIntervalDuration();
+        long t0 = ParameterArchive.getIntervalStart(TimeEncoding.parse("2018-03-01T00:00:00")) + 600000;
+        writeRollupTestSegment(t0);
+        assertEquals(60000, parchive.getRollupResolution(t0, t0 + 180000, 100000));
+
+        // add a resolution of 1 second while the partition already has data
+        long t1 = ParameterArchive.getIntervalStart(t0) + 2 * intervalDuration;
+        timeService.missionTime = t0 + 1000;
+        reopenArchive(Arrays.asList(1, 60, 3600));
+        writeRollupTestSegment(t1);
+
+        // the old data has no 1 second rollup
+        assertEquals(-1, parchive.getRollupResolution(t0, t0 + 180000, 1000));
+        assertEquals(-1, parchive.getRollupResolution(t0, t1 + 180000, 30000));
+        assertEquals(60000, parchive.getRollupResolution(t0, t1 + 180000, 100000));
+        assertEquals(1000, parchive.getRollupResolution(t1, t1 + 180000, 1000));
+
+        // disable the rollups, write some data and enable them again
+        long t2 = t1 + intervalDuration;
+        reopenArchive(Arrays.asList());
+        writeRollupTestSegment(t2);
+        assertEquals(-1, parchive.getRollupResolution(t1, t1 + 180000, 1000));
+
+        long t3 = t2 + 2 * intervalDuration;
+        timeService.missionTime = t2 + 1000;
+        reopenArchive(Arrays.asList(60, 3600));
+        writeRollupTestSegment(t3);
+        assertEquals(-1, parchive.getRollupResolution(t0, t3 + 180000, 100000));
+        assertEquals(-1, parchive.getRollupResolution(t2, t2 + 180000, 100000));
+        assertEquals(60000, parchive.getRollupResolution(t3, t3 + 180000, 100000));
+
+        List<Rollup> l = new ArrayList<>();
+        new RollupRetrieval(parchive, p2.getQualifiedName(), t3, t3 + 180000, 60000).retrieve(l::add);
+        assertEquals(1, l.size());
+    }
+
+    private void reopenArchive(List<Integer> rollupResolutions) throws Exception {
+        Map<String, Object> conf = new HashMap<>();
+        conf.put("partitioningSchema", partitioningSchema);
+        conf.put("rollupResolutions", rollupResolutions);
+        parchive = new ParameterArchive();
+        parchive.init(instance, "test", parchive.getSpec().validate(YConfiguration.wrap(conf)));
+        pidMap = parchive.getParameterIdDb();
+        pgidMap = parchive.getParameterGroupIdDb();
+    }
+
+    // writes one value each 10 seconds during 3 minutes for the parameter p2
+    private void writeRollupTestSegment(long t0) throws Exception {
+        int p2id = pidMap.createAndGet(p2.getQualifiedName(), Type.DOUBLE);
+        int pgid = pgidMap.createAndGet(IntArray.wrap(p2id));
+        PGSegment pgs = new PGSegment(pgid, ParameterArchive.getIntervalStart(t0), IntArray.wrap(p2id));
+        for (int i = 0; i < 18; i++) {
+            ParameterValue pv = new ParameterValue(p2);
+            pv.setGenerationTime(t0 + i * 10000);
+            pv.setEngineeringValue(ValueUtility.getDoubleValue(i));
+            pgs.addRecord(t0 + i * 10000, Arrays.asList(pv));
+        }
+        parchive.writeToArchive(pgs);
+    }
+
     ParameterValue getParameterValue(Parameter p, long instant, String sv) {
         ParameterValue pv = new ParameterValue(p);
         pv.setGenerationTime(instant);
@@ -610,6 +844,79 @@ public class ParameterArchiveTest {
 
     }
 
+    @Test
+    public void testWriteSegmentsFromMultiplePartitions() throws Exception {
+        int p1id = pidMap.createAndGet(p1.getQualifiedName(), Type.STRING);
+        int pg1id = pgidMap.createAndGet(IntArray.wrap(p1id));
+
+        ParameterValue pv1_0 = getParameterValue(p1, 100, "pv1_0");
+        PGSegment pgSegment1 = new PGSegment(pg1id, 0, IntArray.wrap(p1id));
+        pgSegment1.addRecord(100, Arrays.asList(pv1_0));
+
+        long t2 = ParameterArchive.getIntervalEnd(0) + 100;
+        ParameterValue pv1_1 = getParameterValue(p1, t2, "pv1_1");
+        PGSegment pgSegment2 = new PGSegment(pg1id, ParameterArchive.getIntervalStart(t2), IntArray.wrap(p1id));
+        pgSegment2.addRecord(t2, Arrays.asList(pv1_1));
+
+        long t3 = TimeEncoding.parse("2017-01-01T00:00:00");
+        ParameterValue pv1_2 = getParameterValue(p1, t3, "pv1_2");
+        PGSegment pgSegment3 = new PGSegment(pg1id, ParameterArchive.getIntervalStart(t3), IntArray.wrap(p1id));
+        pgSegment3.addRecord(t3, Arrays.asList(pv1_2));
+
+        parchive.writeToArchive(Arrays.asList(pgSegment3, pgSegment1, pgSegment2));
+
+        List<ParameterValueArray> l = retrieveSingleParamSingleGroup(0, TimeEncoding.MAX_INSTANT, p1id, pg1id, true);
+        assertEquals(3, l.size());
+        checkEquals(l.get(0), pv1_0);
+        checkEquals(l.get(1), pv1_1);
+        checkEquals(l.get(2), pv1_2);
+    }
+
+    @Test
+    public void testSegmentCache() throws Exception {
+        SegmentCache cache = parchive.getSegmentCache();
+        assertNotNull(cache);
+
+        ParameterValue pv1_0 = getParameterValue(p1, 100, "blala100", 100);
+        int p1id = pidMap.createAndGet(p1.getQualifiedName(), pv1_0.getEngValue().getType(),
+                pv1_0.getRawValue().getType());
+        int pg1id = pgidMap.createAndGet(IntArray.wrap(p1id));
+
+        PGSegment pgSegment1 = new PGSegment(pg1id, 0, IntArray.wrap(p1id));
+        pgSegment1.addRecord(100, Arrays.asList(pv1_0));
+        parchive.writeToArchive(pgSegment1);
+
+        List<ParameterValueArray> l1 = retrieveSingleParamSingleGroup(0, 1000, p1id, pg1id, true);
+        checkEquals(l1.get(0), pv1_0);
+        long hits = cache.getStats().hitCount();
+        assertTrue(cache.size() > 0);
+
+        // the second retrieval is served from the cache
+        List<ParameterValueArray> l2 = retrieveSingleParamSingleGroup(0, 1000, p1id, pg1id, true);
+        checkEquals(l2.get(0), pv1_0);
+        assertTrue(cache.getStats().hitCount() > hits);
+
+        List<ParameterIdValueList> l3 = retrieveMultipleParameters(0, 1000, new int[] { p1id }, new int[] { pg1id },
+                true);
+        assertEquals(1, l3.size());
+        checkEquals(l3.get(0), 100, pv1_0);
+
+        // overwriting the segment invalidates the cached one
+        ParameterValue pv1_1 = getParameterValue(p1, 200, "blala200", 200);
+        PGSegment pgSegment2 = new PGSegment(pg1id, 0, IntArray.wrap(p1id));
+        pgSegment2.addRecord(100, Arrays.asList(pv1_0));
+        pgSegment2.addRecord(200, Arrays.asList(pv1_1));
+        parchive.writeToArchive(pgSegment2);
+
+        List<ParameterValueArray> l4 = retrieveSingleParamSingleGroup(0, 1000, p1id, pg1id, true);
+        checkEquals(l4.get(0), pv1_0, pv1_1);
+
+        List<ParameterIdValueList> l5 = retrieveMultipleParameters(0, 1000, new int[] { p1id }, new int[] { pg1id },
+                true);
+        assertEquals(2, l5.size());
+        checkEquals(l5.get(1), 200, pv1_1);
+    }
+
     List<ParameterIdValueList> retrieveMultipleParameters(long start, long stop, int[] parameterIds,
             int[] parameterGroupIds, boolean ascending) throws Exception {
         return retrieveMultipleParameters(start, stop, parameterIds, parameterGroupIds, ascending, -1);
@@ -0,0 +1,162 @@
+package org.yamcs.parameterarchive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.YConfiguration;
+import org.yamcs.YamcsServer;
+import org.yamcs.parameter.ParameterValue;
+import org.yamcs.parameterarchive.RealtimeArchiveFiller.Delivery;
+import org.yamcs.parameterarchive.RealtimeArchiveFiller.FillerWorker;
+import org.yamcs.utils.FileUtils;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.utils.ValueUtility;
+import org.yamcs.xtce.Parameter;
+import org.yamcs.yarch.YarchDatabase;
+import org.yamcs.yarch.rocksdb.RdbStorageEngine;
+
+public class RealtimeArchiveFillerTest {
+    static final String instance = "RealtimeArchiveFillerTest";
+    static final int NUM_THREADS = 3;
+    static final int NUM_VALUES = 100;
+    static Parameter[] params = new Parameter[6];
+    // the parameters delivered together at one timestamp, depending on the timestamp
+    static int[][] deliveryGroups = { { 0, 1 }, { 2 }, { 3, 4, 5 }, { 0, 5 } };
+
+    ParameterArchive parchive;
+    RealtimeArchiveFiller filler;
+    // parameter index -> timestamps delivered
+    Map<Integer, List<Long>> delivered = new HashMap<>();
+
+    @BeforeClass
+    public static void beforeClass() {
+        for (int i = 0; i < params.length; i++) {
+            params[i] = new Parameter("p" + i);
+            params[i].setQualifiedName("/test/p" + i);
+        }
+        TimeEncoding.setUp();
+        YamcsServer.setMockupTimeService(new MockupTimeService());
+    }
+
+    @Before
+    public void openDb() throws Exception {
+        String dbroot = YarchDatabase.getInstance(instance).getRoot();
+        FileUtils.deleteRecursivelyIfExists(Paths.get(dbroot));
+        RdbStorageEngine rse = RdbStorageEngine.getInstance();
+        if (rse.getTablespace(instance) != null) {
+            rse.dropTablespace(instance);
+        }
+        rse.createTablespace(instance);
+        parchive = new ParameterArchive();
+        YConfiguration config = parchive.getSpec().validate(YConfiguration.emptyConfig());
+        parchive.init(instance, "test", config);
+
+        Map<String, Object> fillerConfig = new HashMap<>();
+        fillerConfig.put("numThreads", NUM_THREADS);
+        fillerConfig.put("maxSegmentSize", 10);
+        fillerConfig.put("orderingThreshold", 1000);
+        filler = new RealtimeArchiveFiller(parchive, YConfiguration.wrap(fillerConfig));
+        filler.startWorkers();
+    }
+
+    @After
+    public void closeDb() throws Exception {
+        RdbStorageEngine.getInstance().dropTablespace(instance);
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        long t0 = ParameterArchive.getIntervalStart(TimeEncoding.parse("2020-01-01T00:00:00"));
+        long t1 = ParameterArchive.getIntervalEnd(t0) + 1;
+        deliver(t0, NUM_VALUES);
+        // the first data of the next interval does not close the first interval
+        deliver(t1, 1);
+        filler.flush();
+        filler.stopWorkers();
+
+        for (int i = 0; i < params.length; i++) {
+            assertEquals(delivered.get(i), retrieve(i, t0, t1 + 1000));
+        }
+
+        // each parameter group has been handled by one worker only
+        int n = 0;
+        for (int i = 0; i < NUM_THREADS; i++) {
+            FillerWorker w = filler.workers[i];
+            for (ArchiveIntervalFiller aif : w.intervals.values()) {
+                for (int pgid : aif.pgSegments.keySet()) {
+                    assertEquals(i, pgid % NUM_THREADS);
+                    n++;
+                }
+            }
+        }
+        assertEquals(deliveryGroups.length + 1, n);
+    }
+
+    @Test
+    public void testCloseInterval() throws Exception {
+        long t0 = ParameterArchive.getIntervalStart(TimeEncoding.parse("2020-01-01T00:00:00"));
+        long t1 = ParameterArchive.getIntervalEnd(t0) + 1;
+        deliver(t0, NUM_VALUES);
+        Map<Integer, List<Long>> firstInterval = new HashMap<>();
+        delivered.forEach((k, v) -> firstInterval.put(k, new ArrayList<>(v)));
+
+        // data older than the threshold in the second interval closes the first interval
+        deliver(t1, 3);
+        // data from the closed interval is ignored
+        filler.processDelivery(new Delivery(Arrays.asList(getParameterValue(0, t0 + 500)), 0));
+        // no flush: only the data of the closed interval and the full segments have been written
+        filler.stopWorkers();
+
+        for (int i = 0; i < params.length; i++) {
+            assertEquals(firstInterval.get(i), retrieve(i, t0, t1 - 1));
+            assertTrue(retrieve(i, t1, t1 + 10000).isEmpty());
+        }
+        for (FillerWorker w : filler.workers) {
+            assertFalse(w.intervals.containsKey(t0));
+        }
+    }
+
+    // delivers n timestamps spaced by 1 second starting at t, one delivery per timestamp
+    private void deliver(long t, int n) throws Exception {
+        for (int k = 0; k < n; k++) {
+            long time = t + k * 1000;
+            List<ParameterValue> items = new ArrayList<>();
+            for (int i : deliveryGroups[k % deliveryGroups.length]) {
+                items.add(getParameterValue(i, time));
+                delivered.computeIfAbsent(i, x -> new ArrayList<>()).add(time);
+            }
+            filler.processDelivery(new Delivery(items, System.currentTimeMillis()));
+        }
+    }
+
+    private ParameterValue getParameterValue(int i, long time) {
+        ParameterValue pv = new ParameterValue(params[i]);
+        pv.setGenerationTime(time);
+        pv.setEngineeringValue(ValueUtility.getUint32Value((int) (time / 1000)));
+        return pv;
+    }
+
+    private List<Long> retrieve(int i, long start, long stop) throws Exception {
+        List<Long> l = new ArrayList<>();
+        ParameterRequest req = new ParameterRequest(start, stop, true, true, false, false);
+        new SingleParameterArchiveRetrieval(parchive, params[i].getQualifiedName(), req).retrieve(pva -> {
+            for (int j = 0; j < pva.timestamps.length; j++) {
+                assertEquals(pva.timestamps[j] / 1000, pva.engValues.getValue(j).getUint32Value());
+                l.add(pva.timestamps[j]);
+            }
+        });
+        return l;
+    }
+}
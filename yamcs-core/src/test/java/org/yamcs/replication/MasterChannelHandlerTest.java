@@ -0,0 +1,203 @@
+package org.yamcs.replication;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.yamcs.replication.protobuf.Request;
+import org.yamcs.utils.FileUtils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Sends the transactions of a replication file through the master handler and decodes them as the slave does.
+ */
+public class MasterChannelHandlerTest {
+    Random random = new Random(1);
+    Path dir;
+    ReplicationFile rf;
+    EmbeddedChannel channel;
+    MasterChannelHandler handler;
+    BatchInflater inflater = new BatchInflater();
+
+    // data of the transactions written to the file, indexed by txId
+    List<byte[]> written = new ArrayList<>();
+    // data of the transactions decoded from the messages sent by the master, indexed by txId
+    List<byte[]> received = new ArrayList<>();
+    int numCompressedMsgs;
+    // compressed messages larger than the data they contain
+    int numExpandedMsgs;
+    List<Long> uncompressedTxIds = new ArrayList<>();
+
+    @Before
+    public void before() throws IOException {
+        dir = Files.createTempDirectory("repltest");
+        rf = ReplicationFile.newFile("test", dir.resolve("t1"), 0, 1000, 100, 10 * 1024 * 1024);
+
+        ReplicationMaster master = new ReplicationMaster() {
+            @Override
+            public ReplicationFile getFile(long startTxId) {
+                return rf;
+            }
+        };
+        master.compression = true;
+        Request req = Request.newBuilder().setRequestSeq(1).setStartTxId(0).addAcceptCompression(Message.DEFLATE)
+                .build();
+        handler = new MasterChannelHandler(master, req);
+    }
+
+    @After
+    public void after() throws IOException {
+        channel.finishAndReleaseAll();
+        rf.close();
+        inflater.end();
+        FileUtils.deleteRecursivelyIfExists(dir);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        // compressible transactions, more than fit into one batch
+        for (int i = 0; i < 500; i++) {
+            write(compressible(i));
+        }
+        // transaction too large for a batch
+        byte[] big = new byte[8100];
+        random.nextBytes(big);
+        long bigTxId = write(big);
+        // incompressible transactions
+        for (int i = 0; i < 40; i++) {
+            byte[] b = new byte[500];
+            random.nextBytes(b);
+            write(b);
+        }
+
+        channel = new EmbeddedChannel(handler);
+        receive();
+        assertTrue(handler.isCompressed());
+        assertTrue(numCompressedMsgs > 5);
+        assertTrue(numExpandedMsgs > 0);
+        assertEquals(Arrays.asList(bigTxId), uncompressedTxIds);
+        verifyReceived();
+
+        // new data is pushed to the handler and compressed with the same deflate stream
+        for (int i = 0; i < 100; i++) {
+            write(compressible(i));
+        }
+        receive();
+        verifyReceived();
+        assertEquals(Arrays.asList(bigTxId), uncompressedTxIds);
+    }
+
+    @Test
+    public void testCloseWithPendingData() throws Exception {
+        write(new byte[100]);
+        channel = new EmbeddedChannel(handler);
+        receive();
+        verifyReceived();
+
+        // the new data notification is queued on the executor, the connection is closed before it runs
+        write(new byte[100]);
+        channel.close();
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+        assertEquals(1, handler.getNextTxId());
+        assertEquals(1, received.size());
+    }
+
+    private static byte[] compressible(int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < 5; k++) {
+            sb.append("parameter value ").append(i).append(' ');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private long write(byte[] data) {
+        long txId = rf.writeData(new DataTransaction(data));
+        assertEquals(written.size(), txId);
+        written.add(data);
+        return txId;
+    }
+
+    // reads the messages sent by the master and decodes them as the slave does
+    private void receive() throws Exception {
+        channel.runPendingTasks();
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            try {
+                // the slave does not accept larger messages
+                assertTrue(buf.readableBytes() <= MasterChannelHandler.MAX_MESSAGE_SIZE);
+                Message msg = Message.decode(buf.nioBuffer());
+                if (msg.type == Message.COMPRESSED_DATA) {
+                    numCompressedMsgs++;
+                    if (buf.readableBytes() > ((CompressedMessage) msg).uncompressedSize) {
+                        numExpandedMsgs++;
+                    }
+                    for (Message tx : inflater.inflate((CompressedMessage) msg)) {
+                        received((TransactionMessage) tx);
+                    }
+                } else {
+                    uncompressedTxIds.add(((TransactionMessage) msg).txId);
+                    received((TransactionMessage) msg);
+                }
+            } finally {
+                buf.release();
+            }
+            channel.runPendingTasks();
+        }
+    }
+
+    private void received(TransactionMessage tmsg) {
+        assertEquals(Message.DATA, tmsg.type);
+        assertEquals(received.size(), tmsg.txId);
+        byte[] b = new byte[tmsg.buf.remaining()];
+        tmsg.buf.get(b);
+        received.add(b);
+    }
+
+    private void verifyReceived() {
+        assertEquals(written.size(), received.size());
+        for (int i = 0; i < written.size(); i++) {
+            assertArrayEquals(written.get(i), received.get(i));
+        }
+        assertEquals(written.size(), handler.getNextTxId());
+    }
+
+    static class DataTransaction implements Transaction {
+        final byte[] data;
+
+        DataTransaction(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public void marshall(ByteBuffer buf) {
+            buf.put(data);
+        }
+
+        @Override
+        public byte getType() {
+            return Message.DATA;
+        }
+
+        @Override
+        public int getInstanceId() {
+            return 1;
+        }
+    }
+}
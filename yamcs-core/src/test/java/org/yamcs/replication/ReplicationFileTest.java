@@ -8,6 +8,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.CRC32;
 
 import org.junit.After;
@@ -76,6 +77,32 @@ public class ReplicationFileTest {
         rf.close();
     }
 
+    @Test
+    public void testNewDataListener() throws Exception {
+        ReplicationFile rf = ReplicationFile.newFile("test", dir.resolve("tl"), 0, 10, 10, 1000);
+        AtomicInteger count = new AtomicInteger();
+        Runnable listener = () -> count.incrementAndGet();
+        rf.addNewDataListener(listener);
+
+        ReplicationTail tail = rf.tail(0);
+        rf.writeData(new MyTransaction(DATA, 10));
+        assertEquals(1, count.get());
+        rf.getNewData(tail);
+        assertEquals(1, tail.nextTxId);
+
+        // the listener is called also when the file becomes full
+        assertEquals(-1, rf.writeData(new MyTransaction(DATA, 2000)));
+        assertEquals(2, count.get());
+        rf.getNewData(tail);
+        assertTrue(tail.eof);
+
+        rf.removeNewDataListener(listener);
+        rf.writeData(new MyTransaction(DATA, 10));
+        assertEquals(2, count.get());
+
+        rf.close();
+    }
+
     @Test
     public void test2() throws Exception {
         Path file1 = dir.resolve("t2");
@@ -0,0 +1,192 @@
+package org.yamcs.replication;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.yamcs.logging.Log;
+import org.yamcs.replication.ReplicationSlave.StreamWorker;
+import org.yamcs.utils.FileUtils;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Tests the emission of the received transactions by the stream workers
+ */
+public class ReplicationSlaveTest {
+    Path dir;
+    ReplicationSlave slave;
+    List<StreamWorker> workers = new ArrayList<>();
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    @Before
+    public void before() throws IOException {
+        dir = Files.createTempDirectory("repltest");
+        slave = new ReplicationSlave() {
+            {
+                log = new Log(ReplicationSlave.class, "test");
+            }
+        };
+        slave.openLastTxFile(dir.resolve("lastid.txt"));
+    }
+
+    @After
+    public void after() throws Exception {
+        for (StreamWorker w : workers) {
+            w.executor.shutdownNow();
+        }
+        slave.lastTxFile.close();
+        channel.finishAndReleaseAll();
+        FileUtils.deleteRecursivelyIfExists(dir);
+    }
+
+    @Test
+    public void testOrderPerStream() throws Exception {
+        int numStreams = 4;
+        int numTx = 10000;
+        List<List<Long>> emitted = new ArrayList<>();
+        AtomicInteger savedPastPending = new AtomicInteger();
+        for (int i = 0; i < numStreams; i++) {
+            newWorker("s" + i);
+            emitted.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        for (long txId = 0; txId < numTx; txId++) {
+            List<Long> l = emitted.get((int) (txId % numStreams));
+            long id = txId;
+            dispatch(txId, workers.get((int) (txId % numStreams)), () -> {
+                if (slave.savedTxId >= id) {
+                    savedPastPending.incrementAndGet();
+                }
+                l.add(id);
+            });
+        }
+        awaitWorkers();
+
+        for (int i = 0; i < numStreams; i++) {
+            List<Long> l = emitted.get(i);
+            assertEquals(numTx / numStreams, l.size());
+            for (int k = 0; k < l.size(); k++) {
+                assertEquals(i + k * numStreams, (long) l.get(k));
+            }
+        }
+        assertEquals(0, savedPastPending.get());
+        assertEquals(0, slave.numPendingTx.get());
+        assertTrue(slave.pendingTxIds.isEmpty());
+        assertEquals(numTx - 1, readLastTxFile());
+    }
+
+    @Test
+    public void testSavedTxBeforePending() throws Exception {
+        StreamWorker w1 = newWorker("s1");
+        StreamWorker w2 = newWorker("s2");
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch w2done = new CountDownLatch(1);
+
+        dispatch(0, w1, () -> await(blocked));
+        dispatch(1, w2, () -> {
+        });
+        dispatch(2, w1, () -> {
+        });
+        for (int i = 3; i < 10; i++) {
+            dispatch(i, w2, () -> {
+            });
+        }
+        w2.executor.execute(() -> w2done.countDown());
+        assertTrue(w2done.await(10, TimeUnit.SECONDS));
+
+        // the transactions of s2 have been emitted but the first transaction is still pending
+        assertEquals(-1, slave.savedTxId);
+        assertEquals(-1, readLastTxFile());
+
+        blocked.countDown();
+        awaitWorkers();
+        assertEquals(9, slave.savedTxId);
+        assertEquals(9, readLastTxFile());
+    }
+
+    @Test
+    public void testPauseReading() throws Exception {
+        StreamWorker w = newWorker("s1");
+        CountDownLatch blocked = new CountDownLatch(1);
+        dispatch(0, w, () -> await(blocked));
+        for (int i = 1; i < ReplicationSlave.MAX_PENDING_TX - 1; i++) {
+            dispatch(i, w, () -> {
+            });
+        }
+        assertTrue(channel.config().isAutoRead());
+        assertNull(slave.pausedChannel);
+
+        dispatch(ReplicationSlave.MAX_PENDING_TX - 1, w, () -> {
+        });
+        assertFalse(channel.config().isAutoRead());
+        assertSame(channel, slave.pausedChannel);
+
+        blocked.countDown();
+        awaitWorkers();
+        assertTrue(channel.config().isAutoRead());
+        assertNull(slave.pausedChannel);
+        assertEquals(0, slave.numPendingTx.get());
+    }
+
+    @Test
+    public void testFailedEmission() throws Exception {
+        StreamWorker w = newWorker("s1");
+        dispatch(0, w, () -> {
+            throw new IllegalStateException("test");
+        });
+        dispatch(1, w, () -> {
+        });
+        awaitWorkers();
+        assertEquals(0, slave.numPendingTx.get());
+        assertEquals(1, readLastTxFile());
+    }
+
+    private StreamWorker newWorker(String streamName) {
+        StreamWorker w = slave.new StreamWorker(streamName);
+        workers.add(w);
+        return w;
+    }
+
+    // dispatches the transaction and marks it as received, as the channel handler does
+    private void dispatch(long txId, StreamWorker w, Runnable task) {
+        slave.dispatch(txId, w, task, channel);
+        slave.lastTxId = txId;
+    }
+
+    private void awaitWorkers() throws InterruptedException {
+        for (StreamWorker w : workers) {
+            w.executor.shutdown();
+            assertTrue(w.executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        // as done when stopping the service
+        slave.updateLastTxFile();
+    }
+
+    private long readLastTxFile() throws IOException {
+        List<String> lines = Files.readAllLines(dir.resolve("lastid.txt"));
+        return lines.isEmpty() ? -1 : Long.parseLong(lines.get(0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.yamcs.security;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.utils.TimeEncoding;
+
+public class UserTest {
+    static final ObjectPrivilegeType READ_PARAMETER = new ObjectPrivilegeType("ReadParameter");
+
+    @BeforeClass
+    public static void beforeClass() {
+        TimeEncoding.setUp();
+    }
+
+    @Test
+    public void testObjectPrivilegeMatching() {
+        assertTrue(new ObjectPrivilege(READ_PARAMETER, "/YSS/a").matches("/YSS/a"));
+        assertFalse(new ObjectPrivilege(READ_PARAMETER, "/YSS/a").matches("/YSS/ab"));
+
+        ObjectPrivilege prefix = new ObjectPrivilege(READ_PARAMETER, "/YSS/.*");
+        assertTrue(prefix.matches("/YSS/"));
+        assertTrue(prefix.matches("/YSS/SIMULATOR/BatteryVoltage1"));
+        assertFalse(prefix.matches("/YS"));
+        assertFalse(prefix.matches("/YSS/a\nb"));
+
+        ObjectPrivilege regex = new ObjectPrivilege(READ_PARAMETER, "/YSS/(a|b)[0-9]+");
+        assertTrue(regex.matches("/YSS/b12"));
+        assertFalse(regex.matches("/YSS/c12"));
+    }
+
+    @Test
+    public void testDecisionsInvalidated() {
+        User user = new User("test", null);
+        assertFalse(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/a"));
+
+        user.addObjectPrivilege(new ObjectPrivilege(READ_PARAMETER, "/YSS/.*"), false);
+        assertTrue(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/a"));
+
+        user.clearDirectoryPrivileges();
+        assertFalse(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/a"));
+
+        user.addObjectPrivilege(new ObjectPrivilege(READ_PARAMETER, "/YSS/a"), true);
+        user.addObjectPrivilege(new ObjectPrivilege(READ_PARAMETER, "/YSS/b"), false);
+        assertTrue(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/b"));
+
+        // the directory privileges are removed, the external ones are kept
+        user.clearDirectoryPrivileges();
+        assertTrue(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/a"));
+        assertFalse(user.hasObjectPrivilege(READ_PARAMETER, "/YSS/b"));
+    }
+}
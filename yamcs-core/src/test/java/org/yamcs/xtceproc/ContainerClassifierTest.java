@@ -0,0 +1,71 @@
+package org.yamcs.xtceproc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.yamcs.RefMdbPacketGenerator;
+import org.yamcs.YConfiguration;
+import org.yamcs.utils.TimeEncoding;
+import org.yamcs.xtce.SequenceContainer;
+import org.yamcs.xtce.XtceDb;
+
+public class ContainerClassifierTest {
+    private static XtceDb xtcedb;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        YConfiguration.setupTest("refmdb");
+        XtceDbFactory.reset();
+        xtcedb = XtceDbFactory.createInstanceByConfig("refmdb");
+    }
+
+    private XtceTmExtractor createExtractor() {
+        XtceTmExtractor extractor = new XtceTmExtractor(xtcedb);
+        for (SequenceContainer sc : xtcedb.getSequenceContainers()) {
+            if (sc.useAsArchivePartition()) {
+                extractor.startProviding(sc);
+            }
+        }
+        return extractor;
+    }
+
+    @Test
+    public void testSameAsExtraction() {
+        RefMdbPacketGenerator tmGenerator = new RefMdbPacketGenerator();
+        List<byte[]> packets = new ArrayList<>();
+        packets.add(tmGenerator.generate_PKT1_1());
+        packets.add(tmGenerator.generate_PKT1_2());
+        packets.add(tmGenerator.generate_PKT1_3());
+        packets.add(tmGenerator.generate_PKT14());
+        packets.add(tmGenerator.generate_PKT1_5());
+        packets.add(tmGenerator.generate_PKT1_6(1, 2));
+        packets.add(tmGenerator.generate_PKT1_7());
+        packets.add(tmGenerator.generate_PKT1_9());
+        packets.add(tmGenerator.generate_PKT1_11());
+        packets.add(tmGenerator.generate_PKT1_12());
+        packets.add(tmGenerator.generate_PKT2());
+        packets.add(tmGenerator.generate_PKT3());
+        packets.add(tmGenerator.generate_PKT4());
+        packets.add(tmGenerator.generate_PKT5());
+        packets.add(tmGenerator.generate_PKT6());
+        packets.add(tmGenerator.generate_PKT7());
+        packets.add(tmGenerator.generate_PKT8());
+        packets.add(new byte[3]);
+
+        SequenceContainer root = xtcedb.getRootSequenceContainer();
+        ContainerClassifier classifier = new ContainerClassifier(createExtractor(), root);
+        XtceTmExtractor extractor = createExtractor();
+        long now = TimeEncoding.getWallclockTime();
+
+        for (byte[] p : packets) {
+            String expected = extractor.processPacket(p, now, now, root).getPacketName();
+            assertEquals(expected, classifier.getPacketName(p, now, now));
+        }
+        assertTrue(classifier.getNumFallbacks() < packets.size());
+    }
+}
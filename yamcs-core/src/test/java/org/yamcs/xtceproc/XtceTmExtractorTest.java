@@ -23,8 +23,13 @@ import static org.yamcs.RefMdbPacketGenerator.pTerminatedStringPara1_3_3;
 import static org.yamcs.RefMdbPacketGenerator.pTerminatedStringPara1_3_4;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -33,6 +38,7 @@ import org.yamcs.ContainerExtractionResult;
 import org.yamcs.ProcessorConfig;
 import org.yamcs.parameter.AggregateValue;
 import org.yamcs.parameter.ArrayValue;
+import org.yamcs.parameter.ContainerParameterValue;
 import org.yamcs.parameter.FloatValue;
 import org.yamcs.parameter.ParameterValue;
 import org.yamcs.RefMdbPacketGenerator;
@@ -771,6 +777,106 @@ public class XtceTmExtractorTest {
         assertEquals(99, pv.getEngValue().getUint32Value());
     }
 
+    @Test
+    public void testConcurrentExtraction() throws Exception {
+        RefMdbPacketGenerator tmGenerator = new RefMdbPacketGenerator();
+        byte[] pkt = tmGenerator.generate_PKT1_1();
+        Parameter p1 = xtcedb.getParameter("/REFMDB/SUBSYS1/IntegerPara1_1");
+        Parameter p2 = xtcedb.getParameter("/REFMDB/SUBSYS1/LEIntegerPara1_2_1");
+
+        XtceTmExtractor tmExtractor = new XtceTmExtractor(xtcedb);
+        tmExtractor.startProviding(p1);
+
+        int nthreads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(nthreads);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < nthreads; i++) {
+            futures.add(executor.submit(() -> {
+                int n = 0;
+                for (int k = 0; k < 2000; k++) {
+                    ParameterValue pv = processTm(tmExtractor, pkt).getLastInserted(p1);
+                    if (pv != null && pv.getEngValue().getUint32Value() == tmGenerator.pIntegerPara1_1) {
+                        n++;
+                    }
+                }
+                return n;
+            }));
+        }
+        // modify the subscription while the packets are being extracted
+        tmExtractor.startProviding(p2);
+        for (Future<Integer> f : futures) {
+            assertEquals(2000, f.get().intValue());
+        }
+        executor.shutdown();
+
+        ParameterValueList pvl = processTm(tmExtractor, tmGenerator.generate_PKT1_2());
+        assertNotNull(pvl.getLastInserted(p2));
+        assertEquals(nthreads * 2000 + 1, totalReceivedPackets(tmExtractor));
+    }
+
+    @Test
+    public void testCompiledPlan() {
+        RefMdbPacketGenerator tmGenerator = new RefMdbPacketGenerator();
+        List<byte[]> packets = Arrays.asList(tmGenerator.generate_PKT1_1(), tmGenerator.generate_PKT1_2(),
+                tmGenerator.generate_PKT1_3(), tmGenerator.generate_PKT14(), tmGenerator.generate_PKT1_5(),
+                tmGenerator.generate_PKT1_7(), tmGenerator.generate_PKT1_9(), tmGenerator.generate_PKT1_11(),
+                tmGenerator.generate_PKT2(), tmGenerator.generate_PKT3(), tmGenerator.generate_PKT4(),
+                tmGenerator.generate_PKT5(), tmGenerator.generate_PKT6(), tmGenerator.generate_PKT7(),
+                tmGenerator.generate_PKT8(), tmGenerator.generate_PKT1_AND_OR_1().array());
+
+        XtceTmExtractor interpreted = new XtceTmExtractor(xtcedb);
+        interpreted.provideAll();
+        XtceTmExtractor compiled = new XtceTmExtractor(xtcedb);
+        ContainerProcessingOptions options = new ContainerProcessingOptions();
+        options.setCompiledPlans(true);
+        compiled.setOptions(options);
+        compiled.provideAll();
+
+        SequenceContainer pkt11 = xtcedb.getSequenceContainer("/REFMDB/SUBSYS1/PKT1_1");
+        assertNotNull(compiled.getSubscription().getSnapshot().getContainerInfo(pkt11).plan);
+
+        for (byte[] pkt : packets) {
+            ParameterValueList pvl1 = processTm(interpreted, pkt);
+            ParameterValueList pvl2 = processTm(compiled, pkt);
+            assertEquals(pvl1.size(), pvl2.size());
+            Iterator<ParameterValue> it2 = pvl2.iterator();
+            for (ParameterValue pv1 : pvl1) {
+                ContainerParameterValue cpv1 = (ContainerParameterValue) pv1;
+                ContainerParameterValue cpv2 = (ContainerParameterValue) it2.next();
+                assertEquals(cpv1.getParameter(), cpv2.getParameter());
+                assertEquals(cpv1.getRawValue(), cpv2.getRawValue());
+                assertEquals(cpv1.getEngValue(), cpv2.getEngValue());
+                assertEquals(cpv1.getAcquisitionStatus(), cpv2.getAcquisitionStatus());
+                assertEquals(cpv1.getAbsoluteBitOffset(), cpv2.getAbsoluteBitOffset());
+                assertEquals(cpv1.getBitSize(), cpv2.getBitSize());
+            }
+        }
+    }
+
+    @Test
+    public void testCompiledPlanShortPacket() {
+        RefMdbPacketGenerator tmGenerator = new RefMdbPacketGenerator();
+        byte[] pkt = tmGenerator.generate_PKT1_1();
+        byte[] shortPkt = Arrays.copyOf(pkt, pkt.length - 4);
+
+        XtceTmExtractor interpreted = new XtceTmExtractor(xtcedb);
+        interpreted.provideAll();
+        XtceTmExtractor compiled = new XtceTmExtractor(xtcedb);
+        ContainerProcessingOptions options = new ContainerProcessingOptions();
+        options.setCompiledPlans(true);
+        compiled.setOptions(options);
+        compiled.provideAll();
+
+        ParameterValueList pvl1 = processTm(interpreted, shortPkt);
+        ParameterValueList pvl2 = processTm(compiled, shortPkt);
+        assertEquals(pvl1.size(), pvl2.size());
+        assertTrue(pvl2.size() < processTm(compiled, pkt).size());
+    }
+
+    private long totalReceivedPackets(XtceTmExtractor tmExtractor) {
+        return tmExtractor.getStatistics().snapshot().stream().mapToLong(s -> s.getReceivedPackets()).sum();
+    }
+
     private ParameterValueList extractParameters(byte[] pkt) {
         XtceTmExtractor tmExtractor = new XtceTmExtractor(xtcedb);
         tmExtractor.provideAll();
@@ -0,0 +1,148 @@
+package org.yamcs.yarch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.yamcs.yarch.AsyncStreamSubscriber.OverflowPolicy;
+
+public class AsyncStreamSubscriberTest extends YarchTestCase {
+
+    Stream createStream(String name) throws Exception {
+        execute("create stream " + name + "(x int)");
+        return ydb.getStream(name);
+    }
+
+    Tuple tuple(Stream s, int x) {
+        return new Tuple(s.getDefinition(), new Object[] { x });
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        Stream s = createStream("async_block");
+        Collector c = new Collector(null);
+        AsyncStreamSubscriber as = s.addAsyncSubscriber(c, 4, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 1000; i++) {
+            s.emitTuple(tuple(s, i));
+        }
+        s.close();
+        assertTrue(c.closed.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1000, c.received.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, c.received.get(i).intValue());
+        }
+        assertEquals(1000, as.getDeliveredCount());
+        assertEquals(0, as.getDroppedCount());
+        assertEquals(0, as.getQueueSize());
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        Stream s = createStream("async_drop_newest");
+        Semaphore permits = new Semaphore(0);
+        Collector c = new Collector(permits);
+        AsyncStreamSubscriber as = s.addAsyncSubscriber(c, 2, OverflowPolicy.DROP_NEWEST);
+
+        s.emitTuple(tuple(s, 0));
+        // wait for the consumer to block in the subscriber with the first tuple
+        c.started.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < 10; i++) {
+            s.emitTuple(tuple(s, i));
+        }
+        assertEquals(2, as.getQueueSize());
+        assertEquals(7, as.getDroppedCount());
+
+        permits.release(100);
+        s.close();
+        assertTrue(c.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 1, 2), c.received);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        Stream s = createStream("async_drop_oldest");
+        Semaphore permits = new Semaphore(0);
+        Collector c = new Collector(permits);
+        AsyncStreamSubscriber as = s.addAsyncSubscriber(c, 2, OverflowPolicy.DROP_OLDEST);
+
+        s.emitTuple(tuple(s, 0));
+        c.started.await(5, TimeUnit.SECONDS);
+        for (int i = 1; i < 10; i++) {
+            s.emitTuple(tuple(s, i));
+        }
+        assertEquals(7, as.getDroppedCount());
+
+        permits.release(100);
+        s.close();
+        assertTrue(c.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(0, 8, 9), c.received);
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        Stream s = createStream("async_remove");
+        Collector c = new Collector(null);
+        s.addAsyncSubscriber(c, 10, OverflowPolicy.BLOCK);
+        assertEquals(1, s.getSubscriberCount());
+        s.removeSubscriber(c);
+        assertEquals(0, s.getSubscriberCount());
+        assertTrue(s.getSubscribers().isEmpty());
+        s.close();
+    }
+
+    @Test
+    public void testInsertAsync() throws Exception {
+        execute("create table async_tbl(x int, primary key(x))");
+        Stream s = createStream("async_tbl_in");
+        execute("insert into async_tbl async(16, block) select * from async_tbl_in");
+        assertTrue(s.getSubscribers().iterator().next() instanceof AsyncStreamSubscriber);
+
+        for (int i = 0; i < 100; i++) {
+            s.emitTuple(tuple(s, i));
+        }
+        execute("close stream async_tbl_in");
+
+        // the table writer is closed (and removed) when the stream closed signal reaches it
+        long t0 = System.currentTimeMillis();
+        while (s.getSubscriberCount() > 0 && System.currentTimeMillis() - t0 < 5000) {
+            Thread.sleep(10);
+        }
+        execute("create stream async_tbl_out as select * from async_tbl");
+        List<Tuple> tuples = fetchAll("async_tbl_out");
+        assertEquals(100, tuples.size());
+        execute("drop table async_tbl");
+    }
+
+    static class Collector implements StreamSubscriber {
+        final List<Integer> received = new ArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final Semaphore permits;
+
+        Collector(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void onTuple(Stream stream, Tuple tuple) {
+            started.countDown();
+            if (permits != null) {
+                permits.acquireUninterruptibly();
+            }
+            received.add((Integer) tuple.getColumn("x"));
+        }
+
+        @Override
+        public void streamClosed(Stream stream) {
+            closed.countDown();
+        }
+    }
+}
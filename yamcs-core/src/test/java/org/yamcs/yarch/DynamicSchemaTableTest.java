@@ -286,4 +286,42 @@ public class DynamicSchemaTableTest extends YarchTestCase {
 
         ydb.execute("drop table test_upserta");
     }
+
+    @Test
+    public void testSelectColumns() throws Exception {
+        ydb.execute("create table test_selcol (t timestamp, v1 int, v2 int, primary key(t))");
+        ydb.execute("create stream test_selcol_in (t timestamp)");
+        ydb.execute("insert_append into test_selcol select * from test_selcol_in");
+
+        Stream s = ydb.getStream("test_selcol_in");
+        emit(s, 1, "v1", 1);
+        emit(s, 1, "v2", 2);
+        emit(s, 1, "v3", 3);
+        emit(s, 2, "v2", 20);
+        emit(s, 2, "v3", 30);
+
+        ydb.execute("create stream test_selcol_out as select v3 from test_selcol where v2 > 10");
+        Stream sout = ydb.getStream("test_selcol_out");
+        final Semaphore semaphore = new Semaphore(0);
+        final ArrayList<Tuple> tuples = new ArrayList<Tuple>();
+        sout.addSubscriber(new StreamSubscriber() {
+            @Override
+            public void streamClosed(Stream stream) {
+                semaphore.release();
+            }
+
+            @Override
+            public void onTuple(Stream stream, Tuple tuple) {
+                tuples.add(tuple);
+            }
+        });
+        sout.start();
+        semaphore.acquire();
+        assertEquals(1, tuples.size());
+        Tuple t = tuples.get(0);
+        assertEquals(1, t.getColumns().size());
+        assertEquals(30, ((Integer) t.getColumn("v3")).intValue());
+
+        ydb.execute("drop table test_selcol");
+    }
 }
@@ -137,4 +137,71 @@ public class WriterTest extends YarchTestCase {
 
         execute("drop table tbl_upsert_append");
     }
+
+    @Test
+    public void TestGroupCommitInsert() throws Exception {
+        execute("create table tbl_gc(gentime timestamp, name string, seq int, primary key(gentime, seq))"
+                + " histogram(name) group_commit(5, 60000)");
+        execute("create stream tbl_gc_in(gentime timestamp, name string, seq int)");
+        execute("insert into tbl_gc select * from tbl_gc_in");
+
+        Stream s = ydb.getStream("tbl_gc_in");
+        TupleDefinition td = s.getDefinition();
+        for (int i = 0; i < 12; i++) {
+            s.emitTuple(new Tuple(td, new Object[] { 1000L * i, "n1", i }));
+            // duplicate in the same group
+            s.emitTuple(new Tuple(td, new Object[] { 1000L * i, "n2", i }));
+        }
+        // duplicates of rows already committed
+        for (int i = 0; i < 5; i++) {
+            s.emitTuple(new Tuple(td, new Object[] { 1000L * i, "n3", i }));
+        }
+        execute("close stream tbl_gc_in");
+
+        execute("create stream tbl_gc_out as select * from tbl_gc");
+        List<Tuple> tuples = fetchAll("tbl_gc_out");
+        assertEquals(12, tuples.size());
+        for (int i = 0; i < 12; i++) {
+            Tuple t = tuples.get(i);
+            assertEquals(1000L * i, (long) (Long) t.getColumn("gentime"));
+            assertEquals("n1", t.getColumn("name"));
+        }
+
+        execute("create stream tbl_gc_histo as select * from tbl_gc histogram(name)");
+        List<Tuple> histo = fetchAll("tbl_gc_histo");
+        assertEquals(1, histo.size());
+        assertEquals("n1", histo.get(0).getColumn(0));
+        assertEquals(12, (int) (Integer) histo.get(0).getColumn(3));
+
+        execute("drop table tbl_gc");
+    }
+
+    @Test
+    public void TestGroupCommitUpsertDelay() throws Exception {
+        execute("create table tbl_gc_upsert"
+                + "(gentime timestamp, packetName enum, packet binary, primary key(gentime,packetName))");
+        execute("create stream tbl_gc_upsert_in(gentime timestamp, packetName enum, packet binary)");
+        execute("upsert into tbl_gc_upsert group_commit(1000, 50) select * from tbl_gc_upsert_in");
+
+        Stream s = ydb.getStream("tbl_gc_upsert_in");
+        TupleDefinition td = s.getDefinition();
+        byte[] b1 = new byte[] { 1, 2, 3 };
+        byte[] b2 = new byte[] { 4, 5 };
+        s.emitTuple(new Tuple(td, new Object[] { 1000L, "pn1", b1 }));
+        s.emitTuple(new Tuple(td, new Object[] { 1000L, "pn2", b1 }));
+        s.emitTuple(new Tuple(td, new Object[] { 1000L, "pn1", b2 }));
+
+        // the group has to be committed after the delay, without closing the stream
+        Thread.sleep(500);
+        execute("create stream tbl_gc_upsert_out as select * from tbl_gc_upsert");
+        List<Tuple> tuples = fetchAll("tbl_gc_upsert_out");
+        assertEquals(2, tuples.size());
+        assertEquals("pn1", tuples.get(0).getColumn("packetName"));
+        assertTrue(Arrays.equals(b2, (byte[]) tuples.get(0).getColumn("packet")));
+        assertEquals("pn2", tuples.get(1).getColumn("packetName"));
+        assertTrue(Arrays.equals(b1, (byte[]) tuples.get(1).getColumn("packet")));
+
+        execute("close stream tbl_gc_upsert_in");
+        execute("drop table tbl_gc_upsert");
+    }
 }
@@ -5,7 +5,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
@@ -176,6 +181,34 @@ public class BucketDbTest {
         b.putObject("newobj", null, null, new byte[1024 * 1024]);
     }
 
+    @Test
+    public void testPutFile() throws Exception {
+        RdbBucketDatabase bucketDb = createDb(5);
+        Bucket b = bucketDb.createBucket("bucket1");
+        Path dir = Paths.get(testDir);
+        Path file = dir.resolve("file1");
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+        Files.write(file, data);
+        b.putObject("obj1", null, null, file);
+        assertArrayEquals(data, b.getObject("obj1"));
+        assertEquals(1000, b.findObject("obj1").getSize());
+
+        // sparse file larger than the bucket, it is rejected without being read
+        Path bigFile = dir.resolve("file2");
+        try (RandomAccessFile raf = new RandomAccessFile(bigFile.toFile(), "rw")) {
+            raf.setLength(RdbBucketDatabase.MAX_BUCKET_SIZE + 1);
+        }
+        try {
+            b.putObject("obj2", null, null, bigFile);
+            fail("should have thrown an exception");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("maximum bucket size"));
+        }
+        assertNull(b.findObject("obj2"));
+        assertEquals(1, b.listObjects().size());
+    }
+
     private RdbBucketDatabase createDb(int n) throws Exception {
         String dir = testDir + "/tablespace" + n;
         Tablespace tablespace = new Tablespace("tablespace" + n);
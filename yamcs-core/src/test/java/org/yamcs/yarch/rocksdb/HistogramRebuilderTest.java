@@ -107,6 +107,53 @@ public class HistogramRebuilderTest extends YarchTestCase {
         iter.close();
     }
 
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        int numWriters = 4;
+        int n = 3000;
+        createTable(true);
+        tblDef = ydb.getTable(tblName);
+        rse = (RdbStorageEngine) ydb.getStorageEngine(tblDef);
+
+        Thread[] threads = new Thread[numWriters];
+        for (int k = 0; k < numWriters; k++) {
+            int k1 = k;
+            threads[k] = new Thread(() -> {
+                // the writer is not closed such that the rows stay in the buffer of the histogram writer
+                TableWriter tw = rse.newTableWriter(ydb, tblDef, InsertMode.INSERT);
+                for (int i = 0; i < n; i++) {
+                    tw.onTuple(null, new Tuple(tblDef.getTupleDefinition(),
+                            new Object[] { t1 + i * 1000L, k1 * n + i, "p" + k1 }));
+                }
+            });
+            threads[k].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        checkNumTuples(numWriters, n);
+
+        HistogramRebuilder rebuilder = new HistogramRebuilder(rse.getTablespace(ydb.getName()), ydb, tblName);
+        rebuilder.setNumThreads(2);
+        rebuilder.rebuild().get();
+        checkNumTuples(numWriters, n);
+    }
+
+    private void checkNumTuples(int numWriters, int n) throws Exception {
+        ColumnSerializer<String> cs = ColumnSerializerFactory.getBasicColumnSerializerV3(DataType.STRING);
+        int[] count = new int[numWriters];
+        HistogramIterator iter = rse.getHistogramIterator(ydb, tblDef, "name", new TimeInterval());
+        while (iter.hasNext()) {
+            HistogramRecord hr = iter.next();
+            String p = cs.deserialize(ByteBuffer.wrap(hr.getColumnv()), null);
+            count[Integer.parseInt(p.substring(1))] += hr.getNumTuples();
+        }
+        iter.close();
+        for (int k = 0; k < numWriters; k++) {
+            assertEquals(n, count[k]);
+        }
+    }
+
     Thread startWriter(int n, int m, int seqStart, String p, Semaphore semaphore) {
         Thread thread = new Thread(() -> {
             int seq = seqStart;
@@ -31,6 +31,8 @@ export class ReplicationPage implements OnDestroy {
     'pushTo',
     'localTx',
     'nextTx',
+    'lagTx',
+    'dataRate',
   ];
 
   slavesDataSource = new MatTableDataSource<ReplicationSlave>();
@@ -402,6 +402,12 @@ export interface ReplicationMaster {
   pushTo?: string;
   localTx: number;
   nextTx: number;
+  compressed: boolean;
+  lagTx: number;
+  txRate: number;
+  dataRate: number;
+  bytesSent: number;
+  uncompressedBytesSent: number;
 }
 
 export interface ReplicationSlave {